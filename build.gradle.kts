@@ -3,6 +3,7 @@ plugins {
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
     id("jacoco")
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 configurations {
@@ -23,7 +24,10 @@ dependencyManagement {
 
 dependencies {
     implementation(libs.spring.boot.starter.web)
+    implementation("org.springframework.boot:spring-boot-starter-webflux")
     implementation("org.springframework.boot:spring-boot-starter-validation")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
     testImplementation(libs.spring.boot.starter.test)
@@ -31,13 +35,40 @@ dependencies {
 
 // about source and compilation
 java {
-    sourceCompatibility = JavaVersion.VERSION_17
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(21)
+    }
 }
 
 with(extensions.getByType(JacocoPluginExtension::class.java)) {
     toolVersion = "0.8.7"
 }
 
+// benchmark tasks
+// ./gradlew jmh -Pjmh.includes=PointServiceBenchmark -Pjmh.tables=throttled
+jmh {
+    jmhVersion = "1.37"
+    fork = 1
+    warmupIterations = 2
+    warmup = "2s"
+    iterations = 3
+    timeOnIteration = "2s"
+    jvmArgs = listOf("-Xmx2g")
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("reports/jmh/results.json")
+    providers.gradleProperty("jmh.includes").orNull?.let { includes = listOf(it) }
+    providers.gradleProperty("jmh.profilers").orNull?.let { profilers = it.split(",") }
+    providers.gradleProperty("jmh.tables").orNull?.let {
+        benchmarkParameters.put("tables", objects.listProperty<String>().value(it.split(",")))
+    }
+    providers.gradleProperty("jmh.historyCount").orNull?.let {
+        benchmarkParameters.put("historyCount", objects.listProperty<String>().value(it.split(",")))
+    }
+    providers.gradleProperty("jmh.entries").orNull?.let {
+        benchmarkParameters.put("entries", objects.listProperty<String>().value(it.split(",")))
+    }
+}
+
 // bundling tasks
 tasks.getByName("bootJar") {
     enabled = true
@@ -48,5 +79,48 @@ tasks.getByName("jar") {
 // test tasks
 tasks.test {
     ignoreFailures = true
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("benchmark")
+    }
+}
+
+tasks.register<Test>("benchmark") {
+    description = "Runs benchmark-tagged tests."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    maxHeapSize = "2g"
+    System.getProperties()
+        .filterKeys { it.toString().startsWith("load.") }
+        .forEach { (key, value) -> systemProperty(key.toString(), value) }
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    testLogging {
+        showStandardStreams = true
+    }
+}
+
+// load test
+// ./gradlew loadTest -Dload.rate=500 -Dload.duration=60 -Dload.zipf=1.2
+sourceSets {
+    create("load") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+configurations["loadImplementation"].extendsFrom(configurations.implementation.get())
+configurations["loadRuntimeOnly"].extendsFrom(configurations.runtimeOnly.get())
+dependencies {
+    "loadImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
+}
+tasks.register<JavaExec>("loadTest") {
+    description = "Drives the point API over HTTP and verifies balances."
+    group = "verification"
+    classpath = sourceSets["load"].runtimeClasspath
+    mainClass = "io.hhplus.tdd.load.PointLoadGenerator"
+    maxHeapSize = "2g"
+    System.getProperties()
+        .filterKeys { it.toString().startsWith("load.") }
+        .forEach { (key, value) -> systemProperty(key.toString(), value) }
 }
@@ -0,0 +1,74 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.BusinessException;
+import io.hhplus.tdd.point.PointConcurrencyProperties;
+import io.hhplus.tdd.point.UserPoint;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 같은 유저를 두고 경합하는 정도에 따라 비관적(유저 락 + group commit) 처리와 낙관적(버전 비교 저장 + 재시도) 처리의 처리량을 비교한다.
+ * - users=1    : 모든 스레드가 한 유저를 충전한다(높은 경합). 낙관적 처리는 재시도가 늘어난다.
+ * - users=1024 : 스레드마다 매번 무작위 유저를 충전해 같은 유저가 거의 겹치지 않는다(낮은 경합).
+ * - tables=stub 이면 테이블 지연 없이, tables=throttled 이면 실제 테이블 지연을 포함해 측정한다.
+ *   비관적 처리는 조회와 저장 두 번의 테이블 호출 동안 락을 잡고, 낙관적 처리는 저장 한 번 동안만 잡는다.
+ * ./gradlew jmh -Pjmh.includes=PointContentionBenchmark -Pjmh.tables=stub,throttled
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class PointContentionBenchmark {
+
+    private static final long AMOUNT = 10L;
+
+    @Param({PointServiceFixture.STUB})
+    public String tables;
+
+    @Param({"PESSIMISTIC", "OPTIMISTIC"})
+    public PointConcurrencyProperties.Mode mode;
+
+    @Param({"1", "1024"})
+    public int users;
+
+    private PointServiceFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new PointServiceFixture(tables, mode == PointConcurrencyProperties.Mode.OPTIMISTIC
+                ? PointConcurrencyProperties.optimistic()
+                : PointConcurrencyProperties.pessimistic());
+    }
+
+    @Setup(Level.Iteration)
+    public void clear() {
+        fixture.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    /**
+     * 재시도 횟수를 넘겨 실패한 충전 수. 처리량에는 실패한 호출도 포함되므로 함께 본다.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcome {
+        public long conflicts;
+    }
+
+    @Benchmark
+    public UserPoint charge(Outcome outcome) {
+        long userId = 1 + ThreadLocalRandom.current().nextInt(users);
+        try {
+            return fixture.pointService.charge(userId, AMOUNT);
+        } catch (BusinessException e) {
+            outcome.conflicts++;
+            return null;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryIndex;
+import io.hhplus.tdd.point.TransactionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 내역을 entries 건 쌓아 둔 상태에서 내역 한 건이 차지하는 메모리와 GC 비용을 비교한다.
+ * - boxed : 유저별 List&lt;PointHistory&gt; (테이블처럼 내역마다 객체를 둔다)
+ * - index : {@link PointHistoryIndex}
+ * 쌓은 직후 힙과 direct 버퍼 사용량을 내역 수로 나눠 출력하고, 벤치마크는 쌓아 둔 상태에서 전체 GC 한 번의 시간을 잰다.
+ * 5천만 건의 boxed 는 힙이 약 4GB 필요하다. ./gradlew jmh -Pjmh.includes=PointHistoryMemoryBenchmark -Pjmh.entries=10000000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx6g", "-XX:MaxDirectMemorySize=4g"})
+public class PointHistoryMemoryBenchmark {
+
+    @Param({"boxed", "index"})
+    public String store;
+
+    @Param({"50000000"})
+    public long entries;
+
+    @Param({"1000000"})
+    public int userCount;
+
+    private Object histories;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long heapBefore = usedHeap();
+        long directBefore = usedDirect();
+        long start = System.nanoTime();
+        histories = "boxed".equals(store) ? populateBoxed() : populateIndex();
+        long loadMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        long gcMillis = gcMillis();
+        long heap = usedHeap() - heapBefore;
+        long direct = usedDirect() - directBefore;
+        System.out.printf("%nstore=%s entries=%,d users=%,d load=%,d ms heap=%,.1f B/entry off-heap=%,.1f B/entry total=%,.1f B/entry gc time=%,d ms%n",
+                store, entries, userCount, loadMillis, (double) heap / entries, (double) direct / entries,
+                (double) (heap + direct) / entries, gcMillis);
+    }
+
+    @Benchmark
+    public Object fullGc() {
+        System.gc();
+        return histories;
+    }
+
+    private Map<Long, List<PointHistory>> populateBoxed() {
+        Map<Long, List<PointHistory>> boxed = new HashMap<>();
+        long now = System.currentTimeMillis();
+        for (long id = 1; id <= entries; id++) {
+            long userId = id % userCount + 1;
+            boxed.computeIfAbsent(userId, key -> new ArrayList<>())
+                    .add(new PointHistory(id, userId, id, type(id), now + id));
+        }
+        return boxed;
+    }
+
+    private PointHistoryIndex populateIndex() {
+        PointHistoryIndex index = new PointHistoryIndex();
+        long now = System.currentTimeMillis();
+        for (long id = 1; id <= entries; id++) {
+            index.add(new PointHistory(id, id % userCount + 1, id, type(id), now + id));
+        }
+        return index;
+    }
+
+    private static TransactionType type(long id) {
+        return id % 3 == 0 ? TransactionType.USE : TransactionType.CHARGE;
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long usedDirect() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .sum();
+    }
+}
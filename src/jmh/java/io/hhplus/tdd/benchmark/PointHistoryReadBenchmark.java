@@ -0,0 +1,55 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryIndex;
+import io.hhplus.tdd.point.TransactionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 전체 내역 수에 따른 유저 한 명의 내역 조회 비용을 측정한다.
+ * - table : {@link PointHistoryTable#selectAllByUserId} 는 전체 내역을 훑는다.
+ * - index : {@link PointHistoryIndex} 는 해당 유저의 내역만 읽는다.
+ * 유저 수는 고정이므로 유저당 내역 수는 전체 내역 수에 비례한다. 조회 대상은 다른 유저보다 내역이 훨씬 적은 유저로 둔다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PointHistoryReadBenchmark {
+
+    private static final int USER_COUNT = 1_000;
+    private static final long TARGET_USER_ID = USER_COUNT + 1L;
+    private static final int TARGET_HISTORY_COUNT = 20;
+
+    @Param({"10000", "100000", "1000000"})
+    public int size;
+
+    private PointHistoryTable pointHistoryTable;
+    private PointHistoryIndex pointHistoryIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pointHistoryTable = new StubPointHistoryTable();
+        pointHistoryIndex = new PointHistoryIndex();
+        long now = System.currentTimeMillis();
+        int targetEvery = size / TARGET_HISTORY_COUNT;
+        for (int i = 0; i < size; i++) {
+            long userId = i % targetEvery == 0 ? TARGET_USER_ID : i % USER_COUNT + 1;
+            TransactionType type = i % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE;
+            pointHistoryIndex.add(pointHistoryTable.insert(userId, 100, type, now));
+        }
+    }
+
+    @Benchmark
+    public List<PointHistory> table() {
+        return pointHistoryTable.selectAllByUserId(TARGET_USER_ID);
+    }
+
+    @Benchmark
+    public List<PointHistory> index() {
+        return pointHistoryIndex.findAllByUserId(TARGET_USER_ID);
+    }
+}
@@ -0,0 +1,54 @@
+package io.hhplus.tdd.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * 응답 본문으로 내려가는 {@link UserPoint}, {@link PointHistory} 의 JSON 직렬화 비용을 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PointJsonBenchmark {
+
+    @Param({"100"})
+    public int historyCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private UserPoint userPoint;
+    private PointHistory pointHistory;
+    private List<PointHistory> pointHistories;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long now = System.currentTimeMillis();
+        userPoint = new UserPoint(1L, 1_000L, now);
+        pointHistory = new PointHistory(1L, 1L, 1_000L, TransactionType.CHARGE, now);
+        pointHistories = LongStream.rangeClosed(1, historyCount)
+                .mapToObj(id -> new PointHistory(id, 1L, 100L, id % 2 == 0 ? TransactionType.USE : TransactionType.CHARGE, now))
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] userPoint() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(userPoint);
+    }
+
+    @Benchmark
+    public byte[] pointHistory() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pointHistory);
+    }
+
+    @Benchmark
+    public byte[] pointHistories() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pointHistories);
+    }
+}
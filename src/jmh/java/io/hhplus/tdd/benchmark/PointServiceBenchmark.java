@@ -0,0 +1,74 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 포인트 충전/사용의 처리량을 측정한다.
+ * - singleUser* : 모든 스레드가 같은 유저를 두고 경합한다. 유저 락에서 직렬화되는 비용을 본다.
+ * - manyUsers*  : 스레드마다 다른 유저를 사용한다. 유저 간 병렬성이 유지되는지 본다.
+ * - tables=stub 이면 테이블 지연 없이 애플리케이션 코드만, tables=throttled 이면 실제 테이블 지연을 포함해 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class PointServiceBenchmark {
+
+    private static final long SHARED_USER_ID = 1L;
+    private static final long AMOUNT = 10L;
+
+    @Param({PointServiceFixture.STUB})
+    public String tables;
+
+    private PointServiceFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new PointServiceFixture(tables);
+    }
+
+    @Setup(Level.Iteration)
+    public void clear() {
+        fixture.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @State(Scope.Thread)
+    public static class User {
+        private static final AtomicLong NEXT_USER_ID = new AtomicLong(SHARED_USER_ID);
+
+        public long userId;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            userId = NEXT_USER_ID.incrementAndGet();
+        }
+    }
+
+    @Benchmark
+    public UserPoint singleUserCharge() {
+        return fixture.pointService.charge(SHARED_USER_ID, AMOUNT);
+    }
+
+    @Benchmark
+    public UserPoint manyUsersCharge(User user) {
+        return fixture.pointService.charge(user.userId, AMOUNT);
+    }
+
+    /**
+     * 충전한 만큼 바로 사용해 잔액이 부족해지지 않게 한다. 한 번 호출에 두 건을 처리한다.
+     */
+    @Benchmark
+    public UserPoint manyUsersChargeAndUse(User user) {
+        fixture.pointService.charge(user.userId, AMOUNT);
+        return fixture.pointService.use(user.userId, AMOUNT);
+    }
+}
@@ -0,0 +1,53 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.*;
+import io.hhplus.tdd.wal.WriteAheadLog;
+
+import java.time.Duration;
+
+/**
+ * 스프링 컨텍스트 없이 {@link PointService} 를 조립한다.
+ * - tables 가 "stub" 이면 지연 없는 테이블을, "throttled" 이면 실제 테이블을 사용한다.
+ * - concurrencyProperties 로 같은 유저의 충전/사용을 처리하는 방식(비관적/낙관적)을 고른다.
+ */
+public class PointServiceFixture implements AutoCloseable {
+
+    public static final String STUB = "stub";
+    public static final String THROTTLED = "throttled";
+
+    public final UserPointRepository userPointRepository;
+    public final PointHistoryRepository pointHistoryRepository;
+    public final PointService pointService;
+
+    public PointServiceFixture(String tables) {
+        this(tables, PointConcurrencyProperties.pessimistic());
+    }
+
+    public PointServiceFixture(String tables, PointConcurrencyProperties concurrencyProperties) {
+        boolean throttled = THROTTLED.equals(tables);
+        UserPointTable userPointTable = throttled ? new UserPointTable() : new StubUserPointTable();
+        PointHistoryTable pointHistoryTable = throttled ? new PointHistoryTable() : new StubPointHistoryTable();
+
+        PointMetrics pointMetrics = PointMetrics.noop();
+        UserLockManager userLockManager = new UserLockManager(pointMetrics);
+        this.userPointRepository = new UserPointRepository(
+                userPointTable, userLockManager, new UserPointCacheProperties(10_000, Duration.ofMinutes(10), 100_000), pointMetrics, WriteAheadLog.noop());
+        this.pointHistoryRepository = new PointHistoryRepository(
+                pointHistoryTable, new PointHistoryWriterProperties(100_000, 1_000, Duration.ofSeconds(30)), pointMetrics, WriteAheadLog.noop());
+        this.pointService = new PointService(
+                userPointRepository, pointHistoryRepository, userLockManager, pointMetrics, WriteAheadLog.noop(), concurrencyProperties);
+        this.pointHistoryRepository.start();
+    }
+
+    public void clear() {
+        userPointRepository.clear();
+        pointHistoryRepository.clear();
+    }
+
+    @Override
+    public void close() {
+        pointHistoryRepository.stop();
+    }
+}
@@ -0,0 +1,32 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 지연(throttle) 없이 동작하는 {@link UserPointTable}
+ * 테이블 지연에 가려지는 애플리케이션 코드의 CPU 비용을 측정할 때 사용한다.
+ */
+public class StubUserPointTable extends UserPointTable {
+
+    private final ConcurrentHashMap<Long, UserPoint> table = new ConcurrentHashMap<>();
+
+    @Override
+    public UserPoint selectById(Long id) {
+        return table.getOrDefault(id, UserPoint.empty(id));
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        table.put(id, userPoint);
+        return userPoint;
+    }
+
+    @Override
+    public void clear() {
+        table.clear();
+    }
+}
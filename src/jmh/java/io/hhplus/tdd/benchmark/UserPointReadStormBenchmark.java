@@ -0,0 +1,101 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.UserLockManager;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.UserPointCacheProperties;
+import io.hhplus.tdd.point.UserPointRepository;
+import io.hhplus.tdd.wal.WriteAheadLog;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 한 유저에 조회가 몰릴 때(hot key) 테이블 호출 수와 조회 지연(p99)을 측정한다.
+ * - 캐시를 끄고 모든 조회가 테이블로 가는 상황을 만든다. (캐시 만료, 저장 직후 등)
+ * - singleFlight  : {@link UserPointRepository#getBy}. 동시 조회는 테이블 호출 하나를 함께 기다린다.
+ * - perUserLock   : 이전 구현과 같이 유저 락을 잡고 조회마다 테이블을 호출한다.
+ * 결과의 tableCalls / reads 가 조회 한 건당 테이블 호출 수이고, p0.99 가 조회 지연의 p99 이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(64)
+public class UserPointReadStormBenchmark {
+
+    private static final long HOT_USER_ID = 1L;
+
+    @Param({"singleFlight", "perUserLock"})
+    public String mode;
+
+    @Param({PointServiceFixture.THROTTLED})
+    public String tables;
+
+    private CountingUserPointTable userPointTable;
+    private UserLockManager userLockManager;
+    private UserPointRepository userPointRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PointMetrics pointMetrics = PointMetrics.noop();
+        userPointTable = new CountingUserPointTable(
+                PointServiceFixture.THROTTLED.equals(tables) ? new UserPointTable() : new StubUserPointTable());
+        userLockManager = new UserLockManager(pointMetrics);
+        userPointRepository = new UserPointRepository(
+                userPointTable, userLockManager, new UserPointCacheProperties(0, Duration.ofMinutes(1), 10_000), pointMetrics, WriteAheadLog.noop());
+        userPointRepository.save(HOT_USER_ID, 1_000L);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long reads;
+        public long tableCalls;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            reads = 0;
+            tableCalls = 0;
+        }
+    }
+
+    @Benchmark
+    public UserPoint read(Counters counters) {
+        long before = userPointTable.callsOnCurrentThread();
+        UserPoint userPoint = "singleFlight".equals(mode)
+                ? userPointRepository.getBy(HOT_USER_ID)
+                : userLockManager.executeWithLock(HOT_USER_ID, () -> userPointTable.selectById(HOT_USER_ID));
+        counters.reads++;
+        counters.tableCalls += userPointTable.callsOnCurrentThread() - before;
+        return userPoint;
+    }
+
+    /**
+     * 조회를 감싼 테이블에 넘기고, 스레드별 selectById 호출 수를 센다.
+     */
+    static class CountingUserPointTable extends UserPointTable {
+        private final UserPointTable delegate;
+        private final ThreadLocal<long[]> calls = ThreadLocal.withInitial(() -> new long[1]);
+
+        CountingUserPointTable(UserPointTable delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public UserPoint selectById(Long id) {
+            calls.get()[0]++;
+            return delegate.selectById(id);
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            return delegate.insertOrUpdate(id, amount);
+        }
+
+        long callsOnCurrentThread() {
+            return calls.get()[0];
+        }
+    }
+}
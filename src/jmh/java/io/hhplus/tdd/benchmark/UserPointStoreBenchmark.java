@@ -0,0 +1,94 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.UserPointStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 유저 userCount 명의 포인트를 담아 둔 상태에서 조회/저장 비용과 유저 한 명이 차지하는 힙을 비교한다.
+ * - table      : {@link io.hhplus.tdd.database.UserPointTable} 처럼 HashMap&lt;Long, UserPoint&gt; 를 쓰고, 여러 스레드가 쓰므로 synchronized 로 감싼다.
+ * - concurrent : ConcurrentHashMap&lt;Long, UserPoint&gt; (이전의 복구 포인트 보관 방식)
+ * - store      : {@link UserPointStore}
+ * 조회 한 건당 할당량은 gc 프로파일러의 gc.alloc.rate.norm 으로 본다. store 는 반환하는 UserPoint 하나(40B)만 할당하고, HashMap 들은 조회할 때마다 Long 키(24B)를 만든다.
+ * ./gradlew jmh -Pjmh.includes=UserPointStoreBenchmark -Pjmh.profilers=gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g"})
+public class UserPointStoreBenchmark {
+
+    @Param({"table", "concurrent", "store"})
+    public String store;
+
+    @Param({"1000000"})
+    public int userCount;
+
+    private Map<Long, UserPoint> map;
+    private UserPointStore userPointStore;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long heapBefore = usedHeap();
+        long now = System.currentTimeMillis();
+        switch (store) {
+            case "table" -> map = new HashMap<>();
+            case "concurrent" -> map = new ConcurrentHashMap<>();
+            case "store" -> userPointStore = new UserPointStore();
+            default -> throw new IllegalArgumentException(store);
+        }
+        for (long userId = 1; userId <= userCount; userId++) {
+            if (userPointStore != null) {
+                userPointStore.put(userId, userId, now);
+            } else {
+                map.put(userId, new UserPoint(userId, userId, now));
+            }
+        }
+        System.out.printf("%nstore=%s users=%,d heap=%,.1f B/user%n",
+                store, userCount, (double) (usedHeap() - heapBefore) / userCount);
+    }
+
+    @Benchmark
+    public UserPoint get() {
+        long userId = ThreadLocalRandom.current().nextLong(1, userCount + 1);
+        return switch (store) {
+            case "table" -> {
+                synchronized (map) {
+                    yield map.get(userId);
+                }
+            }
+            case "concurrent" -> map.get(userId);
+            default -> userPointStore.get(userId);
+        };
+    }
+
+    @Benchmark
+    public void put() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long userId = random.nextLong(1, userCount + 1);
+        long point = random.nextLong(1_000_000);
+        switch (store) {
+            case "table" -> {
+                synchronized (map) {
+                    map.put(userId, new UserPoint(userId, point, System.currentTimeMillis()));
+                }
+            }
+            case "concurrent" -> map.put(userId, new UserPoint(userId, point, System.currentTimeMillis()));
+            default -> userPointStore.put(userId, point, System.currentTimeMillis());
+        }
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,98 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.point.*;
+import io.hhplus.tdd.wal.MappedWriteAheadLog;
+import io.hhplus.tdd.wal.WalProperties;
+import io.hhplus.tdd.wal.WalRecovery;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * write-ahead log 로 다시 시작할 때, 웹 서버가 요청을 받기 전에 끝나야 하는 복구({@link WalRecovery#start()}) 시간을 측정한다.
+ * - snapshot : 마지막 {@value #TAIL_COUNT} 건의 충전만 스냅샷 이후에 남아 있다.
+ * - replay   : 스냅샷 없이 모든 기록을 다시 읽는다.
+ * 충전 한 번은 내역과 포인트 기록 두 개를 남긴다. snapshot 의 시작 시간은 내역 수가 아니라 유저 수에 비례한다.
+ * 내역 1억 건은 ./gradlew jmh -Pjmh.includes=WalStartupBenchmark -Pjmh.historyCount=100000000 으로 측정한다(디스크 약 2GB).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class WalStartupBenchmark {
+
+    private static final int TAIL_COUNT = 10_000;
+
+    @Param({"snapshot", "replay"})
+    public String recovery;
+
+    @Param({"2000000"})
+    public long historyCount;
+
+    @Param({"100000"})
+    public int userCount;
+
+    private Path directory;
+    private MappedWriteAheadLog writeAheadLog;
+    private WalRecovery walRecovery;
+
+    @Setup(Level.Trial)
+    public void writeLog() throws IOException {
+        directory = Files.createTempDirectory("wal-startup-benchmark");
+        MappedWriteAheadLog writer = open();
+        writer.recover(record -> {
+        });
+        long[] balances = new long[userCount];
+        long now = System.currentTimeMillis();
+        for (long i = 0; i < historyCount; i++) {
+            if (i == historyCount - TAIL_COUNT && "snapshot".equals(recovery)) {
+                writer.snapshot();
+            }
+            int index = (int) (i % userCount);
+            balances[index] += 100;
+            writer.appendHistory(index + 1, 100L, TransactionType.CHARGE, now);
+            writer.appendBalance(index + 1, balances[index], now);
+        }
+        writer.awaitDurable();
+        writer.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        PointMetrics pointMetrics = PointMetrics.noop();
+        UserLockManager userLockManager = new UserLockManager(pointMetrics);
+        writeAheadLog = open();
+        UserPointRepository userPointRepository = new UserPointRepository(
+                new StubUserPointTable(), userLockManager, new UserPointCacheProperties(10_000, Duration.ofMinutes(10), 100_000), pointMetrics, writeAheadLog);
+        PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(
+                new StubPointHistoryTable(), new PointHistoryWriterProperties(100_000, 1_000, Duration.ofSeconds(30)), pointMetrics, writeAheadLog);
+        walRecovery = new WalRecovery(writeAheadLog, userPointRepository, pointHistoryRepository);
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        walRecovery.stop();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteLog() throws IOException {
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public WalRecovery start() {
+        walRecovery.start();
+        return walRecovery;
+    }
+
+    private MappedWriteAheadLog open() {
+        return new MappedWriteAheadLog(new WalProperties(true, directory, DataSize.ofMegabytes(64), Integer.MAX_VALUE, Duration.ZERO));
+    }
+}
@@ -0,0 +1,62 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.wal.MappedWriteAheadLog;
+import io.hhplus.tdd.wal.WalProperties;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 충전 한 번이 write-ahead log 에 남기는 기록(내역 + 포인트)을 쓰고 디스크에 반영되기까지 기다리는 시간을 측정한다.
+ * 여러 스레드가 동시에 기다리면 fsync 한 번으로 함께 반영되므로, 스레드 수를 늘려도 지연이 fsync 한 번 수준에 머무는지 본다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WriteAheadLogBenchmark {
+
+    private Path directory;
+    private MappedWriteAheadLog writeAheadLog;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("wal-benchmark");
+        writeAheadLog = new MappedWriteAheadLog(new WalProperties(true, directory, DataSize.ofMegabytes(64), 4, Duration.ZERO));
+        writeAheadLog.recover(record -> {
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        writeAheadLog.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void appendAndAwait() {
+        append();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void appendAndAwaitConcurrently() {
+        append();
+    }
+
+    private void append() {
+        long userId = ThreadLocalRandom.current().nextLong(1, 1_000_000);
+        long now = System.currentTimeMillis();
+        writeAheadLog.appendHistory(userId, 100L, TransactionType.CHARGE, now);
+        writeAheadLog.appendBalance(userId, 100L, now);
+        writeAheadLog.awaitDurable();
+    }
+}
@@ -0,0 +1,23 @@
+package io.hhplus.tdd.load;
+
+/**
+ * 부하 생성기가 보내는 요청 종류
+ */
+enum LoadOperation {
+    GET("GET", ""),
+    HISTORIES("GET", "/histories"),
+    CHARGE("PATCH", "/charge"),
+    USE("PATCH", "/use");
+
+    final String method;
+    final String suffix;
+
+    LoadOperation(String method, String suffix) {
+        this.method = method;
+        this.suffix = suffix;
+    }
+
+    boolean changesPoint() {
+        return this == CHARGE || this == USE;
+    }
+}
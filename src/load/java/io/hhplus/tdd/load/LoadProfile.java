@@ -0,0 +1,88 @@
+package io.hhplus.tdd.load;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 부하 설정. 모두 -Dload.* 시스템 프로퍼티로 바꿀 수 있다.
+ * - baseUrl : 대상 서버 주소. 없으면 애플리케이션을 같은 프로세스에서 빈 포트로 띄운다.
+ * - duration : 요청을 보내는 시간
+ * - rate : 초당 평균 요청 수. 도착 간격은 지수 분포(포아송 도착)이며 응답을 기다리지 않는다(open-loop).
+ * - users : userId 범위 (1 ~ users)
+ * - zipf : userId 쏠림 정도. 0 이면 균등하다.
+ * - mix : 요청 종류별 비율 (예: get=50,histories=10,charge=25,use=15)
+ * - maxInFlight : 동시에 기다리는 응답 수의 상한. 넘는 요청은 보내지 않고 CLIENT_OVERLOAD 로 센다.
+ * - timeout : 요청 하나의 응답 제한 시간
+ * - seed : 요청 순서를 재현하기 위한 난수 시드
+ */
+record LoadProfile(
+        String baseUrl,
+        Duration duration,
+        int rate,
+        int users,
+        double zipf,
+        Map<LoadOperation, Integer> mix,
+        int maxInFlight,
+        Duration timeout,
+        long seed
+) {
+
+    static LoadProfile fromSystemProperties() {
+        return new LoadProfile(
+                System.getProperty("load.baseUrl"),
+                Duration.ofSeconds(Long.getLong("load.duration", 30)),
+                Integer.getInteger("load.rate", 200),
+                Integer.getInteger("load.users", 1_000),
+                Double.parseDouble(System.getProperty("load.zipf", "1.0")),
+                parseMix(System.getProperty("load.mix", "get=50,histories=10,charge=25,use=15")),
+                Integer.getInteger("load.maxInFlight", 10_000),
+                Duration.ofSeconds(Long.getLong("load.timeout", 30)),
+                Long.getLong("load.seed", 42L)
+        );
+    }
+
+    private static Map<LoadOperation, Integer> parseMix(String value) {
+        Map<LoadOperation, Integer> mix = new EnumMap<>(LoadOperation.class);
+        for (String entry : value.split(",")) {
+            String[] pair = entry.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("load.mix 형식이 잘못되었습니다: " + value);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("load.mix 의 비율은 0 이상이어야 합니다: " + value);
+            }
+            mix.put(LoadOperation.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)), weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("load.mix 의 비율 합이 0 입니다: " + value);
+        }
+        return mix;
+    }
+
+    /**
+     * 0 이상 mix 비율 합 미만의 값을 요청 종류로 바꾼다.
+     */
+    LoadOperation operationAt(int point) {
+        for (Map.Entry<LoadOperation, Integer> entry : mix.entrySet()) {
+            point -= entry.getValue();
+            if (point < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalArgumentException(String.valueOf(point));
+    }
+
+    int mixTotal() {
+        return mix.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("target=%s duration=%ds rate=%,d/s users=%,d zipf=%.2f mix=%s maxInFlight=%,d timeout=%ds seed=%d",
+                baseUrl == null ? "in-process" : baseUrl, duration.toSeconds(), rate, users, zipf, mix, maxInFlight,
+                timeout.toSeconds(), seed);
+    }
+}
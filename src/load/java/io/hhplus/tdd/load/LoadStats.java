@@ -0,0 +1,156 @@
+package io.hhplus.tdd.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.ErrorCode;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.net.http.HttpTimeoutException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 요청 종류별 지연(HdrHistogram, 마이크로초)과 성공/실패 수, 실패 원인별 수, 유저별 반영된 충전/사용 금액을 모은다.
+ * - 지연은 응답을 받은 시각에서 요청을 보내기로 한 시각을 뺀 값이다. 따라서 클라이언트나 서버가 밀려 늦게 보낸 시간도 포함된다.
+ * - 실패 원인은 응답 메시지가 {@link ErrorCode} 와 같으면 그 이름으로, 아니면 HTTP_상태코드, TIMEOUT, IO_ERROR 로 센다.
+ * - 충전/사용이 시간 초과, 연결 오류, 5xx 로 끝나면 반영 여부를 알 수 없으므로 그 유저는 잔액 검증에서 뺀다.
+ */
+final class LoadStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final ObjectMapper objectMapper;
+    private final Map<LoadOperation, Histogram> latencies = new EnumMap<>(LoadOperation.class);
+    private final Map<LoadOperation, LongAdder> okCounts = new EnumMap<>(LoadOperation.class);
+    private final Map<LoadOperation, LongAdder> errorCounts = new EnumMap<>(LoadOperation.class);
+    private final ConcurrentHashMap<String, LongAdder> errorsByCode = new ConcurrentHashMap<>();
+    private final AtomicLongArray charged;
+    private final AtomicLongArray used;
+    private final AtomicIntegerArray touched;
+    private final AtomicIntegerArray unknown;
+
+    LoadStats(ObjectMapper objectMapper, int users) {
+        this.objectMapper = objectMapper;
+        for (LoadOperation operation : LoadOperation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            okCounts.put(operation, new LongAdder());
+            errorCounts.put(operation, new LongAdder());
+        }
+        this.charged = new AtomicLongArray(users + 1);
+        this.used = new AtomicLongArray(users + 1);
+        this.touched = new AtomicIntegerArray(users + 1);
+        this.unknown = new AtomicIntegerArray(users + 1);
+    }
+
+    void recordResponse(LoadOperation operation, long userId, long amount, int status, String body, long latencyMicros) {
+        latencies.get(operation).recordValue(Math.min(latencyMicros, HIGHEST_TRACKABLE_MICROS));
+        if (operation.changesPoint()) {
+            touched.set((int) userId, 1);
+        }
+        if (status == 200) {
+            okCounts.get(operation).increment();
+            if (operation == LoadOperation.CHARGE) {
+                charged.addAndGet((int) userId, amount);
+            } else if (operation == LoadOperation.USE) {
+                used.addAndGet((int) userId, amount);
+            }
+            return;
+        }
+        if (operation.changesPoint() && status >= 500) {
+            unknown.set((int) userId, 1);
+        }
+        recordError(operation, errorCodeOf(status, body));
+    }
+
+    void recordFailure(LoadOperation operation, long userId, Throwable failure, long latencyMicros) {
+        latencies.get(operation).recordValue(Math.min(latencyMicros, HIGHEST_TRACKABLE_MICROS));
+        if (operation.changesPoint()) {
+            touched.set((int) userId, 1);
+            unknown.set((int) userId, 1);
+        }
+        recordError(operation, failure instanceof HttpTimeoutException ? "TIMEOUT" : "IO_ERROR");
+    }
+
+    /**
+     * maxInFlight 를 넘어 보내지 않은 요청
+     */
+    void recordOverload(LoadOperation operation) {
+        recordError(operation, "CLIENT_OVERLOAD");
+    }
+
+    boolean touched(long userId) {
+        return touched.get((int) userId) == 1;
+    }
+
+    boolean unknown(long userId) {
+        return unknown.get((int) userId) == 1;
+    }
+
+    long delta(long userId) {
+        return charged.get((int) userId) - used.get((int) userId);
+    }
+
+    void print(PrintStream out, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        out.printf("%-10s %9s %9s %9s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "ok", "error", "ok/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "mean ms");
+        long totalOk = 0;
+        long totalError = 0;
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        for (LoadOperation operation : LoadOperation.values()) {
+            Histogram histogram = latencies.get(operation);
+            long ok = okCounts.get(operation).sum();
+            long error = errorCounts.get(operation).sum();
+            totalOk += ok;
+            totalError += error;
+            total.add(histogram);
+            printRow(out, operation.name(), ok, error, seconds, histogram);
+        }
+        printRow(out, "TOTAL", totalOk, totalError, seconds, total);
+
+        out.printf("%nerrors by code (%.2f%% of %,d requests)%n",
+                100.0 * totalError / Math.max(1, totalOk + totalError), totalOk + totalError);
+        if (errorsByCode.isEmpty()) {
+            out.println("  none");
+        }
+        new TreeMap<>(errorsByCode).forEach((code, count) -> out.printf("  %-25s %,9d%n", code, count.sum()));
+    }
+
+    private void printRow(PrintStream out, String name, long ok, long error, double seconds, Histogram histogram) {
+        out.printf("%-10s %,9d %,9d %,9.1f", name, ok, error, ok / seconds);
+        for (double percentile : PERCENTILES) {
+            out.printf(" %,9.1f", histogram.getValueAtPercentile(percentile) / 1000.0);
+        }
+        out.printf(" %,9.1f %,9.1f%n", histogram.getMaxValue() / 1000.0, histogram.getMean() / 1000.0);
+    }
+
+    private void recordError(LoadOperation operation, String code) {
+        errorCounts.get(operation).increment();
+        errorsByCode.computeIfAbsent(code, key -> new LongAdder()).increment();
+    }
+
+    private String errorCodeOf(int status, String body) {
+        try {
+            JsonNode message = objectMapper.readTree(body).get("message");
+            if (message != null) {
+                for (ErrorCode errorCode : ErrorCode.values()) {
+                    if (errorCode.getMessage().equals(message.asText())) {
+                        return errorCode.name();
+                    }
+                }
+            }
+        } catch (Exception ignored) {
+            // 본문이 JSON 이 아니면 상태 코드로 센다.
+        }
+        return "HTTP_" + status;
+    }
+}
@@ -0,0 +1,231 @@
+package io.hhplus.tdd.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.TddApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 실행 중인 애플리케이션에 HTTP 로 부하를 주고 처리량, 지연 백분위, 실패 원인별 비율을 출력한 뒤 잔액을 검증한다.
+ * - 요청은 포아송 도착으로 정해진 시각에 보내며 응답을 기다리지 않는다(open-loop). 서버가 느려져도 요청 속도는 줄지 않는다.
+ * - userId 는 Zipf 분포로 뽑아 일부 유저에 요청이 몰리게 한다.
+ * - 잔액 검증: 충전/사용한 유저의 최종 잔액이 (시작 잔액 + 성공한 충전 합 - 성공한 사용 합) 과 같은지 확인한다.
+ *   애플리케이션을 같은 프로세스에서 띄운 경우에는 잔액이 내역 집계의 종류별 금액 합(사용은 음수로 저장된다)과 같은지도 확인한다.
+ *   어느 하나라도 다르면 종료 코드 1 로 끝난다.
+ * ./gradlew loadTest -Dload.rate=500 -Dload.duration=60 -Dload.zipf=1.2 -Dload.mix=get=40,histories=5,charge=35,use=20
+ */
+public final class PointLoadGenerator {
+
+    private static final int SETUP_CONCURRENCY = 100;
+
+    private final LoadProfile profile;
+    private final String baseUrl;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LoadStats stats;
+
+    private PointLoadGenerator(LoadProfile profile, String baseUrl, HttpClient client) {
+        this.profile = profile;
+        this.baseUrl = baseUrl;
+        this.client = client;
+        this.stats = new LoadStats(objectMapper, profile.users());
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        System.out.println(profile);
+
+        ConfigurableApplicationContext context = null;
+        String baseUrl = profile.baseUrl();
+        if (baseUrl == null) {
+            context = new SpringApplicationBuilder(TddApplication.class).run("--server.port=0");
+            baseUrl = "http://localhost:" + ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        }
+        boolean consistent;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(executor)
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .build()) {
+            consistent = new PointLoadGenerator(profile, baseUrl, client).run(context != null);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        System.exit(consistent ? 0 : 1);
+    }
+
+    private boolean run(boolean inProcess) throws Exception {
+        long[] initial = balances();
+
+        long elapsedNanos = drive();
+        System.out.println();
+        stats.print(System.out, elapsedNanos);
+
+        return verify(initial, inProcess);
+    }
+
+    /**
+     * 정해진 시간 동안 요청을 보내고, 보낸 요청의 응답을 모두 받을 때까지 기다린다.
+     */
+    private long drive() {
+        SplittableRandom random = new SplittableRandom(profile.seed());
+        ZipfianSampler sampler = new ZipfianSampler(profile.users(), profile.zipf());
+        AtomicInteger inFlight = new AtomicInteger();
+        List<CompletableFuture<?>> responses = new ArrayList<>();
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / (double) profile.rate();
+
+        long start = System.nanoTime();
+        long end = start + profile.duration().toNanos();
+        double scheduledAt = start;
+        while (true) {
+            scheduledAt += -Math.log(1 - random.nextDouble()) * meanIntervalNanos;
+            long intended = (long) scheduledAt;
+            if (intended >= end) {
+                break;
+            }
+            LoadOperation operation = profile.operationAt(random.nextInt(profile.mixTotal()));
+            long userId = sampler.next(random);
+            long amount = 1 + random.nextInt(operation == LoadOperation.USE ? 500 : 1_000);
+            while (System.nanoTime() < intended) {
+                LockSupport.parkNanos(intended - System.nanoTime());
+            }
+            if (inFlight.get() >= profile.maxInFlight()) {
+                stats.recordOverload(operation);
+                continue;
+            }
+            inFlight.incrementAndGet();
+            responses.add(client.sendAsync(request(operation, userId, amount), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, failure) -> {
+                        inFlight.decrementAndGet();
+                        long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended);
+                        if (failure != null) {
+                            stats.recordFailure(operation, userId, unwrap(failure), latencyMicros);
+                        } else {
+                            stats.recordResponse(operation, userId, amount, response.statusCode(), response.body(), latencyMicros);
+                        }
+                    }));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new))
+                .exceptionally(failure -> null)
+                .join();
+        return System.nanoTime() - start;
+    }
+
+    private boolean verify(long[] initial, boolean inProcess) throws Exception {
+        long[] balances = balances();
+        int checked = 0;
+        int skipped = 0;
+        List<String> mismatches = new ArrayList<>();
+        for (long userId = 1; userId <= profile.users(); userId++) {
+            if (!stats.touched(userId)) {
+                continue;
+            }
+            if (stats.unknown(userId)) {
+                skipped++;
+                continue;
+            }
+            checked++;
+            long expected = initial[(int) userId] + stats.delta(userId);
+            if (balances[(int) userId] != expected) {
+                mismatches.add(String.format("userId=%d expected=%d actual=%d", userId, expected, balances[(int) userId]));
+            }
+        }
+        if (inProcess) {
+            for (long userId = 1; userId <= profile.users(); userId++) {
+                if (stats.unknown(userId)) {
+                    continue;
+                }
+                long fromHistories = summaryBalance(userId);
+                if (balances[(int) userId] != fromHistories) {
+                    mismatches.add(String.format("userId=%d histories=%d actual=%d", userId, fromHistories, balances[(int) userId]));
+                }
+            }
+        }
+
+        System.out.printf("%nbalance check: users=%,d skipped(unknown outcome)=%,d mismatches=%,d%n",
+                checked, skipped, mismatches.size());
+        mismatches.stream().limit(20).forEach(mismatch -> System.out.println("  " + mismatch));
+        return mismatches.isEmpty();
+    }
+
+    /**
+     * 모든 유저의 잔액을 SETUP_CONCURRENCY 개씩 동시에 조회한다. 인덱스는 userId 이다.
+     */
+    private long[] balances() throws Exception {
+        long[] balances = new long[profile.users() + 1];
+        Semaphore permits = new Semaphore(SETUP_CONCURRENCY);
+        List<CompletableFuture<?>> responses = new ArrayList<>(profile.users());
+        for (long userId = 1; userId <= profile.users(); userId++) {
+            long id = userId;
+            permits.acquire();
+            responses.add(client.sendAsync(request(LoadOperation.GET, id, 0), HttpResponse.BodyHandlers.ofString())
+                    .thenAccept(response -> balances[(int) id] = readTree(response).get("point").asLong())
+                    .whenComplete((ignored, failure) -> permits.release()));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+        return balances;
+    }
+
+    private long summaryBalance(long userId) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/points/" + userId + "/summary"))
+                .timeout(profile.timeout())
+                .build();
+        JsonNode totals = readTree(client.send(request, HttpResponse.BodyHandlers.ofString())).get("totals");
+        long balance = 0;
+        for (JsonNode total : totals) {
+            balance += total.asLong();
+        }
+        return balance;
+    }
+
+    private HttpRequest request(LoadOperation operation, long userId, long amount) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + "/points/" + userId + operation.suffix))
+                .timeout(profile.timeout());
+        if (operation.changesPoint()) {
+            return builder.header("Content-Type", "application/json")
+                    .method(operation.method, HttpRequest.BodyPublishers.ofString("{\"amount\":" + amount + "}"))
+                    .build();
+        }
+        return builder.GET().build();
+    }
+
+    private JsonNode readTree(HttpResponse<String> response) {
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("조회에 실패했습니다. status=" + response.statusCode() + " body=" + response.body());
+        }
+        try {
+            return objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new IllegalStateException("응답을 읽지 못했습니다. body=" + response.body(), e);
+        }
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause()
+                : failure;
+    }
+}
@@ -0,0 +1,32 @@
+package io.hhplus.tdd.load;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * 1 부터 n 까지를 순위 k 의 확률이 1/k^exponent 에 비례하도록 뽑는다.
+ * exponent 가 0 이면 균등 분포이고, 클수록 앞 순위(userId 1, 2, ...)에 요청이 몰린다.
+ * 누적 분포를 미리 계산해 두고 이진 탐색으로 뽑는다.
+ */
+final class ZipfianSampler {
+
+    private final double[] cumulative;
+
+    ZipfianSampler(int n, double exponent) {
+        cumulative = new double[n];
+        double sum = 0;
+        for (int k = 1; k <= n; k++) {
+            sum += 1 / Math.pow(k, exponent);
+            cumulative[k - 1] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    long next(RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1) + 1;
+    }
+}
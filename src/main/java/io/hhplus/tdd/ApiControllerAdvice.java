@@ -1,8 +1,11 @@
 package io.hhplus.tdd;
 
+import io.hhplus.tdd.point.PointMetrics;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -11,17 +14,25 @@ import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 class ApiControllerAdvice extends ResponseEntityExceptionHandler {
+
+    private final PointMetrics pointMetrics;
+
     @ExceptionHandler(value = Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception e) {
         return ResponseEntity.status(500).body(new ErrorResponse("500", "에러가 발생했습니다."));
     }
 
+    /**
+     * SSE 처럼 JSON 이 아닌 응답을 요청했더라도 에러는 JSON 으로 응답한다.
+     */
     @ExceptionHandler(value = BusinessException.class)
     public ResponseEntity<ErrorResponse> handleException(BusinessException e) {
         ErrorCode errorCode = e.getErrorCode();
+        pointMetrics.recordRejection(errorCode);
         HttpStatus httpStatus = HttpStatus.valueOf(errorCode.getStatus());
-        return ResponseEntity.status(httpStatus).body(new ErrorResponse(String.valueOf(httpStatus), errorCode.getMessage()));
+        return ResponseEntity.status(httpStatus).contentType(MediaType.APPLICATION_JSON).body(new ErrorResponse(String.valueOf(httpStatus), errorCode.getMessage()));
     }
 
     @Override
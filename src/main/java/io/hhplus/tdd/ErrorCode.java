@@ -1,7 +1,25 @@
 package io.hhplus.tdd;
 
 public enum ErrorCode {
-    INSUFFICIENT_POINT(400, "충분하지 않은 포인트가 있습니다.");
+    INSUFFICIENT_POINT(400, "충분하지 않은 포인트가 있습니다."),
+    UNSUPPORTED_TRANSACTION_TYPE(400, "요청할 수 없는 트랜잭션 종류입니다."),
+    INVALID_USER_ID(400, "유저 id 는 long 범위의 정수이어야 합니다."),
+    INVALID_IDEMPOTENCY_KEY(400, "Idempotency-Key 는 1자 이상 255자 이하이어야 합니다."),
+    IDEMPOTENCY_KEY_REUSED(422, "다른 요청에 이미 사용된 Idempotency-Key 입니다."),
+    POINT_VERSION_MISMATCH(412, "포인트가 그사이 변경되었습니다. 다시 조회한 뒤 요청해 주세요."),
+    POINT_UPDATE_CONFLICT(409, "같은 유저의 포인트를 동시에 변경하는 요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해 주세요."),
+    POINT_HISTORY_RELOADING(503, "다시 시작한 뒤 포인트 내역을 읽어 들이는 중입니다. 잠시 후 다시 시도해 주세요."),
+    SHARD_NOT_OWNER(409, "이 노드가 담당하는 유저가 아닙니다."),
+    SHARD_UNAVAILABLE(503, "담당 노드에 요청을 전달하지 못했습니다."),
+    SHARD_FORWARD_LOOP(508, "노드 사이에서 요청이 계속 전달되고 있습니다."),
+    SHARD_HANDOFF_PENDING(503, "유저를 다른 노드로 옮기는 중입니다. 잠시 후 다시 시도해 주세요."),
+    SHARD_IMPORT_CONFLICT(409, "넘겨받을 유저의 데이터가 이 노드의 데이터와 다릅니다."),
+    SHARD_UNAUTHORIZED(401, "노드 사이의 요청에 필요한 비밀값이 없거나 다릅니다."),
+    SHARD_BULK_UNSUPPORTED(501, "샤딩 중에는 일괄 처리를 지원하지 않습니다. 유저별 충전/사용 API 로 요청해 주세요."),
+    EVENT_SUBSCRIBERS_EXCEEDED(503, "포인트 내역 이벤트 구독자 수가 최대치에 도달했습니다. 잠시 후 다시 시도해 주세요."),
+    USER_RATE_LIMITED(429, "요청이 너무 잦습니다. 잠시 후 다시 시도해 주세요."),
+    GLOBAL_RATE_LIMITED(429, "요청이 몰려 처리하지 못했습니다. 잠시 후 다시 시도해 주세요."),
+    CONCURRENCY_LIMIT_EXCEEDED(429, "처리 중인 요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해 주세요.");
 
     private final int status;
     private final String message;
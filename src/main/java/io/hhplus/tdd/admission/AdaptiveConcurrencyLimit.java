@@ -0,0 +1,105 @@
+package io.hhplus.tdd.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 동시에 처리하는 요청 수의 상한을 응답 시간으로 조절한다(gradient 방식).
+ * - 처리한 요청의 응답 시간을 updateInterval 동안 모아 평균(short)을 내고, 그 평균을 천천히 따라가는 기준(long)과 비교한다.
+ * - 응답 시간이 기준보다 늘면(기다리는 요청이 쌓이면) 그 비율만큼 상한을 줄이고, 그대로면 sqrt(상한)만큼 늘린다.
+ *   한 번에 절반 아래로 줄이지 않으며, 새 상한은 이전 상한과 섞어 천천히 바꾼다.
+ * - 상한의 절반도 쓰지 않은 구간에서는 늘리지 않는다. 부하가 없을 때 상한이 끝없이 커지지 않게 한다.
+ * - 응답 시간은 LongAdder 로 모으고, 다시 계산하는 일은 간격마다 compareAndSet 에 이긴 요청 하나만 한다.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double SMOOTHING = 0.2;
+    private static final double LONG_WINDOW = 20;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long updateIntervalNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final LongAdder latencySum = new LongAdder();
+    private final LongAdder sampleCount = new LongAdder();
+    private final AtomicLong nextUpdate;
+
+    private volatile int limit;
+    private double longLatencyNanos;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long updateIntervalNanos, long nowNanos) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException(
+                    "상한 설정이 올바르지 않습니다. initial=" + initialLimit + ", min=" + minLimit + ", max=" + maxLimit);
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.updateIntervalNanos = updateIntervalNanos;
+        this.nextUpdate = new AtomicLong(nowNanos + updateIntervalNanos);
+    }
+
+    /**
+     * 상한 안이면 처리 중인 요청 수를 하나 늘린다. true 를 받았다면 처리를 마친 뒤 반드시 {@link #release} 를 호출해야 한다.
+     */
+    public boolean tryAcquire() {
+        int current = inFlight.incrementAndGet();
+        if (current > limit) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        peakInFlight.accumulateAndGet(current, Math::max);
+        return true;
+    }
+
+    public void release(long latencyNanos, long nowNanos) {
+        inFlight.decrementAndGet();
+        latencySum.add(latencyNanos);
+        sampleCount.increment();
+        long next = nextUpdate.get();
+        if (nowNanos - next >= 0 && nextUpdate.compareAndSet(next, nowNanos + updateIntervalNanos)) {
+            update();
+        }
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * 간격마다 한 스레드만 호출한다. 그사이 들어온 응답 시간은 다음 간격에 섞일 수 있다.
+     */
+    private void update() {
+        long count = sampleCount.sumThenReset();
+        long sum = latencySum.sumThenReset();
+        int peak = peakInFlight.getAndSet(inFlight.get());
+        if (count == 0) {
+            return;
+        }
+        double shortLatency = (double) sum / count;
+        if (longLatencyNanos == 0) {
+            longLatencyNanos = shortLatency;
+        } else {
+            longLatencyNanos += (shortLatency - longLatencyNanos) / LONG_WINDOW;
+        }
+        // 응답 시간이 기준의 절반 아래로 떨어지면 기준이 부하가 많던 때에 머물러 있는 것이므로 빨리 내린다.
+        if (longLatencyNanos > 2 * shortLatency) {
+            longLatencyNanos = 2 * shortLatency;
+        }
+
+        int current = limit;
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, longLatencyNanos / Math.max(shortLatency, 1)));
+        double queueSize = peak * 2 < current ? 0 : Math.sqrt(current);
+        double target = current * gradient + queueSize;
+        double smoothed = current * (1 - SMOOTHING) + target * SMOOTHING;
+        limit = (int) Math.max(minLimit, Math.min(maxLimit, Math.round(smoothed)));
+    }
+}
@@ -0,0 +1,54 @@
+package io.hhplus.tdd.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.PointMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * point.admission.enabled=true 이면 유저별, 노드 전체의 요청 속도와 동시에 처리하는 요청 수를 제한한다.
+ * - point.admission.limit    : 지금의 동시 처리 상한
+ * - point.admission.inflight : 지금 처리 중인 요청 수
+ * - point.admission.user.buckets : 유지 중인 유저 버킷 수
+ * 거절 수는 point.rejection 에 {@link io.hhplus.tdd.ErrorCode} 별로 남는다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "point.admission", name = "enabled", havingValue = "true")
+public class AdmissionConfig {
+
+    @Bean
+    public AdmissionControl admissionControl(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        AdmissionControl admissionControl = new AdmissionControl(properties);
+        Gauge.builder("point.admission.limit", admissionControl, AdmissionControl::concurrencyLimit)
+                .description("동시 처리 상한")
+                .register(meterRegistry);
+        Gauge.builder("point.admission.inflight", admissionControl, AdmissionControl::inFlight)
+                .description("처리 중인 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("point.admission.user.buckets", admissionControl, AdmissionControl::userBucketCount)
+                .description("유지 중인 유저 버킷 수")
+                .register(meterRegistry);
+        return admissionControl;
+    }
+
+    /**
+     * 샤드 라우팅 필터(HIGHEST_PRECEDENCE + 100) 뒤에서 실행한다.
+     */
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            AdmissionControl admissionControl,
+            PointMetrics pointMetrics,
+            ObjectMapper objectMapper
+    ) {
+        FilterRegistrationBean<AdmissionControlFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionControlFilter(admissionControl, pointMetrics, objectMapper));
+        registration.addUrlPatterns("/points/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 200);
+        return registration;
+    }
+}
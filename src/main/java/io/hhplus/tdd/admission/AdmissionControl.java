@@ -0,0 +1,156 @@
+package io.hhplus.tdd.admission;
+
+import io.hhplus.tdd.ErrorCode;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 요청을 받을지 정한다. 아래 순서로 확인하고 처음 걸린 이유로 거절한다.
+ * 1. 유저의 토큰 버킷 : 한 유저가 몰아서 보내는 요청을 다른 유저보다 먼저 막는다. 유저 id 가 없는 요청은 건너뛴다.
+ * 2. 노드 전체의 토큰 버킷
+ * 3. 동시에 처리 중인 요청 수 ({@link AdaptiveConcurrencyLimit})
+ * 앞 단계에서 쓴 토큰은 뒤 단계에서 거절되어도 돌려주지 않는다.
+ * <p>
+ * 유저 버킷은 처음 요청할 때 만들고, 가득 찬(한동안 요청이 없던) 버킷은 sweepInterval 마다 백그라운드 스레드가 지운다.
+ * 요청 스레드는 유저 수에 비례하는 정리를 하지 않으므로, 정리 비용이 응답 시간과 동시 처리 상한 계산에 섞이지 않는다.
+ * 지우는 순간 그 버킷을 쓰던 요청이 있으면 토큰 하나가 새 버킷에 반영되지 않을 수 있다.
+ */
+public class AdmissionControl implements SmartLifecycle {
+
+    private static final long MIN_SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final AdmissionProperties properties;
+    private final TokenBucket globalBucket;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final ConcurrentHashMap<Long, TokenBucket> userBuckets = new ConcurrentHashMap<>();
+    private final long sweepIntervalNanos;
+
+    private volatile boolean running;
+    private Thread sweeper;
+
+    public AdmissionControl(AdmissionProperties properties) {
+        long now = System.nanoTime();
+        this.properties = properties;
+        this.globalBucket = new TokenBucket(properties.globalRate(), properties.globalBurst(), now);
+        this.concurrencyLimit = new AdaptiveConcurrencyLimit(properties.initialLimit(), properties.minLimit(), properties.maxLimit(),
+                properties.limitUpdateInterval().toNanos(), now);
+        this.sweepIntervalNanos = Math.max(MIN_SWEEP_INTERVAL_NANOS,
+                Math.round(properties.userBurst() / properties.userRate() * TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    /**
+     * @param userId 경로의 유저 id. 없으면 null
+     * @return 받았으면 {@link Decision#admitted()} 가 true 이며, 처리를 마친 뒤 {@link #release(long)} 를 호출해야 한다.
+     */
+    public Decision tryAdmit(Long userId) {
+        long now = System.nanoTime();
+        if (userId != null) {
+            long waitNanos = userBucket(userId, now).tryAcquire(now);
+            if (waitNanos > 0) {
+                return Decision.rejected(ErrorCode.USER_RATE_LIMITED, waitNanos);
+            }
+        }
+        long waitNanos = globalBucket.tryAcquire(now);
+        if (waitNanos > 0) {
+            return Decision.rejected(ErrorCode.GLOBAL_RATE_LIMITED, waitNanos);
+        }
+        if (!concurrencyLimit.tryAcquire()) {
+            return Decision.rejected(ErrorCode.CONCURRENCY_LIMIT_EXCEEDED, properties.limitUpdateInterval().toNanos());
+        }
+        return Decision.ADMITTED;
+    }
+
+    /**
+     * @param startNanos 요청을 받은 시각(System.nanoTime)
+     */
+    public void release(long startNanos) {
+        long now = System.nanoTime();
+        concurrencyLimit.release(now - startNanos, now);
+    }
+
+    public int concurrencyLimit() {
+        return concurrencyLimit.limit();
+    }
+
+    public int inFlight() {
+        return concurrencyLimit.inFlight();
+    }
+
+    public int userBucketCount() {
+        return userBuckets.size();
+    }
+
+    /**
+     * 가득 찬 유저 버킷을 지운다.
+     */
+    public void sweepIdleBuckets() {
+        long now = System.nanoTime();
+        userBuckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        sweeper = new Thread(this::sweepLoop, "admission-bucket-sweeper");
+        sweeper.setDaemon(true);
+        sweeper.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (sweeper == null) {
+            return;
+        }
+        LockSupport.unpark(sweeper);
+        try {
+            sweeper.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void sweepLoop() {
+        while (running) {
+            LockSupport.parkNanos(this, sweepIntervalNanos);
+            if (running) {
+                sweepIdleBuckets();
+            }
+        }
+    }
+
+    private TokenBucket userBucket(long userId, long now) {
+        TokenBucket bucket = userBuckets.get(userId);
+        if (bucket != null) {
+            return bucket;
+        }
+        return userBuckets.computeIfAbsent(userId, id -> new TokenBucket(properties.userRate(), properties.userBurst(), now));
+    }
+
+    /**
+     * @param retryAfterNanos 거절했을 때 다시 시도해 볼 만한 때까지 남은 나노초
+     */
+    public record Decision(boolean admitted, ErrorCode errorCode, long retryAfterNanos) {
+
+        private static final Decision ADMITTED = new Decision(true, null, 0);
+
+        private static Decision rejected(ErrorCode errorCode, long retryAfterNanos) {
+            return new Decision(false, errorCode, retryAfterNanos);
+        }
+
+        /**
+         * Retry-After 헤더 값. 초 단위로 올림한다.
+         */
+        public long retryAfterSeconds() {
+            return Math.max(1, (retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package io.hhplus.tdd.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.ErrorCode;
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.point.PointMetrics;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * /points/{userId} 와 /points/bulk 요청을 {@link AdmissionControl} 이 받을 때만 다음 필터로 넘기고, 아니면 429 와 Retry-After 로 거절한다.
+ * - 샤드 라우팅 뒤에 두어 이 노드가 처리하는 요청만 센다. 다른 노드에 전달하는 요청은 그 노드에서 센다.
+ * - 유저 id 가 long 범위를 넘으면 세지 않고 400 으로 거절한다. 그대로 넘기면 유량 제어 없이 처리되기 때문이다.
+ * - /points/events 처럼 오래 연결을 붙잡는 요청은 구독자 수 제한을 따로 두므로 여기서 세지 않는다.
+ * - 비동기로 이어지는 요청(/histories/export 의 스트리밍 응답 등)은 응답을 다 보낸 뒤에 처리 중인 요청에서 빼고 응답 시간을 잰다.
+ *   비동기 처리가 시간 초과나 오류로 끝나도 onComplete 는 호출된다.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Pattern USER_PATH = Pattern.compile("^/points/(-?\\d+)(/.*)?$");
+    private static final String BULK_PATH = "/points/bulk";
+
+    private final AdmissionControl admissionControl;
+    private final PointMetrics pointMetrics;
+    private final ObjectMapper objectMapper;
+
+    public AdmissionControlFilter(AdmissionControl admissionControl, PointMetrics pointMetrics, ObjectMapper objectMapper) {
+        this.admissionControl = admissionControl;
+        this.pointMetrics = pointMetrics;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Long userId = null;
+        Matcher matcher = USER_PATH.matcher(path);
+        if (matcher.matches()) {
+            try {
+                userId = Long.parseLong(matcher.group(1));
+            } catch (NumberFormatException e) {
+                reject(response, ErrorCode.INVALID_USER_ID);
+                return;
+            }
+        } else if (!path.equals(BULK_PATH)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        AdmissionControl.Decision decision = admissionControl.tryAdmit(userId);
+        if (!decision.admitted()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+            reject(response, decision.errorCode());
+            return;
+        }
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(start));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                admissionControl.release(start);
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response, ErrorCode errorCode) throws IOException {
+        pointMetrics.recordRejection(errorCode);
+        HttpStatus httpStatus = HttpStatus.valueOf(errorCode.getStatus());
+        response.setStatus(httpStatus.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(String.valueOf(httpStatus), errorCode.getMessage()));
+    }
+
+    private final class ReleaseOnComplete implements AsyncListener {
+
+        private final long start;
+
+        private ReleaseOnComplete(long start) {
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            admissionControl.release(start);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package io.hhplus.tdd.admission;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 포인트 API 요청의 유량 제어 설정
+ * - enabled : true 이면 아래 제한을 넘는 요청을 429 로 거절한다.
+ * - userRate, userBurst : 유저마다 초당 허용하는 요청 수와, 쉬었다가 한 번에 보낼 수 있는 최대 요청 수
+ * - globalRate, globalBurst : 노드 전체에서 초당 허용하는 요청 수와 한 번에 몰려도 허용하는 최대 요청 수
+ * - initialLimit, minLimit, maxLimit : 동시에 처리하는 요청 수 상한의 시작 값과 범위. 상한은 응답 시간에 따라 조절된다.
+ *   maxLimit 은 요청 처리 스레드 수보다 작게 잡아야 스레드가 모두 막히기 전에 거절한다.
+ * - limitUpdateInterval : 응답 시간을 모아 상한을 다시 계산하는 간격
+ */
+@ConfigurationProperties(prefix = "point.admission")
+public record AdmissionProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("20") double userRate,
+        @DefaultValue("40") int userBurst,
+        @DefaultValue("2000") double globalRate,
+        @DefaultValue("4000") int globalBurst,
+        @DefaultValue("100") int initialLimit,
+        @DefaultValue("10") int minLimit,
+        @DefaultValue("180") int maxLimit,
+        @DefaultValue("100ms") Duration limitUpdateInterval
+) {
+}
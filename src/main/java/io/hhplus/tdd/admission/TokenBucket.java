@@ -0,0 +1,54 @@
+package io.hhplus.tdd.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 락 없이 쓰는 토큰 버킷.
+ * 남은 토큰 수 대신 토큰이 가득 차는 시각(nanoTime 기준) 하나만 두고 compareAndSet 으로 옮긴다(GCRA).
+ * - 요청 하나는 가득 차는 시각을 토큰 한 개 간격만큼 뒤로 민다. 이미 지난 시각이면 지금부터 민다.
+ * - 민 시각이 지금부터 burst 개 간격보다 멀면 토큰이 없는 것이므로 거절한다.
+ * 상태가 long 하나라서 요청마다 할당이 없고, 경합하면 다시 읽어 시도할 뿐 기다리지 않는다.
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    /**
+     * @param rate 초당 채워지는 토큰 수
+     * @param burst 버킷에 담기는 최대 토큰 수
+     */
+    public TokenBucket(double rate, int burst, long nowNanos) {
+        if (rate <= 0 || burst < 1) {
+            throw new IllegalArgumentException("rate 는 0 보다, burst 는 1 이상이어야 합니다. rate=" + rate + ", burst=" + burst);
+        }
+        this.intervalNanos = Math.max(1, Math.round(1_000_000_000d / rate));
+        this.burstNanos = intervalNanos * burst;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @return 토큰을 얻었으면 0, 아니면 토큰이 생길 때까지 남은 나노초
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = (current - nowNanos > 0 ? current : nowNanos) + intervalNanos;
+            long excess = next - nowNanos - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 토큰이 가득 찬 버킷은 새로 만든 버킷과 같으므로 지워도 된다.
+     */
+    public boolean isFull(long nowNanos) {
+        return fullAt.get() - nowNanos <= 0;
+    }
+}
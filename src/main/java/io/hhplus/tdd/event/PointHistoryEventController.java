@@ -0,0 +1,48 @@
+package io.hhplus.tdd.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 모든 유저의 새 포인트 내역을 저장된 순서대로 받는다. offset 은 내역의 id 이며, 받은 마지막 id 부터 이어받을 수 있다.
+ * after 를 생략하면 지금 이후에 저장되는 내역부터 받는다.
+ * 최근 내역만 메모리에 남겨 두므로, 오래전 offset 으로 요청하면 남아 있는 가장 오래된 내역부터 받는다(truncated).
+ */
+@RestController
+@RequestMapping("/points/events")
+@RequiredArgsConstructor
+public class PointHistoryEventController {
+
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final PointHistoryEventHub pointHistoryEventHub;
+
+    /**
+     * long-poll. 응답의 nextOffset 을 다음 요청의 after 로 보낸다.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public DeferredResult<PointHistoryEvents> poll(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        return pointHistoryEventHub.poll(offsetOf(after), limit);
+    }
+
+    /**
+     * SSE. 다시 연결할 때 보내는 Last-Event-ID 가 after 보다 우선한다.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestParam(required = false) Long after,
+            @RequestHeader(value = LAST_EVENT_ID, required = false) Long lastEventId
+    ) {
+        return pointHistoryEventHub.subscribe(offsetOf(lastEventId != null ? lastEventId : after));
+    }
+
+    private long offsetOf(Long after) {
+        return after != null ? after : pointHistoryEventHub.lastOffset();
+    }
+}
@@ -0,0 +1,278 @@
+package io.hhplus.tdd.event;
+
+import io.hhplus.tdd.BusinessException;
+import io.hhplus.tdd.ErrorCode;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryListener;
+import io.hhplus.tdd.point.PointHistoryRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 저장된 포인트 내역을 SSE 구독자와 long-poll 요청에 나눠 준다.
+ * - 저장 경로에서는 {@link PointHistoryRingBuffer} 에 넣기만 한다. 구독자 수와 관계없이 저장이 느려지지 않는다.
+ * - dispatcher 스레드 하나가 새 내역을 기다렸다가, 기다리던 long-poll 요청을 완료하고 SSE 구독자마다 전송을 예약한다.
+ * - SSE 전송은 구독자마다 가상 스레드에서 한다. 느린 구독자는 자기 전송만 늦어지고, 밀린 만큼은 버퍼에서 한 번에 읽어 보낸다.
+ * - 버퍼에서 밀려난 내역을 건너뛴 구독자에게는 truncated 이벤트로 알린다.
+ */
+@Component
+public class PointHistoryEventHub implements PointHistoryListener, SmartLifecycle {
+
+    public static final String HISTORY_EVENT = "point-history";
+    public static final String TRUNCATED_EVENT = "truncated";
+
+    private static final Logger log = LoggerFactory.getLogger(PointHistoryEventHub.class);
+
+    private final PointHistoryRepository pointHistoryRepository;
+    private final PointHistoryEventProperties properties;
+    private final PointHistoryRingBuffer ringBuffer;
+    private final Set<LongPoll> longPolls = ConcurrentHashMap.newKeySet();
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean running;
+    private Thread dispatcher;
+    private ExecutorService senders;
+
+    public PointHistoryEventHub(PointHistoryRepository pointHistoryRepository, PointHistoryEventProperties properties) {
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.properties = properties;
+        this.ringBuffer = new PointHistoryRingBuffer(properties.bufferSize());
+    }
+
+    /**
+     * 생성이 끝난 뒤에 리스너로 등록한다. WAL 복구보다 먼저 등록되므로 복구한 내역도 버퍼에 담긴다.
+     */
+    @PostConstruct
+    void register() {
+        pointHistoryRepository.addListener(this);
+    }
+
+    @Override
+    public void onSaved(PointHistory pointHistory) {
+        ringBuffer.publish(pointHistory);
+    }
+
+    /**
+     * 구독자의 offset 은 버려진 내역 기준이므로 처음부터 다시 읽게 한다.
+     */
+    @Override
+    public void onCleared() {
+        ringBuffer.clear();
+        subscriptions.forEach(subscription -> subscription.offset = 0);
+    }
+
+    public long lastOffset() {
+        return ringBuffer.lastId();
+    }
+
+    /**
+     * after 다음 내역이 있으면 바로, 없으면 새 내역이 저장되거나 pollTimeout 이 지날 때 응답한다.
+     */
+    public DeferredResult<PointHistoryEvents> poll(long after, int limit) {
+        int size = Math.max(1, Math.min(limit, properties.batchSize()));
+        DeferredResult<PointHistoryEvents> result =
+                new DeferredResult<>(properties.pollTimeout().toMillis(), () -> PointHistoryEvents.empty(after));
+        PointHistoryEvents events = ringBuffer.readAfter(after, size);
+        if (events.hasUpdates()) {
+            result.setResult(events);
+            return result;
+        }
+        checkCapacity();
+        LongPoll longPoll = new LongPoll(after, size, result);
+        longPolls.add(longPoll);
+        result.onCompletion(() -> longPolls.remove(longPoll));
+        // 등록하는 사이에 저장된 내역은 dispatcher 가 놓쳤을 수 있다.
+        complete(longPoll);
+        return result;
+    }
+
+    /**
+     * after 다음 내역부터 보내고, 이후 저장되는 내역을 이어서 보낸다. 이벤트의 id 는 내역의 id 이다.
+     * 보낼 내역이 없어도 응답이 바로 시작되도록 먼저 heartbeat 를 보낸다.
+     */
+    public SseEmitter subscribe(long after) {
+        checkCapacity();
+        SseEmitter emitter = new SseEmitter(properties.streamTimeout().toMillis());
+        Subscription subscription = new Subscription(emitter, after);
+        subscriptions.add(subscription);
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onError(e -> subscriptions.remove(subscription));
+        emitter.onTimeout(emitter::complete);
+        schedule(subscription);
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscriptions.size() + longPolls.size();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("point-history-sender-", 0).factory());
+        dispatcher = new Thread(this::dispatchLoop, "point-history-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    /**
+     * 기다리던 long-poll 요청에는 빈 결과로 응답하고, SSE 연결은 닫는다. 구독자는 마지막 offset 으로 다시 연결하면 된다.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        if (dispatcher == null) {
+            return;
+        }
+        dispatcher.interrupt();
+        try {
+            dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        longPolls.forEach(longPoll -> longPoll.result.setResult(PointHistoryEvents.empty(longPoll.after)));
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void checkCapacity() {
+        if (subscriberCount() >= properties.maxSubscribers()) {
+            throw new BusinessException(ErrorCode.EVENT_SUBSCRIBERS_EXCEEDED);
+        }
+    }
+
+    private void dispatchLoop() {
+        long heartbeatNanos = properties.heartbeatInterval().toNanos();
+        long nextHeartbeat = System.nanoTime() + heartbeatNanos;
+        long seen = ringBuffer.lastId();
+        while (running) {
+            ringBuffer.awaitAfter(seen, Math.max(0, nextHeartbeat - System.nanoTime()));
+            long last = ringBuffer.lastId();
+            if (last != seen) {
+                seen = last;
+                for (LongPoll longPoll : longPolls) {
+                    if (longPoll.after < last) {
+                        complete(longPoll);
+                    }
+                }
+                for (Subscription subscription : subscriptions) {
+                    if (subscription.offset < last) {
+                        schedule(subscription);
+                    }
+                }
+            }
+            if (System.nanoTime() - nextHeartbeat >= 0) {
+                nextHeartbeat = System.nanoTime() + heartbeatNanos;
+                for (Subscription subscription : subscriptions) {
+                    subscription.heartbeatDue = true;
+                    schedule(subscription);
+                }
+            }
+        }
+    }
+
+    private void complete(LongPoll longPoll) {
+        PointHistoryEvents events = ringBuffer.readAfter(longPoll.after, longPoll.limit);
+        if (events.hasUpdates()) {
+            longPoll.result.setResult(events);
+        }
+    }
+
+    /**
+     * 구독자마다 전송은 한 번에 하나만 돈다. 이미 돌고 있으면 그 전송이 끝나기 전에 새 내역을 확인한다.
+     */
+    private void schedule(Subscription subscription) {
+        if (!subscription.sending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            senders.execute(() -> send(subscription));
+        } catch (RuntimeException e) {
+            subscription.sending.set(false);
+        }
+    }
+
+    private void send(Subscription subscription) {
+        try {
+            do {
+                sendPending(subscription);
+                subscription.sending.set(false);
+            } while ((subscription.heartbeatDue || ringBuffer.lastId() > subscription.offset)
+                    && subscription.sending.compareAndSet(false, true));
+        } catch (IOException | IllegalStateException e) {
+            // 연결이 끊겼거나 이미 완료되었다. 컨테이너가 완료를 알리면 구독에서 빠진다.
+            log.debug("포인트 내역 이벤트를 보내지 못했습니다. offset={}", subscription.offset, e);
+            subscriptions.remove(subscription);
+            subscription.sending.set(false);
+        }
+    }
+
+    private void sendPending(Subscription subscription) throws IOException {
+        if (subscription.heartbeatDue) {
+            subscription.heartbeatDue = false;
+            subscription.emitter.send(SseEmitter.event().comment("heartbeat"));
+        }
+        while (true) {
+            PointHistoryEvents events = ringBuffer.readAfter(subscription.offset, properties.batchSize());
+            if (!events.hasUpdates()) {
+                return;
+            }
+            Set<DataWithMediaType> batch = new LinkedHashSet<>();
+            if (events.truncated()) {
+                batch.addAll(SseEmitter.event()
+                        .name(TRUNCATED_EVENT)
+                        .data(events.events().get(0).id() - 1)
+                        .build());
+            }
+            for (PointHistory pointHistory : events.events()) {
+                batch.addAll(SseEmitter.event()
+                        .id(String.valueOf(pointHistory.id()))
+                        .name(HISTORY_EVENT)
+                        .data(pointHistory, MediaType.APPLICATION_JSON)
+                        .build());
+            }
+            subscription.emitter.send(batch);
+            subscription.offset = events.nextOffset();
+            if (events.events().size() < properties.batchSize()) {
+                return;
+            }
+        }
+    }
+
+    private record LongPoll(long after, int limit, DeferredResult<PointHistoryEvents> result) {
+    }
+
+    private static final class Subscription {
+        private final SseEmitter emitter;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile long offset;
+        private volatile boolean heartbeatDue;
+
+        private Subscription(SseEmitter emitter, long offset) {
+            this.emitter = emitter;
+            this.offset = offset;
+            this.heartbeatDue = true;
+        }
+    }
+}
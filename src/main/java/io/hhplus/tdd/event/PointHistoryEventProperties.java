@@ -0,0 +1,26 @@
+package io.hhplus.tdd.event;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 포인트 내역 이벤트 스트림 설정
+ * - bufferSize : 다시 읽을 수 있게 메모리에 남겨 두는 최근 내역 수
+ * - maxSubscribers : SSE 구독자와 long-poll 대기 요청을 합친 최대 수. 넘으면 503 으로 거절한다.
+ * - batchSize : 한 번의 응답(long-poll) 또는 한 번의 전송(SSE)에 담는 최대 내역 수
+ * - pollTimeout : long-poll 에서 새 내역을 기다리는 최대 시간
+ * - streamTimeout : SSE 연결을 유지하는 최대 시간. 끊기면 클라이언트는 Last-Event-ID 로 이어받는다.
+ * - heartbeatInterval : 내역이 없을 때 SSE 연결로 보내는 주석의 간격. 끊긴 연결을 정리하는 데 쓴다.
+ */
+@ConfigurationProperties(prefix = "point.history.events")
+public record PointHistoryEventProperties(
+        @DefaultValue("65536") int bufferSize,
+        @DefaultValue("1000") int maxSubscribers,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("30s") Duration pollTimeout,
+        @DefaultValue("30m") Duration streamTimeout,
+        @DefaultValue("15s") Duration heartbeatInterval
+) {
+}
@@ -0,0 +1,29 @@
+package io.hhplus.tdd.event;
+
+import io.hhplus.tdd.point.PointHistory;
+
+import java.util.List;
+
+/**
+ * 요청한 offset 다음부터 id 순서대로 읽은 내역.
+ * - nextOffset : 다음 요청의 after 로 보낼 값. 마지막으로 읽은 내역의 id 이며, 읽은 내역이 없으면 요청한 offset 이다.
+ * - truncated : 요청한 offset 바로 다음 내역이 이미 버퍼에서 밀려나, 남아 있는 가장 오래된 내역부터 읽었다.
+ *   건너뛴 내역은 유저별 내역 조회로 확인해야 한다.
+ */
+public record PointHistoryEvents(
+        List<PointHistory> events,
+        long nextOffset,
+        boolean truncated
+) {
+
+    public static PointHistoryEvents empty(long offset) {
+        return new PointHistoryEvents(List.of(), offset, false);
+    }
+
+    /**
+     * 받은 쪽에 알릴 것이 있는지. 건너뛴 내역이 있으면 읽은 내역이 없어도 알린다.
+     */
+    public boolean hasUpdates() {
+        return !events.isEmpty() || truncated;
+    }
+}
@@ -0,0 +1,129 @@
+package io.hhplus.tdd.event;
+
+import io.hhplus.tdd.point.PointHistory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 최근 내역을 id 로 찾아갈 수 있게 고정 크기 배열에 담는다. 버퍼가 가득 차면 가장 오래된 내역을 덮어쓴다.
+ * - 쓰기는 한 스레드씩, id 가 커지는 순서로만 한다. 칸에 쓰고 마지막 id 를 갱신할 뿐 락을 잡지 않는다.
+ * - 읽기는 락 없이 한다. 읽는 사이 덮어쓰인 칸은 칸에 담긴 내역의 id 가 달라 알아챌 수 있고, 그때는 다시 읽는다.
+ * - 새 내역을 기다리는 스레드는 하나만 둔다. 기다리는 스레드가 있을 때만 쓰기에서 깨운다.
+ */
+public class PointHistoryRingBuffer {
+
+    private final PointHistory[] slots;
+    private final int mask;
+
+    private volatile long firstId;
+    private volatile long lastId;
+    private volatile Thread waiter;
+
+    /**
+     * @param capacity 담아 둘 최대 내역 수. 2의 거듭제곱으로 올려 잡는다.
+     */
+    public PointHistoryRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity 는 1 이상 2^30 이하이어야 합니다. capacity=" + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new PointHistory[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * 한 번에 한 스레드만, 직전에 넣은 내역보다 id 가 큰 내역을 넣어야 한다.
+     */
+    public void publish(PointHistory pointHistory) {
+        long id = pointHistory.id();
+        if (id <= lastId) {
+            throw new IllegalArgumentException("id 가 직전 내역보다 커야 합니다. id=" + id + ", lastId=" + lastId);
+        }
+        if (firstId == 0 || id != lastId + 1) {
+            // 건너뛴 id 는 버퍼에 없으므로, 그 뒤부터만 읽을 수 있다.
+            firstId = id;
+        }
+        slots[(int) (id & mask)] = pointHistory;
+        lastId = id;
+        Thread thread = waiter;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * 마지막으로 넣은 내역의 id. 넣은 내역이 없으면 0 이다.
+     */
+    public long lastId() {
+        return lastId;
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * after 다음 id 부터 최대 limit 개를 id 순서대로 읽는다.
+     */
+    public PointHistoryEvents readAfter(long after, int limit) {
+        while (true) {
+            long last = lastId;
+            if (last == 0 || after >= last || limit <= 0) {
+                return PointHistoryEvents.empty(after);
+            }
+            long oldest = Math.max(firstId, last - slots.length + 1);
+            long from = Math.max(after + 1, oldest);
+            if (from > last) {
+                // id 를 건너뛴 내역을 넣는 중이다. 넣기가 끝나면 기다리는 스레드를 깨우므로 그때 다시 읽는다.
+                return PointHistoryEvents.empty(after);
+            }
+            long to = Math.min(last, from + limit - 1);
+            List<PointHistory> events = new ArrayList<>((int) (to - from + 1));
+            for (long id = from; id <= to; id++) {
+                PointHistory pointHistory = slots[(int) (id & mask)];
+                if (pointHistory == null || pointHistory.id() != id) {
+                    break;
+                }
+                events.add(pointHistory);
+            }
+            if (events.size() == to - from + 1) {
+                return new PointHistoryEvents(events, to, after + 1 < oldest);
+            }
+            // 읽는 사이 덮어쓰였거나 비워졌다. 남아 있는 범위를 다시 계산한다.
+        }
+    }
+
+    /**
+     * after 보다 id 가 큰 내역이 들어오거나 timeoutNanos 가 지날 때까지 기다린다. 한 번에 한 스레드만 기다려야 한다.
+     */
+    public void awaitAfter(long after, long timeoutNanos) {
+        waiter = Thread.currentThread();
+        try {
+            // waiter 를 쓴 뒤에 lastId 를 읽으므로, 그사이 넣은 내역은 여기서 보거나 unpark 로 깨운다.
+            if (lastId == after) {
+                LockSupport.parkNanos(this, timeoutNanos);
+            }
+        } finally {
+            waiter = null;
+        }
+    }
+
+    /**
+     * 내역을 모두 버린다. 넣기와 동시에 호출하지 않아야 한다.
+     */
+    public void clear() {
+        Arrays.fill(slots, null);
+        firstId = 0;
+        lastId = 0;
+        Thread thread = waiter;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+}
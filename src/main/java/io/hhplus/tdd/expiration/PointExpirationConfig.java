@@ -0,0 +1,42 @@
+package io.hhplus.tdd.expiration;
+
+import io.hhplus.tdd.point.PointHistoryRepository;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.UserLockManager;
+import io.hhplus.tdd.point.UserPointRepository;
+import io.hhplus.tdd.wal.WriteAheadLog;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * point.expiration.enabled=true 이면 충전한 포인트를 유효기간이 지난 뒤 소멸시킨다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "point.expiration", name = "enabled", havingValue = "true")
+public class PointExpirationConfig {
+
+    /**
+     * WAL 복구는 빈이 모두 만들어진 뒤 시작되므로, 복구한 내역의 충전분도 만들어진다.
+     */
+    @Bean
+    public PointLotLedger pointLotLedger(PointExpirationProperties properties, PointHistoryRepository pointHistoryRepository) {
+        PointLotLedger pointLotLedger = new PointLotLedger(properties, System.currentTimeMillis());
+        pointHistoryRepository.addListener(pointLotLedger);
+        return pointLotLedger;
+    }
+
+    @Bean
+    public PointExpirer pointExpirer(
+            PointExpirationProperties properties,
+            PointLotLedger pointLotLedger,
+            UserPointRepository userPointRepository,
+            PointHistoryRepository pointHistoryRepository,
+            UserLockManager userLockManager,
+            PointMetrics pointMetrics,
+            WriteAheadLog writeAheadLog
+    ) {
+        return new PointExpirer(properties, pointLotLedger, userPointRepository, pointHistoryRepository,
+                userLockManager, pointMetrics, writeAheadLog);
+    }
+}
@@ -0,0 +1,26 @@
+package io.hhplus.tdd.expiration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 충전한 포인트의 유효기간 설정
+ * - enabled : true 이면 충전분마다 유효기간을 두고, 지나면 남은 포인트를 소멸시킨다.
+ * - period : 충전한 시각부터 소멸할 때까지의 기간
+ * - tick : 타이밍 휠 한 칸의 시간. 소멸은 유효기간이 지난 뒤 최대 tick 만큼 늦을 수 있다.
+ * - wheelSize : 타이밍 휠 한 단의 칸 수(2의 거듭제곱). 단마다 한 칸의 시간이 wheelSize 배가 된다.
+ * - levels : 타이밍 휠의 단 수. tick * wheelSize^levels 보다 먼 유효기간은 마지막 단에서 여러 번 옮겨진다.
+ * - batchSize : 소멸 내역을 WAL 에 한 번에 반영하는 최대 유저 수
+ */
+@ConfigurationProperties(prefix = "point.expiration")
+public record PointExpirationProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("365d") Duration period,
+        @DefaultValue("1s") Duration tick,
+        @DefaultValue("512") int wheelSize,
+        @DefaultValue("4") int levels,
+        @DefaultValue("1000") int batchSize
+) {
+}
@@ -0,0 +1,156 @@
+package io.hhplus.tdd.expiration;
+
+import io.hhplus.tdd.point.PointHistoryRepository;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserLockManager;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.UserPointRepository;
+import io.hhplus.tdd.wal.WriteAheadLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * tick 마다 {@link PointLotLedger} 의 타이밍 휠에서 소멸할 충전분이 있는 유저만 꺼내 소멸시킨다. 전체 유저를 훑지 않는다.
+ * - 유저마다 유저 락을 잡고, 그 시각까지 소멸할 충전분의 남은 포인트를 합쳐 포인트를 한 번 저장하고 EXPIRE 내역을 한 건 남긴다.
+ *   충전/사용은 포인트와 내역을 같은 유저 락 안에서 남기므로, 락 안에서 읽은 충전분과 포인트는 어긋나지 않는다.
+ * - 소멸할 포인트가 남은 포인트보다 많으면 남은 포인트까지만 소멸시키고, 나머지 충전분은 버린다.
+ * - 소멸 내역은 batchSize 명마다 한 번 WAL 에 반영될 때까지 기다린다.
+ */
+public class PointExpirer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PointExpirer.class);
+
+    private final PointExpirationProperties properties;
+    private final PointLotLedger pointLotLedger;
+    private final UserPointRepository userPointRepository;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final UserLockManager userLockManager;
+    private final PointMetrics pointMetrics;
+    private final WriteAheadLog writeAheadLog;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public PointExpirer(
+            PointExpirationProperties properties,
+            PointLotLedger pointLotLedger,
+            UserPointRepository userPointRepository,
+            PointHistoryRepository pointHistoryRepository,
+            UserLockManager userLockManager,
+            PointMetrics pointMetrics,
+            WriteAheadLog writeAheadLog
+    ) {
+        this.properties = properties;
+        this.pointLotLedger = pointLotLedger;
+        this.userPointRepository = userPointRepository;
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.userLockManager = userLockManager;
+        this.pointMetrics = pointMetrics;
+        this.writeAheadLog = writeAheadLog;
+    }
+
+    /**
+     * nowMillis 까지 소멸 시각이 된 충전분을 소멸시킨다.
+     *
+     * @return 포인트가 소멸한 유저 수
+     */
+    public int expireDue(long nowMillis) {
+        long[] userIds = pointLotLedger.dueUsers(nowMillis);
+        if (userIds.length == 0) {
+            return 0;
+        }
+        Arrays.sort(userIds);
+        int expiredUsers = 0;
+        int pending = 0;
+        for (int i = 0; i < userIds.length; i++) {
+            if (i > 0 && userIds[i] == userIds[i - 1]) {
+                continue;
+            }
+            if (expire(userIds[i], nowMillis)) {
+                expiredUsers++;
+                pending++;
+            }
+            if (pending >= properties.batchSize()) {
+                writeAheadLog.awaitDurable();
+                pending = 0;
+            }
+        }
+        if (pending > 0) {
+            writeAheadLog.awaitDurable();
+        }
+        return expiredUsers;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::expireLoop, "point-expirer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker == null) {
+            return;
+        }
+        LockSupport.unpark(worker);
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void expireLoop() {
+        long tickNanos = properties.tick().toNanos();
+        while (running) {
+            LockSupport.parkNanos(this, tickNanos);
+            if (!running) {
+                return;
+            }
+            try {
+                int expiredUsers = expireDue(System.currentTimeMillis());
+                if (expiredUsers > 0) {
+                    log.debug("유저 {}명의 포인트를 소멸시켰습니다.", expiredUsers);
+                }
+            } catch (RuntimeException e) {
+                log.error("포인트 소멸 처리에 실패했습니다.", e);
+            }
+        }
+    }
+
+    /**
+     * @return 포인트를 소멸시켰으면 true
+     */
+    private boolean expire(long userId, long nowMillis) {
+        return userLockManager.executeWithLock(userId, () -> {
+            long expirable = pointLotLedger.expirableAmount(userId, nowMillis);
+            if (expirable == 0) {
+                return false;
+            }
+            UserPoint userPoint = userPointRepository.getBy(userId);
+            long expired = Math.min(expirable, userPoint.point());
+            if (expired > 0) {
+                userPointRepository.save(userId, userPoint.point() - expired);
+                pointHistoryRepository.save(userId, -expired, TransactionType.EXPIRE);
+                pointMetrics.recordExpiration(expired);
+            }
+            // 포인트보다 많이 남아 있던 충전분은 내역 없이 버린다.
+            pointLotLedger.consume(userId, expirable - expired);
+            return expired > 0;
+        });
+    }
+}
@@ -0,0 +1,12 @@
+package io.hhplus.tdd.expiration;
+
+/**
+ * 한 번의 충전으로 생긴 포인트 중 아직 사용되거나 소멸하지 않은 부분
+ * - amount : 남은 포인트
+ * - expireMillis : 소멸하는 시각
+ */
+public record PointLot(
+        long amount,
+        long expireMillis
+) {
+}
@@ -0,0 +1,280 @@
+package io.hhplus.tdd.expiration;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryIndex;
+import io.hhplus.tdd.point.PointHistoryListener;
+import io.hhplus.tdd.point.PointHistoryRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+
+/**
+ * 유저별 충전분(lot)을 포인트 내역으로부터 만들어 둔다.
+ * - 충전 내역마다 충전분을 하나 만들고, 소멸 시각을 {@link TimingWheel} 에 등록한다.
+ * - 사용과 소멸 내역은 가장 먼저 충전한 충전분부터 차감한다(FIFO). 소멸은 가장 오래된 충전분부터 일어나므로 같은 규칙으로 차감된다.
+ * - 내역으로만 만들기 때문에 WAL 로 복구한 내역이나 다른 노드에서 옮겨 온 내역도 같은 충전분이 된다.
+ * - 스냅샷에 반영되어 시작할 때 건너뛴 내역은 {@link PointHistoryRepository} 가 다시 읽어 전달하면 별도의 충전분으로 만들고,
+ *   다 읽으면 그사이 받은 내역을 그 뒤에 다시 반영해 통째로 바꿔 끼운다. 먼저 받은 내역이 더 나중의 내역이기 때문이다.
+ *   다시 읽는 동안에는 건너뛴 충전분이 없으므로 소멸이 덜 일어날 수 있고, 바꿔 끼운 뒤 남은 충전분마다 소멸 시각을 다시 등록한다.
+ *   다시 읽지 못하면 건너뛴 내역의 충전분은 만들어지지 않으며, 그 포인트는 소멸하지 않는다.
+ * - 내역 없이 버린 충전분({@link #consume})은 내역으로 다시 만들 수 없으므로, 다시 읽는 동안 버린 양을 모아 두었다가
+ *   바꿔 끼울 때 다시 차감한다. 버리기와 바꿔 끼우기는 같은 락 안에서 하므로, 버린 충전분이 버려지는 맵에만 반영되지 않는다.
+ * - 충전분보다 많이 사용한 만큼은 충전분이 없는 포인트(유효기간 도입 전 포인트 등)에서 사용한 것으로 본다.
+ * - 내역은 {@link PointHistoryRepository} 의 저장 락 안에서 한 건씩 전달되므로 충전분은 id 순서대로 갱신된다.
+ */
+public class PointLotLedger implements PointHistoryListener {
+
+    private final long periodMillis;
+    private final TimingWheel timingWheel;
+    private volatile ConcurrentHashMap<Long, Lots> lotsByUser = new ConcurrentHashMap<>();
+    private volatile ConcurrentHashMap<Long, Lots> reloadedLots = new ConcurrentHashMap<>();
+    private final ReentrantLock swapLock = new ReentrantLock();
+    private final Map<Long, Long> discardedWhileReloading = new HashMap<>();
+    private boolean reloading;
+
+    public PointLotLedger(PointExpirationProperties properties, long startMillis) {
+        this.periodMillis = properties.period().toMillis();
+        this.timingWheel = new TimingWheel(
+                properties.tick().toMillis(), properties.wheelSize(), properties.levels(), startMillis);
+    }
+
+    @Override
+    public void onSaved(PointHistory pointHistory) {
+        if (apply(lotsByUser, pointHistory)) {
+            timingWheel.schedule(pointHistory.updateMillis() + periodMillis, pointHistory.userId());
+        }
+    }
+
+    @Override
+    public void onCleared() {
+        swapLock.lock();
+        try {
+            lotsByUser.clear();
+            reloadedLots = new ConcurrentHashMap<>();
+            timingWheel.clear();
+            stopReloading();
+        } finally {
+            swapLock.unlock();
+        }
+    }
+
+    @Override
+    public void onReloadStarted() {
+        swapLock.lock();
+        try {
+            reloading = true;
+        } finally {
+            swapLock.unlock();
+        }
+    }
+
+    @Override
+    public void onReloading(PointHistory pointHistory) {
+        apply(reloadedLots, pointHistory);
+    }
+
+    /**
+     * 건너뛴 내역으로 만든 충전분에 그사이 받은 내역과 버린 충전분을 다시 반영해 바꿔 끼운다.
+     * 그사이 받은 충전 내역은 이미 소멸 시각을 등록했지만, 어느 충전분이 남았는지 구분하지 않고 모두 다시 등록한다.
+     */
+    @Override
+    public void onReloaded(PointHistoryIndex saved) {
+        swapLock.lock();
+        try {
+            ConcurrentHashMap<Long, Lots> reloaded = reloadedLots;
+            saved.forEach(pointHistory -> apply(reloaded, pointHistory));
+            discardedWhileReloading.forEach((userId, amount) -> consume(reloaded, userId, amount));
+            reloaded.forEach((userId, lots) -> lots.forEachExpireMillis(expireMillis -> timingWheel.schedule(expireMillis, userId)));
+            lotsByUser = reloaded;
+            reloadedLots = new ConcurrentHashMap<>();
+            stopReloading();
+        } finally {
+            swapLock.unlock();
+        }
+    }
+
+    @Override
+    public void onReloadFailed() {
+        swapLock.lock();
+        try {
+            reloadedLots = new ConcurrentHashMap<>();
+            stopReloading();
+        } finally {
+            swapLock.unlock();
+        }
+    }
+
+    /**
+     * nowMillis 까지 소멸 시각이 된 충전분이 있는 유저. 같은 유저가 여러 번 들어 있을 수 있다.
+     */
+    public long[] dueUsers(long nowMillis) {
+        return timingWheel.advance(nowMillis);
+    }
+
+    /**
+     * 소멸 시각이 nowMillis 이하인 충전분의 남은 포인트 합계
+     */
+    public long expirableAmount(long userId, long nowMillis) {
+        Lots lots = lotsByUser.get(userId);
+        return lots == null ? 0 : lots.expirableAmount(nowMillis);
+    }
+
+    public List<PointLot> lotsOf(long userId) {
+        Lots lots = lotsByUser.get(userId);
+        return lots == null ? List.of() : lots.toList();
+    }
+
+    /**
+     * 내역 없이 가장 먼저 충전한 충전분부터 amount 만큼 차감한다. 다 쓴 충전분은 지운다.
+     */
+    public void consume(long userId, long amount) {
+        if (amount <= 0) {
+            return;
+        }
+        swapLock.lock();
+        try {
+            consume(lotsByUser, userId, amount);
+            if (reloading) {
+                discardedWhileReloading.merge(userId, amount, Long::sum);
+            }
+        } finally {
+            swapLock.unlock();
+        }
+    }
+
+    /**
+     * 다른 노드로 옮긴 유저의 충전분을 지운다. 타이밍 휠에 남은 항목은 꺼낼 때 충전분이 없어 무시된다.
+     */
+    public void forget(long userId) {
+        lotsByUser.remove(userId);
+    }
+
+    public long scheduledCount() {
+        return timingWheel.size();
+    }
+
+    private void stopReloading() {
+        reloading = false;
+        discardedWhileReloading.clear();
+    }
+
+    /**
+     * @return 충전분을 새로 만들었으면 true
+     */
+    private boolean apply(ConcurrentHashMap<Long, Lots> byUser, PointHistory pointHistory) {
+        return switch (pointHistory.type()) {
+            case CHARGE -> charge(byUser, pointHistory.userId(), pointHistory.amount(), pointHistory.updateMillis() + periodMillis);
+            case USE, EXPIRE -> {
+                consume(byUser, pointHistory.userId(), -pointHistory.amount());
+                yield false;
+            }
+        };
+    }
+
+    private static boolean charge(ConcurrentHashMap<Long, Lots> byUser, long userId, long amount, long expireMillis) {
+        if (amount <= 0) {
+            return false;
+        }
+        byUser.compute(userId, (id, lots) -> {
+            Lots target = lots == null ? new Lots() : lots;
+            target.add(amount, expireMillis);
+            return target;
+        });
+        return true;
+    }
+
+    private static void consume(ConcurrentHashMap<Long, Lots> byUser, long userId, long amount) {
+        if (amount <= 0) {
+            return;
+        }
+        byUser.computeIfPresent(userId, (id, lots) -> {
+            lots.consume(amount);
+            return lots.isEmpty() ? null : lots;
+        });
+    }
+
+    /**
+     * 충전 순서대로 담은 원형 배열. 앞에서 차감하고 뒤에 추가한다.
+     */
+    private static final class Lots {
+        private long[] amounts = new long[2];
+        private long[] expireMillis = new long[2];
+        private int head;
+        private int size;
+
+        private synchronized void add(long amount, long expireAt) {
+            if (size == amounts.length) {
+                grow();
+            }
+            int index = (head + size) % amounts.length;
+            amounts[index] = amount;
+            expireMillis[index] = expireAt;
+            size++;
+        }
+
+        private synchronized void consume(long amount) {
+            long remaining = amount;
+            while (remaining > 0 && size > 0) {
+                long used = Math.min(remaining, amounts[head]);
+                amounts[head] -= used;
+                remaining -= used;
+                if (amounts[head] == 0) {
+                    head = (head + 1) % amounts.length;
+                    size--;
+                }
+            }
+        }
+
+        /**
+         * 충전분은 충전 순서대로 소멸하므로, 앞에서부터 소멸 시각이 지난 충전분만 더한다.
+         */
+        private synchronized long expirableAmount(long nowMillis) {
+            long total = 0;
+            for (int i = 0; i < size; i++) {
+                int index = (head + i) % amounts.length;
+                if (expireMillis[index] > nowMillis) {
+                    break;
+                }
+                total += amounts[index];
+            }
+            return total;
+        }
+
+        private synchronized List<PointLot> toList() {
+            List<PointLot> lots = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                int index = (head + i) % amounts.length;
+                lots.add(new PointLot(amounts[index], expireMillis[index]));
+            }
+            return lots;
+        }
+
+        private synchronized void forEachExpireMillis(LongConsumer consumer) {
+            for (int i = 0; i < size; i++) {
+                consumer.accept(expireMillis[(head + i) % amounts.length]);
+            }
+        }
+
+        private synchronized boolean isEmpty() {
+            return size == 0;
+        }
+
+        private void grow() {
+            long[] grownAmounts = new long[amounts.length * 2];
+            long[] grownExpireMillis = new long[amounts.length * 2];
+            for (int i = 0; i < size; i++) {
+                int index = (head + i) % amounts.length;
+                grownAmounts[i] = amounts[index];
+                grownExpireMillis[i] = expireMillis[index];
+            }
+            amounts = grownAmounts;
+            expireMillis = grownExpireMillis;
+            head = 0;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package io.hhplus.tdd.expiration;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 유저 id 를 정해진 시각에 꺼내 주는 계층형 타이밍 휠.
+ * - 단 k 의 한 칸은 tick * wheelSize^k 동안이다. 등록은 남은 시간에 맞는 단의 칸에 붙이기만 하므로 등록 수와 관계없이 O(1) 이다.
+ * - 시간이 흘러 아래 단이 한 바퀴 돌면 위 단의 다음 칸을 꺼내 남은 시간에 맞는 아래 단으로 옮긴다.
+ *   항목은 단 수만큼만 옮겨지므로, 정기적으로 전체를 훑는 것과 달리 항목당 비용이 일정하다.
+ * - 꺼내는 시각은 칸 단위로 올림하므로, 정한 시각보다 일찍 꺼내지 않는다.
+ * - 칸에는 유저 id 와 만기 칸 번호를 원시 타입 배열로 담는다.
+ */
+public class TimingWheel {
+
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final Bucket[][] buckets;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long currentTick;
+    private long size;
+
+    /**
+     * @param wheelSize 한 단의 칸 수. 2의 거듭제곱이어야 한다.
+     * @param startMillis 이 시각까지는 이미 지난 것으로 본다.
+     */
+    public TimingWheel(long tickMillis, int wheelSize, int levels, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || Integer.bitCount(wheelSize) != 1 || levels < 1
+                || (long) Integer.numberOfTrailingZeros(wheelSize) * levels > 62) {
+            throw new IllegalArgumentException(
+                    "타이밍 휠 설정이 올바르지 않습니다. tick=" + tickMillis + ", wheelSize=" + wheelSize + ", levels=" + levels);
+        }
+        this.tickMillis = tickMillis;
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.buckets = new Bucket[levels][wheelSize];
+        for (Bucket[] level : buckets) {
+            for (int slot = 0; slot < wheelSize; slot++) {
+                level[slot] = new Bucket();
+            }
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * deadlineMillis 이후 처음 돌아오는 칸에 userId 를 등록한다. 이미 지난 시각이면 다음 칸에 등록한다.
+     */
+    public void schedule(long deadlineMillis, long userId) {
+        long deadlineTick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        lock.lock();
+        try {
+            place(Math.max(deadlineTick, currentTick + 1), userId);
+            size++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * nowMillis 까지 흐른 칸을 차례로 돌며 만기가 된 유저 id 를 꺼낸다. 같은 유저가 여러 번 들어 있을 수 있다.
+     */
+    public long[] advance(long nowMillis) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        LongList due = new LongList();
+        lock.lock();
+        try {
+            while (currentTick < targetTick) {
+                currentTick++;
+                for (int level = buckets.length - 1; level >= 1; level--) {
+                    if ((currentTick & ((1L << (bits * level)) - 1)) == 0) {
+                        cascade(level, (int) ((currentTick >>> (bits * level)) & mask));
+                    }
+                }
+                Bucket bucket = take(0, (int) (currentTick & mask));
+                due.addAll(bucket.userIds, bucket.size);
+                size -= bucket.size;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return due.toArray();
+    }
+
+    /**
+     * 등록되어 아직 꺼내지 않은 항목 수
+     */
+    public long size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            for (Bucket[] level : buckets) {
+                for (Bucket bucket : level) {
+                    bucket.clear();
+                }
+            }
+            size = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 남은 칸 수가 단 k 의 한 바퀴(wheelSize^(k+1) 칸)보다 작은 가장 낮은 단에 둔다. 마지막 단을 넘으면 마지막 단에 둔다.
+     * 위 단에서 옮겨 오는 항목은 만기가 현재 칸일 수 있으며, 현재 칸은 옮긴 직후에 꺼낸다.
+     */
+    private void place(long deadlineTick, long userId) {
+        long tick = Math.max(deadlineTick, currentTick);
+        long remaining = tick - currentTick;
+        int level = 0;
+        while (level < buckets.length - 1 && remaining >= 1L << (bits * (level + 1))) {
+            level++;
+        }
+        buckets[level][(int) ((tick >>> (bits * level)) & mask)].add(userId, tick);
+    }
+
+    private void cascade(int level, int slot) {
+        Bucket bucket = take(level, slot);
+        for (int i = 0; i < bucket.size; i++) {
+            place(bucket.ticks[i], bucket.userIds[i]);
+        }
+    }
+
+    /**
+     * 칸을 빈 칸으로 바꿔 끼우고 꺼낸 칸을 돌려준다. 옮기는 항목이 같은 칸으로 다시 들어가도 꺼낸 칸에 섞이지 않는다.
+     */
+    private Bucket take(int level, int slot) {
+        Bucket bucket = buckets[level][slot];
+        buckets[level][slot] = new Bucket();
+        return bucket;
+    }
+
+    private static final class Bucket {
+        private static final long[] EMPTY = new long[0];
+
+        private long[] userIds = EMPTY;
+        private long[] ticks = EMPTY;
+        private int size;
+
+        private void add(long userId, long tick) {
+            if (size == userIds.length) {
+                int capacity = Math.max(4, size * 2);
+                userIds = Arrays.copyOf(userIds, capacity);
+                ticks = Arrays.copyOf(ticks, capacity);
+            }
+            userIds[size] = userId;
+            ticks[size] = tick;
+            size++;
+        }
+
+        private void clear() {
+            userIds = EMPTY;
+            ticks = EMPTY;
+            size = 0;
+        }
+    }
+
+    private static final class LongList {
+        private long[] values = new long[16];
+        private int size;
+
+        private void addAll(long[] source, int length) {
+            if (size + length > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, size + length));
+            }
+            System.arraycopy(source, 0, values, size, length);
+            size += length;
+        }
+
+        private long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
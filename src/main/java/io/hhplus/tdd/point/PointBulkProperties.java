@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 일괄 포인트 처리 설정
+ * - concurrency : 동시에 처리하는 최대 유저 수
+ */
+@ConfigurationProperties(prefix = "point.bulk")
+public record PointBulkProperties(
+        @DefaultValue("64") int concurrency
+) {
+}
@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record PointBulkRequest(
+        @NotEmpty(message = "요청할 작업이 없습니다")
+        @Size(max = 10_000, message = "한 번에 요청할 수 있는 작업은 10000건 이하입니다")
+        List<@Valid PointOperation> operations
+) {
+}
@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+public record PointBulkResponse(
+        List<PointBulkResult> results,
+        int successCount,
+        int failureCount,
+        long elapsedMillis,
+        double operationsPerSecond
+) {
+}
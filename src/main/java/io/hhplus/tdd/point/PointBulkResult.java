@@ -0,0 +1,17 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 성공하면 point 에 작업 후 잔액이, 실패하면 errorCode 와 message 가 채워진다.
+ * errorCode 는 {@link io.hhplus.tdd.ErrorCode} 의 이름이며, 예상하지 못한 오류는 null 이다.
+ */
+public record PointBulkResult(
+        int index,
+        long userId,
+        TransactionType type,
+        long amount,
+        boolean success,
+        Long point,
+        String errorCode,
+        String message
+) {
+}
@@ -0,0 +1,93 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.BusinessException;
+import io.hhplus.tdd.ErrorCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 여러 유저의 충전/사용을 한 번에 처리한다.
+ * - 같은 유저의 작업은 요청 순서대로 하나씩 처리한다.
+ * - 서로 다른 유저의 작업은 병렬로 처리한다.
+ * - 개별 작업이 실패해도 나머지 작업은 계속 처리하고, 작업마다 결과를 돌려준다.
+ */
+@Service
+public class PointBulkService {
+
+    private static final Logger log = LoggerFactory.getLogger(PointBulkService.class);
+
+    private final PointService pointService;
+    private final Executor executor;
+
+    public PointBulkService(
+            PointService pointService,
+            @Qualifier(PointExecutorConfig.POINT_BULK_EXECUTOR) Executor executor
+    ) {
+        this.pointService = pointService;
+        this.executor = executor;
+    }
+
+    public PointBulkResponse execute(List<PointOperation> operations) {
+        long start = System.nanoTime();
+
+        PointBulkResult[] results = new PointBulkResult[operations.size()];
+        CompletableFuture<?>[] futures = groupByUser(operations).values().stream()
+                .map(indexes -> CompletableFuture.runAsync(() -> executeInOrder(operations, indexes, results), executor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futures).join();
+
+        long elapsedNanos = System.nanoTime() - start;
+        int successCount = (int) Arrays.stream(results).filter(PointBulkResult::success).count();
+        return new PointBulkResponse(
+                Arrays.asList(results),
+                successCount,
+                results.length - successCount,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                results.length / Math.max(elapsedNanos / 1_000_000_000.0, 1e-9)
+        );
+    }
+
+    private Map<Long, List<Integer>> groupByUser(List<PointOperation> operations) {
+        Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            indexesByUser.computeIfAbsent(operations.get(i).userId(), userId -> new ArrayList<>()).add(i);
+        }
+        return indexesByUser;
+    }
+
+    private void executeInOrder(List<PointOperation> operations, List<Integer> indexes, PointBulkResult[] results) {
+        for (int index : indexes) {
+            results[index] = executeOne(index, operations.get(index));
+        }
+    }
+
+    private PointBulkResult executeOne(int index, PointOperation operation) {
+        try {
+            UserPoint userPoint = switch (operation.type()) {
+                case CHARGE -> pointService.charge(operation.userId(), operation.amount());
+                case USE -> pointService.use(operation.userId(), operation.amount());
+                case EXPIRE -> throw new BusinessException(ErrorCode.UNSUPPORTED_TRANSACTION_TYPE);
+            };
+            return new PointBulkResult(index, operation.userId(), operation.type(), operation.amount(),
+                    true, userPoint.point(), null, null);
+        } catch (BusinessException e) {
+            return new PointBulkResult(index, operation.userId(), operation.type(), operation.amount(),
+                    false, null, e.getErrorCode().name(), e.getErrorCode().getMessage());
+        } catch (RuntimeException e) {
+            log.error("일괄 포인트 작업에 실패했습니다. {}", operation, e);
+            return new PointBulkResult(index, operation.userId(), operation.type(), operation.amount(),
+                    false, null, null, "에러가 발생했습니다.");
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 같은 유저의 충전/사용을 동시에 처리하는 방식
+ * - mode : PESSIMISTIC 이면 유저 락을 잡고 조회부터 저장까지 처리하며, 기다리는 동안 쌓인 작업을 묶어 처리한다.
+ *          OPTIMISTIC 이면 락 없이 조회하고 버전이 그대로일 때만 저장하며, 버전이 바뀌었으면 다시 조회해 재시도한다.
+ * - maxAttempts : OPTIMISTIC 에서 한 요청이 저장을 시도하는 최대 횟수
+ * - initialBackoff, maxBackoff : 재시도 전 대기 시간의 상한. 시도할 때마다 두 배로 늘리되 maxBackoff 를 넘지 않으며,
+ *   실제 대기 시간은 0 부터 상한 사이에서 무작위로 고른다(full jitter).
+ */
+@ConfigurationProperties(prefix = "point.concurrency")
+public record PointConcurrencyProperties(
+        @DefaultValue("PESSIMISTIC") Mode mode,
+        @DefaultValue("10") int maxAttempts,
+        @DefaultValue("1ms") Duration initialBackoff,
+        @DefaultValue("50ms") Duration maxBackoff
+) {
+
+    public enum Mode {
+        PESSIMISTIC, OPTIMISTIC
+    }
+
+    public static PointConcurrencyProperties pessimistic() {
+        return new PointConcurrencyProperties(Mode.PESSIMISTIC, 10, Duration.ofMillis(1), Duration.ofMillis(50));
+    }
+
+    public static PointConcurrencyProperties optimistic() {
+        return new PointConcurrencyProperties(Mode.OPTIMISTIC, 10, Duration.ofMillis(1), Duration.ofMillis(50));
+    }
+}
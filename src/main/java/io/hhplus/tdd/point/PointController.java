@@ -1,12 +1,20 @@
 package io.hhplus.tdd.point;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.BusinessException;
+import io.hhplus.tdd.ErrorCode;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/points")
@@ -14,13 +22,23 @@ import java.util.List;
 public class PointController {
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int EXPORT_FLUSH_INTERVAL = 1000;
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final PointService pointService;
+    private final PointBulkService pointBulkService;
+    private final PointIdempotencyStore pointIdempotencyStore;
+    private final ObjectMapper objectMapper;
 
+    /**
+     * 응답의 ETag 는 포인트의 버전이다. 충전/사용 요청의 If-Match 로 보내면 그 버전일 때만 처리한다.
+     */
     @GetMapping("/{userId}")
-    public UserPoint point(
+    public ResponseEntity<UserPoint> point(
             @PathVariable long userId
     ) {
-        return pointService.get(userId);
+        return withETag(pointService.get(userId));
     }
 
     @GetMapping("/{userId}/histories")
@@ -30,20 +48,119 @@ public class PointController {
         return pointService.getHistory(userId);
     }
 
-    @PatchMapping("{userId}/charge")
-    public UserPoint charge(
+    @GetMapping("/{userId}/histories/page")
+    public PointHistoryPage historyPage(
             @PathVariable long userId,
-            @RequestBody @Valid PointRequest request
+            @Valid PointHistoryPageRequest request
     ) {
-        return pointService.charge(userId, request.amount());
+        return pointService.getHistoryPage(userId, request);
     }
 
+    /**
+     * 유저의 포인트 내역을 종류별 합계와 건수로 요약한다. 내역 수와 관계없이 저장 시점에 갱신해 둔 집계를 반환한다.
+     */
+    @GetMapping("/{userId}/summary")
+    public PointHistorySummary summary(
+            @PathVariable long userId
+    ) {
+        return pointService.getSummary(userId);
+    }
 
+    /**
+     * 유저의 포인트 내역을 NDJSON 으로 스트리밍한다.
+     * 중단된 지점부터 이어받으려면 마지막으로 받은 내역의 id 를 after 로 전달한다.
+     */
+    @GetMapping(value = "/{userId}/histories/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportHistory(
+            @PathVariable long userId,
+            @RequestParam(defaultValue = "0") long after
+    ) {
+        StreamingResponseBody body = outputStream -> {
+            try (PointHistoryNdjsonWriter writer =
+                         new PointHistoryNdjsonWriter(objectMapper.getFactory(), outputStream, EXPORT_FLUSH_INTERVAL)) {
+                pointService.forEachHistory(userId, after, writer);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
+
+    /**
+     * Idempotency-Key 를 함께 보내면 같은 키로 재시도해도 한 번만 충전하고 처음 결과를 돌려준다.
+     * If-Match 를 함께 보내면 포인트의 버전이 그 ETag 일 때만 충전하고, 아니면 412 로 거절한다.
+     * 412 는 멱등 키에 보관하지 않으며, 같은 키를 다른 If-Match 와 함께 보내면 다른 요청으로 보고 422 로 거절한다.
+     */
+    @PatchMapping("{userId}/charge")
+    public ResponseEntity<UserPoint> charge(
+            @PathVariable long userId,
+            @RequestBody @Valid PointRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        Long expectedVersion = expectedVersionOf(ifMatch);
+        Supplier<UserPoint> charge = expectedVersion == null
+                ? () -> pointService.charge(userId, request.amount())
+                : () -> pointService.charge(userId, request.amount(), expectedVersion);
+        if (idempotencyKey == null) {
+            return withETag(charge.get());
+        }
+        return withETag(pointIdempotencyStore.execute(
+                idempotencyKey, userId, TransactionType.CHARGE, request.amount(), expectedVersion, charge));
+    }
+
+    /**
+     * Idempotency-Key 를 함께 보내면 같은 키로 재시도해도 한 번만 사용하고 처음 결과를 돌려준다.
+     * If-Match 를 함께 보내면 포인트의 버전이 그 ETag 일 때만 사용하고, 아니면 412 로 거절한다.
+     * 412 는 멱등 키에 보관하지 않으며, 같은 키를 다른 If-Match 와 함께 보내면 다른 요청으로 보고 422 로 거절한다.
+     */
     @PatchMapping("/{userId}/use")
-    public UserPoint use(
+    public ResponseEntity<UserPoint> use(
             @PathVariable long userId,
-            @RequestBody @Valid PointRequest request
+            @RequestBody @Valid PointRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        Long expectedVersion = expectedVersionOf(ifMatch);
+        Supplier<UserPoint> use = expectedVersion == null
+                ? () -> pointService.use(userId, request.amount())
+                : () -> pointService.use(userId, request.amount(), expectedVersion);
+        if (idempotencyKey == null) {
+            return withETag(use.get());
+        }
+        return withETag(pointIdempotencyStore.execute(
+                idempotencyKey, userId, TransactionType.USE, request.amount(), expectedVersion, use));
+    }
+
+    private static ResponseEntity<UserPoint> withETag(UserPoint userPoint) {
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(userPoint.version()))
+                .body(userPoint);
+    }
+
+    /**
+     * If-Match 가 없거나 * 이면 버전을 확인하지 않는다.
+     * ETag 는 강한 비교만 하므로 약한 ETag(W/)나 해석할 수 없는 값은 어떤 버전과도 일치하지 않는다.
+     */
+    private static Long expectedVersionOf(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String eTag = ifMatch.trim();
+        if (eTag.length() < 3 || eTag.charAt(0) != '"' || eTag.charAt(eTag.length() - 1) != '"') {
+            throw new BusinessException(ErrorCode.POINT_VERSION_MISMATCH);
+        }
+        try {
+            return Long.parseLong(eTag.substring(1, eTag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new BusinessException(ErrorCode.POINT_VERSION_MISMATCH);
+        }
+    }
+
+    @PostMapping("/bulk")
+    public PointBulkResponse bulk(
+            @RequestBody @Valid PointBulkRequest request
     ) {
-        return pointService.use(userId, request.amount());
+        return pointBulkService.execute(request.operations());
     }
 }
@@ -0,0 +1,40 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * spring.threads.virtual.enabled=true 이면 내부 비동기 작업도 가상 스레드에서 실행한다.
+ * 가상 스레드는 풀에 보관하지 않으므로 동시 실행 수만 concurrency 로 제한한다.
+ */
+@Configuration
+public class PointExecutorConfig {
+
+    public static final String POINT_BULK_EXECUTOR = "pointBulkExecutor";
+
+    @Bean(name = POINT_BULK_EXECUTOR)
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public AsyncTaskExecutor pointBulkExecutor(PointBulkProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.concurrency());
+        executor.setMaxPoolSize(properties.concurrency());
+        executor.setThreadNamePrefix("point-bulk-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    @Bean(name = POINT_BULK_EXECUTOR)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public AsyncTaskExecutor pointBulkVirtualThreadExecutor(PointBulkProperties properties) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("point-bulk-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(properties.concurrency());
+        executor.setTaskTerminationTimeout(30_000L);
+        return executor;
+    }
+}
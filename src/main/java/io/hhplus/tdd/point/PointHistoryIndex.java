@@ -0,0 +1,356 @@
+package io.hhplus.tdd.point;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 유저별 포인트 내역 색인
+ * - 유저마다 내역을 청크에 id 오름차순으로 이어 붙인다.
+ *   청크는 힙 밖(direct 버퍼)에 열 단위로 [id][amount][updateMillis][type] 을 담고, 유저는 청크 주소만 들고 있다.
+ *   따라서 내역 수가 늘어도 힙과 GC 가 훑을 객체는 늘지 않으며, {@link PointHistory} 는 조회 결과로 돌려줄 때만 만든다.
+ * - 조회 비용은 전체 내역 수가 아니라 해당 유저의 내역 수에 비례한다.
+ * - 추가는 유저 단위로 직렬화되고, 조회는 락 없이 이미 공개된 내역까지만 읽는다.
+ * - 유저마다 종류별 합계와 건수, 처음과 마지막 시각을 추가할 때 함께 갱신해 두므로 집계 조회는 내역 수와 무관하다.
+ *   집계는 청크에 담긴 내역으로 언제든 다시 계산할 수 있다.
+ */
+public class PointHistoryIndex {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final ConcurrentHashMap<Long, UserHistories> histories = new ConcurrentHashMap<>();
+    private volatile Slabs slabs = new Slabs();
+
+    public void add(PointHistory pointHistory) {
+        histories.computeIfAbsent(pointHistory.userId(), userId -> new UserHistories(userId, slabs)).append(pointHistory);
+    }
+
+    /**
+     * other 의 내역을 유저마다 이 색인의 내역 뒤에 이어 붙인다. other 의 내역 id 는 이 색인의 어떤 내역 id 보다도 커야 한다.
+     */
+    public void addAll(PointHistoryIndex other) {
+        other.forEach(this::add);
+    }
+
+    /**
+     * 유저마다 내역을 id 오름차순으로 넘긴다. 유저 사이의 순서는 정해져 있지 않다.
+     */
+    public void forEach(Consumer<PointHistory> consumer) {
+        histories.values().forEach(userHistories -> userHistories.toList().forEach(consumer));
+    }
+
+    public List<PointHistory> findAllByUserId(long userId) {
+        UserHistories userHistories = histories.get(userId);
+        return userHistories == null ? List.of() : userHistories.toList();
+    }
+
+    /**
+     * afterId 보다 큰 id 를 가진 내역 중 조건에 맞는 내역을 id 오름차순으로 최대 limit 개 반환한다.
+     * type 이 null 이면 모든 종류를 반환한다.
+     */
+    public List<PointHistory> findAfter(long userId, long afterId, int limit, long from, long to, TransactionType type) {
+        UserHistories userHistories = histories.get(userId);
+        return userHistories == null ? List.of() : userHistories.findAfter(afterId, limit, from, to, type);
+    }
+
+    /**
+     * afterId 보다 큰 id 를 가진 내역을 id 오름차순으로 방문한다.
+     * 방문을 시작한 시점까지 추가된 내역만 방문한다.
+     */
+    public void forEachAfter(long userId, long afterId, PointHistoryVisitor visitor) throws IOException {
+        UserHistories userHistories = histories.get(userId);
+        if (userHistories != null) {
+            userHistories.forEachAfter(afterId, visitor);
+        }
+    }
+
+    public PointHistorySummary summaryOf(long userId) {
+        UserHistories userHistories = histories.get(userId);
+        return userHistories == null ? PointHistorySummary.empty(userId) : userHistories.summary();
+    }
+
+    /**
+     * 모든 유저의 집계를 청크에 담긴 내역으로 다시 계산한다.
+     */
+    public void rebuildSummaries() {
+        histories.values().forEach(UserHistories::rebuildSummary);
+    }
+
+    /**
+     * 청크를 담기 위해 힙 밖에 할당한 바이트 수
+     */
+    public long offHeapBytes() {
+        return slabs.allocatedBytes();
+    }
+
+    /**
+     * 힙 밖의 메모리는 조회 중인 요청이 끝나고 색인이 GC 되면 해제된다.
+     */
+    public void clear() {
+        slabs = new Slabs();
+        histories.clear();
+    }
+
+    private static final class UserHistories {
+        private final long userId;
+        private final Slabs slabs;
+        private volatile long[] chunks = new long[0];
+        private volatile int size;
+        private final long[] totals = new long[TYPES.length];
+        private final long[] counts = new long[TYPES.length];
+        private long firstUpdateMillis;
+        private long lastUpdateMillis;
+
+        private UserHistories(long userId, Slabs slabs) {
+            this.userId = userId;
+            this.slabs = slabs;
+        }
+
+        private synchronized void append(PointHistory pointHistory) {
+            long[] current = chunks;
+            int index = size;
+            int c = current.length - 1;
+            int offset = index - Chunk.startOf(Math.max(c, 0));
+            if (c < 0 || offset == Chunk.capacityOf(c)) {
+                c++;
+                offset = 0;
+                current = Arrays.copyOf(current, c + 1);
+                current[c] = slabs.allocate(Chunk.bytesOf(Chunk.capacityOf(c)));
+                chunks = current;
+            }
+            Chunk.write(slabs, current[c], Chunk.capacityOf(c), offset, pointHistory);
+            if (index == 0) {
+                firstUpdateMillis = pointHistory.updateMillis();
+            }
+            summarize(pointHistory.amount(), pointHistory.type().ordinal(), pointHistory.updateMillis());
+            size = index + 1;
+        }
+
+        private synchronized PointHistorySummary summary() {
+            return size == 0
+                    ? PointHistorySummary.empty(userId)
+                    : PointHistorySummary.of(userId, totals, counts, firstUpdateMillis, lastUpdateMillis);
+        }
+
+        private synchronized void rebuildSummary() {
+            Arrays.fill(totals, 0);
+            Arrays.fill(counts, 0);
+            int remaining = size;
+            long[] current = chunks;
+            for (int c = 0; c < current.length && remaining > 0; c++) {
+                Chunk chunk = new Chunk(slabs, current[c], Chunk.capacityOf(c));
+                int length = Math.min(chunk.capacity, remaining);
+                if (c == 0) {
+                    firstUpdateMillis = chunk.updateMillis(0);
+                }
+                for (int i = 0; i < length; i++) {
+                    summarize(chunk.amount(i), chunk.type(i), chunk.updateMillis(i));
+                }
+                remaining -= length;
+            }
+        }
+
+        private void summarize(long amount, int type, long updateMillis) {
+            totals[type] += amount;
+            counts[type]++;
+            lastUpdateMillis = updateMillis;
+        }
+
+        private List<PointHistory> toList() {
+            int remaining = size;
+            long[] current = chunks;
+            List<PointHistory> result = new ArrayList<>(remaining);
+            for (int c = 0; c < current.length && remaining > 0; c++) {
+                Chunk chunk = new Chunk(slabs, current[c], Chunk.capacityOf(c));
+                int length = Math.min(chunk.capacity, remaining);
+                for (int i = 0; i < length; i++) {
+                    result.add(chunk.get(userId, i));
+                }
+                remaining -= length;
+            }
+            return result;
+        }
+
+        private List<PointHistory> findAfter(long afterId, int limit, long from, long to, TransactionType type) {
+            int remaining = size;
+            long[] current = chunks;
+            List<PointHistory> result = new ArrayList<>(Math.min(limit, remaining));
+            for (int c = 0; c < current.length && remaining > 0; c++) {
+                Chunk chunk = new Chunk(slabs, current[c], Chunk.capacityOf(c));
+                int length = Math.min(chunk.capacity, remaining);
+                remaining -= length;
+                if (chunk.id(length - 1) <= afterId) {
+                    continue;
+                }
+                for (int i = chunk.firstIndexAfter(afterId, length); i < length; i++) {
+                    if (chunk.matches(i, from, to, type)) {
+                        result.add(chunk.get(userId, i));
+                        if (result.size() == limit) {
+                            return result;
+                        }
+                    }
+                }
+            }
+            return result;
+        }
+
+        private void forEachAfter(long afterId, PointHistoryVisitor visitor) throws IOException {
+            int remaining = size;
+            long[] current = chunks;
+            for (int c = 0; c < current.length && remaining > 0; c++) {
+                Chunk chunk = new Chunk(slabs, current[c], Chunk.capacityOf(c));
+                int length = Math.min(chunk.capacity, remaining);
+                remaining -= length;
+                if (chunk.id(length - 1) <= afterId) {
+                    continue;
+                }
+                for (int i = chunk.firstIndexAfter(afterId, length); i < length; i++) {
+                    visitor.visit(chunk.id(i), userId, chunk.amount(i), TYPES[chunk.type(i)], chunk.updateMillis(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * 슬랩 안의 청크 하나를 읽는 뷰. 조회할 때만 잠깐 만들어 쓴다.
+     * - c 번째 청크의 크기는 FIRST_CAPACITY 부터 두 배씩 늘어 MAX_CAPACITY 에서 멈춘다.
+     *   크기를 순서로 정하므로 청크마다 크기를 저장하지 않는다.
+     * - 청크 하나에 [id x capacity][amount x capacity][updateMillis x capacity][type x capacity] 순서로 담는다.
+     */
+    private static final class Chunk {
+        private static final int FIRST_CAPACITY = 4;
+        private static final int MAX_CAPACITY = 1024;
+        private static final int GROWING_CHUNKS = Integer.numberOfTrailingZeros(MAX_CAPACITY / FIRST_CAPACITY);
+
+        private final ByteBuffer slab;
+        private final int base;
+        private final int capacity;
+
+        private Chunk(Slabs slabs, long address, int capacity) {
+            this.slab = slabs.slabOf(address);
+            this.base = Slabs.offsetOf(address);
+            this.capacity = capacity;
+        }
+
+        private static int capacityOf(int chunk) {
+            return chunk >= GROWING_CHUNKS ? MAX_CAPACITY : FIRST_CAPACITY << chunk;
+        }
+
+        /**
+         * chunk 번째 청크의 첫 내역이 유저 내역에서 몇 번째인지
+         */
+        private static int startOf(int chunk) {
+            if (chunk <= GROWING_CHUNKS) {
+                return FIRST_CAPACITY * ((1 << chunk) - 1);
+            }
+            return startOf(GROWING_CHUNKS) + (chunk - GROWING_CHUNKS) * MAX_CAPACITY;
+        }
+
+        /**
+         * long 열이 8바이트 경계에 놓이도록 청크 크기를 8의 배수로 맞춘다.
+         */
+        private static int bytesOf(int capacity) {
+            return (capacity * (3 * Long.BYTES + 1) + 7) & ~7;
+        }
+
+        private static void write(Slabs slabs, long address, int capacity, int index, PointHistory pointHistory) {
+            ByteBuffer slab = slabs.slabOf(address);
+            int base = Slabs.offsetOf(address);
+            slab.putLong(base + index * Long.BYTES, pointHistory.id());
+            slab.putLong(base + (capacity + index) * Long.BYTES, pointHistory.amount());
+            slab.putLong(base + (2 * capacity + index) * Long.BYTES, pointHistory.updateMillis());
+            slab.put(base + 3 * capacity * Long.BYTES + index, (byte) pointHistory.type().ordinal());
+        }
+
+        private long id(int index) {
+            return slab.getLong(base + index * Long.BYTES);
+        }
+
+        private long amount(int index) {
+            return slab.getLong(base + (capacity + index) * Long.BYTES);
+        }
+
+        private long updateMillis(int index) {
+            return slab.getLong(base + (2 * capacity + index) * Long.BYTES);
+        }
+
+        private byte type(int index) {
+            return slab.get(base + 3 * capacity * Long.BYTES + index);
+        }
+
+        private int firstIndexAfter(long afterId, int length) {
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (id(middle) <= afterId) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private boolean matches(int index, long from, long to, TransactionType type) {
+            long millis = updateMillis(index);
+            return millis >= from
+                    && millis <= to
+                    && (type == null || type(index) == type.ordinal());
+        }
+
+        private PointHistory get(long userId, int index) {
+            return new PointHistory(id(index), userId, amount(index), TYPES[type(index)], updateMillis(index));
+        }
+    }
+
+    /**
+     * 청크를 담는 direct 버퍼 묶음
+     * - 슬랩 크기는 FIRST_SLAB_SIZE 부터 두 배씩 늘어 MAX_SLAB_SIZE 에서 멈춘다. 내역이 적은 색인은 메모리를 적게 쓴다.
+     * - 청크는 현재 슬랩에 앞에서부터 차례로 잡고, 개별로 해제하지 않는다. 색인을 비우면 슬랩 묶음을 통째로 버린다.
+     * - 청크 주소는 [슬랩 번호 32bit][슬랩 안의 위치 32bit] 이다.
+     */
+    private static final class Slabs {
+        private static final int FIRST_SLAB_SIZE = 64 * 1024;
+        private static final int MAX_SLAB_SIZE = 64 * 1024 * 1024;
+
+        private volatile ByteBuffer[] slabs = new ByteBuffer[0];
+        private int position;
+        private long allocatedBytes;
+
+        /**
+         * 청크를 추가하는 스레드가 주소를 volatile 필드로 공개하므로, 주소를 읽은 스레드는 새 슬랩도 볼 수 있다.
+         */
+        private synchronized long allocate(int bytes) {
+            ByteBuffer[] current = slabs;
+            if (current.length == 0 || position + bytes > current[current.length - 1].capacity()) {
+                int size = current.length == 0 ? FIRST_SLAB_SIZE : Math.min(current[current.length - 1].capacity() * 2, MAX_SLAB_SIZE);
+                current = Arrays.copyOf(current, current.length + 1);
+                current[current.length - 1] = ByteBuffer.allocateDirect(size).order(ByteOrder.nativeOrder());
+                slabs = current;
+                position = 0;
+                allocatedBytes += size;
+            }
+            long address = ((long) (current.length - 1) << 32) | position;
+            position += bytes;
+            return address;
+        }
+
+        private synchronized long allocatedBytes() {
+            return allocatedBytes;
+        }
+
+        private ByteBuffer slabOf(long address) {
+            return slabs[(int) (address >>> 32)];
+        }
+
+        private static int offsetOf(long address) {
+            return (int) address;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package io.hhplus.tdd.point;
+
+/**
+ * {@link PointHistoryRepository} 에 저장된 내역을 id 순서대로 전달받는다.
+ * 저장 경로에서 호출되므로 막히거나 오래 걸리는 작업을 하지 않아야 한다.
+ */
+public interface PointHistoryListener {
+
+    void onSaved(PointHistory pointHistory);
+
+    /**
+     * 내역이 모두 버려졌다. 이후 저장되는 내역의 id 는 이전보다 작을 수 있다.
+     */
+    default void onCleared() {
+    }
+
+    /**
+     * 시작할 때 건너뛴 내역을 다시 읽기 시작한다. 저장 락 안에서 호출되며,
+     * 이후 {@link #onReloaded}, {@link #onReloadFailed}, {@link #onCleared} 중 하나가 호출된다.
+     */
+    default void onReloadStarted() {
+    }
+
+    /**
+     * 스냅샷에 반영되어 시작할 때 건너뛴 내역을 백그라운드에서 다시 읽으며 id 순서대로 전달받는다.
+     * 이미 전달된 어떤 내역보다도 id 가 작다. 저장 락 밖에서 호출되므로 그사이 {@link #onSaved} 도 호출될 수 있다.
+     */
+    default void onReloading(PointHistory pointHistory) {
+    }
+
+    /**
+     * 건너뛴 내역을 모두 다시 읽었다. 저장 락 안에서 호출되므로 그동안 저장은 기다린다.
+     *
+     * @param saved 다시 읽는 동안 {@link #onSaved} 로 이미 전달된 내역
+     */
+    default void onReloaded(PointHistoryIndex saved) {
+    }
+
+    /**
+     * 건너뛴 내역을 다시 읽지 못했다. 그동안 {@link #onReloading} 으로 받은 내역은 버린다.
+     */
+    default void onReloadFailed() {
+    }
+}
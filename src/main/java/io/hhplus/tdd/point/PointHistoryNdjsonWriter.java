@@ -0,0 +1,57 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+
+/**
+ * 포인트 내역을 한 줄에 하나씩 JSON 으로 기록한다. (application/x-ndjson)
+ * - 내역마다 객체를 만들지 않고 generator 로 바로 기록하므로 내역 수와 관계없이 메모리 사용량이 일정하다.
+ * - flushInterval 개마다 출력 스트림을 flush 해 클라이언트가 받은 만큼 바로 처리할 수 있게 한다.
+ * - 클라이언트가 연결을 끊으면 기록 중 IOException 이 발생해 중단되고,
+ *   요청 스레드가 인터럽트되면 다음 flush 시점에 중단된다.
+ */
+public class PointHistoryNdjsonWriter implements PointHistoryVisitor, AutoCloseable {
+
+    private final JsonGenerator generator;
+    private final int flushInterval;
+    private int unflushed;
+
+    public PointHistoryNdjsonWriter(JsonFactory jsonFactory, OutputStream outputStream, int flushInterval) throws IOException {
+        this.generator = jsonFactory.createGenerator(outputStream);
+        this.generator.setRootValueSeparator(null);
+        this.flushInterval = flushInterval;
+    }
+
+    @Override
+    public void visit(long id, long userId, long amount, TransactionType type, long updateMillis) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", id);
+        generator.writeNumberField("userId", userId);
+        generator.writeNumberField("amount", amount);
+        generator.writeStringField("type", type.name());
+        generator.writeNumberField("updateMillis", updateMillis);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+
+        if (++unflushed >= flushInterval) {
+            flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+
+    private void flush() throws IOException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("포인트 내역 내보내기가 중단되었습니다.");
+        }
+        generator.flush();
+        unflushed = 0;
+    }
+}
@@ -0,0 +1,43 @@
+package io.hhplus.tdd.point;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.PositiveOrZero;
+
+/**
+ * 포인트 내역 페이지 조회 조건
+ * - cursor : 이전 페이지의 nextCursor, 이 id 다음 내역부터 조회한다. 없으면 처음부터 조회한다.
+ * - size : 페이지 크기
+ * - from, to : updateMillis 범위 (양 끝 포함)
+ * - type : 트랜잭션 종류
+ */
+public record PointHistoryPageRequest(
+        @PositiveOrZero(message = "cursor 는 0을 포함한 양수이어야 합니다")
+        Long cursor,
+        @Min(value = 1, message = "size 는 1 이상 100 이하이어야 합니다")
+        @Max(value = 100, message = "size 는 1 이상 100 이하이어야 합니다")
+        Integer size,
+        Long from,
+        Long to,
+        TransactionType type
+) {
+    public static final int DEFAULT_SIZE = 20;
+
+    public PointHistoryPageRequest {
+        if (size == null) {
+            size = DEFAULT_SIZE;
+        }
+    }
+
+    public long cursorOrZero() {
+        return cursor == null ? 0 : cursor;
+    }
+
+    public long fromOrMin() {
+        return from == null ? Long.MIN_VALUE : from;
+    }
+
+    public long toOrMax() {
+        return to == null ? Long.MAX_VALUE : to;
+    }
+}
@@ -1,26 +1,522 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.BusinessException;
+import io.hhplus.tdd.ErrorCode;
 import io.hhplus.tdd.database.PointHistoryTable;
-import lombok.RequiredArgsConstructor;
+import io.hhplus.tdd.point.PointMetrics.TableCall;
+import io.hhplus.tdd.wal.WriteAheadLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.stereotype.Repository;
 
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * 포인트 내역은 대기열에 넣고 즉시 반환하며, 백그라운드 writer 가 {@link PointHistoryTable} 에 기록한다.
+ * - writer 는 하나뿐이므로 테이블이 부여하는 id 순서는 대기열에 들어간 순서와 같다.
+ *   따라서 저장 시점에 테이블이 부여할 id 를 미리 정해 둘 수 있다.
+ * - 조회는 테이블 전체를 훑는 대신 저장 시점에 채워지는 {@link PointHistoryIndex} 에서 유저 내역만 읽는다.
+ *   따라서 아직 기록되지 않은 내역도 조회 결과에 포함된다.
+ * - 유저별 집계도 색인에 저장 시점마다 갱신되므로, 집계 조회는 내역을 훑지 않는다.
+ * - 저장한 내역은 id 순서대로 {@link WriteAheadLog} 에 남긴다.
+ * - 저장한 내역은 id 순서대로 {@link PointHistoryListener} 에 전달한다.
+ * - 스냅샷에 반영된 내역은 시작할 때 복구하지 않고 id 만 건너뛴 뒤, 백그라운드에서 다시 읽어 색인을 새로 만들어 바꿔 끼운다.
+ *   다시 읽는 동안 내역 조회는 거절하고 저장은 그대로 받는다. 다시 읽을 수 없으면 건너뛴 내역은 조회되지 않는다.
+ *   건너뛴 내역은 테이블에 다시 기록하지 않으므로, 테이블이 부여하는 id 는 건너뛴 수(idOffset)만큼 작다.
+ * - 복구한 내역(backlog)은 새로 저장된 내역과 번갈아 한 묶음씩 기록한다. backlog 를 다 기록할 때까지 새 내역이 대기열에 쌓여
+ *   저장이 막히지 않도록 하기 위해서이다. 그동안은 테이블에 기록되는 순서가 id 순서와 다르다.
+ */
 @Repository
-@RequiredArgsConstructor
-public class PointHistoryRepository {
+public class PointHistoryRepository implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PointHistoryRepository.class);
+    private static final long POLL_INTERVAL_MILLIS = 100L;
 
     private final PointHistoryTable pointHistoryTable;
+    private final PointHistoryWriterProperties properties;
+    private final PointMetrics pointMetrics;
+    private final WriteAheadLog writeAheadLog;
+
+    private final BlockingQueue<PointHistory> queue;
+    private final ConcurrentHashMap<Long, PointHistory> pending = new ConcurrentHashMap<>();
+    private volatile PointHistoryIndex pointHistoryIndex = new PointHistoryIndex();
+    private final ArrayDeque<PointHistory> backlog = new ArrayDeque<>();
+    private final List<PointHistoryListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final ReentrantLock enqueueLock = new ReentrantLock();
+    private final ReentrantLock tableLock = new ReentrantLock();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Condition flushed = flushLock.newCondition();
+    private final Condition reloaded = flushLock.newCondition();
+
+    private long sequence = 1;
+    private long insertedCount = 0;
+    private long idOffset = 0;
+    private boolean interleaved;
+    private volatile PointHistorySource reloading;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public PointHistoryRepository(
+            PointHistoryTable pointHistoryTable,
+            PointHistoryWriterProperties properties,
+            PointMetrics pointMetrics,
+            WriteAheadLog writeAheadLog
+    ) {
+        this.pointHistoryTable = pointHistoryTable;
+        this.properties = properties;
+        this.pointMetrics = pointMetrics;
+        this.writeAheadLog = writeAheadLog;
+        this.queue = new LinkedBlockingQueue<>(properties.queueCapacity());
+    }
+
+    /**
+     * 이후 저장되거나 복구되는 내역을 전달받는다. 저장과 같은 락 안에서 호출되므로 id 순서가 보장된다.
+     */
+    public void addListener(PointHistoryListener listener) {
+        listeners.add(listener);
+    }
 
     public List<PointHistory> getAllBy(long userId) {
-        return pointHistoryTable.selectAllByUserId(userId);
+        return readableIndex().findAllByUserId(userId);
+    }
+
+    /**
+     * 다음 페이지가 있는지 알기 위해 요청한 크기보다 하나 더 조회한다.
+     */
+    public PointHistoryPage getPageBy(long userId, PointHistoryPageRequest request) {
+        List<PointHistory> histories = readableIndex().findAfter(
+                userId, request.cursorOrZero(), request.size() + 1, request.fromOrMin(), request.toOrMax(), request.type());
+        if (histories.size() <= request.size()) {
+            return new PointHistoryPage(histories, null);
+        }
+        List<PointHistory> page = histories.subList(0, request.size());
+        return new PointHistoryPage(page, page.get(page.size() - 1).id());
+    }
+
+    public PointHistorySummary getSummaryBy(long userId) {
+        return readableIndex().summaryOf(userId);
+    }
+
+    /**
+     * 집계를 색인에 담긴 내역으로 다시 계산한다. 그동안의 저장과 조회는 유저 단위로 잠시 기다린다.
+     */
+    public void rebuildSummaries() {
+        pointHistoryIndex.rebuildSummaries();
+    }
+
+    public void forEachAfter(long userId, long afterId, PointHistoryVisitor visitor) throws IOException {
+        readableIndex().forEachAfter(userId, afterId, visitor);
+    }
+
+    /**
+     * 대기열이 가득 차 있으면 자리가 날 때까지 대기한다.
+     */
+    public void save(long userId, long amount, TransactionType transactionType) {
+        save(userId, amount, transactionType, System.currentTimeMillis());
+    }
+
+    /**
+     * 다른 노드에서 옮겨 온 내역처럼 발생 시각이 정해진 내역을 저장한다. id 는 이 노드의 순서대로 새로 부여한다.
+     * WAL 에 먼저 남긴다. 남기지 못하면 아무것도 바꾸지 않고 예외를 던지며, 다음 내역이 같은 id 를 쓴다.
+     * WAL 에 남긴 뒤에는 다시 시작하면 복구되는 내역이므로, 대기열을 기다리다 인터럽트되어도 끝까지 저장하고 인터럽트 상태만 되살린다.
+     */
+    public void save(long userId, long amount, TransactionType transactionType, long updateMillis) {
+        enqueueLock.lock();
+        try {
+            PointHistory pointHistory = new PointHistory(sequence, userId, amount, transactionType, updateMillis);
+            writeAheadLog.appendHistory(userId, amount, transactionType, pointHistory.updateMillis());
+            pending.put(pointHistory.id(), pointHistory);
+            putUninterruptibly(pointHistory);
+            pointHistoryIndex.add(pointHistory);
+            notifySaved(pointHistory);
+            sequence++;
+        } finally {
+            enqueueLock.unlock();
+        }
+    }
+
+    private void putUninterruptibly(PointHistory pointHistory) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(pointHistory);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 건너뛴 내역은 다시 읽지 않는다.
+     *
+     * @see #restore(long, PointHistorySource, List)
+     */
+    public void restore(long skippedCount, List<PointHistory> histories) {
+        restore(skippedCount, null, histories);
+    }
+
+    /**
+     * 복구한 내역을 조회할 수 있게 하고, writer 가 새 내역과 번갈아 테이블에 기록하게 한다.
+     * 내역이 하나도 저장되지 않은 상태에서 id 순서대로 넘겨야 한다.
+     * skipped 가 있으면 건너뛴 내역을 백그라운드에서 다시 읽어 색인에 채우고, 리스너에는 {@link PointHistoryListener#onReloading} 으로 전달한다.
+     * 건너뛴 내역은 테이블에 다시 기록하지 않는다.
+     *
+     * @param skippedCount 복구하지 않고 건너뛸 내역 수. histories 의 id 는 이 값 다음부터 시작한다.
+     * @param skipped      건너뛴 내역을 id 1 부터 다시 읽는다. null 이면 건너뛴 내역은 조회되지 않는다.
+     */
+    public void restore(long skippedCount, PointHistorySource skipped, List<PointHistory> histories) {
+        boolean reload = skipped != null && skippedCount > 0;
+        enqueueLock.lock();
+        tableLock.lock();
+        try {
+            if (sequence != idOffset + insertedCount + 1 || !pending.isEmpty() || reloading != null) {
+                throw new IllegalStateException("이미 저장된 내역이 있어 복구할 수 없습니다.");
+            }
+            if (reload) {
+                reloading = skipped;
+                listeners.forEach(PointHistoryListener::onReloadStarted);
+            }
+            idOffset += skippedCount;
+            sequence += skippedCount;
+            for (PointHistory pointHistory : histories) {
+                if (pointHistory.id() != sequence) {
+                    throw new IllegalStateException("복구할 내역의 id 가 순서대로가 아닙니다. id=" + pointHistory.id());
+                }
+                pending.put(pointHistory.id(), pointHistory);
+                pointHistoryIndex.add(pointHistory);
+                backlog.add(pointHistory);
+                notifySaved(pointHistory);
+                sequence++;
+            }
+        } finally {
+            tableLock.unlock();
+            enqueueLock.unlock();
+        }
+        log.info("포인트 내역 {}건을 복구했습니다. skipped={}", histories.size(), skippedCount);
+        if (reload) {
+            Thread reloader = new Thread(() -> reload(skipped, skippedCount), "point-history-reloader");
+            reloader.setDaemon(true);
+            reloader.start();
+        }
+    }
+
+    /**
+     * 건너뛴 내역을 다시 읽어 색인을 조회할 수 있게 될 때까지 기다린다.
+     */
+    public void awaitReloaded() {
+        flushLock.lock();
+        try {
+            while (reloading != null) {
+                reloaded.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 대기 중인 내역이 모두 테이블에 기록될 때까지 기다린다.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            while (!pending.isEmpty()) {
+                flushed.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * 대기 중인 내역은 기록하지 않고 버린다.
+     */
+    public void clear() {
+        enqueueLock.lock();
+        tableLock.lock();
+        try {
+            queue.clear();
+            backlog.clear();
+            pending.clear();
+            pointHistoryIndex.clear();
+            pointHistoryTable.clear();
+            clearReloading();
+            interleaved = false;
+            sequence = idOffset + insertedCount + 1;
+            listeners.forEach(PointHistoryListener::onCleared);
+        } finally {
+            tableLock.unlock();
+            enqueueLock.unlock();
+        }
+        signalFlushed();
+        signalReloaded();
+    }
+
+    /**
+     * 웹 서버의 graceful shutdown(DEFAULT_PHASE - 1024)과 웹 서버 종료(DEFAULT_PHASE - 2048)보다 낮은 phase 이다.
+     * 웹 서버보다 먼저 시작하고, 처리 중인 요청이 모두 끝나 더 저장될 내역이 없을 때 종료한다.
+     */
+    public static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    @Override
+    public void start() {
+        running = true;
+        writer = new Thread(this::writeLoop, "point-history-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * 종료 시 남은 내역을 shutdownTimeout 동안 기록하고, 그래도 남은 내역은 경고 로그를 남긴다.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.join(properties.shutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            log.warn("포인트 내역 {}건을 기록하지 못하고 종료합니다.", pending.size());
+            writer.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void writeLoop() {
+        List<PointHistory> batch = new ArrayList<>(properties.batchSize());
+        while (running || !queue.isEmpty()) {
+            boolean recovering = writeBacklog(properties.batchSize());
+            try {
+                PointHistory first = recovering ? queue.poll() : queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, properties.batchSize() - 1);
+                batch.forEach(pointHistory -> write(pointHistory, false));
+                signalFlushed();
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return;
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 복구한 내역을 최대 limit 건 기록한다. 종료 중이면 기록하지 않는다.
+     *
+     * @return 기록할 복구한 내역이 남아 있었으면 true
+     */
+    private boolean writeBacklog(int limit) {
+        int written = 0;
+        while (written < limit) {
+            PointHistory pointHistory;
+            tableLock.lock();
+            try {
+                if (backlog.isEmpty() || !running) {
+                    break;
+                }
+                pointHistory = backlog.poll();
+            } finally {
+                tableLock.unlock();
+            }
+            write(pointHistory, true);
+            written++;
+        }
+        if (written > 0) {
+            signalFlushed();
+        }
+        return written > 0;
+    }
+
+    /**
+     * backlog 가 남아 있는 동안 새 내역을 기록하면 그때부터 backlog 를 다 기록할 때까지 테이블의 id 가 내역의 id 와 다르다.
+     * backlog 를 다 기록한 뒤에는 더 작은 id 의 내역이 모두 기록되어 있으므로 다시 같아진다.
+     */
+    private void write(PointHistory pointHistory, boolean fromBacklog) {
+        tableLock.lock();
+        try {
+            // clear() 로 버려진 내역은 기록하지 않는다.
+            if (pending.get(pointHistory.id()) != pointHistory) {
+                return;
+            }
+            if (!fromBacklog) {
+                interleaved = !backlog.isEmpty();
+            }
+            insert(pointHistory);
+            pending.remove(pointHistory.id());
+        } finally {
+            tableLock.unlock();
+        }
+    }
+
+    /**
+     * tableLock 을 잡은 상태에서 호출한다. 기록에 실패한 내역은 로그만 남기고 버린다.
+     */
+    private void insert(PointHistory pointHistory) {
+        PointHistory inserted;
+        long start = System.nanoTime();
+        try {
+            inserted = pointHistoryTable.insert(
+                    pointHistory.userId(), pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis());
+            pointMetrics.recordTableCall(TableCall.POINT_HISTORY_INSERT, start);
+        } catch (RuntimeException e) {
+            log.error("포인트 내역 기록에 실패했습니다. {}", pointHistory, e);
+            return;
+        }
+        insertedCount++;
+        if (!interleaved && inserted.id() + idOffset != pointHistory.id()) {
+            log.warn("포인트 내역 id 가 어긋났습니다. expected={}, actual={}", pointHistory.id(), inserted.id() + idOffset);
+        }
+    }
+
+    /**
+     * 건너뛴 내역을 id 순서대로 새 색인에 채운 뒤, 그사이 복구하거나 저장한 내역을 유저마다 뒤에 이어 붙여 바꿔 끼운다.
+     * 이어 붙이는 동안만 저장이 기다린다. 다시 읽지 못하면 지금 색인을 그대로 쓴다.
+     */
+    private void reload(PointHistorySource source, long skippedCount) {
+        PointHistoryIndex reloadedIndex = new PointHistoryIndex();
+        long[] count = {0};
+        try {
+            source.forEach((id, userId, amount, type, updateMillis) -> {
+                if (id != ++count[0]) {
+                    throw new IllegalStateException("다시 읽은 내역의 id 가 순서대로가 아닙니다. id=" + id);
+                }
+                PointHistory pointHistory = new PointHistory(id, userId, amount, type, updateMillis);
+                reloadedIndex.add(pointHistory);
+                notifyReloading(source, pointHistory);
+            });
+            if (count[0] != skippedCount) {
+                throw new IllegalStateException("다시 읽은 내역 수가 건너뛴 수와 다릅니다. expected=" + skippedCount + ", actual=" + count[0]);
+            }
+            log.info("스냅샷에 반영된 포인트 내역 {}건을 다시 읽었습니다.", count[0]);
+        } catch (InterruptedIOException e) {
+            log.info("내역을 모두 버려 다시 읽기를 멈췄습니다.");
+            return;
+        } catch (IOException | RuntimeException e) {
+            log.error("스냅샷에 반영된 포인트 내역을 다시 읽지 못했습니다. 이 내역은 조회되지 않습니다.", e);
+            count[0] = -1;
+        }
+        enqueueLock.lock();
+        try {
+            if (reloading == source) {
+                if (count[0] >= 0) {
+                    PointHistoryIndex saved = pointHistoryIndex;
+                    reloadedIndex.addAll(saved);
+                    pointHistoryIndex = reloadedIndex;
+                    listeners.forEach(listener -> listener.onReloaded(saved));
+                } else {
+                    listeners.forEach(PointHistoryListener::onReloadFailed);
+                }
+                clearReloading();
+            }
+        } finally {
+            enqueueLock.unlock();
+        }
+        signalReloaded();
+    }
+
+    /**
+     * 내역을 모두 버린 뒤에는 이전에 건너뛴 내역을 리스너에 전달하지 않도록, 확인과 전달을 clear 와 같은 락 안에서 한다.
+     */
+    private void notifyReloading(PointHistorySource source, PointHistory pointHistory) throws InterruptedIOException {
+        reloadLock.lock();
+        try {
+            if (reloading != source) {
+                throw new InterruptedIOException("다시 읽던 내역이 버려졌습니다.");
+            }
+            for (PointHistoryListener listener : listeners) {
+                listener.onReloading(pointHistory);
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void clearReloading() {
+        reloadLock.lock();
+        try {
+            reloading = null;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * 다시 읽는 동안에는 일부 내역만 담긴 색인으로 조회하지 않는다.
+     */
+    private PointHistoryIndex readableIndex() {
+        if (reloading != null) {
+            throw new BusinessException(ErrorCode.POINT_HISTORY_RELOADING);
+        }
+        return pointHistoryIndex;
+    }
+
+    private void notifySaved(PointHistory pointHistory) {
+        for (PointHistoryListener listener : listeners) {
+            listener.onSaved(pointHistory);
+        }
     }
 
-    public void save(long userId, long amount, TransactionType transactionType){
-        pointHistoryTable.insert(userId, amount, transactionType, System.currentTimeMillis());
+    private void signalFlushed() {
+        flushLock.lock();
+        try {
+            flushed.signalAll();
+        } finally {
+            flushLock.unlock();
+        }
     }
 
-    public void clear(){
-        pointHistoryTable.clear();
+    private void signalReloaded() {
+        flushLock.lock();
+        try {
+            reloaded.signalAll();
+        } finally {
+            flushLock.unlock();
+        }
     }
 }
@@ -0,0 +1,15 @@
+package io.hhplus.tdd.point;
+
+import java.io.IOException;
+
+/**
+ * 메모리에 들고 있지 않고 필요할 때마다 다시 읽는 포인트 내역. 스냅샷에 반영된 내역을 WAL 의 archive 에서 읽을 때 사용한다.
+ */
+@FunctionalInterface
+public interface PointHistorySource {
+
+    /**
+     * 내역을 id 오름차순으로 visitor 에 넘긴다. visitor 가 예외를 던지면 거기서 멈춘다.
+     */
+    void forEach(PointHistoryVisitor visitor) throws IOException;
+}
@@ -0,0 +1,59 @@
+package io.hhplus.tdd.point;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 유저 포인트 내역의 집계
+ * - totals, counts 는 종류별 금액 합계와 건수이며, 내역이 없는 종류도 0 으로 담는다.
+ * - firstUpdateMillis, lastUpdateMillis 는 처음과 마지막으로 저장된 내역의 시각이며, 내역이 없으면 null 이다.
+ */
+public record PointHistorySummary(
+        long userId,
+        long count,
+        Map<TransactionType, Long> totals,
+        Map<TransactionType, Long> counts,
+        Long firstUpdateMillis,
+        Long lastUpdateMillis
+) {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    public static PointHistorySummary empty(long userId) {
+        return of(userId, List.of());
+    }
+
+    /**
+     * 내역을 처음부터 훑어 집계한다. 저장 순서(id 오름차순)로 넘겨야 한다.
+     */
+    public static PointHistorySummary of(long userId, List<PointHistory> histories) {
+        long[] totals = new long[TYPES.length];
+        long[] counts = new long[TYPES.length];
+        for (PointHistory pointHistory : histories) {
+            totals[pointHistory.type().ordinal()] += pointHistory.amount();
+            counts[pointHistory.type().ordinal()]++;
+        }
+        return of(userId, totals, counts,
+                histories.isEmpty() ? null : histories.get(0).updateMillis(),
+                histories.isEmpty() ? null : histories.get(histories.size() - 1).updateMillis());
+    }
+
+    /**
+     * @param totals, counts {@link TransactionType} 순서(ordinal)대로 담은 배열
+     */
+    static PointHistorySummary of(long userId, long[] totals, long[] counts, Long firstUpdateMillis, Long lastUpdateMillis) {
+        Map<TransactionType, Long> totalsByType = new EnumMap<>(TransactionType.class);
+        Map<TransactionType, Long> countsByType = new EnumMap<>(TransactionType.class);
+        long count = 0;
+        for (TransactionType type : TYPES) {
+            totalsByType.put(type, totals[type.ordinal()]);
+            countsByType.put(type, counts[type.ordinal()]);
+            count += counts[type.ordinal()];
+        }
+        return new PointHistorySummary(userId, count,
+                Collections.unmodifiableMap(totalsByType), Collections.unmodifiableMap(countsByType),
+                firstUpdateMillis, lastUpdateMillis);
+    }
+}
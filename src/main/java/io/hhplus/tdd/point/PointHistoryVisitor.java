@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+import java.io.IOException;
+
+/**
+ * {@link PointHistory} 객체를 만들지 않고 내역의 각 필드를 전달받는다.
+ */
+@FunctionalInterface
+public interface PointHistoryVisitor {
+    void visit(long id, long userId, long amount, TransactionType type, long updateMillis) throws IOException;
+}
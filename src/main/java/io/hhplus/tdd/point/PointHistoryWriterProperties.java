@@ -0,0 +1,20 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 포인트 내역 비동기 기록 설정
+ * - queueCapacity : 기록 대기열 최대 크기, 가득 차면 저장 요청이 대기한다.
+ * - batchSize : 백그라운드 writer 가 한 번에 꺼내 기록하는 최대 개수
+ * - shutdownTimeout : 종료 시 남은 내역을 기록하기 위해 기다리는 최대 시간
+ */
+@ConfigurationProperties(prefix = "point.history.writer")
+public record PointHistoryWriterProperties(
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("100") int batchSize,
+        @DefaultValue("30s") Duration shutdownTimeout
+) {
+}
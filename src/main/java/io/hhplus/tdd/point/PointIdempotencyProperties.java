@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 멱등 키 저장소 설정
+ * - maxSize : 보관하는 최대 키 개수, 넘치면 처리가 끝난 키 중 가장 먼저 들어온 키부터 제거한다.
+ * - ttl : 키가 들어간 뒤 만료되기까지의 시간
+ */
+@ConfigurationProperties(prefix = "point.idempotency")
+public record PointIdempotencyProperties(
+        @DefaultValue("100000") int maxSize,
+        @DefaultValue("24h") Duration ttl
+) {
+}
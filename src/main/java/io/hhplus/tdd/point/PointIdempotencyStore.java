@@ -0,0 +1,164 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.BusinessException;
+import io.hhplus.tdd.ErrorCode;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 별로 충전/사용 결과를 보관한다.
+ * - 같은 키로 다시 요청하면 작업을 다시 수행하지 않고 처음 결과를 돌려준다.
+ * - 같은 키의 요청이 동시에 들어오면 먼저 들어온 요청만 작업을 수행하고, 나머지는 그 결과를 기다린다.
+ * - 다시 시도해도 결과가 바뀌지 않는 {@link BusinessException}(포인트 부족 등)으로 끝난 작업은 같은 예외를 다시 던진다.
+ *   경합이나 버전 불일치처럼 다시 시도하면 성공할 수 있는 예외와 그 외의 예외로 끝난 작업은
+ *   결과를 보관하지 않으므로 같은 키로 다시 시도할 수 있다.
+ * - 같은 키를 다른 요청(유저, 종류, 금액, If-Match 로 보낸 버전)에 사용하면 거절한다.
+ */
+@Component
+public class PointIdempotencyStore {
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Set<ErrorCode> RETRYABLE_ERRORS =
+            EnumSet.of(ErrorCode.POINT_UPDATE_CONFLICT, ErrorCode.POINT_VERSION_MISMATCH);
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<String, Entry> entries;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public PointIdempotencyStore(PointIdempotencyProperties properties) {
+        this.maxSize = properties.maxSize();
+        this.ttlNanos = properties.ttl().toNanos();
+        this.entries = new LinkedHashMap<>() {
+            /**
+             * 아직 수행 중인 키는 제거하지 않는다. 제거하면 같은 키로 동시에 들어온 요청이 작업을 한 번 더 수행한다.
+             * 그래서 수행 중인 요청 수만큼 maxSize 를 잠시 넘을 수 있다.
+             */
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                Iterator<Entry> iterator = values().iterator();
+                while (size() > PointIdempotencyStore.this.maxSize && iterator.hasNext()) {
+                    if (iterator.next().result.isDone()) {
+                        iterator.remove();
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    public UserPoint execute(String key, long userId, TransactionType type, long amount, Supplier<UserPoint> operation) {
+        return execute(key, userId, type, amount, null, operation);
+    }
+
+    /**
+     * @param expectedVersion If-Match 로 보낸 버전. 없으면 null
+     */
+    public UserPoint execute(
+            String key,
+            long userId,
+            TransactionType type,
+            long amount,
+            Long expectedVersion,
+            Supplier<UserPoint> operation
+    ) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException(ErrorCode.INVALID_IDEMPOTENCY_KEY);
+        }
+        Request request = new Request(userId, type, amount, expectedVersion);
+
+        Entry entry;
+        boolean leader = false;
+        lock.lock();
+        try {
+            entry = entries.get(key);
+            if (entry != null && entry.expiresAtNanos - System.nanoTime() <= 0) {
+                entries.remove(key);
+                entry = null;
+            }
+            if (entry == null) {
+                entry = new Entry(request, new CompletableFuture<>(), System.nanoTime() + ttlNanos);
+                entries.put(key, entry);
+                leader = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (!entry.request.equals(request)) {
+            throw new BusinessException(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+        }
+        return leader ? executeAsLeader(key, entry, operation) : await(entry.result);
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private UserPoint executeAsLeader(String key, Entry entry, Supplier<UserPoint> operation) {
+        try {
+            UserPoint userPoint = operation.get();
+            entry.result.complete(userPoint);
+            return userPoint;
+        } catch (BusinessException e) {
+            if (RETRYABLE_ERRORS.contains(e.getErrorCode())) {
+                remove(key, entry);
+            }
+            entry.result.completeExceptionally(e);
+            throw e;
+        } catch (RuntimeException | Error e) {
+            remove(key, entry);
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private UserPoint await(CompletableFuture<UserPoint> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void remove(String key, Entry entry) {
+        lock.lock();
+        try {
+            entries.remove(key, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Request(long userId, TransactionType type, long amount, Long expectedVersion) {
+    }
+
+    private record Entry(Request request, CompletableFuture<UserPoint> result, long expiresAtNanos) {
+    }
+}
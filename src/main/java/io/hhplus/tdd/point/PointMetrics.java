@@ -0,0 +1,172 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 기능의 지표
+ * - point.operation    : 서비스 호출 시간 (operation, outcome)
+ * - point.lock.wait    : 유저 락을 얻기까지 기다린 시간
+ * - point.table.call   : 테이블 호출 시간 (table, method). 테이블 지연과 애플리케이션 코드의 비용을 나눠 볼 수 있다.
+ * - point.rejection    : {@link ErrorCode} 별 거절 응답 수
+ * - point.read.coalesced : 진행 중인 테이블 조회에 합류해 테이블을 호출하지 않은 조회 수
+ * - point.group.commit : 한 번의 저장으로 묶어 처리한 충전/사용 수
+ * - point.optimistic.retry : 버전이 바뀌어 저장하지 못하고 다시 시도한 수
+ * - point.expired : 유효기간이 지나 소멸한 포인트 합계
+ * - point.version.reissued : 기억해 둔 버전이 밀려나 새 버전을 발급한 유저 수
+ * 모든 미터는 생성 시점에 등록해 두고, 기록할 때는 배열에서 꺼내 쓰므로 태그나 람다를 만들지 않는다.
+ */
+@Component
+public class PointMetrics {
+
+    public enum Operation {
+        GET, HISTORY, HISTORY_PAGE, SUMMARY, CHARGE, USE
+    }
+
+    public enum TableCall {
+        USER_POINT_SELECT("user_point", "selectById"),
+        USER_POINT_INSERT_OR_UPDATE("user_point", "insertOrUpdate"),
+        POINT_HISTORY_INSERT("point_history", "insert");
+
+        private final String table;
+        private final String method;
+
+        TableCall(String table, String method) {
+            this.table = table;
+            this.method = method;
+        }
+    }
+
+    private static final String SUCCESS = "success";
+    private static final String FAILURE = "failure";
+
+    private final Timer[] successTimers;
+    private final Timer[] failureTimers;
+    private final Timer[] tableCallTimers;
+    private final Counter[] rejectionCounters;
+    private final Timer lockWaitTimer;
+    private final Counter coalescedReadCounter;
+    private final DistributionSummary groupCommitSummary;
+    private final Counter optimisticRetryCounter;
+    private final Counter expiredCounter;
+    private final Counter versionReissuedCounter;
+
+    public PointMetrics(MeterRegistry meterRegistry) {
+        Operation[] operations = Operation.values();
+        this.successTimers = new Timer[operations.length];
+        this.failureTimers = new Timer[operations.length];
+        for (Operation operation : operations) {
+            successTimers[operation.ordinal()] = operationTimer(meterRegistry, operation, SUCCESS);
+            failureTimers[operation.ordinal()] = operationTimer(meterRegistry, operation, FAILURE);
+        }
+
+        TableCall[] tableCalls = TableCall.values();
+        this.tableCallTimers = new Timer[tableCalls.length];
+        for (TableCall tableCall : tableCalls) {
+            tableCallTimers[tableCall.ordinal()] = Timer.builder("point.table.call")
+                    .description("테이블 호출 시간")
+                    .tag("table", tableCall.table)
+                    .tag("method", tableCall.method)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+
+        ErrorCode[] errorCodes = ErrorCode.values();
+        this.rejectionCounters = new Counter[errorCodes.length];
+        for (ErrorCode errorCode : errorCodes) {
+            rejectionCounters[errorCode.ordinal()] = Counter.builder("point.rejection")
+                    .description("거절된 요청 수")
+                    .tag("error_code", errorCode.name())
+                    .register(meterRegistry);
+        }
+
+        this.lockWaitTimer = Timer.builder("point.lock.wait")
+                .description("유저 락 대기 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        this.coalescedReadCounter = Counter.builder("point.read.coalesced")
+                .description("진행 중인 테이블 조회에 합류한 조회 수")
+                .register(meterRegistry);
+
+        this.groupCommitSummary = DistributionSummary.builder("point.group.commit")
+                .description("한 번의 저장으로 묶어 처리한 충전/사용 수")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        this.optimisticRetryCounter = Counter.builder("point.optimistic.retry")
+                .description("버전이 바뀌어 다시 시도한 충전/사용 수")
+                .register(meterRegistry);
+
+        this.expiredCounter = Counter.builder("point.expired")
+                .description("유효기간이 지나 소멸한 포인트 합계")
+                .register(meterRegistry);
+
+        this.versionReissuedCounter = Counter.builder("point.version.reissued")
+                .description("기억해 둔 버전이 밀려나 새 버전을 발급한 유저 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 아무 곳에도 기록하지 않는 지표. 스프링 컨텍스트 없이 조립할 때 사용한다.
+     */
+    public static PointMetrics noop() {
+        return new PointMetrics(new CompositeMeterRegistry());
+    }
+
+    /**
+     * @param startNanos {@link System#nanoTime()} 으로 잰 시작 시각
+     */
+    public void recordOperation(Operation operation, long startNanos, boolean success) {
+        Timer[] timers = success ? successTimers : failureTimers;
+        timers[operation.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordTableCall(TableCall tableCall, long startNanos) {
+        tableCallTimers[tableCall.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordLockWait(long waitNanos) {
+        lockWaitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordCoalescedRead() {
+        coalescedReadCounter.increment();
+    }
+
+    public void recordGroupCommit(int operationCount) {
+        groupCommitSummary.record(operationCount);
+    }
+
+    public void recordOptimisticRetry() {
+        optimisticRetryCounter.increment();
+    }
+
+    public void recordExpiration(long amount) {
+        expiredCounter.increment(amount);
+    }
+
+    public void recordVersionReissued() {
+        versionReissuedCounter.increment();
+    }
+
+    public void recordRejection(ErrorCode errorCode) {
+        rejectionCounters[errorCode.ordinal()].increment();
+    }
+
+    private static Timer operationTimer(MeterRegistry meterRegistry, Operation operation, String outcome) {
+        return Timer.builder("point.operation")
+                .description("포인트 서비스 호출 시간")
+                .tag("operation", operation.name().toLowerCase())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+public record PointOperation(
+        long userId,
+        @PositiveOrZero(message = "포인트는 0을 포함한 양수이어야 합니다")
+        long amount,
+        @NotNull(message = "트랜잭션 종류는 필수입니다")
+        TransactionType type
+) {
+}
@@ -1,42 +1,341 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.BusinessException;
+import io.hhplus.tdd.ErrorCode;
+import io.hhplus.tdd.point.PointMetrics.Operation;
+import io.hhplus.tdd.wal.WriteAheadLog;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
 
+/**
+ * 같은 유저의 충전/사용이 몰리면 유저 락을 기다리는 동안 쌓인 작업을 묶어서 처리한다(group commit).
+ * 묶인 작업은 포인트 조회 한 번과 저장 한 번으로 처리되며, 요청한 스레드는 각자 자기 작업 직후의 포인트를 받는다.
+ * 묶인 작업의 변경이 {@link WriteAheadLog} 에 반영된 뒤에 응답한다.
+ * 내역을 포인트보다 먼저 남긴다. 내역을 남긴 작업은 반영된 것으로 보고 성공으로 응답하며, 그 뒤 포인트 저장이나 디스크 반영에
+ * 실패하면 로그만 남긴다. 실패로 응답하면 호출자가 이미 반영된 작업을 다시 요청하기 때문이다.
+ * <p>
+ * {@link PointConcurrencyProperties.Mode#OPTIMISTIC} 이면 락 없이 조회하고 버전 비교 저장으로 처리한다.
+ * 그사이 다른 저장이 있었으면 무작위로 기다린 뒤 다시 조회해 재시도한다.
+ * 기대하는 버전을 함께 받은 충전/사용은 방식과 관계없이 버전 비교 저장을 한 번만 시도한다.
+ */
 @Service
 @RequiredArgsConstructor
 public class PointService {
 
+    private static final Logger log = LoggerFactory.getLogger(PointService.class);
+
     private final UserPointRepository userPointRepository;
     private final PointHistoryRepository pointHistoryRepository;
+    private final UserLockManager userLockManager;
+    private final PointMetrics pointMetrics;
+    private final WriteAheadLog writeAheadLog;
+    private final PointConcurrencyProperties concurrencyProperties;
+    private final ConcurrentHashMap<Long, List<PendingOperation>> pendingOperations = new ConcurrentHashMap<>();
 
     public UserPoint get(long userId) {
-        return userPointRepository.getBy(userId);
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            UserPoint userPoint = userPointRepository.getBy(userId);
+            success = true;
+            return userPoint;
+        } finally {
+            pointMetrics.recordOperation(Operation.GET, start, success);
+        }
     }
 
     public List<PointHistory> getHistory(long userId) {
-        return pointHistoryRepository.getAllBy(userId);
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            List<PointHistory> histories = pointHistoryRepository.getAllBy(userId);
+            success = true;
+            return histories;
+        } finally {
+            pointMetrics.recordOperation(Operation.HISTORY, start, success);
+        }
     }
 
-    public UserPoint charge(long userId, long amount) {
-        UserPoint userPoint = get(userId);
-        UserPoint updatedPoint = userPoint.charge(amount);
+    public PointHistoryPage getHistoryPage(long userId, PointHistoryPageRequest request) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            PointHistoryPage page = pointHistoryRepository.getPageBy(userId, request);
+            success = true;
+            return page;
+        } finally {
+            pointMetrics.recordOperation(Operation.HISTORY_PAGE, start, success);
+        }
+    }
+
+    public PointHistorySummary getSummary(long userId) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            PointHistorySummary summary = pointHistoryRepository.getSummaryBy(userId);
+            success = true;
+            return summary;
+        } finally {
+            pointMetrics.recordOperation(Operation.SUMMARY, start, success);
+        }
+    }
 
-        UserPoint savedPoint = userPointRepository.save(updatedPoint.id(), updatedPoint.point());
-        pointHistoryRepository.save(userId, amount, TransactionType.CHARGE);
+    public void forEachHistory(long userId, long afterId, PointHistoryVisitor visitor) throws IOException {
+        pointHistoryRepository.forEachAfter(userId, afterId, visitor);
+    }
 
-        return savedPoint;
+    public UserPoint charge(long userId, long amount) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            UserPoint userPoint = submit(userId, TransactionType.CHARGE, amount);
+            success = true;
+            return userPoint;
+        } finally {
+            pointMetrics.recordOperation(Operation.CHARGE, start, success);
+        }
     }
 
     public UserPoint use(long userId, long amount) {
-        UserPoint userPoint = get(userId);
-        UserPoint updatedPoint = userPoint.use(amount);
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            UserPoint userPoint = submit(userId, TransactionType.USE, amount);
+            success = true;
+            return userPoint;
+        } finally {
+            pointMetrics.recordOperation(Operation.USE, start, success);
+        }
+    }
+
+    /**
+     * 포인트의 버전이 expectedVersion 일 때만 충전한다. 버전이 다르면 재시도하지 않고 실패한다.
+     */
+    public UserPoint charge(long userId, long amount, long expectedVersion) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            UserPoint userPoint = applyIfVersion(userId, TransactionType.CHARGE, amount, expectedVersion);
+            success = true;
+            return userPoint;
+        } finally {
+            pointMetrics.recordOperation(Operation.CHARGE, start, success);
+        }
+    }
+
+    /**
+     * 포인트의 버전이 expectedVersion 일 때만 사용한다. 버전이 다르면 재시도하지 않고 실패한다.
+     */
+    public UserPoint use(long userId, long amount, long expectedVersion) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            UserPoint userPoint = applyIfVersion(userId, TransactionType.USE, amount, expectedVersion);
+            success = true;
+            return userPoint;
+        } finally {
+            pointMetrics.recordOperation(Operation.USE, start, success);
+        }
+    }
+
+    private UserPoint submit(long userId, TransactionType type, long amount) {
+        if (concurrencyProperties.mode() == PointConcurrencyProperties.Mode.OPTIMISTIC) {
+            return applyOptimistically(userId, type, amount);
+        }
+        return submitToGroup(userId, type, amount);
+    }
+
+    private UserPoint applyIfVersion(long userId, TransactionType type, long amount, long expectedVersion) {
+        UserPoint current = userPointRepository.getBy(userId);
+        if (current.version() != expectedVersion) {
+            throw new BusinessException(ErrorCode.POINT_VERSION_MISMATCH);
+        }
+        UserPoint saved = tryApply(current, type, amount);
+        if (saved == null) {
+            throw new BusinessException(ErrorCode.POINT_VERSION_MISMATCH);
+        }
+        return saved;
+    }
+
+    /**
+     * 포인트가 부족한 사용은 그 시도에서 읽은 포인트 기준으로 거절하며 재시도하지 않는다.
+     */
+    private UserPoint applyOptimistically(long userId, TransactionType type, long amount) {
+        for (int attempt = 1; ; attempt++) {
+            UserPoint saved = tryApply(userPointRepository.getBy(userId), type, amount);
+            if (saved != null) {
+                return saved;
+            }
+            if (attempt >= concurrencyProperties.maxAttempts()) {
+                throw new BusinessException(ErrorCode.POINT_UPDATE_CONFLICT);
+            }
+            pointMetrics.recordOptimisticRetry();
+            backoff(attempt);
+        }
+    }
+
+    /**
+     * 내역은 버전을 확인한 유저 락 안에서 포인트보다 먼저 남긴다. 락을 잡고 포인트와 내역을 함께 읽는 쪽(만료 처리)이 둘의 차이를 보지 않는다.
+     *
+     * @return 저장한 포인트. 읽은 뒤 다른 저장이 있어 저장하지 않았으면 null
+     */
+    private UserPoint tryApply(UserPoint current, TransactionType type, long amount) {
+        UserPoint next = type == TransactionType.CHARGE ? current.charge(amount) : current.use(amount);
+        long historyAmount = type == TransactionType.CHARGE ? amount : -amount;
+        UserPoint saved = userPointRepository.compareAndSave(current.id(), current.version(), next.point(),
+                () -> pointHistoryRepository.save(current.id(), historyAmount, type));
+        if (saved == null) {
+            return null;
+        }
+        awaitDurable(current.id());
+        return saved;
+    }
+
+    private void awaitDurable(long userId) {
+        try {
+            writeAheadLog.awaitDurable();
+        } catch (RuntimeException e) {
+            log.error("반영한 포인트 변경을 디스크에 반영하지 못했습니다. userId={}", userId, e);
+        }
+    }
+
+    /**
+     * 같은 유저를 두고 경합하는 요청들이 같은 간격으로 다시 부딪히지 않도록, 상한까지의 무작위 시간만큼 기다린다.
+     */
+    private void backoff(int attempt) {
+        long initialNanos = concurrencyProperties.initialBackoff().toNanos();
+        long maxNanos = concurrencyProperties.maxBackoff().toNanos();
+        long capNanos = Math.min(maxNanos, initialNanos << Math.min(attempt - 1, 30));
+        if (capNanos > 0) {
+            LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(capNanos + 1));
+        }
+    }
+
+    /**
+     * 작업을 유저의 대기열에 넣고 유저 락을 기다린다.
+     * 락을 얻었을 때 작업이 아직 처리되지 않았다면, 그때까지 쌓인 작업을 모두 꺼내 한 번에 처리한다.
+     */
+    private UserPoint submitToGroup(long userId, TransactionType type, long amount) {
+        PendingOperation operation = new PendingOperation(type, amount);
+        pendingOperations.compute(userId, (id, queued) -> {
+            List<PendingOperation> operations = queued == null ? new ArrayList<>() : queued;
+            operations.add(operation);
+            return operations;
+        });
+        userLockManager.executeWithLock(userId, () -> {
+            if (!operation.done) {
+                commit(userId, pendingOperations.remove(userId));
+            }
+            return null;
+        });
+        return operation.result();
+    }
+
+    /**
+     * 한 번 읽은 포인트에 작업을 순서대로 적용하고, 최종 포인트만 한 번 저장한다.
+     * - 포인트가 부족한 사용은 그 시점의 포인트 기준으로 거절하고, 다음 작업은 계속 적용한다.
+     * - 내역은 적용된 작업마다 순서대로 포인트보다 먼저 남긴다. 내역을 남기지 못하면 그 작업부터는 실패로 응답하고,
+     *   내역을 남긴 작업까지의 포인트만 저장한다.
+     * - 내역을 남긴 작업마다 버전 하나씩을 쓴다. 내역을 남긴 작업이 k 개면 버전을 k 만큼 올려 저장하고,
+     *   i 번째 작업은 (저장된 버전 - k + i) 버전을 받는다. 서로 다른 포인트를 받은 작업이 같은 ETag 를 받지 않는다.
+     */
+    private void commit(long userId, List<PendingOperation> operations) {
+        pointMetrics.recordGroupCommit(operations.size());
+        UserPoint read;
+        try {
+            read = userPointRepository.getBy(userId);
+        } catch (RuntimeException e) {
+            operations.forEach(operation -> operation.complete(e));
+            return;
+        }
+        UserPoint userPoint = read;
+        for (PendingOperation operation : operations) {
+            try {
+                userPoint = operation.type == TransactionType.CHARGE
+                        ? userPoint.charge(operation.amount)
+                        : userPoint.use(operation.amount);
+                operation.userPoint = userPoint;
+            } catch (BusinessException e) {
+                operation.complete(e);
+            }
+        }
+
+        List<PendingOperation> recorded = new ArrayList<>(operations.size());
+        RuntimeException failure = null;
+        for (PendingOperation operation : operations) {
+            if (operation.done) {
+                continue;
+            }
+            if (failure == null) {
+                try {
+                    long amount = operation.type == TransactionType.CHARGE ? operation.amount : -operation.amount;
+                    pointHistoryRepository.save(userId, amount, operation.type);
+                    recorded.add(operation);
+                    continue;
+                } catch (RuntimeException e) {
+                    failure = e;
+                }
+            }
+            operation.userPoint = null;
+            operation.complete(failure);
+        }
+        if (recorded.isEmpty()) {
+            return;
+        }
+
+        PendingOperation lastRecorded = recorded.get(recorded.size() - 1);
+        UserPoint saved = null;
+        try {
+            saved = userPointRepository.save(userId, lastRecorded.userPoint.point(), recorded.size());
+        } catch (RuntimeException e) {
+            log.error("내역을 남긴 뒤 포인트를 저장하지 못했습니다. userId={}, point={}", userId, lastRecorded.userPoint.point(), e);
+        }
+        long version = saved == null ? read.version() : saved.version() - recorded.size();
+        for (PendingOperation operation : recorded) {
+            UserPoint computed = operation.userPoint;
+            operation.userPoint = new UserPoint(userId, computed.point(), computed.updateMillis(), ++version);
+        }
+        if (saved != null) {
+            lastRecorded.userPoint = saved;
+        }
+        awaitDurable(userId);
+        recorded.forEach(operation -> operation.complete(null));
+    }
+
+    /**
+     * 처리 결과는 유저 락 안에서 쓰고, 요청한 스레드는 같은 유저 락을 얻은 뒤 읽는다.
+     */
+    private static final class PendingOperation {
+        private final TransactionType type;
+        private final long amount;
+        private UserPoint userPoint;
+        private RuntimeException failure;
+        private boolean done;
+
+        private PendingOperation(TransactionType type, long amount) {
+            this.type = type;
+            this.amount = amount;
+        }
 
-        UserPoint savePoint = userPointRepository.save(updatedPoint.id(), updatedPoint.point());
-        pointHistoryRepository.save(userId, -amount, TransactionType.USE);
+        private void complete(RuntimeException failure) {
+            this.failure = failure;
+            this.done = true;
+        }
 
-        return savePoint;
+        private UserPoint result() {
+            if (failure != null) {
+                throw failure;
+            }
+            return userPoint;
+        }
     }
 }
@@ -5,7 +5,9 @@ package io.hhplus.tdd.point;
  * 포인트 트랜잭션 종류
  * - CHARGE : 충전
  * - USE : 사용
+ * - EXPIRE : 유효기간이 지난 충전분의 소멸. 요청할 수 없고 만료 처리에서만 남긴다.
+ * WAL 과 내역 색인은 순서(ordinal)로 기록하므로 새 종류는 끝에 추가한다.
  */
 public enum TransactionType {
-    CHARGE, USE
+    CHARGE, USE, EXPIRE
 }
\ No newline at end of file
@@ -0,0 +1,201 @@
+package io.hhplus.tdd.point;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongConsumer;
+
+/**
+ * userId 만 원시 타입 배열에 담는 집합 (open addressing, linear probing)
+ * - 유저 하나에 키 하나만 저장한다. 추가만 하고 하나씩 제거하지는 않는다.
+ * - {@link UserPointStore} 처럼 키를 구간(stripe)으로 나누고 구간마다 {@link StampedLock} 을 둔다.
+ *   조회는 락 없이 낙관적으로 읽고, 그사이 같은 구간에 쓰기가 있었으면 읽기 락을 잡고 다시 읽는다.
+ * - userId 로 Long.MIN_VALUE 는 쓸 수 없다. 빈자리 표시로 사용한다.
+ */
+public class UserIdSet {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int STRIPES = 64;
+    private static final int STRIPE_SHIFT = 64 - Integer.numberOfTrailingZeros(STRIPES);
+    private static final int MIN_TABLE_SIZE = 16;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public UserIdSet() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public boolean contains(long userId) {
+        long hash = mix(userId);
+        Stripe stripe = stripeOf(hash);
+        StampedLock lock = stripe.lock;
+
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            boolean found = find(stripe.keys, userId, hash) >= 0;
+            if (lock.validate(stamp)) {
+                return found;
+            }
+        }
+
+        stamp = lock.readLock();
+        try {
+            return find(stripe.keys, userId, hash) >= 0;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return 새로 추가했으면 true
+     */
+    public boolean add(long userId) {
+        if (userId == EMPTY) {
+            throw new IllegalArgumentException("userId 로 " + EMPTY + " 는 사용할 수 없습니다.");
+        }
+        long hash = mix(userId);
+        Stripe stripe = stripeOf(hash);
+        if (contains(userId)) {
+            return false;
+        }
+        long stamp = stripe.lock.writeLock();
+        try {
+            return stripe.add(userId, hash);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 구간마다 키를 복사한 뒤 락을 풀고 방문한다. 방문 도중 다른 구간에 추가된 유저는 포함되지 않을 수 있다.
+     */
+    public void forEach(LongConsumer consumer) {
+        for (Stripe stripe : stripes) {
+            long[] userIds;
+            long stamp = stripe.lock.readLock();
+            try {
+                userIds = stripe.copyKeys();
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+            for (long userId : userIds) {
+                consumer.accept(userId);
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                size += stripe.size;
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.writeLock();
+            try {
+                stripe.keys = newKeys(MIN_TABLE_SIZE);
+                stripe.size = 0;
+            } finally {
+                stripe.lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    private Stripe stripeOf(long hash) {
+        return stripes[(int) (hash >>> STRIPE_SHIFT)];
+    }
+
+    /**
+     * 낙관적 읽기 중에는 배열이 바뀌고 있을 수 있으므로 배열 크기만큼만 탐색한다.
+     */
+    private static int find(long[] keys, long userId, long hash) {
+        int mask = keys.length - 1;
+        int slot = (int) hash & mask;
+        for (int step = 0; step <= mask; step++) {
+            long key = keys[slot];
+            if (key == userId) {
+                return slot;
+            }
+            if (key == EMPTY) {
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static int emptySlot(long[] keys, long hash) {
+        int mask = keys.length - 1;
+        int slot = (int) hash & mask;
+        while (keys[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static long[] newKeys(int tableSize) {
+        long[] keys = new long[tableSize];
+        Arrays.fill(keys, EMPTY);
+        return keys;
+    }
+
+    /**
+     * 연속된 userId 가 고르게 퍼지도록 섞는다 (MurmurHash3 fmix64).
+     */
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    private static final class Stripe {
+        private final StampedLock lock = new StampedLock();
+        private volatile long[] keys = newKeys(MIN_TABLE_SIZE);
+        private int size;
+
+        private boolean add(long userId, long hash) {
+            if (find(keys, userId, hash) >= 0) {
+                return false;
+            }
+            if ((size + 1) * 3 > keys.length * 2) {
+                resize(keys.length * 2);
+            }
+            keys[emptySlot(keys, hash)] = userId;
+            size++;
+            return true;
+        }
+
+        private void resize(int tableSize) {
+            long[] resized = newKeys(tableSize);
+            for (long key : keys) {
+                if (key != EMPTY) {
+                    resized[emptySlot(resized, mix(key))] = key;
+                }
+            }
+            keys = resized;
+        }
+
+        private long[] copyKeys() {
+            long[] userIds = new long[size];
+            int position = 0;
+            for (long key : keys) {
+                if (key != EMPTY) {
+                    userIds[position++] = key;
+                }
+            }
+            return userIds;
+        }
+    }
+}
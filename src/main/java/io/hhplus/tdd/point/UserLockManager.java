@@ -0,0 +1,62 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 유저 단위로 임계 영역을 직렬화하는 락 관리자
+ * - 같은 유저에 대한 작업은 요청 순서대로(fair) 하나씩 수행된다.
+ * - 다른 유저의 작업은 서로 기다리지 않는다.
+ * - 락을 점유하거나 대기 중인 스레드가 없어지면 해당 유저의 락은 맵에서 제거된다.
+ * - 락을 얻기까지 기다린 시간은 {@link PointMetrics} 에 기록한다.
+ */
+@Component
+public class UserLockManager {
+
+    private final ConcurrentHashMap<Long, LockEntry> locks = new ConcurrentHashMap<>();
+    private final PointMetrics pointMetrics;
+
+    public UserLockManager(PointMetrics pointMetrics) {
+        this.pointMetrics = pointMetrics;
+    }
+
+    public <T> T executeWithLock(long userId, Supplier<T> task) {
+        LockEntry entry = acquire(userId);
+        long waitStart = System.nanoTime();
+        entry.lock.lock();
+        pointMetrics.recordLockWait(System.nanoTime() - waitStart);
+        try {
+            return task.get();
+        } finally {
+            entry.lock.unlock();
+            release(userId);
+        }
+    }
+
+    /**
+     * 현재 점유 혹은 대기 중인 유저 락의 개수
+     */
+    public int size() {
+        return locks.size();
+    }
+
+    private LockEntry acquire(long userId) {
+        return locks.compute(userId, (id, entry) -> {
+            LockEntry target = entry == null ? new LockEntry() : entry;
+            target.references++;
+            return target;
+        });
+    }
+
+    private void release(long userId) {
+        locks.computeIfPresent(userId, (id, entry) -> --entry.references == 0 ? null : entry);
+    }
+
+    private static final class LockEntry {
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private int references;
+    }
+}
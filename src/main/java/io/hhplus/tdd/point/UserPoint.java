@@ -3,19 +3,27 @@ package io.hhplus.tdd.point;
 import io.hhplus.tdd.BusinessException;
 import io.hhplus.tdd.ErrorCode;
 
+/**
+ * version 은 포인트가 저장될 때마다 1씩 늘어난다. 저장하기 전에 계산한 값은 계산의 기준이 된 버전을 그대로 가진다.
+ */
 public record UserPoint(
         long id,
         long point,
-        long updateMillis
+        long updateMillis,
+        long version
 ) {
 
+    public UserPoint(long id, long point, long updateMillis) {
+        this(id, point, updateMillis, 0);
+    }
+
     public static UserPoint empty(long id) {
         return new UserPoint(id, 0, System.currentTimeMillis());
     }
 
     public UserPoint charge(long amount) {
 
-        return new UserPoint(id, point + amount, System.currentTimeMillis());
+        return new UserPoint(id, point + amount, System.currentTimeMillis(), version);
     }
 
     public UserPoint use(long amount) {
@@ -23,6 +31,6 @@ public record UserPoint(
             throw new BusinessException(ErrorCode.INSUFFICIENT_POINT);
         }
 
-        return new UserPoint(id, point - amount, System.currentTimeMillis());
+        return new UserPoint(id, point - amount, System.currentTimeMillis(), version);
     }
 }
\ No newline at end of file
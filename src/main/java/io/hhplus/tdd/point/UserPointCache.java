@@ -0,0 +1,64 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 최근에 조회되지 않은 유저부터 제거되고, ttl 이 지나면 만료되는 유저 포인트 캐시
+ * - {@link UserPointStore} 에 원시 타입으로 담으므로 조회는 반환할 {@link UserPoint} 외에 할당하지 않고 락을 잡지 않는다.
+ * - 제거 순서는 CLOCK 으로 LRU 를 근사하며, 구간(stripe)마다 따로 고른다.
+ */
+public class UserPointCache {
+
+    private final int maxSize;
+    private final UserPointStore store;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public UserPointCache(UserPointCacheProperties properties) {
+        this.maxSize = properties.maxSize();
+        this.store = new UserPointStore(Math.max(0, maxSize), properties.ttl());
+    }
+
+    /**
+     * 조회 결과를 hit/miss 통계에 반영한다.
+     */
+    public UserPoint get(long userId) {
+        UserPoint userPoint = peek(userId);
+        if (userPoint == null) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+        }
+        return userPoint;
+    }
+
+    /**
+     * 조회 결과를 통계에 반영하지 않는다.
+     */
+    public UserPoint peek(long userId) {
+        if (maxSize <= 0) {
+            return null;
+        }
+        return store.get(userId);
+    }
+
+    public void put(UserPoint userPoint) {
+        if (maxSize <= 0) {
+            return;
+        }
+        store.put(userPoint);
+    }
+
+    public void invalidate(long userId) {
+        store.remove(userId);
+    }
+
+    public void clear() {
+        store.clear();
+    }
+
+    public UserPointCacheStats stats() {
+        return new UserPointCacheStats(hitCount.sum(), missCount.sum(), store.evictionCount(), store.size());
+    }
+}
@@ -0,0 +1,41 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * 포인트 캐시의 지표. 수집할 때마다 {@link UserPointRepository#cacheStats()} 를 읽는다.
+ * - point.cache.gets      : 캐시 조회 수 (result=hit, miss)
+ * - point.cache.evictions : 크기 제한이나 유효기간으로 밀려난 수
+ * - point.cache.size      : 지금 캐시에 담긴 유저 수
+ */
+@Component
+public class UserPointCacheMetrics implements MeterBinder {
+
+    private final UserPointRepository userPointRepository;
+
+    public UserPointCacheMetrics(UserPointRepository userPointRepository) {
+        this.userPointRepository = userPointRepository;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("point.cache.gets", userPointRepository, repository -> repository.cacheStats().hitCount())
+                .tag("result", "hit")
+                .description("캐시에서 찾은 조회 수")
+                .register(meterRegistry);
+        FunctionCounter.builder("point.cache.gets", userPointRepository, repository -> repository.cacheStats().missCount())
+                .tag("result", "miss")
+                .description("캐시에 없어 테이블을 읽은 조회 수")
+                .register(meterRegistry);
+        FunctionCounter.builder("point.cache.evictions", userPointRepository, repository -> repository.cacheStats().evictionCount())
+                .description("캐시에서 밀려난 수")
+                .register(meterRegistry);
+        Gauge.builder("point.cache.size", userPointRepository, repository -> repository.cacheStats().size())
+                .description("캐시에 담긴 유저 수")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 유저 포인트 캐시 설정
+ * - maxSize : 캐시에 보관하는 최대 유저 수, 0 이면 캐시를 사용하지 않는다.
+ * - ttl : 캐시에 들어간 뒤 만료되기까지의 시간
+ * - versionMaxSize : 버전을 기억해 두는 최대 유저 수, 0 이면 제한하지 않는다. 넘으면 최근에 조회되지 않은 유저의 버전을 잊는다.
+ *   버전을 잊은 유저는 다음에 버전이 필요할 때 이 노드에서 발급한 적 없는 새 버전을 받으므로,
+ *   그 전에 받은 버전으로 요청한 버전 비교 저장은 실패(412/409)한다. 잘못 성공하지는 않는다.
+ */
+@ConfigurationProperties(prefix = "point.cache.user-point")
+public record UserPointCacheProperties(
+        @DefaultValue("10000") int maxSize,
+        @DefaultValue("10m") Duration ttl,
+        @DefaultValue("100000") int versionMaxSize
+) {
+}
@@ -1,24 +1,289 @@
 package io.hhplus.tdd.point;
 
 import io.hhplus.tdd.database.UserPointTable;
-import lombok.RequiredArgsConstructor;
+import io.hhplus.tdd.point.PointMetrics.TableCall;
+import io.hhplus.tdd.wal.WriteAheadLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
 
-@RequiredArgsConstructor
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * {@link UserPointTable} 앞에 {@link UserPointCache} 를 두고 읽는다.
+ * - 캐시에 없으면 테이블에서 읽어 캐시에 채운다. 같은 유저를 동시에 조회하면 먼저 시작한 조회의 테이블 호출 하나를 함께 기다린다(single-flight).
+ * - 저장은 유저 락을 잡고 캐시를 비운 뒤 테이블에 쓰고, 진행 중인 조회를 떼어 낸 뒤 저장된 값을 캐시에 채운다.
+ *   떼어 낸 조회의 결과는 캐시에 채우지 않으며, 이후 시작된 조회는 떼어 낸 조회에 합류하지 않는다.
+ *   따라서 저장이 끝난 뒤 시작된 조회는 저장 이전 값을 받지 않는다.
+ * - 저장한 값은 {@link WriteAheadLog} 에 남긴다.
+ * - 복구한 포인트는 유저 수가 많을 수 있으므로 {@link UserPointStore} 에 원시 타입으로 담아 둔다.
+ * - 테이블은 유저를 순회할 수 없으므로, 저장하거나 복구한 유저의 id 만 {@link UserIdSet} 에 따로 남겨 둔다.
+ * - 테이블은 버전을 담지 않으므로, 유저의 마지막 버전을 크기 제한(versionMaxSize)이 있는 {@link UserPointStore} 에 남겨 둔다.
+ *   제한을 넘으면 최근에 조회되지 않은 유저의 버전을 잊고, 그 유저는 다음에 버전이 필요할 때 유저 락 안에서
+ *   이 노드가 발급한 어떤 버전보다 큰 새 버전을 받는다. 이때 캐시와 진행 중인 조회는 버린다.
+ *   따라서 버전을 잊은 뒤에는 그 전에 받은 버전으로 한 버전 비교 저장이 실패할 수는 있어도 잘못 성공하지는 않는다.
+ *   테이블에서 읽은 포인트에는 테이블을 읽기 직전에 남아 있던 버전을 붙인다. 테이블에 쓴 뒤에 버전을 남기므로,
+ *   읽기와 저장이 겹치면 포인트보다 낮은 버전이 붙을 수는 있어도 높은 버전이 붙지는 않는다. 따라서 버전 비교 저장이 잘못 성공하지 않는다.
+ * - 버전 비교 저장(compareAndSave)은 읽어 둔 버전이 그대로일 때만 저장한다. 유저 락은 테이블 쓰기 한 번 동안만 잡는다.
+ */
 @Repository
 public class UserPointRepository {
 
+    private static final Logger log = LoggerFactory.getLogger(UserPointRepository.class);
+    private static final long UNKNOWN_VERSION = -1L;
+
     private final UserPointTable userPointTable;
+    private final UserLockManager userLockManager;
+    private final UserPointCache userPointCache;
+    private final PointMetrics pointMetrics;
+    private final WriteAheadLog writeAheadLog;
+    private final ConcurrentHashMap<Long, CompletableFuture<UserPoint>> inFlight = new ConcurrentHashMap<>();
+    private final UserPointStore restored = new UserPointStore();
+    private final UserIdSet knownUsers = new UserIdSet();
+    private final UserPointStore trackedVersions;
+    private final AtomicLong maxVersion = new AtomicLong();
+
+    public UserPointRepository(
+            UserPointTable userPointTable,
+            UserLockManager userLockManager,
+            UserPointCacheProperties userPointCacheProperties,
+            PointMetrics pointMetrics,
+            WriteAheadLog writeAheadLog
+    ) {
+        this.userPointTable = userPointTable;
+        this.userLockManager = userLockManager;
+        this.userPointCache = new UserPointCache(userPointCacheProperties);
+        this.trackedVersions = new UserPointStore(userPointCacheProperties.versionMaxSize(), Duration.ZERO);
+        this.pointMetrics = pointMetrics;
+        this.writeAheadLog = writeAheadLog;
+    }
 
     public UserPoint getBy(long userId) {
-        return userPointTable.selectById(userId);
+        UserPoint cached = userPointCache.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        UserPoint restoredPoint = restored.get(userId);
+        if (restoredPoint != null) {
+            return restoredPoint;
+        }
+        CompletableFuture<UserPoint> created = new CompletableFuture<>();
+        CompletableFuture<UserPoint> loading = inFlight.putIfAbsent(userId, created);
+        if (loading != null) {
+            pointMetrics.recordCoalescedRead();
+            return await(loading);
+        }
+        return load(userId, created);
+    }
+
+    public UserPoint save(long userId, long amount) {
+        return save(userId, amount, 1);
+    }
+
+    /**
+     * 여러 작업을 묶어 한 번에 저장할 때, 작업마다 버전 하나씩을 쓰도록 버전을 versions 만큼 올린다.
+     */
+    public UserPoint save(long userId, long amount, int versions) {
+        return userLockManager.executeWithLock(userId, () -> write(userId, amount, versions));
+    }
+
+    /**
+     * 저장된 버전이 expectedVersion 일 때만 저장한다. 버전이 이미 바뀌었다면 유저 락을 기다리지 않고 실패한다.
+     *
+     * @return 저장한 포인트. 버전이 달라 저장하지 않았으면 null
+     */
+    public UserPoint compareAndSave(long userId, long expectedVersion, long amount) {
+        return compareAndSave(userId, expectedVersion, amount, () -> {
+        });
+    }
+
+    /**
+     * 버전이 같으면 유저 락 안에서 포인트를 저장하기 직전에 beforeWrite 를 호출한다. beforeWrite 가 실패하면 저장하지 않는다.
+     * 내역을 여기서 남기면 같은 유저의 포인트와 내역이 같은 순서로 남고, 내역 없이 포인트만 바뀌지 않는다.
+     */
+    public UserPoint compareAndSave(long userId, long expectedVersion, long amount, Runnable beforeWrite) {
+        long version = versionOf(userId);
+        if (version != UNKNOWN_VERSION && version != expectedVersion) {
+            return null;
+        }
+        return userLockManager.executeWithLock(userId, () -> {
+            if (currentVersion(userId) != expectedVersion) {
+                return null;
+            }
+            beforeWrite.run();
+            return write(userId, amount, 1);
+        });
+    }
+
+    /**
+     * 복구한 포인트를 백그라운드에서 테이블에 쓴다. 테이블에 쓰기 전까지의 조회는 복구한 포인트를 반환한다.
+     * 그 사이 저장된 유저는 복구한 포인트를 버린다.
+     */
+    public void restore(UserPointStore userPoints) {
+        // 버전은 다시 시작하기 전 버전과 겹치지 않도록 수정 시각에서 시작한다.
+        userPoints.forEach((userId, point, updateMillis) -> {
+            restored.put(userId, point, updateMillis, updateMillis);
+            knownUsers.add(userId);
+            trackedVersions.put(userId, 0, 0, updateMillis);
+            maxVersion.accumulateAndGet(updateMillis, Math::max);
+        });
+        if (restored.isEmpty()) {
+            return;
+        }
+        Thread restorer = new Thread(this::writeRestored, "user-point-restorer");
+        restorer.setDaemon(true);
+        restorer.start();
+    }
+
+    /**
+     * 이 노드에 포인트가 저장된 적 있는 유저인지 확인한다.
+     */
+    public boolean contains(long userId) {
+        return knownUsers.contains(userId);
     }
 
-    public UserPoint save(long userId, long amount){
-        return userPointTable.insertOrUpdate(userId, amount);
+    /**
+     * 이 노드에 포인트가 저장된 적 있는 유저를 순회한다. 순회하는 동안 저장된 유저는 포함되지 않을 수 있다.
+     */
+    public void forEachUserId(LongConsumer consumer) {
+        knownUsers.forEach(consumer);
     }
 
-    public void clear(){
+    public int restoringCount() {
+        return restored.size();
+    }
+
+    public UserPointCacheStats cacheStats() {
+        return userPointCache.stats();
+    }
+
+    public void clear() {
+        inFlight.clear();
+        restored.clear();
+        knownUsers.clear();
+        trackedVersions.clear();
+        maxVersion.set(0);
+        userPointCache.clear();
         userPointTable.clear();
     }
+
+    /**
+     * 유저 락 안에서 호출한다. 버전을 올려 남기는 일은 진행 중인 조회를 떼어 내는 것과 함께 한다.
+     */
+    private UserPoint write(long userId, long amount, int versions) {
+        userPointCache.invalidate(userId);
+        restored.remove(userId);
+        long start = System.nanoTime();
+        UserPoint inserted = userPointTable.insertOrUpdate(userId, amount);
+        pointMetrics.recordTableCall(TableCall.USER_POINT_INSERT_OR_UPDATE, start);
+        long version = currentVersion(userId) + versions;
+        UserPoint userPoint = new UserPoint(userId, inserted.point(), inserted.updateMillis(), version);
+        writeAheadLog.appendBalance(userId, userPoint.point(), userPoint.updateMillis());
+        maxVersion.accumulateAndGet(version, Math::max);
+        inFlight.compute(userId, (id, loading) -> {
+            knownUsers.add(userId);
+            trackedVersions.put(userId, 0, 0, version);
+            userPointCache.put(userPoint);
+            return null;
+        });
+        return userPoint;
+    }
+
+    /**
+     * @return 저장된 적 없는 유저는 0, 버전을 잊은 유저는 UNKNOWN_VERSION
+     */
+    private long versionOf(long userId) {
+        UserPoint tracked = trackedVersions.get(userId);
+        if (tracked != null) {
+            return tracked.version();
+        }
+        return knownUsers.contains(userId) ? UNKNOWN_VERSION : 0;
+    }
+
+    /**
+     * 버전을 잊은 유저면 유저 락을 잡고 새 버전을 발급한다.
+     * 아직 테이블에 쓰지 않은 복구한 포인트에는 잊기 전 버전이 남아 있으므로 그 버전을 되살린다.
+     * 그 밖에는 이 노드가 발급한 어떤 버전보다 큰 버전을 발급하고, 이전 버전을 붙이고 있을 캐시와 진행 중인 조회를 버린다.
+     */
+    private long currentVersion(long userId) {
+        long version = versionOf(userId);
+        if (version != UNKNOWN_VERSION) {
+            return version;
+        }
+        return userLockManager.executeWithLock(userId, () -> {
+            long current = versionOf(userId);
+            if (current != UNKNOWN_VERSION) {
+                return current;
+            }
+            UserPoint restoredPoint = restored.get(userId);
+            long issued = restoredPoint != null ? restoredPoint.version() : maxVersion.incrementAndGet();
+            inFlight.compute(userId, (id, loading) -> {
+                trackedVersions.put(userId, 0, 0, issued);
+                userPointCache.invalidate(userId);
+                return null;
+            });
+            pointMetrics.recordVersionReissued();
+            return issued;
+        });
+    }
+
+    /**
+     * 앞선 조회가 끝나 캐시를 채운 직후라면 테이블을 다시 읽지 않는다.
+     * 읽는 동안 저장이 끝나 떼어 내졌다면 결과를 캐시에 채우지 않는다.
+     */
+    private UserPoint load(long userId, CompletableFuture<UserPoint> loading) {
+        try {
+            UserPoint userPoint = userPointCache.peek(userId);
+            if (userPoint == null) {
+                long version = currentVersion(userId);
+                long start = System.nanoTime();
+                UserPoint selected = userPointTable.selectById(userId);
+                pointMetrics.recordTableCall(TableCall.USER_POINT_SELECT, start);
+                userPoint = new UserPoint(userId, selected.point(), selected.updateMillis(), version);
+            }
+            UserPoint loaded = userPoint;
+            inFlight.computeIfPresent(userId, (id, current) -> {
+                if (current != loading) {
+                    return current;
+                }
+                userPointCache.put(loaded);
+                return null;
+            });
+            loading.complete(loaded);
+            return loaded;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(userId, loading);
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private void writeRestored() {
+        int count = restored.size();
+        restored.forEach((userId, point, updateMillis) -> userLockManager.executeWithLock(userId, () -> {
+            UserPoint userPoint = restored.get(userId);
+            if (userPoint != null) {
+                userPointTable.insertOrUpdate(userId, userPoint.point());
+                restored.remove(userId, userPoint.point(), userPoint.updateMillis());
+            }
+            return null;
+        }));
+        log.info("복구한 유저 포인트 {}건을 테이블에 썼습니다.", count);
+    }
+
+    private UserPoint await(CompletableFuture<UserPoint> loading) {
+        try {
+            return loading.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
 }
@@ -0,0 +1,453 @@
+package io.hhplus.tdd.point;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * userId 를 키로 포인트, 수정 시각, 버전을 원시 타입 배열에 담는 해시 테이블 (open addressing, linear probing)
+ * - 유저 하나에 키, 포인트, 수정 시각, 버전만 저장하며 Long 키나 {@link UserPoint} 를 보관하지 않는다.
+ *   조회는 결과로 돌려줄 {@link UserPoint} 하나 외에는 할당하지 않는다.
+ * - 키를 구간(stripe)으로 나누고 구간마다 {@link StampedLock} 을 둔다.
+ *   조회는 락 없이 낙관적으로 읽고, 그사이 같은 구간에 쓰기가 있었으면 읽기 락을 잡고 다시 읽는다.
+ * - 삭제는 뒤따르는 항목을 빈자리로 당겨(backward shift) 묘비를 남기지 않는다.
+ * - maxSize 가 있으면 구간마다 maxSize / 구간 수 까지만 보관하고, 넘으면 CLOCK 으로 최근에 조회되지 않은 항목을 제거한다.
+ *   구간 수는 maxSize 가 작을수록 줄어들어, 작은 캐시는 전체에서 제거할 항목을 고른다.
+ * - ttl 이 있으면 저장한 뒤 ttl 이 지난 항목은 없는 것으로 본다.
+ * - userId 로 Long.MIN_VALUE 는 쓸 수 없다. 빈자리 표시로 사용한다.
+ */
+public class UserPointStore {
+
+    @FunctionalInterface
+    public interface Visitor {
+        void visit(long userId, long point, long updateMillis);
+    }
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int MAX_STRIPES = 64;
+    private static final int MIN_ENTRIES_PER_STRIPE = 16;
+    private static final int MIN_TABLE_SIZE = 16;
+
+    private final Stripe[] stripes;
+    private final int stripeShift;
+    private final long ttlNanos;
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * 크기 제한과 만료가 없는 저장소
+     */
+    public UserPointStore() {
+        this(0, Duration.ZERO);
+    }
+
+    /**
+     * @param maxSize 0 이면 크기 제한이 없다.
+     * @param ttl     0 이면 만료되지 않는다.
+     */
+    public UserPointStore(int maxSize, Duration ttl) {
+        int stripeCount = maxSize <= 0
+                ? MAX_STRIPES
+                : Math.min(MAX_STRIPES, Integer.highestOneBit(Math.max(1, maxSize / MIN_ENTRIES_PER_STRIPE)));
+        int stripeMaxSize = maxSize <= 0 ? 0 : (maxSize + stripeCount - 1) / stripeCount;
+        boolean expiring = !ttl.isZero();
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(stripeMaxSize, expiring);
+        }
+        this.stripeShift = 64 - Integer.numberOfTrailingZeros(stripeCount);
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * 없거나 만료되었으면 null 을 반환한다.
+     */
+    public UserPoint get(long userId) {
+        long hash = mix(userId);
+        Stripe stripe = stripeOf(hash);
+        StampedLock lock = stripe.lock;
+
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            Table table = stripe.table;
+            int slot = table.find(userId, hash);
+            long point = slot < 0 ? 0 : table.points[slot];
+            long updateMillis = slot < 0 ? 0 : table.updateMillis[slot];
+            long version = slot < 0 ? 0 : table.versions[slot];
+            long expiresAtNanos = slot < 0 || table.expiresAtNanos == null ? 0 : table.expiresAtNanos[slot];
+            if (lock.validate(stamp)) {
+                return found(table, slot, userId, point, updateMillis, version, expiresAtNanos);
+            }
+        }
+
+        stamp = lock.readLock();
+        try {
+            Table table = stripe.table;
+            int slot = table.find(userId, hash);
+            if (slot < 0) {
+                return null;
+            }
+            long expiresAtNanos = table.expiresAtNanos == null ? 0 : table.expiresAtNanos[slot];
+            return found(table, slot, userId, table.points[slot], table.updateMillis[slot], table.versions[slot], expiresAtNanos);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public void put(UserPoint userPoint) {
+        put(userPoint.id(), userPoint.point(), userPoint.updateMillis(), userPoint.version());
+    }
+
+    public void put(long userId, long point, long updateMillis) {
+        put(userId, point, updateMillis, 0);
+    }
+
+    public void put(long userId, long point, long updateMillis, long version) {
+        if (userId == EMPTY) {
+            throw new IllegalArgumentException("userId 로 " + EMPTY + " 는 사용할 수 없습니다.");
+        }
+        long hash = mix(userId);
+        Stripe stripe = stripeOf(hash);
+        long stamp = stripe.lock.writeLock();
+        try {
+            long now = ttlNanos == 0 ? 0 : System.nanoTime();
+            if (stripe.put(userId, hash, point, updateMillis, version, now + ttlNanos, now)) {
+                evictionCount.increment();
+            }
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean remove(long userId) {
+        long hash = mix(userId);
+        Stripe stripe = stripeOf(hash);
+        long stamp = stripe.lock.writeLock();
+        try {
+            int slot = stripe.table.find(userId, hash);
+            if (slot < 0) {
+                return false;
+            }
+            stripe.removeAt(slot);
+            return true;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 저장된 값이 point, updateMillis 와 같을 때만 제거한다.
+     */
+    public boolean remove(long userId, long point, long updateMillis) {
+        long hash = mix(userId);
+        Stripe stripe = stripeOf(hash);
+        long stamp = stripe.lock.writeLock();
+        try {
+            Table table = stripe.table;
+            int slot = table.find(userId, hash);
+            if (slot < 0 || table.points[slot] != point || table.updateMillis[slot] != updateMillis) {
+                return false;
+            }
+            stripe.removeAt(slot);
+            return true;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 구간마다 항목을 복사한 뒤 락을 풀고 방문한다. 따라서 visitor 안에서 이 저장소에 써도 된다.
+     * 방문 도중 다른 구간에 추가되거나 제거된 항목은 반영되지 않을 수 있다. 만료된 항목도 방문한다.
+     */
+    public void forEach(Visitor visitor) {
+        for (Stripe stripe : stripes) {
+            long[] entries;
+            long stamp = stripe.lock.readLock();
+            try {
+                entries = stripe.copyEntries();
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+            for (int i = 0; i < entries.length; i += 3) {
+                visitor.visit(entries[i], entries[i + 1], entries[i + 2]);
+            }
+        }
+    }
+
+    /**
+     * 만료되었지만 아직 제거되지 않은 항목도 센다.
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                size += stripe.size;
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public long evictionCount() {
+        return evictionCount.sum();
+    }
+
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.writeLock();
+            try {
+                stripe.clear();
+            } finally {
+                stripe.lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    private UserPoint found(Table table, int slot, long userId, long point, long updateMillis, long version, long expiresAtNanos) {
+        if (slot < 0 || (table.expiresAtNanos != null && expiresAtNanos - System.nanoTime() <= 0)) {
+            return null;
+        }
+        if (table.referenced != null) {
+            // 락 없이 쓰므로 그사이 다른 항목이 이 자리로 옮겨졌다면 그 항목이 한 번 더 기회를 얻을 뿐이다.
+            table.referenced[slot] = 1;
+        }
+        return new UserPoint(userId, point, updateMillis, version);
+    }
+
+    private Stripe stripeOf(long hash) {
+        return stripes.length == 1 ? stripes[0] : stripes[(int) (hash >>> stripeShift)];
+    }
+
+    /**
+     * 연속된 userId 가 고르게 퍼지도록 섞는다 (MurmurHash3 fmix64).
+     */
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    private static final class Stripe {
+        private final StampedLock lock = new StampedLock();
+        private final int maxSize;
+        private final boolean expiring;
+        private volatile Table table;
+        private int size;
+        private int hand;
+
+        private Stripe(int maxSize, boolean expiring) {
+            this.maxSize = maxSize;
+            this.expiring = expiring;
+            this.table = newTable(initialTableSize());
+        }
+
+        /**
+         * @return 자리를 만들려고 다른 항목을 제거했으면 true
+         */
+        private boolean put(long userId, long hash, long point, long updateMillis, long version, long expiresAtNanos, long now) {
+            Table current = table;
+            int slot = current.find(userId, hash);
+            boolean evicted = false;
+            if (slot >= 0) {
+                if (current.referenced != null) {
+                    current.referenced[slot] = 1;
+                }
+            } else {
+                if (maxSize > 0 && size >= maxSize) {
+                    evict(now);
+                    evicted = true;
+                }
+                if ((size + 1) * 3 > current.keys.length * 2) {
+                    current = resize(current.keys.length * 2);
+                }
+                slot = current.emptySlot(hash);
+                current.keys[slot] = userId;
+                if (current.referenced != null) {
+                    current.referenced[slot] = 0;
+                }
+                size++;
+            }
+            current.points[slot] = point;
+            current.updateMillis[slot] = updateMillis;
+            current.versions[slot] = version;
+            if (current.expiresAtNanos != null) {
+                current.expiresAtNanos[slot] = expiresAtNanos;
+            }
+            return evicted;
+        }
+
+        /**
+         * 시계 바늘을 돌리며 만료되었거나 최근에 조회되지 않은 항목 하나를 제거한다.
+         * 지나가는 항목의 조회 표시는 지워, 두 바퀴 안에 반드시 하나를 제거한다.
+         */
+        private void evict(long now) {
+            Table current = table;
+            int mask = current.keys.length - 1;
+            for (int step = 0; step <= 2 * current.keys.length; step++) {
+                int slot = hand;
+                hand = (hand + 1) & mask;
+                if (current.keys[slot] == EMPTY) {
+                    continue;
+                }
+                boolean expired = current.expiresAtNanos != null && current.expiresAtNanos[slot] - now <= 0;
+                if (!expired && current.referenced[slot] != 0) {
+                    current.referenced[slot] = 0;
+                    continue;
+                }
+                removeAt(slot);
+                return;
+            }
+        }
+
+        /**
+         * slot 을 비우고, 뒤따르는 항목 중 원래 자리가 빈자리 이전인 항목을 당겨 탐색이 끊기지 않게 한다.
+         */
+        private void removeAt(int slot) {
+            Table current = table;
+            int mask = current.keys.length - 1;
+            int hole = slot;
+            for (int i = (slot + 1) & mask; current.keys[i] != EMPTY; i = (i + 1) & mask) {
+                int home = (int) mix(current.keys[i]) & mask;
+                if (((i - home) & mask) >= ((i - hole) & mask)) {
+                    current.move(i, hole);
+                    hole = i;
+                }
+            }
+            current.keys[hole] = EMPTY;
+            size--;
+        }
+
+        private Table resize(int tableSize) {
+            Table previous = table;
+            Table resized = newTable(tableSize);
+            for (int i = 0; i < previous.keys.length; i++) {
+                long key = previous.keys[i];
+                if (key != EMPTY) {
+                    int slot = resized.emptySlot(mix(key));
+                    resized.keys[slot] = key;
+                    resized.points[slot] = previous.points[i];
+                    resized.updateMillis[slot] = previous.updateMillis[i];
+                    resized.versions[slot] = previous.versions[i];
+                    if (resized.expiresAtNanos != null) {
+                        resized.expiresAtNanos[slot] = previous.expiresAtNanos[i];
+                    }
+                    if (resized.referenced != null) {
+                        resized.referenced[slot] = previous.referenced[i];
+                    }
+                }
+            }
+            table = resized;
+            hand = 0;
+            return resized;
+        }
+
+        /**
+         * [userId, point, updateMillis] 를 이어 붙인 배열
+         */
+        private long[] copyEntries() {
+            Table current = table;
+            long[] entries = new long[size * 3];
+            int position = 0;
+            for (int i = 0; i < current.keys.length; i++) {
+                if (current.keys[i] != EMPTY) {
+                    entries[position++] = current.keys[i];
+                    entries[position++] = current.points[i];
+                    entries[position++] = current.updateMillis[i];
+                }
+            }
+            return entries;
+        }
+
+        private void clear() {
+            table = newTable(initialTableSize());
+            size = 0;
+            hand = 0;
+        }
+
+        /**
+         * 크기 제한이 있으면 처음부터 maxSize 를 담을 수 있게 만든다.
+         */
+        private int initialTableSize() {
+            if (maxSize <= 0) {
+                return MIN_TABLE_SIZE;
+            }
+            return Math.max(MIN_TABLE_SIZE, Integer.highestOneBit(maxSize * 3 / 2 + 1) << 1);
+        }
+
+        private Table newTable(int tableSize) {
+            return new Table(tableSize, expiring, maxSize > 0);
+        }
+    }
+
+    /**
+     * 한 구간의 배열. 크기를 늘릴 때는 새 Table 로 바꾸므로, 읽는 쪽은 한 번 읽은 Table 안에서 배열 크기가 어긋나지 않는다.
+     */
+    private static final class Table {
+        private final long[] keys;
+        private final long[] points;
+        private final long[] updateMillis;
+        private final long[] versions;
+        private final long[] expiresAtNanos;
+        private final byte[] referenced;
+
+        private Table(int tableSize, boolean expiring, boolean bounded) {
+            this.keys = new long[tableSize];
+            Arrays.fill(keys, EMPTY);
+            this.points = new long[tableSize];
+            this.updateMillis = new long[tableSize];
+            this.versions = new long[tableSize];
+            this.expiresAtNanos = expiring ? new long[tableSize] : null;
+            this.referenced = bounded ? new byte[tableSize] : null;
+        }
+
+        /**
+         * 낙관적 읽기 중에는 배열이 바뀌고 있을 수 있으므로 배열 크기만큼만 탐색한다.
+         */
+        private int find(long userId, long hash) {
+            int mask = keys.length - 1;
+            int slot = (int) hash & mask;
+            for (int step = 0; step <= mask; step++) {
+                long key = keys[slot];
+                if (key == userId) {
+                    return slot;
+                }
+                if (key == EMPTY) {
+                    return -1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private int emptySlot(long hash) {
+            int mask = keys.length - 1;
+            int slot = (int) hash & mask;
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void move(int from, int to) {
+            keys[to] = keys[from];
+            points[to] = points[from];
+            updateMillis[to] = updateMillis[from];
+            versions[to] = versions[from];
+            if (expiresAtNanos != null) {
+                expiresAtNanos[to] = expiresAtNanos[from];
+            }
+            if (referenced != null) {
+                referenced[to] = referenced[from];
+            }
+        }
+    }
+}
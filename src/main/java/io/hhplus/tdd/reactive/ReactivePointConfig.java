@@ -0,0 +1,43 @@
+package io.hhplus.tdd.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.PointService;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.server.WebFilter;
+
+/**
+ * point.reactive.enabled=true 이면 서블릿 서버와 별도 포트에서 같은 포인트 API 를 논블로킹으로 제공한다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "point.reactive", name = "enabled", havingValue = "true")
+public class ReactivePointConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ReactivePointService reactivePointService(PointService pointService, ReactivePointProperties properties) {
+        return new ReactivePointService(pointService, properties);
+    }
+
+    @Bean
+    public ReactivePointRouter reactivePointRouter(
+            ReactivePointService reactivePointService,
+            PointMetrics pointMetrics,
+            Validator validator
+    ) {
+        return new ReactivePointRouter(reactivePointService, pointMetrics, validator);
+    }
+
+    @Bean
+    public ReactivePointServer reactivePointServer(
+            ReactivePointRouter reactivePointRouter,
+            ReactivePointProperties properties,
+            ObjectMapper objectMapper,
+            ObjectProvider<WebFilter> webFilters
+    ) {
+        return new ReactivePointServer(reactivePointRouter, properties, objectMapper, webFilters.orderedStream().toList());
+    }
+}
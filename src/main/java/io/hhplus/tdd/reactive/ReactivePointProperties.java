@@ -0,0 +1,21 @@
+package io.hhplus.tdd.reactive;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 논블로킹 포인트 API 설정
+ * - enabled : true 이면 서블릿 서버와 별도로 port 에서 WebFlux(Reactor Netty) 서버를 띄운다. 0 이면 빈 포트를 쓴다.
+ * - threadCap : 테이블 호출을 실행하는 bounded elastic 스케줄러의 최대 스레드 수
+ * - queuedTaskCap : 스레드를 기다리는 작업의 최대 수. 넘으면 요청은 500 으로 실패한다.
+ * - historyPageSize : 포인트 내역 스트림이 구독자의 요청에 맞춰 한 번에 읽는 내역 수
+ */
+@ConfigurationProperties(prefix = "point.reactive")
+public record ReactivePointProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("8081") int port,
+        @DefaultValue("200") int threadCap,
+        @DefaultValue("100000") int queuedTaskCap,
+        @DefaultValue("100") int historyPageSize
+) {
+}
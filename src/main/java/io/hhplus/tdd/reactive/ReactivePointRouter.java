@@ -0,0 +1,132 @@
+package io.hhplus.tdd.reactive;
+
+import io.hhplus.tdd.BusinessException;
+import io.hhplus.tdd.ErrorCode;
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.PointRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/**
+ * 서블릿 {@link io.hhplus.tdd.point.PointController} 와 같은 경로와 응답 형식을 제공하는 WebFlux 라우터
+ * - 포인트 내역은 Accept 가 application/x-ndjson 이면 한 줄에 하나씩, 아니면 JSON 배열로 스트리밍한다.
+ * - 에러 응답은 서블릿의 ApiControllerAdvice 와 같은 형식이다.
+ */
+public class ReactivePointRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactivePointRouter.class);
+
+    private final ReactivePointService reactivePointService;
+    private final PointMetrics pointMetrics;
+    private final Validator validator;
+
+    public ReactivePointRouter(ReactivePointService reactivePointService, PointMetrics pointMetrics, Validator validator) {
+        this.reactivePointService = reactivePointService;
+        this.pointMetrics = pointMetrics;
+        this.validator = validator;
+    }
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .path("/points", builder -> builder
+                        .GET("/{userId}", this::point)
+                        .GET("/{userId}/histories", this::history)
+                        .GET("/{userId}/summary", this::summary)
+                        .PATCH("/{userId}/charge", this::charge)
+                        .PATCH("/{userId}/use", this::use))
+                .onError(BusinessException.class, (e, request) -> handleBusinessException(e))
+                .onError(ConstraintViolationException.class, (e, request) ->
+                        error(HttpStatus.BAD_REQUEST, "400", e.getConstraintViolations().iterator().next().getMessage()))
+                .onError(ServerWebInputException.class, (e, request) ->
+                        error(HttpStatus.BAD_REQUEST, "400", "잘못된 요청입니다."))
+                .onError(Exception.class, (e, request) -> {
+                    log.error("요청 처리에 실패했습니다. {} {}", request.method(), request.path(), e);
+                    return error(HttpStatus.INTERNAL_SERVER_ERROR, "500", "에러가 발생했습니다.");
+                })
+                .build();
+    }
+
+    private Mono<ServerResponse> point(ServerRequest request) {
+        return Mono.defer(() -> reactivePointService.get(userId(request)))
+                .flatMap(userPoint -> ServerResponse.ok().bodyValue(userPoint));
+    }
+
+    private Mono<ServerResponse> history(ServerRequest request) {
+        return Mono.defer(() -> {
+            MediaType contentType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                    ? MediaType.APPLICATION_NDJSON
+                    : MediaType.APPLICATION_JSON;
+            return ServerResponse.ok()
+                    .contentType(contentType)
+                    .body(reactivePointService.getHistory(userId(request)), PointHistory.class);
+        });
+    }
+
+    private Mono<ServerResponse> summary(ServerRequest request) {
+        return Mono.defer(() -> reactivePointService.getSummary(userId(request)))
+                .flatMap(summary -> ServerResponse.ok().bodyValue(summary));
+    }
+
+    private Mono<ServerResponse> charge(ServerRequest request) {
+        return Mono.defer(() -> {
+                    long userId = userId(request);
+                    return pointRequest(request)
+                            .flatMap(pointRequest -> reactivePointService.charge(userId, pointRequest.amount()));
+                })
+                .flatMap(userPoint -> ServerResponse.ok().bodyValue(userPoint));
+    }
+
+    private Mono<ServerResponse> use(ServerRequest request) {
+        return Mono.defer(() -> {
+                    long userId = userId(request);
+                    return pointRequest(request)
+                            .flatMap(pointRequest -> reactivePointService.use(userId, pointRequest.amount()));
+                })
+                .flatMap(userPoint -> ServerResponse.ok().bodyValue(userPoint));
+    }
+
+    private Mono<PointRequest> pointRequest(ServerRequest request) {
+        return request.bodyToMono(PointRequest.class)
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException("요청 본문이 없습니다.")))
+                .doOnNext(pointRequest -> {
+                    Set<ConstraintViolation<PointRequest>> violations = validator.validate(pointRequest);
+                    if (!violations.isEmpty()) {
+                        throw new ConstraintViolationException(violations);
+                    }
+                });
+    }
+
+    private static long userId(ServerRequest request) {
+        try {
+            return Long.parseLong(request.pathVariable("userId"));
+        } catch (NumberFormatException e) {
+            throw new ServerWebInputException("userId 는 숫자이어야 합니다.");
+        }
+    }
+
+    private Mono<ServerResponse> handleBusinessException(BusinessException e) {
+        ErrorCode errorCode = e.getErrorCode();
+        pointMetrics.recordRejection(errorCode);
+        HttpStatus httpStatus = HttpStatus.valueOf(errorCode.getStatus());
+        return error(httpStatus, String.valueOf(httpStatus), errorCode.getMessage());
+    }
+
+    private static Mono<ServerResponse> error(HttpStatus status, String code, String message) {
+        return ServerResponse.status(status).bodyValue(new ErrorResponse(code, message));
+    }
+}
@@ -0,0 +1,94 @@
+package io.hhplus.tdd.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 서블릿 서버와 함께 별도 포트에서 {@link ReactivePointRouter} 를 제공하는 Reactor Netty 서버
+ * - JSON 은 서블릿 서버와 같은 ObjectMapper 로 변환한다.
+ * - 등록된 {@link WebFilter} 빈을 모두 적용한다.
+ */
+public class ReactivePointServer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactivePointServer.class);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ReactivePointRouter reactivePointRouter;
+    private final ReactivePointProperties properties;
+    private final ObjectMapper objectMapper;
+    private final List<WebFilter> webFilters;
+
+    private volatile DisposableServer server;
+
+    public ReactivePointServer(
+            ReactivePointRouter reactivePointRouter,
+            ReactivePointProperties properties,
+            ObjectMapper objectMapper,
+            List<WebFilter> webFilters
+    ) {
+        this.reactivePointRouter = reactivePointRouter;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.webFilters = webFilters;
+    }
+
+    @Override
+    public void start() {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(configurer -> {
+                    configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        HttpHandler httpHandler = WebHttpHandlerBuilder
+                .webHandler(RouterFunctions.toWebHandler(reactivePointRouter.routes(), strategies))
+                .filters(filters -> filters.addAll(webFilters))
+                .build();
+        server = HttpServer.create()
+                .port(properties.port())
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("논블로킹 포인트 API 를 {} 포트에서 시작했습니다.", server.port());
+    }
+
+    @Override
+    public void stop() {
+        DisposableServer current = server;
+        if (current != null) {
+            current.disposeNow(SHUTDOWN_TIMEOUT);
+            server = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * 서블릿 서버(DEFAULT_PHASE - 2048)보다 나중에 시작하고 먼저 종료한다.
+     */
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 1;
+    }
+
+    public int port() {
+        return server.port();
+    }
+}
@@ -0,0 +1,73 @@
+package io.hhplus.tdd.reactive;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.PointHistoryPageRequest;
+import io.hhplus.tdd.point.PointHistorySummary;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.UserPoint;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * {@link PointService} 를 Mono/Flux 로 감싼다.
+ * - 테이블 호출(지연)이 있는 조회/충전/사용은 bounded elastic 스케줄러에서 실행해 이벤트 루프 스레드를 막지 않는다.
+ *   스레드는 threadCap 까지만 만들고, 나머지 요청은 스레드 없이 대기열에서 기다린다.
+ * - 포인트 내역과 집계는 메모리에서 읽으므로 구독한 스레드에서 바로 읽는다.
+ *   내역은 구독자가 요청한 만큼만 historyPageSize 단위로 읽어 내보낸다(back-pressure).
+ */
+public class ReactivePointService {
+
+    private static final long LAST_PAGE = -1L;
+
+    private final PointService pointService;
+    private final int historyPageSize;
+    private final Scheduler scheduler;
+
+    public ReactivePointService(PointService pointService, ReactivePointProperties properties) {
+        this.pointService = pointService;
+        this.historyPageSize = properties.historyPageSize();
+        this.scheduler = Schedulers.newBoundedElastic(properties.threadCap(), properties.queuedTaskCap(), "point-reactive");
+    }
+
+    public Mono<UserPoint> get(long userId) {
+        return Mono.fromCallable(() -> pointService.get(userId)).subscribeOn(scheduler);
+    }
+
+    public Mono<UserPoint> charge(long userId, long amount) {
+        return Mono.fromCallable(() -> pointService.charge(userId, amount)).subscribeOn(scheduler);
+    }
+
+    public Mono<UserPoint> use(long userId, long amount) {
+        return Mono.fromCallable(() -> pointService.use(userId, amount)).subscribeOn(scheduler);
+    }
+
+    public Mono<PointHistorySummary> getSummary(long userId) {
+        return Mono.fromSupplier(() -> pointService.getSummary(userId));
+    }
+
+    /**
+     * 다음 페이지는 앞 페이지를 모두 내보낸 뒤 구독자가 더 요청할 때 읽는다.
+     */
+    public Flux<PointHistory> getHistory(long userId) {
+        return Flux.<List<PointHistory>, Long>generate(() -> 0L, (cursor, sink) -> {
+                    if (cursor == LAST_PAGE) {
+                        sink.complete();
+                        return cursor;
+                    }
+                    PointHistoryPage page = pointService.getHistoryPage(
+                            userId, new PointHistoryPageRequest(cursor, historyPageSize, null, null, null));
+                    sink.next(page.histories());
+                    return page.nextCursor() == null ? LAST_PAGE : page.nextCursor();
+                })
+                .concatMapIterable(histories -> histories, 1);
+    }
+
+    public void dispose() {
+        scheduler.dispose();
+    }
+}
@@ -0,0 +1,74 @@
+package io.hhplus.tdd.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 유저 id 를 노드에 나누는 해시 링(consistent hashing)
+ * - 노드마다 virtualNodes 개의 위치를 링에 두고, 유저는 자기 해시 다음에 오는 위치의 노드가 담당한다.
+ * - 노드가 추가되면 새 노드의 위치 바로 앞 구간의 유저만 새 노드로 옮겨지고, 나머지 유저의 담당 노드는 바뀌지 않는다.
+ * - 링은 만든 뒤 바뀌지 않으므로 락 없이 여러 스레드에서 조회한다.
+ */
+public class ConsistentHashRing {
+
+    private final List<ShardNode> nodes;
+    private final TreeMap<Long, ShardNode> ring = new TreeMap<>();
+
+    public ConsistentHashRing(List<ShardNode> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("해시 링에는 노드가 하나 이상 있어야 합니다.");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("가상 노드 수는 1 이상이어야 합니다. virtualNodes=" + virtualNodes);
+        }
+        this.nodes = List.copyOf(nodes);
+        if (this.nodes.stream().map(ShardNode::id).distinct().count() != this.nodes.size()) {
+            throw new IllegalArgumentException("노드 id 가 중복되었습니다. " + nodes);
+        }
+        for (ShardNode node : this.nodes) {
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                ShardNode previous = ring.put(hash(node.id() + "#" + replica), node);
+                if (previous != null && !previous.id().equals(node.id())) {
+                    throw new IllegalArgumentException("노드의 해시 위치가 겹칩니다. " + previous.id() + ", " + node.id());
+                }
+            }
+        }
+    }
+
+    public ShardNode ownerOf(long userId) {
+        Map.Entry<Long, ShardNode> entry = ring.ceilingEntry(mix(userId));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    public boolean contains(String nodeId) {
+        return nodes.stream().anyMatch(node -> node.id().equals(nodeId));
+    }
+
+    public List<ShardNode> nodes() {
+        return Collections.unmodifiableList(nodes);
+    }
+
+    /**
+     * FNV-1a 로 문자열을 64비트로 만들고, 가까운 문자열이 링의 가까운 위치에 모이지 않도록 한 번 더 섞는다.
+     */
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+}
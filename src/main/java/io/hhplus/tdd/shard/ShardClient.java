@@ -0,0 +1,108 @@
+package io.hhplus.tdd.shard;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * 다른 노드로 요청을 보낸다.
+ * - 받은 요청은 경로, 쿼리, 헤더, 본문을 그대로 옮기고 전달 횟수 헤더를 붙인다.
+ *   연결마다 의미가 달라지는 헤더(hop-by-hop)와 {@link HttpClient} 가 직접 정하는 헤더는 옮기지 않는다.
+ * - 응답 본문은 스트림으로 돌려준다. 호출하는 쪽이 읽으면서 바로 내보내므로 내역 내보내기처럼 큰 응답도 전달하는 노드에 모이지 않는다.
+ * - 스트리밍 경로(내역 내보내기)는 응답이 끝날 때까지 오래 걸릴 수 있어 forwardTimeout 을 걸지 않는다.
+ */
+public class ShardClient implements AutoCloseable {
+
+    static final Set<String> SKIPPED_HEADERS = Set.of(
+            "connection", "content-length", "expect", "host", "upgrade", "keep-alive", "transfer-encoding",
+            "te", "trailer", "proxy-connection", "http2-settings",
+            ShardRouter.HOPS_HEADER.toLowerCase(), ShardRouter.HANDOFF_CHECK_HEADER.toLowerCase()
+    );
+
+    private static final String STREAMING_PATH_SUFFIX = "/histories/export";
+
+    private final ShardProperties properties;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+
+    public ShardClient(ShardProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.connectTimeout())
+                .build();
+    }
+
+    /**
+     * 응답 본문 스트림은 호출하는 쪽이 닫아야 한다.
+     */
+    public HttpResponse<InputStream> forward(ShardNode node, HttpServletRequest request, byte[] body, int hops, boolean handoffCheck)
+            throws IOException, InterruptedException {
+        String query = request.getQueryString();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(node.url() + request.getRequestURI() + (query == null ? "" : "?" + query)));
+        if (!request.getRequestURI().endsWith(STREAMING_PATH_SUFFIX)) {
+            builder.timeout(properties.forwardTimeout());
+        }
+        builder.method(request.getMethod(), body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        for (String name : Collections.list(request.getHeaderNames())) {
+            if (SKIPPED_HEADERS.contains(name.toLowerCase())) {
+                continue;
+            }
+            for (String value : Collections.list(request.getHeaders(name))) {
+                builder.header(name, value);
+            }
+        }
+        builder.header(ShardRouter.HOPS_HEADER, String.valueOf(hops + 1));
+        if (handoffCheck) {
+            builder.header(ShardRouter.HANDOFF_CHECK_HEADER, "true");
+        }
+        return httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    /**
+     * 받는 노드가 저장을 마치고 응답해야 반환한다. 실패하면 유저를 넘기지 않은 것으로 본다.
+     */
+    public void importUser(ShardNode node, ShardUserExport export) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(node.url() + "/shards/import"))
+                    .timeout(properties.forwardTimeout())
+                    .header("Content-Type", "application/json")
+                    .header(ShardRouter.SECRET_HEADER, properties.secret())
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(export)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("넘길 유저를 직렬화하지 못했습니다. userId=" + export.userId(), e);
+        }
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new IllegalStateException("유저를 " + node.id() + " 에 넘기지 못했습니다. userId=" + export.userId(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("유저를 넘기는 중 인터럽트가 발생했습니다. userId=" + export.userId(), e);
+        }
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("유저를 " + node.id() + " 에 넘기지 못했습니다. userId=" + export.userId()
+                    + ", status=" + response.statusCode() + ", body=" + response.body());
+        }
+    }
+
+    @Override
+    public void close() {
+        httpClient.close();
+    }
+}
@@ -0,0 +1,73 @@
+package io.hhplus.tdd.shard;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.expiration.PointLotLedger;
+import io.hhplus.tdd.point.PointHistoryRepository;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.UserLockManager;
+import io.hhplus.tdd.point.UserPointRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * point.shard.enabled=true 이면 유저 id 로 담당 노드를 정하고, 다른 노드가 담당하는 유저의 요청을 그 노드에 전달한다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "point.shard", name = "enabled", havingValue = "true")
+public class ShardConfig {
+
+    @Bean
+    public ShardRouter shardRouter(ShardProperties properties, UserPointRepository userPointRepository) {
+        return new ShardRouter(properties, userPointRepository);
+    }
+
+    @Bean
+    public ShardClient shardClient(ShardProperties properties, ObjectMapper objectMapper) {
+        return new ShardClient(properties, objectMapper);
+    }
+
+    @Bean
+    public ShardRebalancer shardRebalancer(
+            ShardProperties properties,
+            ShardRouter shardRouter,
+            ShardClient shardClient,
+            UserPointRepository userPointRepository,
+            PointHistoryRepository pointHistoryRepository,
+            UserLockManager userLockManager,
+            ObjectProvider<PointLotLedger> pointLotLedger
+    ) {
+        return new ShardRebalancer(properties, shardRouter, shardClient, userPointRepository, pointHistoryRepository, userLockManager,
+                userId -> pointLotLedger.ifAvailable(ledger -> ledger.forget(userId)));
+    }
+
+    @Bean
+    public FilterRegistrationBean<ShardPeerFilter> shardPeerFilter(
+            ShardProperties properties,
+            PointMetrics pointMetrics,
+            ObjectMapper objectMapper
+    ) {
+        FilterRegistrationBean<ShardPeerFilter> registration =
+                new FilterRegistrationBean<>(new ShardPeerFilter(properties, pointMetrics, objectMapper));
+        registration.addUrlPatterns("/shards/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 100);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ShardRoutingFilter> shardRoutingFilter(
+            ShardRouter shardRouter,
+            ShardClient shardClient,
+            PointMetrics pointMetrics,
+            ObjectMapper objectMapper
+    ) {
+        FilterRegistrationBean<ShardRoutingFilter> registration =
+                new FilterRegistrationBean<>(new ShardRoutingFilter(shardRouter, shardClient, pointMetrics, objectMapper));
+        registration.addUrlPatterns("/points/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 100);
+        return registration;
+    }
+}
@@ -0,0 +1,51 @@
+package io.hhplus.tdd.shard;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 샤드 구성을 조회하고 노드 추가에 따른 재분배를 수행한다. 운영자와 다른 노드만 호출한다.
+ * 모든 요청은 {@link ShardPeerFilter} 에서 노드 사이의 공유 비밀값을 확인한 뒤에 들어온다.
+ */
+@RestController
+@RequestMapping("/shards")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "point.shard", name = "enabled", havingValue = "true")
+public class ShardController {
+
+    private final ShardRouter shardRouter;
+    private final ShardRebalancer shardRebalancer;
+
+    @GetMapping
+    public ShardStatus status() {
+        return shardRouter.status();
+    }
+
+    /**
+     * 기존 노드에서 호출한다. 새 노드 목록의 링으로 바꾸고 담당이 바뀐 유저를 모두 넘긴 뒤 응답한다.
+     */
+    @PostMapping("/rebalance")
+    public ShardRebalanceResult rebalance(
+            @Valid @RequestBody ShardRebalanceRequest request
+    ) {
+        return shardRebalancer.rebalance(request.nodes());
+    }
+
+    /**
+     * 새 노드에서 호출한다. 기존 노드가 모두 재분배를 마친 뒤에 호출해야 한다.
+     */
+    @PostMapping("/joined")
+    public ShardStatus joined() {
+        shardRebalancer.completeJoin();
+        return shardRouter.status();
+    }
+
+    @PostMapping("/import")
+    public void importUser(
+            @RequestBody ShardUserExport export
+    ) {
+        shardRebalancer.importUser(export);
+    }
+}
@@ -0,0 +1,14 @@
+package io.hhplus.tdd.shard;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * 샤드를 맡는 노드
+ * - id : 해시 링에서 노드의 위치를 정하는 이름. 노드를 옮겨도 같은 id 를 쓰면 담당 유저가 바뀌지 않는다.
+ * - url : 요청을 전달할 주소. 예) http://10.0.0.1:8080
+ */
+public record ShardNode(
+        @NotBlank String id,
+        @NotBlank String url
+) {
+}
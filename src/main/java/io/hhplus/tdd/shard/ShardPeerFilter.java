@@ -0,0 +1,57 @@
+package io.hhplus.tdd.shard;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.ErrorCode;
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.point.PointMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * /shards/** 요청은 노드 사이의 공유 비밀값({@link ShardRouter#SECRET_HEADER})이 맞을 때만 다음 필터로 넘기고, 아니면 401 로 거절한다.
+ * 운영자가 재분배를 요청할 때도 같은 값을 붙여야 한다. 값은 길이와 상관없이 같은 시간에 비교한다.
+ */
+public class ShardPeerFilter extends OncePerRequestFilter {
+
+    private final byte[] secret;
+    private final PointMetrics pointMetrics;
+    private final ObjectMapper objectMapper;
+
+    public ShardPeerFilter(ShardProperties properties, PointMetrics pointMetrics, ObjectMapper objectMapper) {
+        if (properties.secret() == null || properties.secret().isBlank()) {
+            throw new IllegalStateException("point.shard.secret 을 설정해야 합니다.");
+        }
+        this.secret = properties.secret().getBytes(StandardCharsets.UTF_8);
+        this.pointMetrics = pointMetrics;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String presented = request.getHeader(ShardRouter.SECRET_HEADER);
+        if (presented == null || !MessageDigest.isEqual(secret, presented.getBytes(StandardCharsets.UTF_8))) {
+            reject(response, ErrorCode.SHARD_UNAUTHORIZED);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletResponse response, ErrorCode errorCode) throws IOException {
+        pointMetrics.recordRejection(errorCode);
+        HttpStatus httpStatus = HttpStatus.valueOf(errorCode.getStatus());
+        response.setStatus(httpStatus.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(String.valueOf(httpStatus), errorCode.getMessage()));
+    }
+}
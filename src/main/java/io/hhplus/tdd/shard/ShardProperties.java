@@ -0,0 +1,32 @@
+package io.hhplus.tdd.shard;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 유저 id 기준 샤딩 설정
+ * - enabled : true 이면 담당 노드가 아닌 유저의 요청을 담당 노드에 전달한다.
+ * - selfId : 이 노드의 id. nodes 에 포함되어야 한다.
+ * - nodes : 해시 링을 구성하는 노드 목록
+ * - previousNodes : 새로 합류하는 노드라면 합류 전의 노드 목록. 옮겨 오지 않은 유저의 요청은 이전 담당 노드에 먼저 보낸다.
+ * - virtualNodes : 노드마다 해시 링에 두는 가상 노드 수. 많을수록 유저가 고르게 나뉜다.
+ * - maxHops : 요청이 노드 사이에서 전달될 수 있는 최대 횟수
+ * - connectTimeout, forwardTimeout : 다른 노드로 요청을 전달할 때의 연결, 응답 대기 시간
+ * - secret : /shards/** 요청에 붙이는 노드 사이의 공유 비밀값. 샤딩을 켜면 반드시 설정해야 한다.
+ */
+@ConfigurationProperties(prefix = "point.shard")
+public record ShardProperties(
+        @DefaultValue("false") boolean enabled,
+        String selfId,
+        @DefaultValue List<ShardNode> nodes,
+        @DefaultValue List<ShardNode> previousNodes,
+        @DefaultValue("128") int virtualNodes,
+        @DefaultValue("3") int maxHops,
+        @DefaultValue("2s") Duration connectTimeout,
+        @DefaultValue("30s") Duration forwardTimeout,
+        String secret
+) {
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.shard;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public record ShardRebalanceRequest(
+        @NotEmpty(message = "노드 목록은 비어 있을 수 없습니다") List<@Valid ShardNode> nodes
+) {
+}
@@ -0,0 +1,7 @@
+package io.hhplus.tdd.shard;
+
+public record ShardRebalanceResult(
+        int movedUsers,
+        long movedHistories
+) {
+}
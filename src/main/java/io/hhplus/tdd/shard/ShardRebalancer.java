@@ -0,0 +1,135 @@
+package io.hhplus.tdd.shard;
+
+import io.hhplus.tdd.BusinessException;
+import io.hhplus.tdd.ErrorCode;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryRepository;
+import io.hhplus.tdd.point.UserLockManager;
+import io.hhplus.tdd.point.UserPointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * 노드가 추가될 때 담당이 바뀐 유저의 포인트와 내역을 새 담당 노드로 옮긴다.
+ * - 기존 노드마다 새 노드 목록으로 {@link #rebalance(List)} 를 호출하고, 모두 끝나면 새 노드에서 합류를 끝낸다.
+ * - 유저는 한 명씩 유저 락을 잡고 내보내며, 받는 노드가 저장을 마친 뒤에 넘긴 것으로 표시한다.
+ * - 넘긴 유저의 데이터는 테이블에서 지울 수 없으므로 이 노드에 남지만, 이후 요청은 새 담당 노드로 전달된다.
+ *   노드를 추가할 때만 유저가 옮겨지므로 남은 데이터가 다시 조회되는 일은 없다.
+ * - 재분배는 한 번에 하나씩 수행한다. 실패하면 같은 노드 목록으로 다시 호출해 남은 유저를 넘긴다.
+ *   받는 노드는 같은 유저를 다시 받아도 한 번만 반영하므로, 응답을 받지 못해 실패한 유저도 다시 넘기면 된다.
+ */
+public class ShardRebalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRebalancer.class);
+
+    private final ShardProperties properties;
+    private final ShardRouter shardRouter;
+    private final ShardClient shardClient;
+    private final UserPointRepository userPointRepository;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final UserLockManager userLockManager;
+    private final LongConsumer afterHandOff;
+
+    /**
+     * @param afterHandOff 넘긴 유저마다 호출된다. 이 노드에만 남는 유저 상태(충전분 등)를 정리한다.
+     */
+    public ShardRebalancer(
+            ShardProperties properties,
+            ShardRouter shardRouter,
+            ShardClient shardClient,
+            UserPointRepository userPointRepository,
+            PointHistoryRepository pointHistoryRepository,
+            UserLockManager userLockManager,
+            LongConsumer afterHandOff
+    ) {
+        this.properties = properties;
+        this.shardRouter = shardRouter;
+        this.shardClient = shardClient;
+        this.userPointRepository = userPointRepository;
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.userLockManager = userLockManager;
+        this.afterHandOff = afterHandOff;
+    }
+
+    public synchronized ShardRebalanceResult rebalance(List<ShardNode> nodes) {
+        List<Long> moving = shardRouter.beginRebalance(new ConsistentHashRing(nodes, properties.virtualNodes()));
+        int movedUsers = 0;
+        long[] movedHistories = {0};
+        for (long userId : moving) {
+            boolean moved = shardRouter.handOff(userId, owner -> userLockManager.executeWithLock(userId, () -> {
+                List<PointHistory> histories = pointHistoryRepository.getAllBy(userId);
+                shardClient.importUser(owner, new ShardUserExport(userId, userPointRepository.getBy(userId).point(), histories));
+                movedHistories[0] += histories.size();
+                return null;
+            }));
+            if (moved) {
+                afterHandOff.accept(userId);
+                movedUsers++;
+            }
+        }
+        log.info("유저 {}명, 내역 {}건을 새 담당 노드로 옮겼습니다. nodes={}", movedUsers, movedHistories[0], nodes);
+        return new ShardRebalanceResult(movedUsers, movedHistories[0]);
+    }
+
+    /**
+     * 넘겨받은 유저를 저장한다. 응답을 받지 못한 이전 노드가 같은 유저를 다시 보내도 한 번만 반영한다.
+     * - 지금의 링에서 이 노드가 담당하는 유저만 받는다. 다른 노드가 담당하는 유저를 받으면 두 노드가 따로 포인트를 가진다.
+     * - 내역을 먼저 저장하고 포인트를 마지막에 저장한다. 포인트가 저장되어 있으면 넘겨받기를 마친 것이다.
+     * - 이미 넘겨받은 유저는 이 노드의 내역이 넘겨받은 내역으로 시작하고, 포인트가 그 뒤 이 노드가 처리한 내역만큼 바뀌어 있으면 그대로 성공한다.
+     * - 포인트가 아직 없고 이 노드의 내역이 넘겨받은 내역의 앞부분이면, 이전에 저장하다 실패한 것이므로 남은 내역부터 저장한다.
+     * - 그 외에는 이전 노드와 데이터가 갈라진 것이므로 받지 않는다.
+     * 내역은 금액, 종류, 발생 시각으로 비교한다. id 는 노드마다 새로 부여하므로 비교하지 않는다.
+     */
+    public void importUser(ShardUserExport export) {
+        long userId = export.userId();
+        List<PointHistory> imported = export.histories();
+        if (!shardRouter.owns(userId)) {
+            throw new BusinessException(ErrorCode.SHARD_NOT_OWNER);
+        }
+        userLockManager.executeWithLock(userId, () -> {
+            List<PointHistory> existing = pointHistoryRepository.getAllBy(userId);
+            if (userPointRepository.contains(userId)) {
+                long changedSinceImport = existing.subList(Math.min(imported.size(), existing.size()), existing.size()).stream()
+                        .mapToLong(PointHistory::amount)
+                        .sum();
+                if (!startsWith(existing, imported)
+                        || userPointRepository.getBy(userId).point() != export.point() + changedSinceImport) {
+                    throw new BusinessException(ErrorCode.SHARD_IMPORT_CONFLICT);
+                }
+                return null;
+            }
+            if (!startsWith(imported, existing)) {
+                throw new BusinessException(ErrorCode.SHARD_IMPORT_CONFLICT);
+            }
+            for (PointHistory pointHistory : imported.subList(existing.size(), imported.size())) {
+                pointHistoryRepository.save(userId, pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis());
+            }
+            userPointRepository.save(userId, export.point());
+            return null;
+        });
+    }
+
+    private static boolean startsWith(List<PointHistory> histories, List<PointHistory> prefix) {
+        if (prefix.size() > histories.size()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.size(); i++) {
+            PointHistory history = histories.get(i);
+            PointHistory expected = prefix.get(i);
+            if (history.amount() != expected.amount()
+                    || history.type() != expected.type()
+                    || history.updateMillis() != expected.updateMillis()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void completeJoin() {
+        shardRouter.completeJoin();
+        log.info("노드 합류를 마쳤습니다. {}", shardRouter.status());
+    }
+}
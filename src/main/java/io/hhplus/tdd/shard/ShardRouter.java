@@ -0,0 +1,183 @@
+package io.hhplus.tdd.shard;
+
+import io.hhplus.tdd.point.UserPointRepository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * 유저 요청을 이 노드에서 처리할지, 어느 노드로 전달할지 정한다.
+ * - 담당 노드는 {@link ConsistentHashRing} 으로 정한다.
+ * - 새 노드가 추가되면 기존 노드는 링을 바꾸고, 새 노드로 담당이 바뀐 유저를 한 명씩 넘긴다(hand-off).
+ *   넘기기 전까지는 그 유저의 요청을 계속 처리하고, 넘긴 뒤에는 새 노드로 전달한다.
+ * - 새로 합류하는 노드는 아직 넘겨받지 않은 유저의 요청을 이전 담당 노드에 먼저 보낸다(hand-off 확인).
+ *   이전 노드가 넘길 유저가 아니라고 답하면 직접 처리한다.
+ * - 요청을 이 노드에서 처리하는 동안에는 유저 구간(stripe)의 읽기 락을 잡고, 유저를 넘기는 동안에는 쓰기 락을 잡는다.
+ *   따라서 이미 처리 중인 요청이 끝난 뒤에 유저를 넘기고, 넘기는 동안 들어온 요청은 넘긴 뒤의 경로를 따른다.
+ * - 넘기다 실패한 유저는 새 노드가 이미 저장했는지 알 수 없다(응답만 잃어버린 경우). 두 노드가 함께 처리하지 않도록
+ *   다시 넘길 때까지 이 노드에서 처리하지 않고 거절한다. 받는 노드는 같은 유저를 다시 받아도 한 번만 반영한다.
+ */
+public class ShardRouter {
+
+    public static final String HOPS_HEADER = "X-Shard-Hops";
+    public static final String HANDOFF_CHECK_HEADER = "X-Shard-Handoff-Check";
+    public static final String NOT_OWNER_HEADER = "X-Shard-Not-Owner";
+    public static final String SECRET_HEADER = "X-Shard-Secret";
+
+    private static final int STRIPES = 256;
+
+    private final String selfId;
+    private final int maxHops;
+    private final UserPointRepository userPointRepository;
+    private final ReentrantReadWriteLock[] stripes = new ReentrantReadWriteLock[STRIPES];
+    private final Set<Long> handingOff = ConcurrentHashMap.newKeySet();
+    private final Set<Long> failedHandOff = ConcurrentHashMap.newKeySet();
+
+    private volatile ConsistentHashRing ring;
+    private volatile ConsistentHashRing previousRing;
+
+    public ShardRouter(ShardProperties properties, UserPointRepository userPointRepository) {
+        this.selfId = properties.selfId();
+        this.maxHops = properties.maxHops();
+        this.userPointRepository = userPointRepository;
+        this.ring = new ConsistentHashRing(properties.nodes(), properties.virtualNodes());
+        this.previousRing = properties.previousNodes().isEmpty()
+                ? null
+                : new ConsistentHashRing(properties.previousNodes(), properties.virtualNodes());
+        if (!ring.contains(selfId)) {
+            throw new IllegalStateException("point.shard.nodes 에 이 노드(" + selfId + ")가 없습니다.");
+        }
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    /**
+     * {@link #readLock(long)} 을 잡은 상태에서 호출해야 한다.
+     *
+     * @param hops         지금까지 노드 사이에서 전달된 횟수
+     * @param handoffCheck 새로 합류한 노드가 아직 넘기지 않은 유저인지 확인하려고 보낸 요청인지 여부
+     */
+    public Route route(long userId, int hops, boolean handoffCheck) {
+        ShardNode owner = ring.ownerOf(userId);
+        if (owner.id().equals(selfId)) {
+            ConsistentHashRing previous = previousRing;
+            if (previous != null && !handoffCheck && !userPointRepository.contains(userId)) {
+                ShardNode previousOwner = previous.ownerOf(userId);
+                if (!previousOwner.id().equals(selfId)) {
+                    return hops >= maxHops ? Route.LOOP : new Route(Action.CHECK_PREVIOUS, previousOwner);
+                }
+            }
+            return Route.LOCAL;
+        }
+        if (handingOff.contains(userId)) {
+            return failedHandOff.contains(userId) ? Route.HANDOFF_PENDING : Route.LOCAL;
+        }
+        if (handoffCheck) {
+            return Route.NOT_OWNER;
+        }
+        return hops >= maxHops ? Route.LOOP : new Route(Action.FORWARD, owner);
+    }
+
+    /**
+     * 지금의 링에서 이 노드가 담당하는 유저인지. 합류하는 노드는 처음부터 새 링을 쓰므로 넘겨받을 유저도 포함된다.
+     */
+    public boolean owns(long userId) {
+        return ring.ownerOf(userId).id().equals(selfId);
+    }
+
+    public Lock readLock(long userId) {
+        return stripe(userId).readLock();
+    }
+
+    /**
+     * 처리 중인 요청이 모두 끝나기를 기다린 뒤, 새 링에서 다른 노드가 담당하게 된 유저를 넘길 유저로 표시하고 링을 바꾼다.
+     * 이전에 넘기다 실패해 남은 유저도 함께 반환한다.
+     *
+     * @return 넘길 유저 id 목록
+     */
+    public List<Long> beginRebalance(ConsistentHashRing next) {
+        if (!next.contains(selfId)) {
+            throw new IllegalArgumentException("새 노드 목록에 이 노드(" + selfId + ")가 없습니다.");
+        }
+        for (ReentrantReadWriteLock stripe : stripes) {
+            stripe.writeLock().lock();
+        }
+        try {
+            ConsistentHashRing current = ring;
+            Set<Long> moving = new LinkedHashSet<>(handingOff);
+            userPointRepository.forEachUserId(userId -> {
+                if (current.ownerOf(userId).id().equals(selfId) && !next.ownerOf(userId).id().equals(selfId)) {
+                    moving.add(userId);
+                }
+            });
+            handingOff.addAll(moving);
+            ring = next;
+            return new ArrayList<>(moving);
+        } finally {
+            for (ReentrantReadWriteLock stripe : stripes) {
+                stripe.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * 유저 구간의 쓰기 락을 잡고 유저를 새 담당 노드에 넘긴다.
+     * 넘기다 실패하면 유저는 넘길 유저로 남고, 다시 넘기기 전까지 그 유저의 요청은 거절한다.
+     *
+     * @return 넘겼으면 true, 이미 넘긴 유저면 false
+     */
+    public boolean handOff(long userId, Consumer<ShardNode> transfer) {
+        Lock lock = stripe(userId).writeLock();
+        lock.lock();
+        try {
+            if (!handingOff.contains(userId)) {
+                return false;
+            }
+            try {
+                transfer.accept(ring.ownerOf(userId));
+            } catch (RuntimeException | Error e) {
+                failedHandOff.add(userId);
+                throw e;
+            }
+            handingOff.remove(userId);
+            failedHandOff.remove(userId);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 기존 노드가 모두 유저를 넘긴 뒤 호출한다. 이후로는 이전 담당 노드에 확인하지 않는다.
+     */
+    public void completeJoin() {
+        previousRing = null;
+    }
+
+    public ShardStatus status() {
+        ConsistentHashRing previous = previousRing;
+        return new ShardStatus(selfId, ring.nodes(), previous == null ? List.of() : previous.nodes(), handingOff.size());
+    }
+
+    private ReentrantReadWriteLock stripe(long userId) {
+        return stripes[(int) ((userId ^ (userId >>> 32)) & (STRIPES - 1))];
+    }
+
+    public enum Action {
+        LOCAL, FORWARD, CHECK_PREVIOUS, NOT_OWNER, LOOP, HANDOFF_PENDING
+    }
+
+    public record Route(Action action, ShardNode node) {
+        static final Route LOCAL = new Route(Action.LOCAL, null);
+        static final Route NOT_OWNER = new Route(Action.NOT_OWNER, null);
+        static final Route LOOP = new Route(Action.LOOP, null);
+        static final Route HANDOFF_PENDING = new Route(Action.HANDOFF_PENDING, null);
+    }
+}
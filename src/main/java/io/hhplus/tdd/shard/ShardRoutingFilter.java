@@ -0,0 +1,228 @@
+package io.hhplus.tdd.shard;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.ErrorCode;
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.point.PointMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * /points/{userId} 로 시작하는 요청을 {@link ShardRouter} 가 정한 노드에서 처리한다.
+ * - 이 노드가 처리할 요청은 유저 구간의 읽기 락을 잡은 채로 다음 필터로 넘긴다.
+ * - 다른 노드가 처리할 요청은 그 노드에 전달하고 응답을 받는 대로 그대로 돌려준다.
+ * - /points/bulk 는 여러 노드가 담당하는 유저의 작업을 한 요청에 담을 수 있어, 이 노드에서 처리하면 담당 노드와 포인트가 어긋난다.
+ *   그래서 샤딩 중에는 처리하지 않고 거절한다. 유저별 API 로 요청해야 한다.
+ * - 유저 id 는 컨트롤러가 받는 long 범위를 모두 라우팅한다. 범위를 넘는 숫자는 어느 노드에서도 처리하지 않도록 400 으로 거절한다.
+ * - 그 밖에 경로에 유저 id 가 없는 요청(/points/events 등)은 이 노드에서 처리한다.
+ */
+public class ShardRoutingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRoutingFilter.class);
+    private static final Pattern USER_PATH = Pattern.compile("^/points/(-?\\d+)(/.*)?$");
+    private static final String BULK_PATH = "/points/bulk";
+
+    private final ShardRouter shardRouter;
+    private final ShardClient shardClient;
+    private final PointMetrics pointMetrics;
+    private final ObjectMapper objectMapper;
+
+    public ShardRoutingFilter(ShardRouter shardRouter, ShardClient shardClient, PointMetrics pointMetrics, ObjectMapper objectMapper) {
+        this.shardRouter = shardRouter;
+        this.shardClient = shardClient;
+        this.pointMetrics = pointMetrics;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.equals(BULK_PATH)) {
+            reject(response, ErrorCode.SHARD_BULK_UNSUPPORTED);
+            return;
+        }
+        Matcher matcher = USER_PATH.matcher(path);
+        if (!matcher.matches()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long userId;
+        try {
+            userId = Long.parseLong(matcher.group(1));
+        } catch (NumberFormatException e) {
+            reject(response, ErrorCode.INVALID_USER_ID);
+            return;
+        }
+        int hops = hopsOf(request);
+        boolean handoffCheck = request.getHeader(ShardRouter.HANDOFF_CHECK_HEADER) != null;
+
+        ShardRouter.Route route;
+        Lock lock = shardRouter.readLock(userId);
+        lock.lock();
+        try {
+            route = shardRouter.route(userId, hops, handoffCheck);
+            if (route.action() == ShardRouter.Action.LOCAL) {
+                chain.doFilter(request, response);
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        switch (route.action()) {
+            case FORWARD -> forward(route.node(), new CachedBodyRequest(request), response, hops, false, chain, userId);
+            case CHECK_PREVIOUS -> forward(route.node(), new CachedBodyRequest(request), response, hops, true, chain, userId);
+            case NOT_OWNER -> {
+                response.setHeader(ShardRouter.NOT_OWNER_HEADER, "true");
+                reject(response, ErrorCode.SHARD_NOT_OWNER);
+            }
+            case HANDOFF_PENDING -> reject(response, ErrorCode.SHARD_HANDOFF_PENDING);
+            default -> reject(response, ErrorCode.SHARD_FORWARD_LOOP);
+        }
+    }
+
+    /**
+     * hand-off 확인에 이전 노드가 넘길 유저가 아니라고 답하면, 요청을 이 노드에서 처리한다.
+     */
+    private void forward(
+            ShardNode node,
+            CachedBodyRequest request,
+            HttpServletResponse response,
+            int hops,
+            boolean handoffCheck,
+            FilterChain chain,
+            long userId
+    ) throws IOException, ServletException {
+        HttpResponse<InputStream> forwarded;
+        try {
+            forwarded = shardClient.forward(node, request, request.body, hops, handoffCheck);
+        } catch (IOException e) {
+            log.warn("요청을 {} 에 전달하지 못했습니다. {} {}", node.id(), request.getMethod(), request.getRequestURI(), e);
+            reject(response, ErrorCode.SHARD_UNAVAILABLE);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reject(response, ErrorCode.SHARD_UNAVAILABLE);
+            return;
+        }
+        if (handoffCheck && forwarded.headers().firstValue(ShardRouter.NOT_OWNER_HEADER).isPresent()) {
+            forwarded.body().close();
+            Lock lock = shardRouter.readLock(userId);
+            lock.lock();
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                lock.unlock();
+            }
+            return;
+        }
+        response.setStatus(forwarded.statusCode());
+        for (Map.Entry<String, List<String>> header : forwarded.headers().map().entrySet()) {
+            if (header.getKey().startsWith(":") || ShardClient.SKIPPED_HEADERS.contains(header.getKey().toLowerCase())) {
+                continue;
+            }
+            header.getValue().forEach(value -> response.addHeader(header.getKey(), value));
+        }
+        forwarded.headers().firstValueAsLong("Content-Length").ifPresent(response::setContentLengthLong);
+        try (InputStream body = forwarded.body()) {
+            body.transferTo(response.getOutputStream());
+        }
+    }
+
+    private void reject(HttpServletResponse response, ErrorCode errorCode) throws IOException {
+        pointMetrics.recordRejection(errorCode);
+        HttpStatus httpStatus = HttpStatus.valueOf(errorCode.getStatus());
+        response.setStatus(httpStatus.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(String.valueOf(httpStatus), errorCode.getMessage()));
+    }
+
+    private static int hopsOf(HttpServletRequest request) {
+        String hops = request.getHeader(ShardRouter.HOPS_HEADER);
+        if (hops == null) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(hops));
+        } catch (NumberFormatException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    /**
+     * 다른 노드에 보낸 뒤에도 이 노드에서 다시 읽을 수 있도록 본문을 먼저 읽어 둔다.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+        }
+    }
+}
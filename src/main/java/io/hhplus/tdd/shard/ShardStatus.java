@@ -0,0 +1,15 @@
+package io.hhplus.tdd.shard;
+
+import java.util.List;
+
+/**
+ * - previousNodes : 합류 중이면 합류 전의 노드 목록, 아니면 빈 목록
+ * - handingOffCount : 새 담당 노드에 아직 넘기지 못한 유저 수
+ */
+public record ShardStatus(
+        String selfId,
+        List<ShardNode> nodes,
+        List<ShardNode> previousNodes,
+        int handingOffCount
+) {
+}
@@ -0,0 +1,15 @@
+package io.hhplus.tdd.shard;
+
+import io.hhplus.tdd.point.PointHistory;
+
+import java.util.List;
+
+/**
+ * 다른 노드로 넘기는 유저의 포인트와 내역. 내역의 id 는 받는 노드에서 새로 부여한다.
+ */
+public record ShardUserExport(
+        long userId,
+        long point,
+        List<PointHistory> histories
+) {
+}
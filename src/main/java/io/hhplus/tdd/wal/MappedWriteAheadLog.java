@@ -0,0 +1,656 @@
+package io.hhplus.tdd.wal;
+
+import io.hhplus.tdd.point.PointHistoryVisitor;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPointStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 메모리 매핑된 세그먼트 파일에 기록을 이어 붙이는 write-ahead log
+ * - append 는 매핑된 버퍼에 기록을 쓰고 바로 반환한다. 디스크 반영(fsync)은 syncer 스레드 하나가 맡는다.
+ * - syncer 는 직전 fsync 이후 쌓인 기록을 한 번에 반영한다(group fsync). 따라서 동시에 들어온 기록은 fsync 한 번을 함께 기다린다.
+ * - 세그먼트가 가득 차면 다음 세그먼트로 넘어간다. 다 쓴 세그먼트가 snapshotThreshold 개 이상 쌓이거나
+ *   snapshotInterval 마다 {@link WalSnapshot} 을 만들고, 반영한 세그먼트는 archive 디렉터리로 옮긴다.
+ *   스냅샷은 다 쓴 세그먼트만 읽어 만들므로 기록을 멈추지 않는다.
+ * - recover 는 스냅샷과 그 뒤의 세그먼트만 읽어 기록을 넘긴 뒤 새 세그먼트를 열어 기록을 받기 시작한다.
+ *   따라서 시작 시간은 전체 내역 수가 아니라 유저 수와 마지막 스냅샷 이후의 기록 수에 비례한다.
+ *   스냅샷에 반영된 포인트 내역은 archive 디렉터리의 세그먼트에서 replayArchivedHistories 로 따로 다시 읽는다.
+ *   마지막 세그먼트 끝의 깨진 기록(쓰는 도중 종료)은 잘라내고, 그 외의 세그먼트가 깨져 있으면 시작하지 않는다.
+ */
+public class MappedWriteAheadLog implements WriteAheadLog, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedWriteAheadLog.class);
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final String ARCHIVE_DIRECTORY = "archive";
+
+    private final Path directory;
+    private final Path archiveDirectory;
+    private final int segmentSize;
+    private final int snapshotThreshold;
+    private final long snapshotIntervalMillis;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Condition appended = appendLock.newCondition();
+    private final ReentrantLock durableLock = new ReentrantLock();
+    private final Condition durable = durableLock.newCondition();
+    private final ReentrantLock sealedLock = new ReentrantLock();
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+
+    private final byte[] payload = new byte[WalCodec.MAX_PAYLOAD_SIZE];
+    private final CRC32C crc32c = new CRC32C();
+    private final List<WalSegment> sealed = new ArrayList<>();
+    private final ScheduledExecutorService snapshotter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "wal-snapshotter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean snapshotting = new AtomicBoolean();
+
+    private volatile WalSnapshot snapshot;
+    private volatile WalSnapshot recoveredSnapshot;
+    private ActiveSegment active;
+    private long requestedBytes;
+    private volatile long appendedBytes;
+    private volatile long durableBytes;
+    private volatile RuntimeException failure;
+    private volatile boolean running;
+    private Thread syncer;
+
+    public MappedWriteAheadLog(WalProperties properties) {
+        this.directory = properties.directory();
+        this.archiveDirectory = directory.resolve(ARCHIVE_DIRECTORY);
+        this.segmentSize = Math.toIntExact(properties.segmentSize().toBytes());
+        this.snapshotThreshold = properties.snapshotThreshold();
+        this.snapshotIntervalMillis = properties.snapshotInterval().toMillis();
+        if (segmentSize < WalSegment.HEADER_SIZE + WalCodec.RECORD_HEADER_SIZE + WalCodec.MAX_PAYLOAD_SIZE) {
+            throw new IllegalArgumentException("세그먼트 크기가 너무 작습니다. segmentSize=" + segmentSize);
+        }
+    }
+
+    /**
+     * 남아 있는 기록을 순서대로 handler 에 넘긴 뒤 새 세그먼트를 열어 기록을 받기 시작한다.
+     * 스냅샷이 있으면 스냅샷의 유저 포인트를 유저별 기록 하나씩 먼저 넘기고, 스냅샷 이후의 세그먼트만 읽는다.
+     *
+     * @return 스냅샷에 반영되어 다시 읽지 않은 포인트 내역 수. handler 가 받는 포인트 내역의 id 는 이 값 다음부터 이어진다.
+     */
+    public long recover(Consumer<WalRecord> handler) {
+        WalSnapshot recovered;
+        try {
+            Files.createDirectories(directory);
+            deleteTemporaryFiles();
+            recovered = openSnapshot();
+            List<WalSegment> segments = openSegments();
+            long recordCount = 0;
+            long lastSequence = 0;
+            if (recovered != null) {
+                lastSequence = recovered.sequence;
+                recovered.replay(handler);
+                recordCount += recovered.userCount;
+                // 스냅샷을 만든 뒤 세그먼트를 옮기기 전에 종료되었으면 여기서 마저 옮긴다.
+                while (!segments.isEmpty() && segments.get(0).sequence <= recovered.sequence) {
+                    archive(segments.remove(0));
+                }
+            }
+            for (int i = 0; i < segments.size(); i++) {
+                WalSegment segment = segments.get(i);
+                long[] count = {0};
+                long validLength = segment.replay(record -> {
+                    handler.accept(record);
+                    count[0]++;
+                });
+                recordCount += count[0];
+                if (segment.isTornAfter(validLength)) {
+                    if (i < segments.size() - 1) {
+                        throw new IllegalStateException("깨진 세그먼트가 있습니다. " + segment.path);
+                    }
+                    log.warn("마지막 세그먼트 끝의 깨진 기록을 잘라냅니다. {} at {}", segment.path, validLength);
+                    segment.truncate(validLength);
+                }
+            }
+
+            sealedLock.lock();
+            try {
+                sealed.addAll(segments);
+            } finally {
+                sealedLock.unlock();
+            }
+            if (!segments.isEmpty()) {
+                lastSequence = segments.get(segments.size() - 1).sequence;
+            }
+            snapshot = recovered;
+            recoveredSnapshot = recovered;
+            long nextSequence = lastSequence + 1;
+            appendLock.lock();
+            try {
+                active = ActiveSegment.create(directory, nextSequence, segmentSize);
+            } finally {
+                appendLock.unlock();
+            }
+            forceDirectory();
+            log.info("write-ahead log 를 복구했습니다. snapshot={}, segments={}, records={}",
+                    recovered == null ? "-" : recovered.path.getFileName(), segments.size(), recordCount);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        running = true;
+        syncer = new Thread(this::syncLoop, "wal-syncer");
+        syncer.setDaemon(true);
+        syncer.start();
+        if (snapshotIntervalMillis > 0) {
+            snapshotter.scheduleWithFixedDelay(
+                    this::snapshotPeriodically, snapshotIntervalMillis, snapshotIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+        snapshotIfNeeded(snapshotThreshold);
+        return recovered == null ? 0 : recovered.historyCount;
+    }
+
+    /**
+     * recover 때 읽은 스냅샷에 반영되어 archive 디렉터리로 옮긴 세그먼트의 포인트 내역을 기록 순서대로 visitor 에 넘긴다.
+     * 유저 포인트 기록은 넘기지 않으며, 내역 id 는 1 부터 기록 순서대로 붙인다. recover 뒤에 몇 번이든 다시 읽을 수 있다.
+     *
+     * @throws IllegalStateException archive 에 빠지거나 깨진 세그먼트가 있어 스냅샷에 반영된 내역을 모두 읽을 수 없는 경우.
+     *                               빠진 세그먼트는 읽기 전에 확인하지만, 깨진 세그먼트는 그 앞의 내역을 넘긴 뒤에 알 수 있다.
+     */
+    public void replayArchivedHistories(PointHistoryVisitor visitor) throws IOException {
+        WalSnapshot recovered = recoveredSnapshot;
+        if (recovered == null) {
+            return;
+        }
+        List<Path> paths = list(archiveDirectory).stream()
+                .filter(WalSegment::isSegment)
+                .filter(path -> WalSegment.sequenceOf(path) <= recovered.sequence)
+                .sorted((a, b) -> Long.compare(WalSegment.sequenceOf(a), WalSegment.sequenceOf(b)))
+                .toList();
+        for (int i = 0; i < paths.size(); i++) {
+            if (WalSegment.sequenceOf(paths.get(i)) != i + 1) {
+                throw new IllegalStateException("archive 에 빠진 세그먼트가 있습니다. sequence=" + (i + 1));
+            }
+        }
+        if (paths.size() != recovered.sequence) {
+            throw new IllegalStateException("archive 에 빠진 세그먼트가 있습니다. sequence=" + (paths.size() + 1));
+        }
+
+        long[] id = {0};
+        try {
+            for (Path path : paths) {
+                WalSegment segment = WalSegment.open(path);
+                if (segment == null) {
+                    throw new IllegalStateException("세그먼트 헤더가 잘못되었습니다. " + path);
+                }
+                long validLength = segment.replay(record -> {
+                    if (record.isBalance()) {
+                        return;
+                    }
+                    try {
+                        visitor.visit(++id[0], record.userId(), record.amount(), record.type(), record.updateMillis());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                if (segment.isTornAfter(validLength)) {
+                    throw new IllegalStateException("깨진 세그먼트가 있습니다. " + path);
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (id[0] != recovered.historyCount) {
+            throw new IllegalStateException(
+                    "archive 의 내역 수가 스냅샷과 다릅니다. expected=" + recovered.historyCount + ", actual=" + id[0]);
+        }
+    }
+
+    @Override
+    public void appendBalance(long userId, long point, long updateMillis) {
+        append(userId, point, null, updateMillis);
+    }
+
+    @Override
+    public void appendHistory(long userId, long amount, TransactionType type, long updateMillis) {
+        append(userId, amount, type, updateMillis);
+    }
+
+    /**
+     * 이 호출 전까지 append 된 모든 기록이 디스크에 반영될 때까지 기다린다.
+     */
+    @Override
+    public void awaitDurable() {
+        long target = appendedBytes;
+        if (durableBytes >= target) {
+            return;
+        }
+        durableLock.lock();
+        try {
+            while (durableBytes < target) {
+                if (failure != null) {
+                    throw failure;
+                }
+                if (!running) {
+                    throw new IllegalStateException("write-ahead log 가 닫혔습니다.");
+                }
+                durable.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("write-ahead log 반영 대기 중 인터럽트가 발생했습니다.", e);
+        } finally {
+            durableLock.unlock();
+        }
+    }
+
+    /**
+     * 지금까지 append 된 기록으로 스냅샷을 만든다. 보통은 snapshotInterval 마다 백그라운드에서 호출된다.
+     */
+    public void snapshot() throws IOException {
+        appendLock.lock();
+        try {
+            if (active == null) {
+                throw new IllegalStateException("write-ahead log 가 열려 있지 않습니다.");
+            }
+            if (active.position > WalSegment.HEADER_SIZE) {
+                rotate();
+            }
+        } finally {
+            appendLock.unlock();
+        }
+        writeSnapshot();
+    }
+
+    /**
+     * 다 쓴 세그먼트를 직전 스냅샷에 반영해 새 스냅샷을 만들고, 반영한 세그먼트는 archive 디렉터리로 옮긴다.
+     */
+    private void writeSnapshot() throws IOException {
+        snapshotLock.lock();
+        try {
+            writeSnapshotLocked();
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    private void writeSnapshotLocked() throws IOException {
+        List<WalSegment> targets;
+        sealedLock.lock();
+        try {
+            targets = List.copyOf(sealed);
+        } finally {
+            sealedLock.unlock();
+        }
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        WalSnapshot previous = snapshot;
+        UserPointStore balances = new UserPointStore();
+        long[] historyCount = {0};
+        if (previous != null) {
+            previous.replay(record -> balances.put(record.userId(), record.amount(), record.updateMillis()));
+            historyCount[0] = previous.historyCount;
+        }
+        for (WalSegment target : targets) {
+            target.replay(record -> {
+                if (record.isBalance()) {
+                    balances.put(record.userId(), record.amount(), record.updateMillis());
+                } else {
+                    historyCount[0]++;
+                }
+            });
+        }
+
+        long sequence = targets.get(targets.size() - 1).sequence;
+        Path path = WalSnapshot.path(directory, sequence);
+        Path temporary = directory.resolve(path.getFileName() + TEMPORARY_SUFFIX);
+        try (WalSnapshot.Writer writer = new WalSnapshot.Writer(temporary, sequence, historyCount[0])) {
+            balances.forEach((userId, point, updateMillis) -> {
+                try {
+                    writer.write(userId, point, updateMillis);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory();
+        snapshot = WalSnapshot.open(path);
+
+        for (WalSegment target : targets) {
+            archive(target);
+        }
+        if (previous != null) {
+            previous.delete();
+        }
+        sealedLock.lock();
+        try {
+            sealed.removeAll(targets);
+        } finally {
+            sealedLock.unlock();
+        }
+        log.info("세그먼트 {} 까지 스냅샷을 만들었습니다. users={}, histories={}", sequence, balances.size(), historyCount[0]);
+    }
+
+    public int sealedSegmentCount() {
+        sealedLock.lock();
+        try {
+            return sealed.size();
+        } finally {
+            sealedLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        appendLock.lock();
+        try {
+            appended.signalAll();
+        } finally {
+            appendLock.unlock();
+        }
+        if (syncer != null) {
+            try {
+                syncer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        snapshotter.shutdown();
+        try {
+            snapshotter.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        appendLock.lock();
+        try {
+            if (active != null) {
+                active.buffer.force(0, active.position);
+                active.close();
+                active = null;
+                markDurable(appendedBytes);
+            }
+        } finally {
+            appendLock.unlock();
+        }
+        signalDurable();
+    }
+
+    private void append(long userId, long amount, TransactionType type, long updateMillis) {
+        boolean rotated = false;
+        appendLock.lock();
+        try {
+            if (active == null) {
+                throw new IllegalStateException("write-ahead log 가 열려 있지 않습니다.");
+            }
+            int length = WalCodec.encode(payload, userId, amount, type, updateMillis);
+            int recordSize = WalCodec.RECORD_HEADER_SIZE + length;
+            if (active.position + recordSize > segmentSize) {
+                rotate();
+                rotated = true;
+            }
+            MappedByteBuffer buffer = active.buffer;
+            int position = active.position;
+            buffer.putInt(position + 1, WalCodec.crc(crc32c, payload, length));
+            buffer.put(position + WalCodec.RECORD_HEADER_SIZE, payload, 0, length);
+            buffer.put(position, (byte) length);
+            active.position += recordSize;
+            appendedBytes += recordSize;
+            appended.signal();
+        } finally {
+            appendLock.unlock();
+        }
+        if (rotated) {
+            snapshotIfNeeded(snapshotThreshold);
+        }
+    }
+
+    /**
+     * appendLock 을 잡은 상태에서 호출한다.
+     * 다 쓴 세그먼트는 여기서 바로 디스크에 반영하므로, 그때까지 append 된 기록은 모두 반영된 것으로 본다.
+     */
+    private void rotate() {
+        ActiveSegment previous = active;
+        previous.buffer.force(0, previous.position);
+        previous.close();
+        try {
+            active = ActiveSegment.create(directory, previous.sequence + 1, segmentSize);
+            forceDirectory();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        requestedBytes = appendedBytes;
+        markDurable(appendedBytes);
+
+        sealedLock.lock();
+        try {
+            sealed.add(WalSegment.sealed(previous.sequence, previous.path));
+        } finally {
+            sealedLock.unlock();
+        }
+    }
+
+    private void syncLoop() {
+        while (true) {
+            ActiveSegment segment;
+            int from;
+            int to;
+            long target;
+            appendLock.lock();
+            try {
+                while (running && requestedBytes == appendedBytes) {
+                    appended.await();
+                }
+                if (requestedBytes == appendedBytes) {
+                    return;
+                }
+                segment = active;
+                from = segment.syncedPosition;
+                to = segment.position;
+                target = appendedBytes;
+                segment.syncedPosition = to;
+                requestedBytes = target;
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                appendLock.unlock();
+            }
+            try {
+                if (to > from) {
+                    segment.buffer.force(from, to - from);
+                }
+            } catch (RuntimeException e) {
+                log.error("write-ahead log 를 디스크에 반영하지 못했습니다.", e);
+                failure = e;
+                signalDurable();
+                return;
+            }
+            markDurable(target);
+        }
+    }
+
+    private void markDurable(long target) {
+        durableLock.lock();
+        try {
+            if (target > durableBytes) {
+                durableBytes = target;
+            }
+            durable.signalAll();
+        } finally {
+            durableLock.unlock();
+        }
+    }
+
+    private void signalDurable() {
+        durableLock.lock();
+        try {
+            durable.signalAll();
+        } finally {
+            durableLock.unlock();
+        }
+    }
+
+    /**
+     * 기록이 뜸해 세그먼트가 차지 않아도 스냅샷이 오래되지 않게 한다.
+     */
+    private void snapshotPeriodically() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.error("스냅샷을 만들지 못했습니다.", e);
+        }
+    }
+
+    private void snapshotIfNeeded(int threshold) {
+        if (sealedSegmentCount() < threshold || !snapshotting.compareAndSet(false, true)) {
+            return;
+        }
+        snapshotter.execute(() -> {
+            try {
+                writeSnapshot();
+            } catch (IOException | RuntimeException e) {
+                log.error("스냅샷을 만들지 못했습니다.", e);
+            } finally {
+                snapshotting.set(false);
+            }
+        });
+    }
+
+    /**
+     * 스냅샷이나 세그먼트를 쓰던 도중 종료되어 남은 임시 파일을 지운다.
+     */
+    private void deleteTemporaryFiles() throws IOException {
+        for (Path path : list(directory)) {
+            if (path.getFileName().toString().endsWith(TEMPORARY_SUFFIX)) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * 가장 최근 스냅샷을 열고, 새 스냅샷을 만든 뒤 지우지 못한 이전 스냅샷은 지운다.
+     * 가장 최근 스냅샷이 깨져 있으면 그보다 앞선 기록은 이미 옮겨졌으므로 시작하지 않는다.
+     */
+    private WalSnapshot openSnapshot() throws IOException {
+        List<Path> paths = list(directory).stream()
+                .filter(WalSnapshot::isSnapshot)
+                .sorted((a, b) -> Long.compare(WalSnapshot.sequenceOf(b), WalSnapshot.sequenceOf(a)))
+                .toList();
+        if (paths.isEmpty()) {
+            return null;
+        }
+        WalSnapshot latest = WalSnapshot.open(paths.get(0));
+        if (latest == null) {
+            throw new IllegalStateException("스냅샷이 깨져 있습니다. " + paths.get(0));
+        }
+        for (Path path : paths.subList(1, paths.size())) {
+            Files.delete(path);
+        }
+        return latest;
+    }
+
+    private void archive(WalSegment segment) throws IOException {
+        Files.createDirectories(archiveDirectory);
+        Files.move(segment.path, archiveDirectory.resolve(segment.path.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static List<Path> list(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.toList();
+        }
+    }
+
+    /**
+     * 세그먼트를 sequence 순서로 연다. 헤더를 쓰기 전에 종료된 마지막 세그먼트는 지운다.
+     */
+    private List<WalSegment> openSegments() throws IOException {
+        List<Path> paths = list(directory);
+        List<Path> segmentPaths = paths.stream()
+                .filter(WalSegment::isSegment)
+                .sorted((a, b) -> Long.compare(WalSegment.sequenceOf(a), WalSegment.sequenceOf(b)))
+                .toList();
+
+        List<WalSegment> segments = new ArrayList<>();
+        for (int i = 0; i < segmentPaths.size(); i++) {
+            Path path = segmentPaths.get(i);
+            WalSegment segment = WalSegment.open(path);
+            if (segment == null) {
+                if (i < segmentPaths.size() - 1) {
+                    throw new IllegalStateException("세그먼트 헤더가 잘못되었습니다. " + path);
+                }
+                log.warn("헤더를 쓰기 전에 종료된 세그먼트를 지웁니다. {}", path);
+                Files.delete(path);
+                continue;
+            }
+            segments.add(segment);
+        }
+        return segments;
+    }
+
+    private void forceDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("디렉터리를 디스크에 반영하지 못했습니다. {}", directory, e);
+        }
+    }
+
+    private static final class ActiveSegment {
+        private final long sequence;
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int position = WalSegment.HEADER_SIZE;
+        private int syncedPosition = WalSegment.HEADER_SIZE;
+
+        private ActiveSegment(long sequence, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.sequence = sequence;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        private static ActiveSegment create(Path directory, long sequence, int size) throws IOException {
+            Path path = WalSegment.path(directory, sequence);
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            WalSegment.writeHeader(buffer, sequence);
+            buffer.force(0, WalSegment.HEADER_SIZE);
+            return new ActiveSegment(sequence, path, channel, buffer);
+        }
+
+        /**
+         * 채널을 닫아도 매핑된 버퍼는 유효하므로, syncer 가 아직 반영 중이어도 안전하다.
+         */
+        private void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("세그먼트를 닫지 못했습니다. {}", path, e);
+            }
+        }
+    }
+}
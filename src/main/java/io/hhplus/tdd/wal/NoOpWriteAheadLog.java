@@ -0,0 +1,23 @@
+package io.hhplus.tdd.wal;
+
+import io.hhplus.tdd.point.TransactionType;
+
+final class NoOpWriteAheadLog implements WriteAheadLog {
+
+    static final NoOpWriteAheadLog INSTANCE = new NoOpWriteAheadLog();
+
+    private NoOpWriteAheadLog() {
+    }
+
+    @Override
+    public void appendBalance(long userId, long point, long updateMillis) {
+    }
+
+    @Override
+    public void appendHistory(long userId, long amount, TransactionType type, long updateMillis) {
+    }
+
+    @Override
+    public void awaitDurable() {
+    }
+}
@@ -0,0 +1,97 @@
+package io.hhplus.tdd.wal;
+
+import io.hhplus.tdd.point.TransactionType;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+/**
+ * 기록 하나의 형식: [본문 길이 1byte][CRC32C 4byte][본문]
+ * 본문: [종류 1byte][userId varint][amount zigzag varint][updateMillis varint]
+ * - 종류는 0 이 유저 포인트, 1 부터는 {@link TransactionType} 순서 + 1 이다.
+ * - 본문 길이가 0 이면 기록의 끝이다. 세그먼트 파일은 0 으로 채워진 채로 만들어진다.
+ */
+final class WalCodec {
+
+    static final int RECORD_HEADER_SIZE = 5;
+    static final int MAX_PAYLOAD_SIZE = 1 + 10 + 10 + 10;
+
+    private static final byte BALANCE = 0;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private WalCodec() {
+    }
+
+    /**
+     * @return 본문 길이
+     */
+    static int encode(byte[] payload, long userId, long amount, TransactionType type, long updateMillis) {
+        int position = 0;
+        payload[position++] = type == null ? BALANCE : (byte) (type.ordinal() + 1);
+        position = putVarLong(payload, position, userId);
+        position = putVarLong(payload, position, (amount << 1) ^ (amount >> 63));
+        return putVarLong(payload, position, updateMillis);
+    }
+
+    static int crc(CRC32C crc32c, byte[] payload, int length) {
+        crc32c.reset();
+        crc32c.update(payload, 0, length);
+        return (int) crc32c.getValue();
+    }
+
+    /**
+     * buffer 의 현재 위치에서 기록 하나를 읽고 위치를 기록 다음으로 옮긴다.
+     * 기록의 끝이거나 잘리거나 CRC 가 맞지 않으면 null 을 반환하고 위치를 옮기지 않는다.
+     */
+    static WalRecord read(ByteBuffer buffer, CRC32C crc32c, byte[] payload) {
+        int start = buffer.position();
+        if (buffer.remaining() < RECORD_HEADER_SIZE) {
+            return null;
+        }
+        int length = buffer.get(start) & 0xFF;
+        if (length == 0 || length > MAX_PAYLOAD_SIZE || buffer.remaining() < RECORD_HEADER_SIZE + length) {
+            return null;
+        }
+        int expectedCrc = buffer.getInt(start + 1);
+        buffer.get(start + RECORD_HEADER_SIZE, payload, 0, length);
+        if (crc(crc32c, payload, length) != expectedCrc) {
+            return null;
+        }
+        buffer.position(start + RECORD_HEADER_SIZE + length);
+        return decode(payload, length);
+    }
+
+    private static WalRecord decode(byte[] payload, int length) {
+        int kind = payload[0];
+        if (kind < 0 || kind > TYPES.length) {
+            return null;
+        }
+        int[] cursor = {1};
+        long userId = getVarLong(payload, cursor, length);
+        long zigzag = getVarLong(payload, cursor, length);
+        long updateMillis = getVarLong(payload, cursor, length);
+        TransactionType type = kind == BALANCE ? null : TYPES[kind - 1];
+        return new WalRecord(userId, (zigzag >>> 1) ^ -(zigzag & 1), type, updateMillis);
+    }
+
+    private static int putVarLong(byte[] bytes, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            bytes[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[position++] = (byte) value;
+        return position;
+    }
+
+    private static long getVarLong(byte[] bytes, int[] cursor, int length) {
+        long value = 0;
+        for (int shift = 0; shift < 64 && cursor[0] < length; shift += 7) {
+            byte b = bytes[cursor[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("잘못된 varint 입니다.");
+    }
+}
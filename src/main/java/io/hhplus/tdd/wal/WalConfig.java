@@ -0,0 +1,36 @@
+package io.hhplus.tdd.wal;
+
+import io.hhplus.tdd.point.PointHistoryRepository;
+import io.hhplus.tdd.point.UserPointRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * point.wal.enabled=true 이면 포인트 변경을 세그먼트 파일에 기록하고, 시작할 때 기록을 읽어 테이블을 복구한다.
+ */
+@Configuration
+public class WalConfig {
+
+    @Bean(destroyMethod = "")
+    @ConditionalOnProperty(prefix = "point.wal", name = "enabled", havingValue = "true")
+    public MappedWriteAheadLog mappedWriteAheadLog(WalProperties properties) {
+        return new MappedWriteAheadLog(properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "point.wal", name = "enabled", havingValue = "true")
+    public WalRecovery walRecovery(
+            MappedWriteAheadLog mappedWriteAheadLog,
+            UserPointRepository userPointRepository,
+            PointHistoryRepository pointHistoryRepository
+    ) {
+        return new WalRecovery(mappedWriteAheadLog, userPointRepository, pointHistoryRepository);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "point.wal", name = "enabled", havingValue = "false", matchIfMissing = true)
+    public WriteAheadLog noOpWriteAheadLog() {
+        return WriteAheadLog.noop();
+    }
+}
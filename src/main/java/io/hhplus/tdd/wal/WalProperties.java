@@ -0,0 +1,26 @@
+package io.hhplus.tdd.wal;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * write-ahead log 설정
+ * - enabled : false 이면 로그를 남기지 않고, 재시작하면 포인트가 사라진다.
+ * - directory : 세그먼트 파일을 두는 디렉터리
+ * - segmentSize : 세그먼트 파일 하나의 크기, 가득 차면 다음 세그먼트로 넘어간다.
+ * - snapshotThreshold : 다 쓴 세그먼트가 이 개수 이상 쌓이면 스냅샷을 만든다.
+ * - snapshotInterval : 세그먼트가 차지 않아도 이 간격마다 스냅샷을 만든다. 0 이면 세그먼트가 찰 때만 만든다.
+ */
+@ConfigurationProperties(prefix = "point.wal")
+public record WalProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/wal") Path directory,
+        @DefaultValue("64MB") DataSize segmentSize,
+        @DefaultValue("4") int snapshotThreshold,
+        @DefaultValue("10m") Duration snapshotInterval
+) {
+}
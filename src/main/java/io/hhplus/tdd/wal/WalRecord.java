@@ -0,0 +1,20 @@
+package io.hhplus.tdd.wal;
+
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 로그에 기록된 변경 하나
+ * - type 이 null 이면 유저 포인트 저장이며, amount 는 저장된 포인트이다.
+ * - type 이 있으면 포인트 내역 저장이며, amount 는 내역의 금액이다. 내역 id 는 로그에 기록된 순서로 정해진다.
+ */
+public record WalRecord(
+        long userId,
+        long amount,
+        TransactionType type,
+        long updateMillis
+) {
+
+    public boolean isBalance() {
+        return type == null;
+    }
+}
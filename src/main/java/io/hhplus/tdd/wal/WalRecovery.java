@@ -0,0 +1,78 @@
+package io.hhplus.tdd.wal;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryRepository;
+import io.hhplus.tdd.point.UserPointRepository;
+import io.hhplus.tdd.point.UserPointStore;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 웹 서버가 요청을 받기 전에 write-ahead log 를 읽어 유저 포인트와 포인트 내역을 복구하고, 종료할 때 로그를 닫는다.
+ * - 유저 포인트는 유저별 마지막 기록으로, 포인트 내역은 기록된 순서대로 복구한다.
+ * - 스냅샷에 반영된 포인트 내역은 시작할 때 복구하지 않고, 그 뒤의 내역만 이어지는 id 로 복구한다.
+ *   스냅샷에 반영된 내역은 {@link PointHistoryRepository} 가 archive 의 세그먼트에서 백그라운드로 다시 읽는다.
+ * - 테이블에 다시 쓰는 일은 각 저장소가 백그라운드에서 하며, 그동안의 조회는 복구된 값을 반환한다.
+ */
+public class WalRecovery implements SmartLifecycle {
+
+    /**
+     * 웹 서버(DEFAULT_PHASE - 2048)와 포인트 내역 writer({@link PointHistoryRepository#PHASE})보다 먼저 시작하고 나중에 종료한다.
+     */
+    static final int PHASE = 0;
+
+    private final MappedWriteAheadLog writeAheadLog;
+    private final UserPointRepository userPointRepository;
+    private final PointHistoryRepository pointHistoryRepository;
+
+    private volatile boolean running;
+
+    public WalRecovery(
+            MappedWriteAheadLog writeAheadLog,
+            UserPointRepository userPointRepository,
+            PointHistoryRepository pointHistoryRepository
+    ) {
+        this.writeAheadLog = writeAheadLog;
+        this.userPointRepository = userPointRepository;
+        this.pointHistoryRepository = pointHistoryRepository;
+    }
+
+    @Override
+    public void start() {
+        UserPointStore userPoints = new UserPointStore();
+        List<WalRecord> historyRecords = new ArrayList<>();
+        long skippedCount = writeAheadLog.recover(record -> {
+            if (record.isBalance()) {
+                userPoints.put(record.userId(), record.amount(), record.updateMillis());
+            } else {
+                historyRecords.add(record);
+            }
+        });
+        List<PointHistory> histories = new ArrayList<>(historyRecords.size());
+        for (WalRecord record : historyRecords) {
+            histories.add(new PointHistory(skippedCount + histories.size() + 1,
+                    record.userId(), record.amount(), record.type(), record.updateMillis()));
+        }
+        userPointRepository.restore(userPoints);
+        pointHistoryRepository.restore(skippedCount, writeAheadLog::replayArchivedHistories, histories);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        writeAheadLog.close();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
@@ -0,0 +1,115 @@
+package io.hhplus.tdd.wal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * 세그먼트 파일 하나
+ * - 파일 이름은 wal-{sequence}.log 이며, sequence 순서가 기록 순서이다.
+ * - 파일 헤더: [magic 4byte][version 4byte][sequence 8byte]
+ *   헤더의 sequence 가 파일 이름과 다르면(다른 이름으로 복사되거나 옮겨진 파일) 잘못된 세그먼트로 본다.
+ */
+final class WalSegment {
+
+    static final int HEADER_SIZE = 16;
+
+    private static final int MAGIC = 0x5057414C;
+    private static final int VERSION = 1;
+    private static final String PREFIX = "wal-";
+    private static final String SUFFIX = ".log";
+
+    final long sequence;
+    final Path path;
+
+    private WalSegment(long sequence, Path path) {
+        this.sequence = sequence;
+        this.path = path;
+    }
+
+    static Path path(Path directory, long sequence) {
+        return directory.resolve(String.format("%s%020d%s", PREFIX, sequence, SUFFIX));
+    }
+
+    static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    static void writeHeader(ByteBuffer buffer, long sequence) {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(8, sequence);
+    }
+
+    /**
+     * 헤더가 없거나 잘못되었으면 null 을 반환한다.
+     */
+    static WalSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+            }
+            long sequence = sequenceOf(path);
+            if (header.hasRemaining() || header.getInt(0) != MAGIC || header.getInt(4) != VERSION || header.getLong(8) != sequence) {
+                return null;
+            }
+            return new WalSegment(sequence, path);
+        }
+    }
+
+    static WalSegment sealed(long sequence, Path path) {
+        return new WalSegment(sequence, path);
+    }
+
+    /**
+     * 기록을 순서대로 읽는다.
+     *
+     * @return 끝까지 온전하게 읽은 바이트 수. 파일 크기보다 작고 그 뒤가 0 이 아니면 중간에 잘리거나 깨진 기록이 있다.
+     */
+    long replay(Consumer<WalRecord> handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.position(HEADER_SIZE);
+            CRC32C crc32c = new CRC32C();
+            byte[] payload = new byte[WalCodec.MAX_PAYLOAD_SIZE];
+            WalRecord record;
+            while ((record = WalCodec.read(buffer, crc32c, payload)) != null) {
+                handler.accept(record);
+            }
+            return buffer.position();
+        }
+    }
+
+    /**
+     * validLength 뒤에 0 이 아닌 바이트가 있으면 깨진 기록이 있는 것으로 본다.
+     */
+    boolean isTornAfter(long validLength) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            for (int i = (int) validLength; i < buffer.limit(); i++) {
+                if (buffer.get(i) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    void truncate(long length) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(length);
+            channel.force(true);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package io.hhplus.tdd.wal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * 유저 포인트 스냅샷 파일 하나
+ * - 파일 이름은 snapshot-{sequence}.snap 이며, sequence 세그먼트까지의 기록을 모두 반영한 상태이다.
+ * - 파일 형식: [magic 4byte][version 4byte][sequence 8byte][historyCount 8byte][userCount 8byte]
+ *   [userId varint][point zigzag varint][updateMillis varint] x userCount [CRC32C 4byte]
+ *   CRC32C 는 본문부터 계산하고 헤더를 이어서 계산한다. 헤더는 본문을 다 쓴 뒤에 채우기 때문이다.
+ * - historyCount 는 스냅샷에 반영된 포인트 내역 수이다. 복구한 내역의 id 는 그다음부터 이어진다.
+ * - 임시 파일에 모두 쓰고 디스크에 반영한 뒤 이름을 바꾸므로, 이름이 붙은 스냅샷이 깨져 있으면 디스크 손상이다.
+ */
+final class WalSnapshot {
+
+    private static final int MAGIC = 0x50534E50;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int CRC_SIZE = 4;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".snap";
+
+    final long sequence;
+    final long historyCount;
+    final long userCount;
+    final Path path;
+
+    private WalSnapshot(long sequence, long historyCount, long userCount, Path path) {
+        this.sequence = sequence;
+        this.historyCount = historyCount;
+        this.userCount = userCount;
+        this.path = path;
+    }
+
+    static Path path(Path directory, long sequence) {
+        return directory.resolve(String.format("%s%020d%s", PREFIX, sequence, SUFFIX));
+    }
+
+    static boolean isSnapshot(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    /**
+     * 헤더나 CRC 가 맞지 않으면 null 을 반환한다.
+     */
+    static WalSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE + CRC_SIZE) {
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                return null;
+            }
+            CRC32C crc32c = new CRC32C();
+            crc32c.update(buffer.slice(HEADER_SIZE, (int) size - CRC_SIZE - HEADER_SIZE));
+            crc32c.update(buffer.slice(0, HEADER_SIZE));
+            if ((int) crc32c.getValue() != buffer.getInt((int) size - CRC_SIZE)) {
+                return null;
+            }
+            return new WalSnapshot(buffer.getLong(8), buffer.getLong(16), buffer.getLong(24), path);
+        }
+    }
+
+    /**
+     * 유저 포인트를 유저별 기록 하나씩 handler 에 넘긴다.
+     */
+    void replay(Consumer<WalRecord> handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.position(HEADER_SIZE);
+            for (long i = 0; i < userCount; i++) {
+                long userId = getVarLong(buffer);
+                long zigzag = getVarLong(buffer);
+                long updateMillis = getVarLong(buffer);
+                handler.accept(new WalRecord(userId, (zigzag >>> 1) ^ -(zigzag & 1), null, updateMillis));
+            }
+        }
+    }
+
+    void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    private static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("잘못된 varint 입니다.");
+    }
+
+    /**
+     * 스냅샷을 임시 파일에 순서대로 쓴다. 헤더와 CRC 는 close 할 때 채운다.
+     */
+    static final class Writer implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        private final CRC32C crc32c = new CRC32C();
+        private final long sequence;
+        private final long historyCount;
+        private long userCount;
+
+        Writer(Path temporary, long sequence, long historyCount) throws IOException {
+            this.channel = FileChannel.open(temporary,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            this.sequence = sequence;
+            this.historyCount = historyCount;
+            channel.position(HEADER_SIZE);
+        }
+
+        void write(long userId, long point, long updateMillis) throws IOException {
+            if (buffer.remaining() < 30) {
+                drain();
+            }
+            putVarLong(userId);
+            putVarLong((point << 1) ^ (point >> 63));
+            putVarLong(updateMillis);
+            userCount++;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                drain();
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                        .putInt(MAGIC).putInt(VERSION).putLong(sequence).putLong(historyCount).putLong(userCount)
+                        .flip();
+                long bodyEnd = channel.position();
+                writeFully(header.duplicate(), 0);
+                crc32c.update(header);
+                writeFully(ByteBuffer.allocate(CRC_SIZE).putInt(0, (int) crc32c.getValue()), bodyEnd);
+                channel.force(true);
+            } finally {
+                channel.close();
+            }
+        }
+
+        private void putVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            crc32c.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        private void writeFully(ByteBuffer source, long position) throws IOException {
+            while (source.hasRemaining()) {
+                position += channel.write(source, position);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package io.hhplus.tdd.wal;
+
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 포인트와 포인트 내역의 변경을 테이블과 별도로 기록하는 로그
+ * - append 는 기록을 로그 버퍼에 쓰고 바로 반환한다.
+ * - awaitDurable 은 호출 전까지 append 된 기록이 디스크에 반영될 때까지 기다린다.
+ */
+public interface WriteAheadLog {
+
+    void appendBalance(long userId, long point, long updateMillis);
+
+    void appendHistory(long userId, long amount, TransactionType type, long updateMillis);
+
+    void awaitDurable();
+
+    /**
+     * 아무것도 기록하지 않는 로그. point.wal.enabled=false 이거나 스프링 컨텍스트 없이 조립할 때 사용한다.
+     */
+    static WriteAheadLog noop() {
+        return NoOpWriteAheadLog.INSTANCE;
+    }
+}
@@ -0,0 +1,281 @@
+package io.hhplus.tdd;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.admission.AdaptiveConcurrencyLimit;
+import io.hhplus.tdd.admission.AdmissionControl;
+import io.hhplus.tdd.admission.AdmissionControlFilter;
+import io.hhplus.tdd.admission.AdmissionProperties;
+import io.hhplus.tdd.admission.TokenBucket;
+import io.hhplus.tdd.point.PointMetrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdmissionControlTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Nested
+    @DisplayName("토큰 버킷")
+    class Bucket {
+        /**
+         * [유량 제어]
+         * burst 만큼 연달아 받은 뒤 거절하고, 토큰 하나가 채워질 때까지 남은 시간을 알려주며, 그 시간이 지나면 다시 받는지 검증한다.
+         */
+        @Test
+        void burst_만큼_받은_뒤_거절하고_채워지면_다시_받는다() {
+            // given
+            TokenBucket bucket = new TokenBucket(10, 3, 0);
+
+            // when
+            long first = bucket.tryAcquire(0);
+            long second = bucket.tryAcquire(0);
+            long third = bucket.tryAcquire(0);
+            long rejected = bucket.tryAcquire(0);
+            long refilled = bucket.tryAcquire(SECOND / 10);
+
+            // then
+            assertThat(List.of(first, second, third)).containsOnly(0L);
+            assertThat(rejected).isEqualTo(SECOND / 10);
+            assertThat(refilled).isZero();
+            assertThat(bucket.isFull(SECOND / 10)).isFalse();
+            assertThat(bucket.isFull(SECOND)).isTrue();
+        }
+
+        /**
+         * [동시성 동작]
+         * 여러 스레드가 같은 시각에 동시에 토큰을 얻어도 burst 개를 넘게 받지 않는지 검증한다.
+         */
+        @Test
+        void 동시에_요청해도_burst_개를_넘게_받지_않는다() throws Exception {
+            // given
+            TokenBucket bucket = new TokenBucket(1, 1_000, 0);
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> results = new ArrayList<>();
+
+            // when
+            for (int thread = 0; thread < 8; thread++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int acquired = 0;
+                    for (int i = 0; i < 10_000; i++) {
+                        if (bucket.tryAcquire(0) == 0) {
+                            acquired++;
+                        }
+                    }
+                    return acquired;
+                }));
+            }
+            start.countDown();
+
+            // then
+            int total = 0;
+            for (Future<Integer> result : results) {
+                total += result.get(30, TimeUnit.SECONDS);
+            }
+            executor.shutdown();
+            assertThat(total).isEqualTo(1_000);
+        }
+    }
+
+    @Nested
+    @DisplayName("동시 처리 상한")
+    class ConcurrencyLimit {
+        /**
+         * [유량 제어]
+         * 상한만큼 처리 중이면 거절하고, 하나가 끝나면 다시 받는지 검증한다.
+         */
+        @Test
+        void 상한만큼_처리_중이면_거절한다() {
+            // given
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, SECOND, 0);
+
+            // when
+            boolean first = limit.tryAcquire();
+            boolean second = limit.tryAcquire();
+            boolean rejected = limit.tryAcquire();
+            limit.release(10, 1);
+            boolean afterRelease = limit.tryAcquire();
+
+            // then
+            assertThat(List.of(first, second, afterRelease)).containsOnly(true);
+            assertThat(rejected).isFalse();
+            assertThat(limit.inFlight()).isEqualTo(2);
+        }
+
+        /**
+         * [유량 제어]
+         * 상한까지 채워 처리하는 동안 응답 시간이 그대로면 상한을 늘리고, 응답 시간이 늘면 줄이는지 검증한다.
+         */
+        @Test
+        void 응답_시간이_그대로면_상한을_늘리고_늘면_줄인다() {
+            // given
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 100, 100, 0);
+            long now = 0;
+
+            // when
+            for (int window = 0; window < 10; window++) {
+                now = runWindow(limit, now, limit.limit(), 10);
+            }
+            int grown = limit.limit();
+            for (int window = 0; window < 20; window++) {
+                now = runWindow(limit, now, limit.limit(), 100);
+            }
+
+            // then
+            assertThat(grown).isGreaterThan(20);
+            assertThat(limit.limit()).isLessThan(grown / 2);
+        }
+
+        /**
+         * [유량 제어]
+         * 상한의 절반도 쓰지 않는 동안에는 응답 시간이 좋아도 상한을 늘리지 않는지 검증한다.
+         */
+        @Test
+        void 상한을_다_쓰지_않으면_늘리지_않는다() {
+            // given
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 100, 100, 0);
+            long now = 0;
+
+            // when
+            for (int window = 0; window < 10; window++) {
+                now = runWindow(limit, now, 2, 10);
+            }
+
+            // then
+            assertThat(limit.limit()).isEqualTo(20);
+        }
+
+        /**
+         * requests 개를 동시에 받은 뒤 간격이 끝나는 시각에 모두 latency 로 마친다.
+         */
+        private long runWindow(AdaptiveConcurrencyLimit limit, long now, int requests, long latency) {
+            for (int i = 0; i < requests; i++) {
+                assertThat(limit.tryAcquire()).isTrue();
+            }
+            long end = now + 100;
+            for (int i = 0; i < requests; i++) {
+                limit.release(latency, end);
+            }
+            return end;
+        }
+    }
+
+    @Nested
+    @DisplayName("AdmissionControlFilter")
+    class Filter {
+
+        AdmissionControl admissionControl =
+                new AdmissionControl(new AdmissionProperties(true, 0.001, 2, 1_000, 1_000, 10, 1, 10, Duration.ofMillis(100)));
+
+        AdmissionControlFilter filter = new AdmissionControlFilter(admissionControl, PointMetrics.noop(), new ObjectMapper());
+
+        /**
+         * [유량 제어]
+         * 한 유저가 burst 를 넘게 요청하면 429 와 Retry-After 로 거절하고, 다른 유저와 이벤트 구독 요청은 그대로 처리하는지 검증한다.
+         */
+        @Test
+        void 유저가_burst_를_넘게_요청하면_429_로_거절한다() throws Exception {
+            // when
+            MockHttpServletResponse first = send("/points/1/charge");
+            MockHttpServletResponse second = send("/points/1");
+            MockHttpServletResponse rejected = send("/points/1/histories");
+            MockHttpServletResponse otherUser = send("/points/2/charge");
+            MockHttpServletResponse events = send("/points/events");
+
+            // then
+            assertThat(List.of(first.getStatus(), second.getStatus(), otherUser.getStatus(), events.getStatus())).containsOnly(200);
+            assertThat(rejected.getStatus()).isEqualTo(429);
+            assertThat(Long.parseLong(rejected.getHeader(HttpHeaders.RETRY_AFTER))).isPositive();
+            assertThat(rejected.getContentAsString())
+                    .contains("429 TOO_MANY_REQUESTS")
+                    .contains(ErrorCode.USER_RATE_LIMITED.getMessage());
+        }
+
+        /**
+         * [유량 제어]
+         * 음수와 19자리 유저 id 도 같은 유저 버킷으로 세고, long 범위를 넘는 유저 id 는 그대로 넘기지 않고 400 으로 거절하는지 검증한다.
+         */
+        @Test
+        void 음수와_큰_유저_id_도_세고_범위를_넘으면_400_으로_거절한다() throws Exception {
+            // when
+            MockHttpServletResponse negative = send("/points/-5/charge");
+            MockHttpServletResponse negativeAgain = send("/points/-5");
+            MockHttpServletResponse negativeRejected = send("/points/-5");
+            MockHttpServletResponse max = send("/points/" + Long.MAX_VALUE);
+            MockHttpServletResponse overflow = send("/points/9223372036854775808/charge");
+
+            // then
+            assertThat(List.of(negative.getStatus(), negativeAgain.getStatus(), max.getStatus())).containsOnly(200);
+            assertThat(negativeRejected.getStatus()).isEqualTo(429);
+            assertThat(overflow.getStatus()).isEqualTo(400);
+            assertThat(overflow.getContentAsString()).contains(ErrorCode.INVALID_USER_ID.getMessage());
+        }
+
+        /**
+         * [유량 제어]
+         * 비동기로 이어지는 요청(스트리밍 응답)은 필터를 빠져나간 뒤에도 응답을 마칠 때까지 처리 중인 요청으로 세는지 검증한다.
+         */
+        @Test
+        void 비동기_요청은_응답을_마칠_때까지_처리_중으로_센다() throws Exception {
+            // given
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/points/1/histories/export");
+            request.setAsyncSupported(true);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            // when
+            filter.doFilter(request, response, (req, res) -> req.startAsync());
+            int inFlightWhileStreaming = admissionControl.inFlight();
+            request.getAsyncContext().complete();
+
+            // then
+            assertThat(inFlightWhileStreaming).isEqualTo(1);
+            assertThat(admissionControl.inFlight()).isZero();
+        }
+
+        /**
+         * [메모리]
+         * 한동안 요청이 없어 가득 찬 유저 버킷은 정리 작업이 지우고, 토큰을 쓴 버킷은 남기는지 검증한다.
+         */
+        @Test
+        void 가득_찬_유저_버킷만_지운다() throws Exception {
+            // given
+            AdmissionControl control =
+                    new AdmissionControl(new AdmissionProperties(true, 10, 1, 1_000, 1_000, 10, 1, 10, Duration.ofMillis(100)));
+            assertThat(control.tryAdmit(1L).admitted()).isTrue();
+            control.release(System.nanoTime());
+            TimeUnit.MILLISECONDS.sleep(150);
+            assertThat(control.tryAdmit(2L).admitted()).isTrue();
+            control.release(System.nanoTime());
+
+            // when
+            control.sweepIdleBuckets();
+
+            // then
+            assertThat(control.userBucketCount()).isEqualTo(1);
+        }
+
+        private MockHttpServletResponse send(String path) throws Exception {
+            MockHttpServletRequest request = new MockHttpServletRequest("PATCH", path);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            return response;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.shard.ConsistentHashRing;
+import io.hhplus.tdd.shard.ShardNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConsistentHashRingTest {
+
+    private static final int USER_COUNT = 30_000;
+
+    /**
+     * [샤딩]
+     * 가상 노드를 두면 연속된 유저 id 도 노드마다 고르게 나뉘는지 검증한다.
+     */
+    @Test
+    void 유저가_노드마다_고르게_나뉜다() {
+        // given
+        ConsistentHashRing ring = new ConsistentHashRing(nodes("a", "b", "c"), 128);
+
+        // when
+        Map<String, Integer> counts = new HashMap<>();
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            counts.merge(ring.ownerOf(userId).id(), 1, Integer::sum);
+        }
+
+        // then
+        assertThat(counts).hasSize(3);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(USER_COUNT / 4, USER_COUNT / 2));
+    }
+
+    /**
+     * [샤딩]
+     * 노드를 추가하면 새 노드로 옮겨지는 유저만 담당 노드가 바뀌고, 그 수는 새 노드의 몫 정도인지 검증한다.
+     */
+    @Test
+    void 노드를_추가하면_새_노드의_몫만큼만_유저가_옮겨진다() {
+        // given
+        ConsistentHashRing before = new ConsistentHashRing(nodes("a", "b", "c"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(nodes("a", "b", "c", "d"), 128);
+
+        // when
+        int moved = 0;
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            String previousOwner = before.ownerOf(userId).id();
+            String owner = after.ownerOf(userId).id();
+            if (!previousOwner.equals(owner)) {
+                assertThat(owner).isEqualTo("d");
+                moved++;
+            }
+        }
+
+        // then
+        assertThat(moved).isBetween(USER_COUNT / 8, USER_COUNT * 3 / 8);
+    }
+
+    private static List<ShardNode> nodes(String... ids) {
+        return Arrays.stream(ids).map(id -> new ShardNode(id, "http://" + id)).toList();
+    }
+}
@@ -0,0 +1,384 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.wal.MappedWriteAheadLog;
+import io.hhplus.tdd.wal.WalProperties;
+import io.hhplus.tdd.wal.WalRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MappedWriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Nested
+    @DisplayName("복구")
+    class Recover {
+        /**
+         * [내구성]
+         * 닫았다가 다시 열면 기록한 순서 그대로 읽히는지 검증한다.
+         */
+        @Test
+        void 다시_열면_기록한_순서대로_읽는다() {
+            // given
+            MappedWriteAheadLog writeAheadLog = open(DataSize.ofMegabytes(1), 100);
+            writeAheadLog.appendHistory(1L, 1000L, TransactionType.CHARGE, 10L);
+            writeAheadLog.appendBalance(1L, 1000L, 11L);
+            writeAheadLog.appendHistory(1L, -300L, TransactionType.USE, 12L);
+            writeAheadLog.appendBalance(1L, 700L, 13L);
+            writeAheadLog.awaitDurable();
+            writeAheadLog.close();
+
+            // when
+            List<WalRecord> records = recover(DataSize.ofMegabytes(1), 100).records();
+
+            // then
+            assertThat(records).containsExactly(
+                    new WalRecord(1L, 1000L, TransactionType.CHARGE, 10L),
+                    new WalRecord(1L, 1000L, null, 11L),
+                    new WalRecord(1L, -300L, TransactionType.USE, 12L),
+                    new WalRecord(1L, 700L, null, 13L)
+            );
+        }
+
+        /**
+         * [내구성]
+         * 마지막 세그먼트 끝에 쓰다 만 기록이 있으면 그 앞까지만 읽고, 이후 기록은 이어서 남는지 검증한다.
+         */
+        @Test
+        void 쓰다_만_기록은_잘라내고_이어서_기록한다() throws IOException {
+            // given
+            MappedWriteAheadLog writeAheadLog = open(DataSize.ofMegabytes(1), 100);
+            writeAheadLog.appendBalance(1L, 100L, 10L);
+            writeAheadLog.appendBalance(2L, 200L, 20L);
+            writeAheadLog.awaitDurable();
+            writeAheadLog.close();
+            corruptLastRecord(segments().get(0));
+
+            // when
+            List<WalRecord> recovered = new ArrayList<>();
+            MappedWriteAheadLog reopened = open(
+                    new WalProperties(true, directory, DataSize.ofMegabytes(1), 100, Duration.ZERO), recovered::add);
+            reopened.appendBalance(3L, 300L, 30L);
+            reopened.awaitDurable();
+            reopened.close();
+
+            // then
+            assertThat(recovered).containsExactly(new WalRecord(1L, 100L, null, 10L));
+            assertThat(recover(DataSize.ofMegabytes(1), 100).records()).containsExactly(
+                    new WalRecord(1L, 100L, null, 10L),
+                    new WalRecord(3L, 300L, null, 30L)
+            );
+        }
+
+        /**
+         * [내구성]
+         * 마지막이 아닌 세그먼트가 깨져 있으면 기록을 잃지 않도록 시작하지 않는지 검증한다.
+         */
+        @Test
+        void 중간_세그먼트가_깨져_있으면_시작하지_않는다() throws IOException {
+            // given
+            MappedWriteAheadLog writeAheadLog = open(DataSize.ofBytes(128), 100);
+            for (long userId = 1; userId <= 20; userId++) {
+                writeAheadLog.appendBalance(userId, userId * 100, 10L);
+            }
+            writeAheadLog.awaitDurable();
+            writeAheadLog.close();
+            corruptLastRecord(segments().get(0));
+
+            // when & then
+            assertThatThrownBy(() -> recover(DataSize.ofBytes(128), 100)).isInstanceOf(IllegalStateException.class);
+        }
+
+        /**
+         * [내구성]
+         * 헤더의 sequence 가 파일 이름과 다른 세그먼트(다른 이름으로 복사된 파일)가 있으면
+         * 같은 기록을 두 번 읽지 않도록 시작하지 않는지 검증한다.
+         */
+        @Test
+        void 파일_이름과_헤더가_다른_세그먼트가_있으면_시작하지_않는다() throws IOException {
+            // given
+            MappedWriteAheadLog writeAheadLog = open(DataSize.ofBytes(128), 100);
+            for (long userId = 1; userId <= 20; userId++) {
+                writeAheadLog.appendBalance(userId, userId * 100, 10L);
+            }
+            writeAheadLog.awaitDurable();
+            writeAheadLog.close();
+            Path first = segments().get(0);
+            Files.copy(first, first.resolveSibling("wal-00000000000000000000.log"));
+
+            // when & then
+            assertThatThrownBy(() -> recover(DataSize.ofBytes(128), 100)).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("세그먼트")
+    class Segment {
+        /**
+         * [내구성]
+         * 세그먼트가 가득 차면 다음 세그먼트로 넘어가고, 여러 세그먼트에 걸친 기록을 순서대로 읽는지 검증한다.
+         */
+        @Test
+        void 세그먼트가_가득_차면_다음_세그먼트에_기록한다() throws IOException {
+            // given
+            MappedWriteAheadLog writeAheadLog = open(DataSize.ofBytes(128), 100);
+
+            // when
+            for (long userId = 1; userId <= 50; userId++) {
+                writeAheadLog.appendHistory(userId, userId, TransactionType.CHARGE, userId);
+            }
+            writeAheadLog.awaitDurable();
+            writeAheadLog.close();
+
+            // then
+            assertThat(segments()).hasSizeGreaterThan(1);
+            assertThat(recover(DataSize.ofBytes(128), 100).records())
+                    .extracting(WalRecord::userId)
+                    .containsExactlyElementsOf(Stream.iterate(1L, id -> id + 1).limit(50).toList());
+        }
+
+    }
+
+    @Nested
+    @DisplayName("스냅샷")
+    class Snapshot {
+        /**
+         * [내구성]
+         * 스냅샷을 만든 뒤 다시 열면 유저별 포인트 하나씩과 스냅샷 이후의 기록만 읽고,
+         * 스냅샷에 반영된 내역 수를 돌려주는지 검증한다.
+         */
+        @Test
+        void 스냅샷_이후의_기록만_다시_읽는다() throws IOException {
+            // given
+            MappedWriteAheadLog writeAheadLog = open(DataSize.ofBytes(128), 100);
+            long balance = 0;
+            for (int i = 1; i <= 30; i++) {
+                balance += i;
+                writeAheadLog.appendHistory(1L, i, TransactionType.CHARGE, i);
+                writeAheadLog.appendBalance(1L, balance, i);
+            }
+            writeAheadLog.appendBalance(2L, 500L, 1L);
+            writeAheadLog.awaitDurable();
+
+            // when
+            writeAheadLog.snapshot();
+            writeAheadLog.appendHistory(1L, -100L, TransactionType.USE, 100L);
+            writeAheadLog.appendBalance(1L, balance - 100, 100L);
+            writeAheadLog.awaitDurable();
+            writeAheadLog.close();
+
+            // then
+            Recovered recovered = recover(DataSize.ofBytes(128), 100);
+            assertThat(recovered.skippedHistoryCount()).isEqualTo(30);
+            assertThat(recovered.records().subList(0, 2)).containsExactlyInAnyOrder(
+                    new WalRecord(1L, balance, null, 30L),
+                    new WalRecord(2L, 500L, null, 1L));
+            assertThat(recovered.records().subList(2, recovered.records().size())).containsExactly(
+                    new WalRecord(1L, -100L, TransactionType.USE, 100L),
+                    new WalRecord(1L, balance - 100, null, 100L));
+            assertThat(directory.resolve("archive")).isNotEmptyDirectory();
+        }
+
+        /**
+         * [내구성]
+         * 스냅샷에 반영되어 다시 열 때 읽지 않은 내역을 archive 에서 기록 순서대로 1 부터 이어지는 id 로 다시 읽고,
+         * archive 에 빠진 세그먼트가 있으면 일부만 읽지 않고 실패하는지 검증한다.
+         */
+        @Test
+        void 스냅샷에_반영된_내역은_archive_에서_다시_읽는다() throws IOException {
+            // given
+            MappedWriteAheadLog writeAheadLog = open(DataSize.ofBytes(128), 100);
+            for (int i = 1; i <= 30; i++) {
+                writeAheadLog.appendHistory(1L, i, TransactionType.CHARGE, i);
+                writeAheadLog.appendBalance(1L, i, i);
+                if (i == 20) {
+                    writeAheadLog.snapshot();
+                }
+            }
+            writeAheadLog.snapshot();
+            writeAheadLog.appendHistory(1L, -5L, TransactionType.USE, 31L);
+            writeAheadLog.awaitDurable();
+            writeAheadLog.close();
+
+            // when
+            MappedWriteAheadLog reopened = open(DataSize.ofBytes(128), 100);
+            List<long[]> histories = new ArrayList<>();
+            reopened.replayArchivedHistories((id, userId, amount, type, updateMillis) -> histories.add(new long[]{id, amount}));
+            reopened.close();
+
+            // then
+            assertThat(histories).hasSize(30);
+            for (int i = 0; i < histories.size(); i++) {
+                assertThat(histories.get(i)).containsExactly(i + 1, i + 1);
+            }
+            try (Stream<Path> archived = Files.list(directory.resolve("archive"))) {
+                Files.delete(archived.sorted().toList().get(1));
+            }
+            MappedWriteAheadLog missing = open(DataSize.ofBytes(128), 100);
+            assertThatThrownBy(() -> missing.replayArchivedHistories((id, userId, amount, type, updateMillis) -> {
+            })).isInstanceOf(IllegalStateException.class);
+            missing.close();
+        }
+
+        /**
+         * [내구성]
+         * 세그먼트가 차지 않아도 snapshotInterval 이 지나면 스냅샷을 만드는지 검증한다.
+         */
+        @Test
+        void 세그먼트가_차지_않아도_주기적으로_스냅샷을_만든다() throws Exception {
+            // given
+            MappedWriteAheadLog writeAheadLog = open(
+                    new WalProperties(true, directory, DataSize.ofMegabytes(1), 100, Duration.ofMillis(50)), record -> {
+                    });
+            writeAheadLog.appendHistory(1L, 1000L, TransactionType.CHARGE, 10L);
+            writeAheadLog.appendBalance(1L, 1000L, 10L);
+            writeAheadLog.awaitDurable();
+
+            // when
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (snapshots().isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            writeAheadLog.close();
+
+            // then
+            Recovered recovered = recover(DataSize.ofMegabytes(1), 100);
+            assertThat(recovered.skippedHistoryCount()).isEqualTo(1);
+            assertThat(recovered.records()).containsExactly(new WalRecord(1L, 1000L, null, 10L));
+        }
+
+        /**
+         * [내구성]
+         * 스냅샷을 만든 뒤 세그먼트를 옮기기 전에 종료되어도, 스냅샷에 반영된 기록을 다시 읽지 않는지 검증한다.
+         */
+        @Test
+        void 스냅샷을_만든_뒤_세그먼트를_옮기기_전에_종료되어도_중복되지_않는다() throws IOException {
+            // given
+            MappedWriteAheadLog writeAheadLog = open(DataSize.ofBytes(128), 100);
+            for (int i = 1; i <= 30; i++) {
+                writeAheadLog.appendHistory(1L, i, TransactionType.CHARGE, i);
+            }
+            writeAheadLog.awaitDurable();
+            Path backup = Files.createDirectory(directory.resolve("backup"));
+            List<Path> originals = segments();
+            for (Path segment : originals) {
+                Files.copy(segment, backup.resolve(segment.getFileName()));
+            }
+
+            // when
+            writeAheadLog.snapshot();
+            writeAheadLog.close();
+            for (Path segment : originals) {
+                if (Files.notExists(segment)) {
+                    Files.copy(backup.resolve(segment.getFileName()), segment);
+                }
+            }
+
+            // then
+            Recovered recovered = recover(DataSize.ofBytes(128), 100);
+            assertThat(recovered.skippedHistoryCount()).isEqualTo(30);
+            assertThat(recovered.records()).isEmpty();
+        }
+
+        /**
+         * [내구성]
+         * 스냅샷이 깨져 있으면 그 앞의 기록을 잃지 않도록 시작하지 않는지 검증한다.
+         */
+        @Test
+        void 스냅샷이_깨져_있으면_시작하지_않는다() throws IOException {
+            // given
+            MappedWriteAheadLog writeAheadLog = open(DataSize.ofBytes(128), 100);
+            for (long userId = 1; userId <= 20; userId++) {
+                writeAheadLog.appendBalance(userId, userId * 100, 10L);
+            }
+            writeAheadLog.awaitDurable();
+            writeAheadLog.snapshot();
+            writeAheadLog.close();
+            corruptLastRecord(snapshots().get(0));
+
+            // when & then
+            assertThatThrownBy(() -> recover(DataSize.ofBytes(128), 100)).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    private record Recovered(List<WalRecord> records, long skippedHistoryCount) {
+    }
+
+    /**
+     * 남아 있는 기록을 handler 로 읽은 뒤 기록할 수 있는 상태로 연다.
+     */
+    private MappedWriteAheadLog open(WalProperties properties, Consumer<WalRecord> handler) {
+        MappedWriteAheadLog writeAheadLog = new MappedWriteAheadLog(properties);
+        try {
+            writeAheadLog.recover(handler);
+        } catch (RuntimeException e) {
+            writeAheadLog.close();
+            throw e;
+        }
+        return writeAheadLog;
+    }
+
+    private MappedWriteAheadLog open(DataSize segmentSize, int snapshotThreshold) {
+        return open(new WalProperties(true, directory, segmentSize, snapshotThreshold, Duration.ZERO), record -> {
+        });
+    }
+
+    private Recovered recover(DataSize segmentSize, int snapshotThreshold) {
+        MappedWriteAheadLog writeAheadLog =
+                new MappedWriteAheadLog(new WalProperties(true, directory, segmentSize, snapshotThreshold, Duration.ZERO));
+        List<WalRecord> records = new ArrayList<>();
+        try {
+            return new Recovered(records, writeAheadLog.recover(records::add));
+        } finally {
+            writeAheadLog.close();
+        }
+    }
+
+    private List<Path> snapshots() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".snap")).sorted().toList();
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".log")).sorted().toList();
+        }
+    }
+
+    /**
+     * 세그먼트의 마지막 기록 본문 한 바이트를 바꿔 CRC 가 맞지 않게 한다.
+     */
+    private void corruptLastRecord(Path segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer bytes = ByteBuffer.allocate((int) channel.size());
+            channel.read(bytes, 0);
+            int last = bytes.limit() - 1;
+            while (bytes.get(last) == 0) {
+                last--;
+            }
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) (bytes.get(last) ^ 0x7F)}), last);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.fixture.UserPointFixture;
+import io.hhplus.tdd.point.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+
+public class PointBulkServiceTest {
+
+    PointService pointService = mock(PointService.class);
+
+    ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+    PointBulkService pointBulkService = new PointBulkService(pointService, executorService);
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Nested
+    @DisplayName("일괄 포인트 처리")
+    class Execute {
+        /**
+         * [서비스 동작]
+         * 같은 유저의 작업은 요청 순서대로 처리되는지 검증한다.
+         */
+        @Test
+        void 같은_유저의_작업은_요청_순서대로_처리된다() {
+            // given
+            List<Long> chargedAmounts = Collections.synchronizedList(new ArrayList<>());
+            willAnswer(invocation -> {
+                chargedAmounts.add(invocation.getArgument(1));
+                return UserPointFixture.withUserIdAndPoint(1L, invocation.getArgument(1));
+            }).given(pointService).charge(anyLong(), anyLong());
+
+            List<PointOperation> operations = new ArrayList<>();
+            for (long amount = 1; amount <= 50; amount++) {
+                operations.add(new PointOperation(1L, amount, TransactionType.CHARGE));
+            }
+
+            // when
+            PointBulkResponse response = pointBulkService.execute(operations);
+
+            // then
+            assertThat(response.successCount()).isEqualTo(50);
+            assertThat(chargedAmounts).isSortedAccordingTo(Long::compare).hasSize(50);
+        }
+
+        /**
+         * [서비스 동작]
+         * 일부 작업이 INSUFFICIENT_POINT 로 실패해도 나머지 작업은 처리되고, 요청 순서대로 결과가 반환되는지 검증한다.
+         */
+        @Test
+        void 실패한_작업은_에러코드와_함께_반환된다() {
+            // given
+            given(pointService.charge(1L, 1000L)).willReturn(UserPointFixture.withUserIdAndPoint(1L, 1000L));
+            given(pointService.use(2L, 500L)).willThrow(new BusinessException(ErrorCode.INSUFFICIENT_POINT));
+            given(pointService.use(1L, 300L)).willReturn(UserPointFixture.withUserIdAndPoint(1L, 700L));
+
+            // when
+            PointBulkResponse response = pointBulkService.execute(List.of(
+                    new PointOperation(1L, 1000L, TransactionType.CHARGE),
+                    new PointOperation(2L, 500L, TransactionType.USE),
+                    new PointOperation(1L, 300L, TransactionType.USE)
+            ));
+
+            // then
+            assertThat(response.successCount()).isEqualTo(2);
+            assertThat(response.failureCount()).isEqualTo(1);
+            assertThat(response.results()).extracting(PointBulkResult::index).containsExactly(0, 1, 2);
+            assertThat(response.results().get(1).success()).isFalse();
+            assertThat(response.results().get(1).errorCode()).isEqualTo(ErrorCode.INSUFFICIENT_POINT.name());
+            assertThat(response.results().get(2).point()).isEqualTo(700L);
+        }
+
+        /**
+         * [서비스 동작]
+         * 서로 다른 유저의 작업은 병렬로 처리되는지 검증한다.
+         * 작업 하나에 100ms 가 걸리므로 직렬로 처리되면 8명의 작업은 800ms 이상 걸린다.
+         */
+        @Test
+        void 다른_유저의_작업은_병렬로_처리된다() {
+            // given
+            willAnswer(invocation -> {
+                TimeUnit.MILLISECONDS.sleep(100);
+                return UserPointFixture.withUserIdAndPoint(invocation.getArgument(0), invocation.getArgument(1));
+            }).given(pointService).charge(anyLong(), anyLong());
+
+            List<PointOperation> operations = new ArrayList<>();
+            for (long userId = 1; userId <= 8; userId++) {
+                operations.add(new PointOperation(userId, 100L, TransactionType.CHARGE));
+            }
+
+            // when
+            PointBulkResponse response = pointBulkService.execute(operations);
+
+            // then
+            assertThat(response.successCount()).isEqualTo(8);
+            assertThat(response.elapsedMillis()).isLessThan(500L);
+            assertThat(response.operationsPerSecond()).isPositive();
+        }
+    }
+}
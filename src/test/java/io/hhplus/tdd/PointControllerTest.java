@@ -14,13 +14,25 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(PointController.class)
@@ -35,6 +47,15 @@ class PointControllerTest {
     @MockBean
     PointService pointService;
 
+    @MockBean
+    PointBulkService pointBulkService;
+
+    @MockBean
+    PointMetrics pointMetrics;
+
+    @MockBean
+    PointIdempotencyStore pointIdempotencyStore;
+
     @Nested
     @DisplayName("GET /points/{userId}")
     class GetUserPoint {
@@ -86,6 +107,108 @@ class PointControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /points/{userId}/summary")
+    class GetPointHistorySummary {
+        /**
+         * 직렬화가 잘 이루어지는지 검증
+         */
+        @Test
+        void 특정_유저의_포인트_내역_집계_조회시_성공한다() throws Exception {
+            // given
+            long userId = 1L;
+            PointHistorySummary summary = PointHistorySummary.of(userId, List.of(
+                    PointHistoryFixture.withIdAndUserIdAndAmountAndTransactionType(1, userId, 1000, TransactionType.CHARGE),
+                    PointHistoryFixture.withIdAndUserIdAndAmountAndTransactionType(2, userId, -500, TransactionType.USE)
+            ));
+
+            given(pointService.getSummary(userId)).willReturn(summary);
+
+            // when & then
+            mockMvc.perform(get("/points/{userId}/summary", userId))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.userId").value(userId))
+                    .andExpect(jsonPath("$.count").value(2))
+                    .andExpect(jsonPath("$.totals.CHARGE").value(1000))
+                    .andExpect(jsonPath("$.totals.USE").value(-500))
+                    .andExpect(jsonPath("$.counts.USE").value(1));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /points/{userId}/histories/page")
+    class GetPointHistoryPage {
+        /**
+         * 조회 조건이 바인딩되고, 페이지가 잘 직렬화되는지 검증
+         */
+        @Test
+        void 특정_유저의_포인트_내역_페이지_조회시_성공한다() throws Exception {
+            // given
+            long userId = 1L;
+            PointHistoryPageRequest request = new PointHistoryPageRequest(10L, 2, null, null, TransactionType.CHARGE);
+            PointHistoryPage page = new PointHistoryPage(List.of(
+                    PointHistoryFixture.withIdAndUserIdAndAmountAndTransactionType(11, userId, 1000, TransactionType.CHARGE),
+                    PointHistoryFixture.withIdAndUserIdAndAmountAndTransactionType(13, userId, 500, TransactionType.CHARGE)
+            ), 13L);
+            given(pointService.getHistoryPage(userId, request)).willReturn(page);
+
+            // when & then
+            mockMvc.perform(get("/points/{userId}/histories/page", userId)
+                            .param("cursor", "10")
+                            .param("size", "2")
+                            .param("type", "CHARGE"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.histories[0].id").value(11))
+                    .andExpect(jsonPath("$.histories[1].id").value(13))
+                    .andExpect(jsonPath("$.nextCursor").value(13));
+        }
+
+        /**
+         * 페이지 크기가 범위를 벗어나면, 유효성 검증에 실패하는지 검증
+         */
+        @ParameterizedTest
+        @ValueSource(ints = {0, 101})
+        void 페이지_크기가_범위를_벗어나면_실패한다(int size) throws Exception {
+            mockMvc.perform(get("/points/{userId}/histories/page", 1L)
+                            .param("size", String.valueOf(size)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("size 는 1 이상 100 이하이어야 합니다"));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /points/{userId}/histories/export")
+    class ExportPointHistory {
+        /**
+         * after 다음 내역부터 한 줄에 하나씩 NDJSON 으로 직렬화되는지 검증
+         */
+        @Test
+        void 특정_유저의_포인트_내역을_NDJSON_으로_내보낸다() throws Exception {
+            // given
+            long userId = 1L;
+            willAnswer(invocation -> {
+                PointHistoryVisitor visitor = invocation.getArgument(2);
+                visitor.visit(2L, userId, 1000L, TransactionType.CHARGE, 10L);
+                visitor.visit(3L, userId, -500L, TransactionType.USE, 20L);
+                return null;
+            }).given(pointService).forEachHistory(eq(userId), eq(1L), any());
+
+            // when
+            MvcResult mvcResult = mockMvc.perform(get("/points/{userId}/histories/export", userId)
+                            .param("after", "1"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // then
+            mockMvc.perform(asyncDispatch(mvcResult))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType("application/x-ndjson"))
+                    .andExpect(content().string(
+                            "{\"id\":2,\"userId\":1,\"amount\":1000,\"type\":\"CHARGE\",\"updateMillis\":10}\n"
+                                    + "{\"id\":3,\"userId\":1,\"amount\":-500,\"type\":\"USE\",\"updateMillis\":20}\n"));
+        }
+    }
+
     @Nested
     @DisplayName("PATCH /points/{userId}/charge")
     class ChargePoint {
@@ -132,6 +255,39 @@ class PointControllerTest {
                     .andExpect(jsonPath("$.message").value("포인트는 0을 포함한 양수이어야 합니다"));
         }
 
+        /**
+         * If-Match 의 ETag 를 기대하는 버전으로 넘기고, 충전 후의 버전을 ETag 로 돌려주는지 검증
+         */
+        @Test
+        void If_Match_를_보내면_그_버전일_때만_충전하고_새_ETag_를_반환한다() throws Exception {
+            //given
+            long userId = 1L;
+            given(pointService.charge(userId, 1000L, 3L)).willReturn(new UserPoint(userId, 1000L, 1L, 4L));
+
+            //when & then
+            mockMvc.perform(patch("/points/{userId}/charge", userId)
+                            .header("If-Match", "\"3\"")
+                            .content(objectMapper.writeValueAsString(new PointRequest(1000L)))
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"4\""))
+                    .andExpect(jsonPath("$.version").value(4));
+        }
+
+        /**
+         * If-Match 는 강한 비교만 하므로, 약한 ETag 를 보내면 서비스를 호출하지 않고 412 로 거절하는지 검증
+         */
+        @Test
+        void If_Match_에_약한_ETag_를_보내면_412_로_거절한다() throws Exception {
+            //when & then
+            mockMvc.perform(patch("/points/{userId}/charge", 1L)
+                            .header("If-Match", "W/\"3\"")
+                            .content(objectMapper.writeValueAsString(new PointRequest(1000L)))
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isPreconditionFailed())
+                    .andExpect(jsonPath("$.message").value(ErrorCode.POINT_VERSION_MISMATCH.getMessage()));
+            verifyNoInteractions(pointService);
+        }
     }
 
 
@@ -202,5 +358,121 @@ class PointControllerTest {
                     .andExpect(status().isBadRequest())
                     .andExpect(jsonPath("$.message").value(ErrorCode.INSUFFICIENT_POINT.getMessage()));
         }
+
+        /**
+         * 포인트 부족으로 거절된 요청이 지표에 기록되는지 검증
+         */
+        @Test
+        void 포인트가_부족해_거절되면_거절_횟수를_기록한다() throws Exception {
+            long userId = 1L;
+            long useAmount = 5000L;
+
+            given(pointService.use(userId, useAmount))
+                    .willThrow(new BusinessException(ErrorCode.INSUFFICIENT_POINT));
+
+            mockMvc.perform(patch("/points/{userId}/use", userId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new PointRequest(useAmount))))
+                    .andExpect(status().isBadRequest());
+
+            verify(pointMetrics).recordRejection(ErrorCode.INSUFFICIENT_POINT);
+        }
+    }
+
+    @Nested
+    @DisplayName("Idempotency-Key")
+    class IdempotencyKey {
+        /**
+         * 헤더가 있으면 키와 요청 내용을 멱등 키 저장소에 넘기는지 검증
+         */
+        @Test
+        void 키가_있으면_멱등_키_저장소를_통해_충전한다() throws Exception {
+            // given
+            long userId = 1L;
+            long amount = 1000L;
+            given(pointIdempotencyStore.execute(eq("key-1"), eq(userId), eq(TransactionType.CHARGE), eq(amount), isNull(), any()))
+                    .willReturn(UserPointFixture.withUserIdAndPoint(userId, amount));
+
+            // when & then
+            mockMvc.perform(patch("/points/{userId}/charge", userId)
+                            .header("Idempotency-Key", "key-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new PointRequest(amount))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.point").value(amount));
+        }
+
+        /**
+         * 다른 요청에 사용된 키로 요청하면 422 를 응답하는지 검증
+         */
+        @Test
+        void 다른_요청에_사용된_키로_사용하면_실패한다() throws Exception {
+            // given
+            long userId = 1L;
+            long amount = 1000L;
+            given(pointIdempotencyStore.execute(eq("key-1"), eq(userId), eq(TransactionType.USE), eq(amount), isNull(), any()))
+                    .willThrow(new BusinessException(ErrorCode.IDEMPOTENCY_KEY_REUSED));
+
+            // when & then
+            mockMvc.perform(patch("/points/{userId}/use", userId)
+                            .header("Idempotency-Key", "key-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new PointRequest(amount))))
+                    .andExpect(status().isUnprocessableEntity())
+                    .andExpect(jsonPath("$.message").value(ErrorCode.IDEMPOTENCY_KEY_REUSED.getMessage()));
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /points/bulk")
+    class BulkPoint {
+        /**
+         * 작업별 결과와 처리량이 잘 직렬화되는지 검증
+         */
+        @Test
+        void 여러_유저의_포인트를_일괄_처리한다() throws Exception {
+            // given
+            List<PointOperation> operations = List.of(
+                    new PointOperation(1L, 1000L, TransactionType.CHARGE),
+                    new PointOperation(2L, 500L, TransactionType.USE)
+            );
+            PointBulkResponse response = new PointBulkResponse(List.of(
+                    new PointBulkResult(0, 1L, TransactionType.CHARGE, 1000L, true, 1000L, null, null),
+                    new PointBulkResult(1, 2L, TransactionType.USE, 500L, false, null,
+                            ErrorCode.INSUFFICIENT_POINT.name(), ErrorCode.INSUFFICIENT_POINT.getMessage())
+            ), 1, 1, 10L, 200.0);
+            given(pointBulkService.execute(operations)).willReturn(response);
+
+            // when & then
+            mockMvc.perform(post("/points/bulk")
+                            .content(objectMapper.writeValueAsString(new PointBulkRequest(operations)))
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.results[0].success").value(true))
+                    .andExpect(jsonPath("$.results[0].point").value(1000))
+                    .andExpect(jsonPath("$.results[1].success").value(false))
+                    .andExpect(jsonPath("$.results[1].errorCode").value("INSUFFICIENT_POINT"))
+                    .andExpect(jsonPath("$.successCount").value(1))
+                    .andExpect(jsonPath("$.failureCount").value(1));
+        }
+
+        /**
+         * 작업 중 하나라도 음수 금액이면, 유효성 검증에 실패하는지 검증
+         */
+        @Test
+        void 음수_금액의_작업이_있으면_실패한다() throws Exception {
+            // given
+            PointBulkRequest request = new PointBulkRequest(List.of(
+                    new PointOperation(1L, 1000L, TransactionType.CHARGE),
+                    new PointOperation(2L, -1L, TransactionType.CHARGE)
+            ));
+
+            // when & then
+            mockMvc.perform(post("/points/bulk")
+                            .content(objectMapper.writeValueAsString(request))
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("포인트는 0을 포함한 양수이어야 합니다"));
+        }
     }
 }
@@ -0,0 +1,235 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.expiration.PointExpirationProperties;
+import io.hhplus.tdd.expiration.PointExpirer;
+import io.hhplus.tdd.expiration.PointLot;
+import io.hhplus.tdd.expiration.PointLotLedger;
+import io.hhplus.tdd.point.*;
+import io.hhplus.tdd.wal.WriteAheadLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PointExpirationTest {
+
+    private static final long START_MILLIS = 1_000_000L;
+
+    PointMetrics pointMetrics = PointMetrics.noop();
+    UserLockManager userLockManager = new UserLockManager(pointMetrics);
+    UserPointRepository userPointRepository = new UserPointRepository(
+            new UserPointTable(), userLockManager, new UserPointCacheProperties(100, Duration.ofMinutes(1), 10_000), pointMetrics, WriteAheadLog.noop());
+    PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(
+            new PointHistoryTable(), new PointHistoryWriterProperties(1000, 10, Duration.ofSeconds(30)), pointMetrics, WriteAheadLog.noop());
+    PointLotLedger pointLotLedger;
+    PointExpirer pointExpirer;
+
+    @AfterEach
+    void tearDown() {
+        if (pointExpirer != null) {
+            pointExpirer.stop();
+        }
+    }
+
+    @Nested
+    @DisplayName("충전분")
+    class Lots {
+        /**
+         * [포인트 소멸]
+         * 사용 내역은 먼저 충전한 충전분부터 차감하고, 다 쓴 충전분은 남기지 않는지 검증한다.
+         */
+        @Test
+        void 사용은_먼저_충전한_충전분부터_차감한다() {
+            // given
+            setUpExpiration(Duration.ofSeconds(10), START_MILLIS);
+            long userId = 1L;
+
+            // when
+            pointHistoryRepository.save(userId, 100L, TransactionType.CHARGE, START_MILLIS);
+            pointHistoryRepository.save(userId, 50L, TransactionType.CHARGE, START_MILLIS + 1_000);
+            pointHistoryRepository.save(userId, -120L, TransactionType.USE, START_MILLIS + 2_000);
+
+            // then
+            assertThat(pointLotLedger.lotsOf(userId)).containsExactly(new PointLot(30L, START_MILLIS + 11_000));
+        }
+
+        /**
+         * [포인트 소멸]
+         * 스냅샷에 반영되어 시작할 때 건너뛴 충전 내역을 다시 읽으면, 그 뒤의 사용과 충전을 다시 반영해 충전분을 만들고
+         * 다시 읽은 충전분도 유효기간이 지나면 소멸하는지 검증한다.
+         */
+        @Test
+        void 다시_읽은_내역의_충전분부터_차감하고_소멸시킨다() throws Exception {
+            // given
+            setUpExpiration(Duration.ofSeconds(10), START_MILLIS);
+            long userId = 1L;
+            CountDownLatch reload = new CountDownLatch(1);
+            pointHistoryRepository.restore(2, visitor -> {
+                try {
+                    reload.await();
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+                visitor.visit(1L, userId, 100L, TransactionType.CHARGE, START_MILLIS);
+                visitor.visit(2L, userId, 50L, TransactionType.CHARGE, START_MILLIS + 1_000);
+            }, List.of(new PointHistory(3L, userId, -120L, TransactionType.USE, START_MILLIS + 2_000)));
+            pointHistoryRepository.save(userId, 30L, TransactionType.CHARGE, START_MILLIS + 3_000);
+            userPointRepository.save(userId, 60L);
+            List<PointLot> beforeReload = pointLotLedger.lotsOf(userId);
+
+            // when
+            reload.countDown();
+            pointHistoryRepository.awaitReloaded();
+            List<PointLot> afterReload = pointLotLedger.lotsOf(userId);
+            int expired = pointExpirer.expireDue(START_MILLIS + 11_000);
+
+            // then
+            assertThat(beforeReload).containsExactly(new PointLot(30L, START_MILLIS + 13_000));
+            assertThat(afterReload).containsExactly(
+                    new PointLot(30L, START_MILLIS + 11_000), new PointLot(30L, START_MILLIS + 13_000));
+            assertThat(expired).isEqualTo(1);
+            assertThat(userPointRepository.getBy(userId).point()).isEqualTo(30L);
+            assertThat(pointLotLedger.lotsOf(userId)).containsExactly(new PointLot(30L, START_MILLIS + 13_000));
+        }
+
+        /**
+         * [포인트 소멸]
+         * 건너뛴 내역을 다시 읽는 동안 포인트보다 많아 내역 없이 버린 충전분은, 다시 읽은 충전분으로 바꿔 끼운 뒤에도 되살아나지 않는지 검증한다.
+         */
+        @Test
+        void 다시_읽는_동안_버린_충전분은_바꿔_끼운_뒤에도_버려진다() throws Exception {
+            // given
+            setUpExpiration(Duration.ofSeconds(10), START_MILLIS);
+            long userId = 1L;
+            CountDownLatch reload = new CountDownLatch(1);
+            pointHistoryRepository.restore(1, visitor -> {
+                try {
+                    reload.await();
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+                visitor.visit(1L, userId, 100L, TransactionType.CHARGE, START_MILLIS);
+            }, List.of(new PointHistory(2L, userId, -100L, TransactionType.USE, START_MILLIS + 1_000)));
+            pointHistoryRepository.save(userId, 30L, TransactionType.CHARGE, START_MILLIS + 3_000);
+            userPointRepository.save(userId, 10L);
+            int expired = pointExpirer.expireDue(START_MILLIS + 13_000);
+
+            // when
+            reload.countDown();
+            pointHistoryRepository.awaitReloaded();
+
+            // then
+            assertThat(expired).isEqualTo(1);
+            assertThat(userPointRepository.getBy(userId).point()).isZero();
+            assertThat(pointLotLedger.lotsOf(userId)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("소멸 처리")
+    class Expire {
+        /**
+         * [포인트 소멸]
+         * 유효기간이 지난 충전분의 남은 포인트만 소멸시키고, 소멸한 만큼 EXPIRE 내역을 남기는지 검증한다.
+         */
+        @Test
+        void 유효기간이_지난_충전분의_남은_포인트만_소멸한다() {
+            // given
+            setUpExpiration(Duration.ofSeconds(10), START_MILLIS);
+            long userId = 1L;
+            pointHistoryRepository.save(userId, 100L, TransactionType.CHARGE, START_MILLIS);
+            pointHistoryRepository.save(userId, 50L, TransactionType.CHARGE, START_MILLIS + 1_000);
+            pointHistoryRepository.save(userId, -30L, TransactionType.USE, START_MILLIS + 2_000);
+            userPointRepository.save(userId, 120L);
+
+            // when
+            int beforePeriod = pointExpirer.expireDue(START_MILLIS + 9_999);
+            int firstLot = pointExpirer.expireDue(START_MILLIS + 10_000);
+            long afterFirstLot = userPointRepository.getBy(userId).point();
+            int secondLot = pointExpirer.expireDue(START_MILLIS + 11_000);
+
+            // then
+            assertThat(beforePeriod).isZero();
+            assertThat(firstLot).isEqualTo(1);
+            assertThat(afterFirstLot).isEqualTo(50L);
+            assertThat(secondLot).isEqualTo(1);
+            assertThat(userPointRepository.getBy(userId).point()).isZero();
+            assertThat(pointHistoryRepository.getAllBy(userId))
+                    .filteredOn(history -> history.type() == TransactionType.EXPIRE)
+                    .extracting(PointHistory::amount)
+                    .containsExactly(-70L, -50L);
+            assertThat(pointHistoryRepository.getSummaryBy(userId).totals()).containsEntry(TransactionType.EXPIRE, -120L);
+            assertThat(pointLotLedger.lotsOf(userId)).isEmpty();
+        }
+
+        /**
+         * [동시성]
+         * 충전/사용이 동시에 들어오는 동안 소멸해도, 모두 소멸한 뒤 포인트가 0 이고 내역의 합계도 0 인지 검증한다.
+         * 소멸이 충전분보다 많거나 적게 일어났다면 둘 중 하나가 어긋난다.
+         */
+        @ParameterizedTest
+        @EnumSource(PointConcurrencyProperties.Mode.class)
+        void 충전과_사용_중에_소멸해도_포인트와_내역이_어긋나지_않는다(PointConcurrencyProperties.Mode mode) throws Exception {
+            // given
+            setUpExpiration(Duration.ofMillis(300), System.currentTimeMillis());
+            pointExpirer.start();
+            PointService pointService = new PointService(userPointRepository, pointHistoryRepository, userLockManager, pointMetrics,
+                    WriteAheadLog.noop(), mode == PointConcurrencyProperties.Mode.OPTIMISTIC
+                    ? PointConcurrencyProperties.optimistic() : PointConcurrencyProperties.pessimistic());
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            List<Future<?>> requests = new ArrayList<>();
+
+            // when
+            for (int i = 0; i < 40; i++) {
+                long userId = i % 2 + 1;
+                boolean charge = i % 3 != 2;
+                requests.add(executor.submit(() -> {
+                    TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextInt(500));
+                    try {
+                        return charge ? pointService.charge(userId, 100L) : pointService.use(userId, 70L);
+                    } catch (BusinessException e) {
+                        return null;
+                    }
+                }));
+            }
+            for (Future<?> request : requests) {
+                request.get(60, TimeUnit.SECONDS);
+            }
+            executor.shutdown();
+            pointExpirer.stop();
+            pointExpirer.expireDue(System.currentTimeMillis() + 1_000);
+
+            // then
+            for (long userId = 1; userId <= 2; userId++) {
+                assertThat(userPointRepository.getBy(userId).point()).isZero();
+                assertThat(pointHistoryRepository.getAllBy(userId).stream().mapToLong(PointHistory::amount).sum()).isZero();
+                assertThat(pointLotLedger.lotsOf(userId)).isEmpty();
+            }
+        }
+    }
+
+    private void setUpExpiration(Duration period, long startMillis) {
+        PointExpirationProperties properties = new PointExpirationProperties(true, period, Duration.ofMillis(50), 8, 4, 10);
+        pointLotLedger = new PointLotLedger(properties, startMillis);
+        pointHistoryRepository.addListener(pointLotLedger);
+        pointExpirer = new PointExpirer(properties, pointLotLedger, userPointRepository, pointHistoryRepository,
+                userLockManager, pointMetrics, WriteAheadLog.noop());
+    }
+}
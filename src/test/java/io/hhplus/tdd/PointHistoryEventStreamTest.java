@@ -0,0 +1,146 @@
+package io.hhplus.tdd;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.event.PointHistoryEventHub;
+import io.hhplus.tdd.event.PointHistoryEvents;
+import io.hhplus.tdd.point.PointHistory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 애플리케이션을 띄우고 SSE 와 long-poll 로 포인트 내역 이벤트를 받는다.
+ */
+public class PointHistoryEventStreamTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newHttpClient();
+    private ConfigurableApplicationContext context;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() {
+        context = new SpringApplicationBuilder(TddApplication.class).run("--server.port=0");
+        baseUrl = "http://localhost:" + ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+        client.close();
+    }
+
+    /**
+     * [이벤트 스트림]
+     * SSE 구독자는 여러 유저의 내역을 저장된 순서대로 받고, 끊긴 뒤 Last-Event-ID 로 다시 연결하면 그다음 내역부터 받는지 검증한다.
+     */
+    @Test
+    void SSE_로_내역을_순서대로_받고_Last_Event_ID_로_이어받는다() throws Exception {
+        // given
+        HttpResponse<InputStream> stream = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/points/events?after=0"))
+                        .header("Accept", "text/event-stream")
+                        .build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+
+        // when
+        charge(1L, 100L);
+        charge(2L, 200L);
+        charge(1L, 300L);
+
+        // then
+        List<PointHistory> received = readEvents(stream.body(), 3);
+        assertThat(received).extracting(PointHistory::id).containsExactly(1L, 2L, 3L);
+        assertThat(received).extracting(PointHistory::userId).containsExactly(1L, 2L, 1L);
+        assertThat(received).extracting(PointHistory::amount).containsExactly(100L, 200L, 300L);
+
+        HttpResponse<InputStream> resumed = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/points/events"))
+                        .header("Accept", "text/event-stream")
+                        .header("Last-Event-ID", "1")
+                        .build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+        assertThat(readEvents(resumed.body(), 2)).extracting(PointHistory::id).containsExactly(2L, 3L);
+    }
+
+    /**
+     * [이벤트 스트림]
+     * long-poll 은 새 내역이 없으면 기다렸다가, 내역이 저장되면 그 내역과 다음 offset 으로 응답하는지 검증한다.
+     */
+    @Test
+    void long_poll_은_새_내역이_저장될_때까지_기다렸다가_응답한다() throws Exception {
+        // given
+        charge(1L, 100L);
+        long offset = context.getBean(PointHistoryEventHub.class).lastOffset();
+        CompletableFuture<HttpResponse<String>> poll = client.sendAsync(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/points/events?after=" + offset)).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        // when
+        TimeUnit.MILLISECONDS.sleep(300);
+        boolean answeredBeforeSave = poll.isDone();
+        charge(2L, 200L);
+
+        // then
+        HttpResponse<String> response = poll.get(10, TimeUnit.SECONDS);
+        PointHistoryEvents events = objectMapper.readValue(response.body(), PointHistoryEvents.class);
+        assertThat(answeredBeforeSave).isFalse();
+        assertThat(events.events()).extracting(PointHistory::userId).containsExactly(2L);
+        assertThat(events.nextOffset()).isEqualTo(offset + 1);
+        assertThat(events.truncated()).isFalse();
+    }
+
+    private void charge(long userId, long amount) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/points/" + userId + "/charge"))
+                        .header("Content-Type", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"amount\":" + amount + "}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+    }
+
+    /**
+     * point-history 이벤트를 count 개 읽을 때까지 data 줄을 모은다. 다 읽으면 연결을 끊는다.
+     */
+    private List<PointHistory> readEvents(InputStream body, int count) throws Exception {
+        CompletableFuture<List<PointHistory>> events = CompletableFuture.supplyAsync(() -> {
+            List<PointHistory> histories = new ArrayList<>();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+                String event = null;
+                String line;
+                while (histories.size() < count && (line = reader.readLine()) != null) {
+                    if (line.startsWith("event:")) {
+                        event = line.substring("event:".length());
+                    } else if (line.startsWith("data:") && PointHistoryEventHub.HISTORY_EVENT.equals(event)) {
+                        histories.add(objectMapper.readValue(line.substring("data:".length()), PointHistory.class));
+                    }
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return histories;
+        });
+        return events.get(Duration.ofSeconds(10).toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
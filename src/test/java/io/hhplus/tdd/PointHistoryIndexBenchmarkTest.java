@@ -0,0 +1,67 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryIndex;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 전체 내역 수가 늘어나도 한 유저의 내역 조회 시간이 일정한지 측정한다.
+ * ./gradlew benchmark 로 실행한다.
+ */
+@Tag("benchmark")
+public class PointHistoryIndexBenchmarkTest {
+
+    private static final long TARGET_USER_ID = 0L;
+    private static final int TARGET_USER_HISTORY_COUNT = 100;
+    private static final int OTHER_USER_COUNT = 100_000;
+    private static final int READ_COUNT = 200_000;
+
+    /**
+     * [성능]
+     * 전체 내역이 1만 건에서 1천만 건으로 늘어나도 대상 유저(내역 100건)의 조회 시간이 크게 늘지 않는지 검증한다.
+     */
+    @Test
+    void 전체_내역이_늘어나도_유저_내역_조회_시간은_일정하다() {
+        Map<Integer, Double> nanosPerRead = new LinkedHashMap<>();
+        for (int totalRows : new int[]{10_000, 100_000, 1_000_000, 10_000_000}) {
+            PointHistoryIndex index = populate(totalRows);
+            nanosPerRead.put(totalRows, measure(index));
+        }
+
+        nanosPerRead.forEach((totalRows, nanos) ->
+                System.out.printf("total rows=%,12d  read=%,10.1f ns/op%n", totalRows, nanos));
+        assertThat(nanosPerRead.get(10_000_000)).isLessThan(nanosPerRead.get(10_000) * 5);
+    }
+
+    private PointHistoryIndex populate(int totalRows) {
+        PointHistoryIndex index = new PointHistoryIndex();
+        int targetInterval = totalRows / TARGET_USER_HISTORY_COUNT;
+        long now = System.currentTimeMillis();
+        for (long id = 1; id <= totalRows; id++) {
+            long userId = id % targetInterval == 0 ? TARGET_USER_ID : id % OTHER_USER_COUNT + 1;
+            index.add(new PointHistory(id, userId, 100L, TransactionType.CHARGE, now));
+        }
+        return index;
+    }
+
+    private double measure(PointHistoryIndex index) {
+        long checksum = 0;
+        for (int i = 0; i < READ_COUNT; i++) {
+            checksum += index.findAllByUserId(TARGET_USER_ID).size();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < READ_COUNT; i++) {
+            checksum += index.findAllByUserId(TARGET_USER_ID).size();
+        }
+        long elapsed = System.nanoTime() - start;
+        assertThat(checksum).isEqualTo(2L * READ_COUNT * TARGET_USER_HISTORY_COUNT);
+        return (double) elapsed / READ_COUNT;
+    }
+}
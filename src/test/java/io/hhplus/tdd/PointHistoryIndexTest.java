@@ -0,0 +1,79 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryIndex;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PointHistoryIndexTest {
+
+    /**
+     * [저장소 동작]
+     * 청크가 여러 번 넘어가도록 두 유저의 내역을 번갈아 추가해도, 유저별 내역을 추가한 순서 그대로 돌려주는지 검증한다.
+     */
+    @Test
+    void 청크가_넘어가도_유저별_내역을_순서대로_조회한다() {
+        // given
+        PointHistoryIndex index = new PointHistoryIndex();
+        List<PointHistory> expected = new ArrayList<>();
+        for (long id = 1; id <= 6000; id++) {
+            PointHistory pointHistory = new PointHistory(
+                    id, id % 3 == 0 ? 2L : 1L, id * 10, id % 2 == 0 ? TransactionType.USE : TransactionType.CHARGE, id);
+            index.add(pointHistory);
+            if (pointHistory.userId() == 1L) {
+                expected.add(pointHistory);
+            }
+        }
+
+        // when
+        List<PointHistory> histories = index.findAllByUserId(1L);
+
+        // then
+        assertThat(histories).containsExactlyElementsOf(expected);
+        assertThat(index.findAllByUserId(2L)).hasSize(2000);
+        assertThat(index.offHeapBytes()).isPositive();
+    }
+
+    /**
+     * [저장소 동작]
+     * 청크 경계에 걸친 afterId 부터 조건에 맞는 내역을 limit 개만 돌려주는지 검증한다.
+     */
+    @Test
+    void 청크_경계에_걸친_커서부터_조건에_맞는_내역을_조회한다() {
+        // given
+        PointHistoryIndex index = new PointHistoryIndex();
+        for (long id = 1; id <= 3000; id++) {
+            index.add(new PointHistory(id, 1L, id, id % 2 == 0 ? TransactionType.USE : TransactionType.CHARGE, id));
+        }
+
+        // when
+        // 청크 크기는 4, 8, 16 ... 이므로 12번째 내역이 두 번째 청크의 끝이다.
+        List<PointHistory> page = index.findAfter(1L, 12L, 5, 0L, Long.MAX_VALUE, TransactionType.USE);
+
+        // then
+        assertThat(page).extracting(PointHistory::id).containsExactly(14L, 16L, 18L, 20L, 22L);
+    }
+
+    /**
+     * [저장소 동작]
+     * 비운 뒤에는 이전 내역을 돌려주지 않고, 새로 추가한 내역만 돌려주는지 검증한다.
+     */
+    @Test
+    void 비우면_새로_추가한_내역만_조회한다() {
+        // given
+        PointHistoryIndex index = new PointHistoryIndex();
+        index.add(new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, 1L));
+
+        // when
+        index.clear();
+        index.add(new PointHistory(2L, 1L, 200L, TransactionType.CHARGE, 2L));
+
+        // then
+        assertThat(index.findAllByUserId(1L)).extracting(PointHistory::amount).containsExactly(200L);
+    }
+}
@@ -0,0 +1,453 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointHistorySource;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.PointHistoryPageRequest;
+import io.hhplus.tdd.point.PointHistoryRepository;
+import io.hhplus.tdd.point.PointHistorySummary;
+import io.hhplus.tdd.point.PointHistoryWriterProperties;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.wal.WriteAheadLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+
+public class PointHistoryRepositoryTest {
+
+    PointHistoryTable pointHistoryTable = new PointHistoryTable();
+
+    PointHistoryRepository pointHistoryRepository;
+
+    @AfterEach
+    void tearDown() {
+        pointHistoryRepository.stop();
+    }
+
+    @Nested
+    @DisplayName("비동기 내역 기록")
+    class WriteBehind {
+        /**
+         * [저장소 동작]
+         * 테이블에 기록되기 전이라도 저장한 내역이 즉시 조회되는지 검증한다.
+         */
+        @Test
+        void 기록_대기중인_내역도_조회된다() {
+            // given
+            pointHistoryRepository = repositoryWithCapacity(100);
+            long userId = 1L;
+
+            // when
+            pointHistoryRepository.save(userId, 1000L, TransactionType.CHARGE);
+            pointHistoryRepository.save(userId, -500L, TransactionType.USE);
+
+            // then
+            assertThat(pointHistoryTable.selectAllByUserId(userId)).isEmpty();
+            List<PointHistory> histories = pointHistoryRepository.getAllBy(userId);
+            assertThat(histories).extracting(PointHistory::amount).containsExactly(1000L, -500L);
+        }
+
+        /**
+         * [저장소 동작]
+         * writer 가 기록한 내역의 id 가 저장 시점에 조회된 id 와 같은지 검증한다.
+         */
+        @Test
+        void 테이블에_기록된_내역의_id_는_저장_시점의_id_와_같다() {
+            // given
+            pointHistoryRepository = repositoryWithCapacity(100);
+            long userId = 1L;
+            pointHistoryRepository.save(userId, 1000L, TransactionType.CHARGE);
+            pointHistoryRepository.save(2L, 300L, TransactionType.CHARGE);
+            pointHistoryRepository.save(userId, -500L, TransactionType.USE);
+            List<PointHistory> beforeWrite = pointHistoryRepository.getAllBy(userId);
+
+            // when
+            pointHistoryRepository.start();
+            pointHistoryRepository.flush();
+
+            // then
+            assertThat(pointHistoryRepository.pendingCount()).isZero();
+            assertThat(pointHistoryTable.selectAllByUserId(userId)).isEqualTo(beforeWrite);
+        }
+
+        /**
+         * [저장소 동작]
+         * 대기열이 가득 차면 저장 요청이 writer 가 자리를 비울 때까지 대기하는지 검증한다.
+         */
+        @Test
+        void 대기열이_가득_차면_저장이_대기한다() throws Exception {
+            // given
+            pointHistoryRepository = repositoryWithCapacity(1);
+            pointHistoryRepository.save(1L, 1000L, TransactionType.CHARGE);
+
+            // when
+            CompletableFuture<Void> blocked = CompletableFuture.runAsync(
+                    () -> pointHistoryRepository.save(1L, 2000L, TransactionType.CHARGE));
+
+            // then
+            TimeUnit.MILLISECONDS.sleep(200);
+            assertThat(blocked).isNotDone();
+
+            pointHistoryRepository.start();
+            blocked.get(5, TimeUnit.SECONDS);
+            pointHistoryRepository.flush();
+            assertThat(pointHistoryTable.selectAllByUserId(1L)).hasSize(2);
+        }
+
+        /**
+         * [저장소 동작]
+         * 복구한 내역이 대기열보다 많아도 새 내역을 한 묶음씩 번갈아 기록해, 복구한 내역을 다 기록할 때까지 저장이 막히지 않는지 검증한다.
+         */
+        @Test
+        void 복구한_내역과_새_내역을_번갈아_기록한다() throws Exception {
+            // given
+            pointHistoryRepository = new PointHistoryRepository(pointHistoryTable,
+                    new PointHistoryWriterProperties(1, 5, Duration.ofSeconds(30)), PointMetrics.noop(), WriteAheadLog.noop());
+            List<PointHistory> recovered = new ArrayList<>();
+            for (long id = 1; id <= 12; id++) {
+                recovered.add(new PointHistory(id, 1L, 100L, TransactionType.CHARGE, id));
+            }
+            pointHistoryRepository.restore(0, recovered);
+            pointHistoryRepository.save(2L, 1000L, TransactionType.CHARGE);
+
+            // when
+            pointHistoryRepository.start();
+            CompletableFuture<Void> second = CompletableFuture.runAsync(
+                    () -> pointHistoryRepository.save(2L, 2000L, TransactionType.CHARGE));
+            second.get(5, TimeUnit.SECONDS);
+            pointHistoryRepository.flush();
+
+            // then
+            assertThat(pointHistoryTable.selectAllByUserId(1L)).hasSize(12);
+            assertThat(pointHistoryTable.selectAllByUserId(2L)).extracting(PointHistory::id).first().isEqualTo(6L);
+            assertThat(pointHistoryRepository.getAllBy(2L)).extracting(PointHistory::id).containsExactly(13L, 14L);
+        }
+
+        /**
+         * [내구성]
+         * WAL 에 남기지 못한 내역은 대기열과 색인에 넣지 않고, 다음 내역이 같은 id 로 저장되는지 검증한다.
+         */
+        @Test
+        void WAL_에_남기지_못한_내역은_저장하지_않는다() {
+            // given
+            WriteAheadLog writeAheadLog = mock(WriteAheadLog.class);
+            willThrow(new IllegalStateException("디스크가 가득 찼습니다."))
+                    .willDoNothing()
+                    .given(writeAheadLog).appendHistory(anyLong(), anyLong(), any(), anyLong());
+            pointHistoryRepository = new PointHistoryRepository(pointHistoryTable,
+                    new PointHistoryWriterProperties(100, 10, Duration.ofSeconds(30)), PointMetrics.noop(), writeAheadLog);
+
+            // when
+            Throwable failed = catchThrowable(() -> pointHistoryRepository.save(1L, 1000L, TransactionType.CHARGE));
+            int pendingAfterFailure = pointHistoryRepository.pendingCount();
+            pointHistoryRepository.save(1L, 2000L, TransactionType.CHARGE);
+            pointHistoryRepository.start();
+            pointHistoryRepository.flush();
+
+            // then
+            assertThat(failed).isInstanceOf(IllegalStateException.class);
+            assertThat(pendingAfterFailure).isZero();
+            assertThat(pointHistoryRepository.getAllBy(1L)).extracting(PointHistory::id, PointHistory::amount)
+                    .containsExactly(tuple(1L, 2000L));
+            assertThat(pointHistoryTable.selectAllByUserId(1L)).extracting(PointHistory::id, PointHistory::amount)
+                    .containsExactly(tuple(1L, 2000L));
+        }
+
+        /**
+         * [저장소 동작]
+         * 종료 시 대기 중인 내역을 모두 테이블에 기록하는지 검증한다.
+         */
+        @Test
+        void 종료시_대기중인_내역을_모두_기록한다() {
+            // given
+            pointHistoryRepository = repositoryWithCapacity(100);
+            pointHistoryRepository.start();
+            for (int i = 0; i < 5; i++) {
+                pointHistoryRepository.save(1L, 100L, TransactionType.CHARGE);
+            }
+
+            // when
+            pointHistoryRepository.stop();
+
+            // then
+            assertThat(pointHistoryTable.selectAllByUserId(1L)).hasSize(5);
+        }
+
+        /**
+         * [저장소 동작]
+         * writer 는 웹 서버보다 먼저 시작하고, 웹 서버가 graceful shutdown 으로 요청을 마치고 멈춘 뒤에 종료되는지 검증한다.
+         */
+        @Test
+        void 웹_서버가_멈춘_뒤에_종료한다() {
+            // given
+            pointHistoryRepository = repositoryWithCapacity(100);
+
+            // when
+            int phase = pointHistoryRepository.getPhase();
+
+            // then
+            assertThat(phase).isLessThan(WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1024);
+        }
+    }
+
+    @Nested
+    @DisplayName("유저별 내역 조회")
+    class GetAllBy {
+        /**
+         * [저장소 동작]
+         * 여러 유저의 내역이 섞여 있어도 해당 유저의 내역만 저장 순서대로 조회되는지 검증한다.
+         * 청크 경계를 넘는 개수를 저장해 청크가 늘어나도 순서가 유지되는지 함께 확인한다.
+         */
+        @Test
+        void 해당_유저의_내역만_저장_순서대로_조회된다() {
+            // given
+            pointHistoryRepository = repositoryWithCapacity(1000);
+            for (int i = 1; i <= 100; i++) {
+                pointHistoryRepository.save(1L, i, TransactionType.CHARGE);
+                pointHistoryRepository.save(2L, -i, TransactionType.USE);
+            }
+
+            // when
+            List<PointHistory> histories = pointHistoryRepository.getAllBy(1L);
+
+            // then
+            assertThat(histories).hasSize(100);
+            assertThat(histories).allMatch(h -> h.userId() == 1L && h.type() == TransactionType.CHARGE);
+            assertThat(histories).extracting(PointHistory::amount)
+                    .containsExactlyElementsOf(LongStream.rangeClosed(1, 100).boxed().toList());
+            assertThat(histories).isSortedAccordingTo(Comparator.comparingLong(PointHistory::id));
+        }
+
+        /**
+         * [저장소 동작]
+         * 내역이 없는 유저는 빈 목록이 조회되는지 검증한다.
+         */
+        @Test
+        void 내역이_없으면_빈_목록이_조회된다() {
+            // given
+            pointHistoryRepository = repositoryWithCapacity(10);
+
+            // when & then
+            assertThat(pointHistoryRepository.getAllBy(1L)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("유저별 내역 페이지 조회")
+    class GetPageBy {
+        /**
+         * [저장소 동작]
+         * nextCursor 를 따라가면 유저의 모든 내역을 중복 없이 순서대로 조회하고, 마지막 페이지의 nextCursor 는 null 인지 검증한다.
+         */
+        @Test
+        void 커서를_따라가면_모든_내역을_순서대로_조회한다() {
+            // given
+            pointHistoryRepository = repositoryWithCapacity(1000);
+            for (int i = 1; i <= 25; i++) {
+                pointHistoryRepository.save(1L, i, TransactionType.CHARGE);
+                pointHistoryRepository.save(2L, i, TransactionType.CHARGE);
+            }
+
+            // when
+            List<Long> amounts = new ArrayList<>();
+            List<Integer> pageSizes = new ArrayList<>();
+            Long cursor = null;
+            do {
+                PointHistoryPage page = pointHistoryRepository.getPageBy(1L, new PointHistoryPageRequest(cursor, 10, null, null, null));
+                page.histories().forEach(h -> amounts.add(h.amount()));
+                pageSizes.add(page.histories().size());
+                cursor = page.nextCursor();
+            } while (cursor != null);
+
+            // then
+            assertThat(pageSizes).containsExactly(10, 10, 5);
+            assertThat(amounts).containsExactlyElementsOf(LongStream.rangeClosed(1, 25).boxed().toList());
+        }
+
+        /**
+         * [저장소 동작]
+         * 트랜잭션 종류와 시간 범위 조건에 맞는 내역만 조회되는지 검증한다.
+         */
+        @Test
+        void 조건에_맞는_내역만_조회한다() {
+            // given
+            pointHistoryRepository = repositoryWithCapacity(1000);
+            for (int i = 1; i <= 10; i++) {
+                pointHistoryRepository.save(1L, i, TransactionType.CHARGE);
+                pointHistoryRepository.save(1L, -i, TransactionType.USE);
+            }
+            List<PointHistory> all = pointHistoryRepository.getAllBy(1L);
+            long from = all.get(0).updateMillis();
+            long to = all.get(all.size() - 1).updateMillis();
+
+            // when
+            PointHistoryPage usePage = pointHistoryRepository.getPageBy(1L, new PointHistoryPageRequest(null, 100, null, null, TransactionType.USE));
+            PointHistoryPage emptyPage = pointHistoryRepository.getPageBy(1L, new PointHistoryPageRequest(null, 100, to + 1, null, null));
+            PointHistoryPage rangePage = pointHistoryRepository.getPageBy(1L, new PointHistoryPageRequest(null, 100, from, to, null));
+
+            // then
+            assertThat(usePage.histories()).hasSize(10).allMatch(h -> h.type() == TransactionType.USE);
+            assertThat(usePage.nextCursor()).isNull();
+            assertThat(emptyPage.histories()).isEmpty();
+            assertThat(rangePage.histories()).hasSize(20);
+        }
+    }
+
+    @Nested
+    @DisplayName("유저별 내역 순회")
+    class ForEachAfter {
+        /**
+         * [저장소 동작]
+         * 지정한 id 다음 내역부터 해당 유저의 내역만 순서대로 방문하는지 검증한다.
+         */
+        @Test
+        void 지정한_id_다음_내역부터_순서대로_방문한다() throws Exception {
+            // given
+            pointHistoryRepository = repositoryWithCapacity(1000);
+            for (int i = 1; i <= 30; i++) {
+                pointHistoryRepository.save(1L, i, TransactionType.CHARGE);
+                pointHistoryRepository.save(2L, i, TransactionType.CHARGE);
+            }
+            long afterId = pointHistoryRepository.getAllBy(1L).get(19).id();
+
+            // when
+            List<Long> amounts = new ArrayList<>();
+            pointHistoryRepository.forEachAfter(1L, afterId, (id, userId, amount, type, updateMillis) -> amounts.add(amount));
+
+            // then
+            assertThat(amounts).containsExactlyElementsOf(LongStream.rangeClosed(21, 30).boxed().toList());
+        }
+    }
+
+    @Nested
+    @DisplayName("유저별 내역 집계")
+    class GetSummaryBy {
+        /**
+         * [저장소 동작]
+         * 저장 시점마다 갱신한 집계가 테이블에 기록된 내역을 처음부터 집계한 결과와 같은지 검증한다.
+         */
+        @Test
+        void 집계는_테이블의_내역을_집계한_결과와_같다() {
+            // given
+            pointHistoryRepository = repositoryWithCapacity(100);
+            pointHistoryRepository.save(1L, 1000L, TransactionType.CHARGE);
+            pointHistoryRepository.save(2L, 700L, TransactionType.CHARGE);
+            pointHistoryRepository.save(1L, -300L, TransactionType.USE);
+            pointHistoryRepository.save(1L, 500L, TransactionType.CHARGE);
+            pointHistoryRepository.save(1L, -200L, TransactionType.USE);
+
+            // when
+            pointHistoryRepository.start();
+            pointHistoryRepository.flush();
+
+            // then
+            PointHistorySummary summary = pointHistoryRepository.getSummaryBy(1L);
+            assertThat(summary).isEqualTo(PointHistorySummary.of(1L, pointHistoryTable.selectAllByUserId(1L)));
+            assertThat(summary.count()).isEqualTo(4);
+            assertThat(summary.totals()).containsEntry(TransactionType.CHARGE, 1500L).containsEntry(TransactionType.USE, -500L);
+            assertThat(summary.counts()).containsEntry(TransactionType.CHARGE, 2L).containsEntry(TransactionType.USE, 2L);
+        }
+
+        /**
+         * [저장소 동작]
+         * 집계를 다시 계산해도 저장 시점마다 갱신한 집계와 같고, 내역이 없는 유저는 빈 집계를 반환하는지 검증한다.
+         */
+        @Test
+        void 다시_계산한_집계는_갱신해_온_집계와_같다() {
+            // given
+            pointHistoryRepository = repositoryWithCapacity(10_000);
+            for (int i = 1; i <= 3000; i++) {
+                pointHistoryRepository.save(i % 2 + 1L, i, i % 3 == 0 ? TransactionType.USE : TransactionType.CHARGE);
+            }
+            PointHistorySummary before = pointHistoryRepository.getSummaryBy(1L);
+
+            // when
+            pointHistoryRepository.rebuildSummaries();
+
+            // then
+            assertThat(pointHistoryRepository.getSummaryBy(1L)).isEqualTo(before)
+                    .isEqualTo(PointHistorySummary.of(1L, pointHistoryRepository.getAllBy(1L)));
+            PointHistorySummary empty = pointHistoryRepository.getSummaryBy(3L);
+            assertThat(empty.count()).isZero();
+            assertThat(empty.firstUpdateMillis()).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("건너뛴 내역 다시 읽기")
+    class Reload {
+        /**
+         * [저장소 동작]
+         * 스냅샷에 반영되어 건너뛴 내역을 다시 읽는 동안
+         * - 일부 내역만 담긴 조회 결과를 돌려주지 않고 거절하고, 저장은 그대로 받고
+         * - 다 읽은 뒤에는 건너뛴 내역, 복구한 내역, 그사이 저장한 내역이 id 순서대로 조회되고 집계에 반영되고
+         * - 테이블에는 건너뛴 내역을 다시 기록하지 않고 복구한 내역과 그사이 저장한 내역만 기록되는지 검증한다.
+         */
+        @Test
+        void 다시_읽는_동안_조회는_거절하고_다_읽으면_모든_내역이_조회된다() throws Exception {
+            // given
+            pointHistoryRepository = repositoryWithCapacity(100);
+            CountDownLatch released = new CountDownLatch(1);
+            PointHistorySource skipped = visitor -> {
+                try {
+                    released.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+                visitor.visit(1L, 1L, 1000L, TransactionType.CHARGE, 10L);
+                visitor.visit(2L, 2L, 700L, TransactionType.CHARGE, 20L);
+            };
+            pointHistoryRepository.restore(2, skipped, List.of(new PointHistory(3L, 1L, -300L, TransactionType.USE, 30L)));
+            pointHistoryRepository.save(1L, 500L, TransactionType.CHARGE);
+
+            // when
+            Throwable whileReloading = catchThrowable(() -> pointHistoryRepository.getAllBy(1L));
+            released.countDown();
+            pointHistoryRepository.awaitReloaded();
+            pointHistoryRepository.start();
+            pointHistoryRepository.flush();
+
+            // then
+            assertThat(whileReloading).isInstanceOf(BusinessException.class)
+                    .extracting(e -> ((BusinessException) e).getErrorCode())
+                    .isEqualTo(ErrorCode.POINT_HISTORY_RELOADING);
+            List<PointHistory> histories = pointHistoryRepository.getAllBy(1L);
+            assertThat(histories).extracting(PointHistory::id, PointHistory::amount)
+                    .containsExactly(tuple(1L, 1000L), tuple(3L, -300L), tuple(4L, 500L));
+            assertThat(pointHistoryRepository.getSummaryBy(1L)).isEqualTo(PointHistorySummary.of(1L, histories));
+            assertThat(pointHistoryTable.selectAllByUserId(1L)).extracting(PointHistory::amount).containsExactly(-300L, 500L);
+            assertThat(pointHistoryTable.selectAllByUserId(2L)).isEmpty();
+        }
+    }
+
+    private PointHistoryRepository repositoryWithCapacity(int queueCapacity) {
+        return new PointHistoryRepository(
+                pointHistoryTable,
+                new PointHistoryWriterProperties(queueCapacity, 10, Duration.ofSeconds(30)),
+                PointMetrics.noop(),
+                WriteAheadLog.noop()
+        );
+    }
+}
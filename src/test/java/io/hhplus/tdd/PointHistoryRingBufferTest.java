@@ -0,0 +1,63 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.event.PointHistoryEvents;
+import io.hhplus.tdd.event.PointHistoryRingBuffer;
+import io.hhplus.tdd.fixture.PointHistoryFixture;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PointHistoryRingBufferTest {
+
+    /**
+     * [저장소 동작]
+     * offset 다음 내역부터 limit 개씩 id 순서대로 읽고, 다음 offset 으로 이어 읽을 수 있는지 검증한다.
+     */
+    @Test
+    void offset_다음_내역부터_순서대로_이어_읽는다() {
+        // given
+        PointHistoryRingBuffer ringBuffer = new PointHistoryRingBuffer(16);
+        publish(ringBuffer, 1, 10);
+
+        // when
+        PointHistoryEvents first = ringBuffer.readAfter(3, 4);
+        PointHistoryEvents second = ringBuffer.readAfter(first.nextOffset(), 4);
+        PointHistoryEvents last = ringBuffer.readAfter(10, 4);
+
+        // then
+        assertThat(first.events()).extracting(PointHistory::id).containsExactly(4L, 5L, 6L, 7L);
+        assertThat(second.events()).extracting(PointHistory::id).containsExactly(8L, 9L, 10L);
+        assertThat(second.truncated()).isFalse();
+        assertThat(last.events()).isEmpty();
+        assertThat(last.nextOffset()).isEqualTo(10L);
+    }
+
+    /**
+     * [저장소 동작]
+     * 버퍼에서 밀려난 offset 으로 읽으면, 남아 있는 가장 오래된 내역부터 읽고 건너뛰었음을 알리는지 검증한다.
+     */
+    @Test
+    void 밀려난_offset_으로_읽으면_남은_내역부터_읽고_알린다() {
+        // given
+        PointHistoryRingBuffer ringBuffer = new PointHistoryRingBuffer(10);
+        publish(ringBuffer, 1, 40);
+
+        // when
+        PointHistoryEvents events = ringBuffer.readAfter(5, 100);
+
+        // then
+        assertThat(ringBuffer.capacity()).isEqualTo(16);
+        assertThat(events.truncated()).isTrue();
+        assertThat(events.events()).extracting(PointHistory::id).first().isEqualTo(25L);
+        assertThat(events.events()).hasSize(16);
+        assertThat(events.nextOffset()).isEqualTo(40L);
+    }
+
+    private void publish(PointHistoryRingBuffer ringBuffer, long fromId, long toId) {
+        for (long id = fromId; id <= toId; id++) {
+            ringBuffer.publish(PointHistoryFixture.withIdAndUserIdAndAmountAndTransactionType(id, id % 3, 100L, TransactionType.CHARGE));
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.fixture.UserPointFixture;
+import io.hhplus.tdd.point.PointIdempotencyProperties;
+import io.hhplus.tdd.point.PointIdempotencyStore;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PointIdempotencyStoreTest {
+
+    @Nested
+    @DisplayName("재시도")
+    class Replay {
+        /**
+         * [멱등성]
+         * 같은 키로 다시 요청하면 작업을 다시 수행하지 않고 처음 결과를 돌려주는지 검증한다.
+         */
+        @Test
+        void 같은_키로_재시도하면_처음_결과를_돌려준다() {
+            // given
+            PointIdempotencyStore store = storeWith(100, Duration.ofMinutes(1));
+            AtomicInteger executions = new AtomicInteger();
+            UserPoint charged = UserPointFixture.withUserIdAndPoint(1L, 1000L);
+
+            // when
+            UserPoint first = store.execute("key", 1L, TransactionType.CHARGE, 1000L, () -> {
+                executions.incrementAndGet();
+                return charged;
+            });
+            UserPoint second = store.execute("key", 1L, TransactionType.CHARGE, 1000L, () -> {
+                executions.incrementAndGet();
+                return UserPointFixture.withUserIdAndPoint(1L, 2000L);
+            });
+
+            // then
+            assertThat(executions.get()).isEqualTo(1);
+            assertThat(first).isEqualTo(charged);
+            assertThat(second).isEqualTo(charged);
+        }
+
+        /**
+         * [멱등성]
+         * 포인트 부족으로 실패한 요청은 재시도해도 같은 에러로 실패하는지 검증한다.
+         */
+        @Test
+        void 비즈니스_예외로_실패한_요청은_재시도해도_같은_예외를_던진다() {
+            // given
+            PointIdempotencyStore store = storeWith(100, Duration.ofMinutes(1));
+            AtomicInteger executions = new AtomicInteger();
+            Runnable use = () -> store.execute("key", 1L, TransactionType.USE, 1000L, () -> {
+                executions.incrementAndGet();
+                throw new BusinessException(ErrorCode.INSUFFICIENT_POINT);
+            });
+
+            // when & then
+            assertThatThrownBy(use::run).isInstanceOf(BusinessException.class);
+            assertThatThrownBy(use::run)
+                    .isInstanceOf(BusinessException.class)
+                    .extracting(e -> ((BusinessException) e).getErrorCode())
+                    .isEqualTo(ErrorCode.INSUFFICIENT_POINT);
+            assertThat(executions.get()).isEqualTo(1);
+        }
+
+        /**
+         * [멱등성]
+         * 예상하지 못한 예외로 실패한 요청은 결과를 보관하지 않아 다시 수행할 수 있는지 검증한다.
+         */
+        @Test
+        void 예상하지_못한_예외로_실패한_요청은_다시_수행한다() {
+            // given
+            PointIdempotencyStore store = storeWith(100, Duration.ofMinutes(1));
+            UserPoint charged = UserPointFixture.withUserIdAndPoint(1L, 1000L);
+            assertThatThrownBy(() -> store.execute("key", 1L, TransactionType.CHARGE, 1000L, () -> {
+                throw new IllegalStateException();
+            })).isInstanceOf(IllegalStateException.class);
+
+            // when
+            UserPoint result = store.execute("key", 1L, TransactionType.CHARGE, 1000L, () -> charged);
+
+            // then
+            assertThat(result).isEqualTo(charged);
+        }
+
+        /**
+         * [멱등성]
+         * 경합이나 버전 불일치처럼 다시 시도하면 성공할 수 있는 예외는 보관하지 않아, 같은 키로 재시도하면 다시 수행하는지 검증한다.
+         */
+        @Test
+        void 재시도할_수_있는_예외로_실패한_요청은_다시_수행한다() {
+            // given
+            PointIdempotencyStore store = storeWith(100, Duration.ofMinutes(1));
+            UserPoint charged = UserPointFixture.withUserIdAndPoint(1L, 1000L);
+            assertThatThrownBy(() -> store.execute("key", 1L, TransactionType.CHARGE, 1000L, () -> {
+                throw new BusinessException(ErrorCode.POINT_UPDATE_CONFLICT);
+            })).isInstanceOf(BusinessException.class);
+
+            // when
+            UserPoint result = store.execute("key", 1L, TransactionType.CHARGE, 1000L, () -> charged);
+
+            // then
+            assertThat(result).isEqualTo(charged);
+        }
+
+        /**
+         * [멱등성]
+         * 같은 키를 다른 요청에 사용하면 거절하는지 검증한다.
+         */
+        @Test
+        void 같은_키를_다른_요청에_사용하면_거절한다() {
+            // given
+            PointIdempotencyStore store = storeWith(100, Duration.ofMinutes(1));
+            store.execute("key", 1L, TransactionType.CHARGE, 1000L, () -> UserPointFixture.withUserIdAndPoint(1L, 1000L));
+
+            // when & then
+            assertThatThrownBy(() -> store.execute("key", 1L, TransactionType.CHARGE, 500L,
+                    () -> UserPointFixture.withUserIdAndPoint(1L, 1500L)))
+                    .isInstanceOf(BusinessException.class)
+                    .extracting(e -> ((BusinessException) e).getErrorCode())
+                    .isEqualTo(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+        }
+
+        /**
+         * [멱등성]
+         * 같은 키를 다른 If-Match 버전과 함께 보내면 다른 요청으로 보고 거절하는지 검증한다.
+         */
+        @Test
+        void 같은_키를_다른_버전_조건과_사용하면_거절한다() {
+            // given
+            PointIdempotencyStore store = storeWith(100, Duration.ofMinutes(1));
+            store.execute("key", 1L, TransactionType.CHARGE, 1000L, 3L, () -> UserPointFixture.withUserIdAndPoint(1L, 1000L));
+
+            // when & then
+            assertThatThrownBy(() -> store.execute("key", 1L, TransactionType.CHARGE, 1000L, 4L,
+                    () -> UserPointFixture.withUserIdAndPoint(1L, 2000L)))
+                    .isInstanceOf(BusinessException.class)
+                    .extracting(e -> ((BusinessException) e).getErrorCode())
+                    .isEqualTo(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+        }
+
+        /**
+         * [멱등성]
+         * 비어 있거나 너무 긴 키는 거절하는지 검증한다.
+         */
+        @Test
+        void 비어_있거나_너무_긴_키는_거절한다() {
+            // given
+            PointIdempotencyStore store = storeWith(100, Duration.ofMinutes(1));
+
+            // when & then
+            assertThatThrownBy(() -> store.execute(" ", 1L, TransactionType.CHARGE, 1000L, () -> null))
+                    .isInstanceOf(BusinessException.class);
+            assertThatThrownBy(() -> store.execute("k".repeat(256), 1L, TransactionType.CHARGE, 1000L, () -> null))
+                    .isInstanceOf(BusinessException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("동시 요청")
+    class Concurrent {
+        /**
+         * [동시성]
+         * 같은 키의 요청이 동시에 들어오면 한 번만 수행하고 모두 같은 결과를 받는지 검증한다.
+         */
+        @Test
+        void 같은_키의_동시_요청은_한_번만_수행한다() throws Exception {
+            // given
+            PointIdempotencyStore store = storeWith(100, Duration.ofMinutes(1));
+            AtomicInteger executions = new AtomicInteger();
+            CountDownLatch release = new CountDownLatch(1);
+            UserPoint charged = UserPointFixture.withUserIdAndPoint(1L, 1000L);
+            int requestCount = 10;
+            ExecutorService executor = Executors.newFixedThreadPool(requestCount);
+
+            // when
+            List<CompletableFuture<UserPoint>> results = new ArrayList<>();
+            for (int i = 0; i < requestCount; i++) {
+                results.add(CompletableFuture.supplyAsync(() -> store.execute("key", 1L, TransactionType.CHARGE, 1000L, () -> {
+                    executions.incrementAndGet();
+                    awaitQuietly(release);
+                    return charged;
+                }), executor));
+            }
+            TimeUnit.MILLISECONDS.sleep(200);
+            release.countDown();
+
+            // then
+            for (CompletableFuture<UserPoint> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(charged);
+            }
+            assertThat(executions.get()).isEqualTo(1);
+            executor.shutdown();
+        }
+    }
+
+    @Nested
+    @DisplayName("보관 한도")
+    class Bound {
+        /**
+         * [메모리]
+         * 보관 개수를 넘으면 가장 먼저 들어온 키부터 제거하는지 검증한다.
+         */
+        @Test
+        void 보관_개수를_넘으면_먼저_들어온_키를_제거한다() {
+            // given
+            PointIdempotencyStore store = storeWith(2, Duration.ofMinutes(1));
+            AtomicInteger executions = new AtomicInteger();
+
+            // when
+            for (String key : List.of("a", "b", "c", "a")) {
+                store.execute(key, 1L, TransactionType.CHARGE, 1L, () -> {
+                    executions.incrementAndGet();
+                    return UserPointFixture.withUserId(1L);
+                });
+            }
+
+            // then
+            assertThat(store.size()).isEqualTo(2);
+            assertThat(executions.get()).isEqualTo(4);
+        }
+
+        /**
+         * [멱등성]
+         * 보관 개수를 넘어도 아직 수행 중인 키는 제거하지 않아, 그 키로 동시에 들어온 요청이 작업을 다시 수행하지 않는지 검증한다.
+         */
+        @Test
+        void 보관_개수를_넘어도_수행_중인_키는_제거하지_않는다() throws Exception {
+            // given
+            PointIdempotencyStore store = storeWith(1, Duration.ofMinutes(1));
+            AtomicInteger executions = new AtomicInteger();
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            UserPoint charged = UserPointFixture.withUserIdAndPoint(1L, 1000L);
+            CompletableFuture<UserPoint> first = CompletableFuture.supplyAsync(() -> store.execute("slow", 1L, TransactionType.CHARGE, 1000L, () -> {
+                executions.incrementAndGet();
+                started.countDown();
+                awaitQuietly(release);
+                return charged;
+            }), executor);
+            started.await(5, TimeUnit.SECONDS);
+
+            // when
+            store.execute("other", 2L, TransactionType.CHARGE, 1L, () -> UserPointFixture.withUserId(2L));
+            CompletableFuture<UserPoint> duplicate = CompletableFuture.supplyAsync(() -> store.execute("slow", 1L, TransactionType.CHARGE, 1000L, () -> {
+                executions.incrementAndGet();
+                return charged;
+            }), executor);
+            TimeUnit.MILLISECONDS.sleep(100);
+            release.countDown();
+
+            // then
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(charged);
+            assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo(charged);
+            assertThat(executions.get()).isEqualTo(1);
+            executor.shutdown();
+        }
+
+        /**
+         * [메모리]
+         * ttl 이 지난 키는 다시 수행하는지 검증한다.
+         */
+        @Test
+        void ttl_이_지난_키는_다시_수행한다() throws InterruptedException {
+            // given
+            PointIdempotencyStore store = storeWith(100, Duration.ofMillis(50));
+            AtomicInteger executions = new AtomicInteger();
+            Runnable charge = () -> store.execute("key", 1L, TransactionType.CHARGE, 1L, () -> {
+                executions.incrementAndGet();
+                return UserPointFixture.withUserId(1L);
+            });
+            charge.run();
+
+            // when
+            TimeUnit.MILLISECONDS.sleep(100);
+            charge.run();
+
+            // then
+            assertThat(executions.get()).isEqualTo(2);
+        }
+    }
+
+    private PointIdempotencyStore storeWith(int maxSize, Duration ttl) {
+        return new PointIdempotencyStore(new PointIdempotencyProperties(maxSize, ttl));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.*;
+import io.hhplus.tdd.wal.WriteAheadLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PointMetricsTest {
+
+    SimpleMeterRegistry meterRegistry;
+    UserPointRepository userPointRepository;
+    PointHistoryRepository pointHistoryRepository;
+    PointService pointService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        PointMetrics pointMetrics = new PointMetrics(meterRegistry);
+        UserLockManager userLockManager = new UserLockManager(pointMetrics);
+        userPointRepository = new UserPointRepository(
+                new UserPointTable(), userLockManager, new UserPointCacheProperties(100, Duration.ofMinutes(1), 10_000), pointMetrics, WriteAheadLog.noop());
+        pointHistoryRepository = new PointHistoryRepository(
+                new PointHistoryTable(), new PointHistoryWriterProperties(100, 10, Duration.ofSeconds(30)), pointMetrics, WriteAheadLog.noop());
+        pointService = new PointService(
+                userPointRepository, pointHistoryRepository, userLockManager, pointMetrics, WriteAheadLog.noop(), PointConcurrencyProperties.pessimistic());
+        pointHistoryRepository.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointHistoryRepository.stop();
+    }
+
+    @Nested
+    @DisplayName("서비스 호출 시간")
+    class Operation {
+        /**
+         * [지표]
+         * 충전/사용이 성공과 실패로 나뉘어 기록되는지 검증한다.
+         */
+        @Test
+        void 충전과_사용을_결과별로_기록한다() {
+            // given
+            long userId = 1L;
+            pointService.charge(userId, 100L);
+
+            // when
+            pointService.use(userId, 50L);
+            assertThatThrownBy(() -> pointService.use(userId, 1_000L)).isInstanceOf(BusinessException.class);
+
+            // then
+            assertThat(operationCount("charge", "success")).isEqualTo(1);
+            assertThat(operationCount("use", "success")).isEqualTo(1);
+            assertThat(operationCount("use", "failure")).isEqualTo(1);
+        }
+
+        /**
+         * [지표]
+         * 유저 락 대기 시간과 테이블 호출 시간이 기록되는지 검증한다.
+         */
+        @Test
+        void 락_대기와_테이블_호출을_기록한다() {
+            // given
+            long userId = 1L;
+
+            // when
+            pointService.charge(userId, 100L);
+            pointHistoryRepository.flush();
+
+            // then
+            assertThat(meterRegistry.get("point.lock.wait").timer().count()).isPositive();
+            assertThat(tableCallCount("user_point", "selectById")).isEqualTo(1);
+            assertThat(tableCallCount("user_point", "insertOrUpdate")).isEqualTo(1);
+            assertThat(tableCallCount("point_history", "insert")).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("포인트 캐시")
+    class Cache {
+        /**
+         * [지표]
+         * 캐시 조회 결과와 크기가 수집할 때의 캐시 통계로 기록되는지 검증한다.
+         */
+        @Test
+        void 캐시_조회_결과와_크기를_기록한다() {
+            // given
+            new UserPointCacheMetrics(userPointRepository).bindTo(meterRegistry);
+
+            // when
+            pointService.get(1L);
+            pointService.get(1L);
+            pointService.get(2L);
+
+            // then
+            assertThat(meterRegistry.get("point.cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("point.cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(2);
+            assertThat(meterRegistry.get("point.cache.evictions").functionCounter().count()).isZero();
+            assertThat(meterRegistry.get("point.cache.size").gauge().value()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("거절 횟수")
+    class Rejection {
+        /**
+         * [지표]
+         * 에러 코드별로 거절 횟수를 센다.
+         */
+        @Test
+        void 에러_코드별로_거절_횟수를_센다() {
+            // given
+            PointMetrics pointMetrics = new PointMetrics(meterRegistry);
+
+            // when
+            pointMetrics.recordRejection(ErrorCode.INSUFFICIENT_POINT);
+            pointMetrics.recordRejection(ErrorCode.INSUFFICIENT_POINT);
+
+            // then
+            double count = meterRegistry.get("point.rejection").tag("error_code", "INSUFFICIENT_POINT").counter().count();
+            assertThat(count).isEqualTo(2);
+        }
+    }
+
+    private long operationCount(String operation, String outcome) {
+        return meterRegistry.get("point.operation").tag("operation", operation).tag("outcome", outcome).timer().count();
+    }
+
+    private long tableCallCount(String table, String method) {
+        return meterRegistry.get("point.table.call").tag("table", table).tag("method", method).timer().count();
+    }
+}
@@ -0,0 +1,202 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class PointServiceConcurrencyTest {
+
+    @Autowired
+    PointService pointService;
+
+    @Autowired
+    UserPointRepository userPointRepository;
+
+    @Autowired
+    PointHistoryRepository pointHistoryRepository;
+
+    @Autowired
+    PointHistoryTable pointHistoryTable;
+
+    @Autowired
+    UserLockManager userLockManager;
+
+    ExecutorService executorService;
+
+    @BeforeEach
+    void setUp() {
+        userPointRepository.clear();
+        pointHistoryRepository.clear();
+        executorService = Executors.newFixedThreadPool(200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+        pointHistoryRepository.clear();
+    }
+
+    @Nested
+    @DisplayName("동일 유저 동시 요청")
+    class SameUser {
+        /**
+         * [동시성]
+         * 같은 유저에게 동시에 충전 요청이 들어와도 갱신 손실 없이 모두 반영되는지 검증한다.
+         */
+        @Test
+        void 동시에_충전해도_모든_충전이_반영된다() throws InterruptedException {
+            // given
+            long userId = 1L;
+            int requestCount = 20;
+
+            // when
+            runConcurrently(requestCount, i -> pointService.charge(userId, 100L));
+
+            // then
+            pointHistoryRepository.flush();
+            assertThat(pointService.get(userId).point()).isEqualTo(100L * requestCount);
+            assertThat(pointHistoryTable.selectAllByUserId(userId)).hasSize(requestCount);
+        }
+
+        /**
+         * [동시성]
+         * 잔액보다 많은 사용 요청이 동시에 들어오면 잔액만큼만 성공하고 나머지는 INSUFFICIENT_POINT 로 실패하는지 검증한다.
+         */
+        @Test
+        void 동시에_사용하면_잔액만큼만_성공한다() throws InterruptedException {
+            // given
+            long userId = 1L;
+            userPointRepository.save(userId, 1000L);
+            AtomicInteger successCount = new AtomicInteger();
+            AtomicInteger failCount = new AtomicInteger();
+
+            // when
+            runConcurrently(20, i -> {
+                try {
+                    pointService.use(userId, 100L);
+                    successCount.incrementAndGet();
+                } catch (BusinessException e) {
+                    if (e.getErrorCode() == ErrorCode.INSUFFICIENT_POINT) {
+                        failCount.incrementAndGet();
+                    }
+                }
+            });
+
+            // then
+            pointHistoryRepository.flush();
+            assertThat(successCount.get()).isEqualTo(10);
+            assertThat(failCount.get()).isEqualTo(10);
+            assertThat(pointService.get(userId).point()).isZero();
+            assertThat(pointHistoryTable.selectAllByUserId(userId))
+                    .hasSize(10)
+                    .allMatch(h -> h.type() == TransactionType.USE && h.amount() == -100L);
+        }
+    }
+
+    @Nested
+    @DisplayName("여러 유저 동시 요청")
+    class ManyUsers {
+        /**
+         * [동시성]
+         * 여러 유저에게 충전/사용 요청이 섞여 수천 건 동시에 들어와도
+         * 유저별 최종 잔액과 포인트 내역이 정확한지 검증한다.
+         */
+        @Test
+        void 충전과_사용이_섞여도_유저별_잔액과_내역이_정확하다() throws InterruptedException {
+            // given
+            int userCount = 50;
+            int operationPerUser = 40;
+            long initialPoint = 10_000L;
+            for (long userId = 1; userId <= userCount; userId++) {
+                userPointRepository.save(userId, initialPoint);
+            }
+
+            // when
+            runConcurrently(userCount * operationPerUser, i -> {
+                long userId = i % userCount + 1;
+                if ((i / userCount) % 2 == 0) {
+                    pointService.charge(userId, 100L);
+                } else {
+                    pointService.use(userId, 50L);
+                }
+            });
+
+            // then
+            long expectedPoint = initialPoint + (operationPerUser / 2) * 100L - (operationPerUser / 2) * 50L;
+            for (long userId = 1; userId <= userCount; userId++) {
+                assertThat(pointService.get(userId).point()).isEqualTo(expectedPoint);
+
+                List<PointHistory> histories = pointService.getHistory(userId);
+                assertThat(histories).hasSize(operationPerUser);
+                assertThat(histories).filteredOn(h -> h.type() == TransactionType.CHARGE).hasSize(operationPerUser / 2);
+                assertThat(histories).filteredOn(h -> h.type() == TransactionType.USE).hasSize(operationPerUser / 2);
+            }
+            assertThat(userLockManager.size()).isZero();
+        }
+
+        /**
+         * [동시성]
+         * 서로 다른 유저의 요청은 서로를 기다리지 않고 병렬로 처리되는지 검증한다.
+         * 충전 1건은 최대 800ms 이므로, 직렬로 처리된다면 20명의 충전은 3초 안에 끝날 수 없다.
+         */
+        @Test
+        void 다른_유저의_요청은_병렬로_처리된다() throws InterruptedException {
+            // given
+            int userCount = 20;
+
+            // when
+            long start = System.nanoTime();
+            runConcurrently(userCount, i -> pointService.charge(i + 1, 100L));
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            // then
+            assertThat(elapsedMillis).isLessThan(3_000L);
+            for (long userId = 1; userId <= userCount; userId++) {
+                assertThat(pointService.get(userId).point()).isEqualTo(100L);
+            }
+        }
+    }
+
+    private void runConcurrently(int taskCount, IndexedTask task) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(taskCount);
+        List<Throwable> errors = new ArrayList<>();
+        for (int i = 0; i < taskCount; i++) {
+            int index = i;
+            executorService.submit(() -> {
+                try {
+                    task.run(index);
+                } catch (Throwable t) {
+                    synchronized (errors) {
+                        errors.add(t);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        assertThat(latch.await(2, TimeUnit.MINUTES)).isTrue();
+        assertThat(errors).isEmpty();
+    }
+
+    @FunctionalInterface
+    private interface IndexedTask {
+        void run(int index);
+    }
+}
@@ -0,0 +1,185 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.*;
+import io.hhplus.tdd.wal.WriteAheadLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.Mockito.mock;
+
+public class PointServiceGroupCommitTest {
+
+    CountingUserPointTable userPointTable;
+    PointHistoryRepository pointHistoryRepository;
+    PointService pointService;
+    ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        userPointTable = new CountingUserPointTable();
+        pointService = newPointService(WriteAheadLog.noop());
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    /**
+     * 내역 저장소만 historyLog 에 기록한다.
+     */
+    private PointService newPointService(WriteAheadLog historyLog) {
+        PointMetrics pointMetrics = PointMetrics.noop();
+        UserLockManager userLockManager = new UserLockManager(pointMetrics);
+        UserPointRepository userPointRepository = new UserPointRepository(
+                userPointTable, userLockManager, new UserPointCacheProperties(0, Duration.ofMinutes(1), 10_000), pointMetrics, WriteAheadLog.noop());
+        pointHistoryRepository = new PointHistoryRepository(
+                new PointHistoryTable(), new PointHistoryWriterProperties(100, 10, Duration.ofSeconds(30)), pointMetrics, historyLog);
+        return new PointService(
+                userPointRepository, pointHistoryRepository, userLockManager, pointMetrics, WriteAheadLog.noop(), PointConcurrencyProperties.pessimistic());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Nested
+    @DisplayName("묶어서 처리")
+    class GroupCommit {
+        /**
+         * [서비스 동작]
+         * 유저 락을 기다리는 동안 쌓인 작업을 조회 한 번, 저장 한 번으로 처리하면서
+         * - 포인트가 부족한 사용은 그 시점의 포인트로 판단해 거절하고
+         * - 요청마다 자기 작업 직후의 포인트를 받고
+         * - 내역은 적용된 작업마다 순서대로 남고
+         * - 적용된 작업마다 서로 다른 버전을 받고, 저장된 버전은 마지막 작업의 버전과 같은지 검증한다.
+         */
+        @Test
+        void 쌓인_작업을_순서대로_적용하고_한_번만_저장한다() throws Exception {
+            // given
+            long userId = 1L;
+            Future<UserPoint> first = executor.submit(() -> pointService.charge(userId, 1000L));
+            userPointTable.awaitSelecting();
+
+            Future<UserPoint> use700 = submitAndWait(() -> pointService.use(userId, 700L));
+            Future<UserPoint> overUse = submitAndWait(() -> pointService.use(userId, 700L));
+            Future<UserPoint> charge100 = submitAndWait(() -> pointService.charge(userId, 100L));
+
+            // when
+            userPointTable.release();
+
+            // then
+            assertThat(first.get(5, TimeUnit.SECONDS).point()).isEqualTo(1000L);
+            assertThat(use700.get(5, TimeUnit.SECONDS).point()).isEqualTo(300L);
+            assertThatThrownBy(() -> overUse.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(BusinessException.class);
+            assertThat(charge100.get(5, TimeUnit.SECONDS).point()).isEqualTo(400L);
+
+            assertThat(pointService.get(userId).point()).isEqualTo(400L);
+            assertThat(userPointTable.insertCount.get()).isEqualTo(2);
+            assertThat(pointService.getHistory(userId))
+                    .extracting(PointHistory::amount)
+                    .containsExactly(1000L, -700L, 100L);
+            assertThat(first.get().version()).isEqualTo(1L);
+            assertThat(use700.get().version()).isEqualTo(2L);
+            assertThat(charge100.get().version()).isEqualTo(3L);
+            assertThat(pointService.get(userId).version()).isEqualTo(3L);
+        }
+
+        /**
+         * [장애 처리]
+         * 묶인 작업 중 내역을 남기지 못한 작업이 있으면
+         * - 그 작업부터는 실패로 응답하고
+         * - 내역을 남긴 작업은 성공으로 응답하며, 그 작업까지의 포인트와 버전만 저장되는지 검증한다.
+         */
+        @Test
+        void 내역을_남긴_작업까지만_반영하고_나머지는_실패로_응답한다() throws Exception {
+            // given
+            WriteAheadLog writeAheadLog = mock(WriteAheadLog.class);
+            willDoNothing().willDoNothing().willThrow(new IllegalStateException("WAL 에 쓰지 못했습니다."))
+                    .given(writeAheadLog).appendHistory(anyLong(), anyLong(), any(), anyLong());
+            pointService = newPointService(writeAheadLog);
+            long userId = 1L;
+            Future<UserPoint> first = executor.submit(() -> pointService.charge(userId, 1000L));
+            userPointTable.awaitSelecting();
+
+            Future<UserPoint> use700 = submitAndWait(() -> pointService.use(userId, 700L));
+            Future<UserPoint> charge100 = submitAndWait(() -> pointService.charge(userId, 100L));
+
+            // when
+            userPointTable.release();
+
+            // then
+            assertThat(first.get(5, TimeUnit.SECONDS).version()).isEqualTo(1L);
+            UserPoint used = use700.get(5, TimeUnit.SECONDS);
+            assertThat(used.point()).isEqualTo(300L);
+            assertThat(used.version()).isEqualTo(2L);
+            assertThatThrownBy(() -> charge100.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class);
+
+            assertThat(pointService.get(userId).point()).isEqualTo(300L);
+            assertThat(pointService.get(userId).version()).isEqualTo(2L);
+            assertThat(pointService.getHistory(userId))
+                    .extracting(PointHistory::amount)
+                    .containsExactly(1000L, -700L);
+        }
+    }
+
+    /**
+     * 유저 락을 기다리는 대기열에 들어갈 시간을 준다.
+     */
+    private Future<UserPoint> submitAndWait(Callable<UserPoint> task) throws InterruptedException {
+        Future<UserPoint> future = executor.submit(task);
+        TimeUnit.MILLISECONDS.sleep(100);
+        return future;
+    }
+
+    /**
+     * 첫 selectById 는 release() 전까지 대기한다. 지연(throttle) 없이 동작한다.
+     */
+    static class CountingUserPointTable extends UserPointTable {
+        private final Map<Long, UserPoint> table = new ConcurrentHashMap<>();
+        private final CountDownLatch selecting = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+        final AtomicInteger insertCount = new AtomicInteger();
+
+        @Override
+        public UserPoint selectById(Long id) {
+            selecting.countDown();
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return table.getOrDefault(id, UserPoint.empty(id));
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            insertCount.incrementAndGet();
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+            table.put(id, userPoint);
+            return userPoint;
+        }
+
+        void awaitSelecting() throws InterruptedException {
+            selecting.await(5, TimeUnit.SECONDS);
+        }
+
+        void release() {
+            released.countDown();
+        }
+    }
+}
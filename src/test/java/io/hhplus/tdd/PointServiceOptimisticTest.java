@@ -0,0 +1,113 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.*;
+import io.hhplus.tdd.wal.WriteAheadLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PointServiceOptimisticTest {
+
+    UserPointRepository userPointRepository;
+    PointHistoryRepository pointHistoryRepository;
+    PointService pointService;
+    ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        PointMetrics pointMetrics = PointMetrics.noop();
+        UserLockManager userLockManager = new UserLockManager(pointMetrics);
+        userPointRepository = new UserPointRepository(
+                new UserPointTable(), userLockManager, new UserPointCacheProperties(100, Duration.ofMinutes(1), 10_000), pointMetrics, WriteAheadLog.noop());
+        pointHistoryRepository = new PointHistoryRepository(
+                new PointHistoryTable(), new PointHistoryWriterProperties(100, 10, Duration.ofSeconds(30)), pointMetrics, WriteAheadLog.noop());
+        pointService = new PointService(
+                userPointRepository, pointHistoryRepository, userLockManager, pointMetrics, WriteAheadLog.noop(), PointConcurrencyProperties.optimistic());
+        executor = Executors.newFixedThreadPool(10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Nested
+    @DisplayName("버전 비교 저장과 재시도")
+    class Retry {
+        /**
+         * [동시성]
+         * 같은 유저를 동시에 충전하면 버전이 바뀐 충전은 다시 조회해 재시도하고,
+         * 재시도 횟수를 넘겨 실패한 충전을 제외한 충전만 갱신 손실 없이 반영되는지 검증한다.
+         */
+        @Test
+        void 동시에_충전해도_성공한_충전은_모두_반영된다() throws Exception {
+            // given
+            long userId = 1L;
+            List<Future<UserPoint>> charges = new ArrayList<>();
+
+            // when
+            for (int i = 0; i < 10; i++) {
+                charges.add(executor.submit(() -> pointService.charge(userId, 100L)));
+            }
+            int succeeded = 0;
+            for (Future<UserPoint> charge : charges) {
+                try {
+                    charge.get(30, TimeUnit.SECONDS);
+                    succeeded++;
+                } catch (Exception e) {
+                    assertThat(e.getCause()).isInstanceOf(BusinessException.class)
+                            .extracting(cause -> ((BusinessException) cause).getErrorCode())
+                            .isEqualTo(ErrorCode.POINT_UPDATE_CONFLICT);
+                }
+            }
+
+            // then
+            UserPoint userPoint = pointService.get(userId);
+            assertThat(succeeded).isPositive();
+            assertThat(userPoint.point()).isEqualTo(100L * succeeded);
+            assertThat(userPoint.version()).isEqualTo(succeeded);
+            assertThat(pointService.getHistory(userId)).hasSize(succeeded);
+        }
+    }
+
+    @Nested
+    @DisplayName("기대하는 버전")
+    class ExpectedVersion {
+        /**
+         * [서비스 동작]
+         * 기대하는 버전이 현재 버전과 다르면 재시도 없이 거절하고, 같으면 충전한 뒤 버전을 올리는지 검증한다.
+         */
+        @Test
+        void 기대하는_버전일_때만_충전한다() {
+            // given
+            long userId = 1L;
+            pointService.charge(userId, 1000L);
+
+            // when & then
+            assertThatThrownBy(() -> pointService.use(userId, 300L, 0L))
+                    .isInstanceOf(BusinessException.class)
+                    .extracting(e -> ((BusinessException) e).getErrorCode())
+                    .isEqualTo(ErrorCode.POINT_VERSION_MISMATCH);
+
+            UserPoint used = pointService.use(userId, 300L, 1L);
+            assertThat(used.point()).isEqualTo(700L);
+            assertThat(used.version()).isEqualTo(2L);
+            assertThat(pointService.getHistory(userId)).hasSize(2);
+        }
+    }
+}
@@ -3,12 +3,14 @@ package io.hhplus.tdd;
 import io.hhplus.tdd.fixture.PointHistoryFixture;
 import io.hhplus.tdd.fixture.UserPointFixture;
 import io.hhplus.tdd.point.*;
+import io.hhplus.tdd.wal.WriteAheadLog;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
@@ -29,6 +31,18 @@ public class PointServiceTest {
     @Mock
     PointHistoryRepository pointHistoryRepository;
 
+    @Spy
+    UserLockManager userLockManager = new UserLockManager(PointMetrics.noop());
+
+    @Spy
+    PointMetrics pointMetrics = PointMetrics.noop();
+
+    @Mock
+    WriteAheadLog writeAheadLog;
+
+    @Spy
+    PointConcurrencyProperties pointConcurrencyProperties = PointConcurrencyProperties.pessimistic();
+
     @Nested
     @DisplayName("포인트 조회")
     class getPoint {
@@ -101,7 +115,7 @@ public class PointServiceTest {
             pointService.charge(userId, chargeAmount);
 
             // then
-            verify(userPointRepository).save(updated.id(), updated.point());
+            verify(userPointRepository).save(updated.id(), updated.point(), 1);
             verify(pointHistoryRepository).save(userId, chargeAmount, TransactionType.CHARGE);
         }
     }
@@ -129,7 +143,7 @@ public class PointServiceTest {
             pointService.use(userId, useAmount);
 
             // then
-            verify(userPointRepository).save(updated.id(), updated.point());
+            verify(userPointRepository).save(updated.id(), updated.point(), 1);
             verify(pointHistoryRepository).save(userId, -useAmount, TransactionType.USE);
         }
     }
@@ -0,0 +1,173 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.reactive.ReactivePointServer;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.server.WebFilter;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 서블릿(Tomcat, 플랫폼 스레드) API 와 논블로킹(Reactor Netty, bounded elastic) API 에 같은 부하를 주고
+ * 처리량, 동시에 처리 중인 요청 수의 최댓값, 최대 스레드 수, 최대 힙 사용량을 비교한다.
+ * - 유저마다 한 번씩만 충전해 모든 요청이 테이블 지연(최대 500ms)을 겪도록 한다.
+ * - 응답을 기다리지 않고 일정한 속도(load.rate, 초당 요청 수)로 요청을 보낸다.
+ * - 테이블 호출은 어느 쪽이든 스레드를 막으므로, 블로킹 스레드 수는 Tomcat 스레드 풀과 bounded elastic 의 threadCap 을 같게 맞춘다.
+ *   논블로킹 쪽은 스레드를 기다리는 요청을 스레드 없이 대기열에 둔다.
+ * ./gradlew benchmark -Dload.requests=20000 -Dload.rate=4000
+ */
+@Tag("benchmark")
+public class ReactiveLoadTest {
+
+    private static final int REQUEST_COUNT = Integer.getInteger("load.requests", 10_000);
+    private static final int REQUEST_RATE = Integer.getInteger("load.rate", 2_000);
+    private static final int BLOCKING_THREADS = 200;
+
+    /**
+     * [성능]
+     * 같은 부하에서 두 API 가 모든 요청을 처리하는지 검증하고, 처리량과 자원 사용량을 출력한다.
+     * 논블로킹 쪽의 동시 처리 수가 블로킹 스레드 수를 넘는지는 CPU 가 요청 파싱을 따라갈 때만 드러나므로 검증하지 않는다.
+     */
+    @Test
+    void 서블릿과_논블로킹_API_에_같은_부하를_주고_비교한다() throws Exception {
+        LoadResult servlet = run(false);
+        LoadResult reactive = run(true);
+
+        System.out.printf("requests=%,d rate=%,d/s blocking threads=%d%n", REQUEST_COUNT, REQUEST_RATE, BLOCKING_THREADS);
+        System.out.println("servlet  : " + servlet);
+        System.out.println("reactive : " + reactive);
+
+        assertThat(servlet.okCount()).isEqualTo(REQUEST_COUNT);
+        assertThat(reactive.okCount()).isEqualTo(REQUEST_COUNT);
+        assertThat(servlet.peakInFlight()).isLessThanOrEqualTo(BLOCKING_THREADS);
+    }
+
+    private LoadResult run(boolean reactive) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TddApplication.class, InFlightConfig.class)
+                .run(
+                        "--server.port=0",
+                        "--server.tomcat.threads.max=" + BLOCKING_THREADS,
+                        "--server.tomcat.max-connections=" + (REQUEST_COUNT + 1_000),
+                        "--server.tomcat.accept-count=" + REQUEST_COUNT,
+                        "--point.reactive.enabled=" + reactive,
+                        "--point.reactive.port=0",
+                        "--point.reactive.thread-cap=" + BLOCKING_THREADS
+                );
+             ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(clientExecutor)
+                     .connectTimeout(Duration.ofSeconds(30))
+                     .build()) {
+
+            int port = reactive
+                    ? context.getBean(ReactivePointServer.class).port()
+                    : ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            InFlightCounter counter = context.getBean(InFlightCounter.class);
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                    .filter(pool -> pool.getType() == MemoryType.HEAP)
+                    .toList();
+            System.gc();
+            threads.resetPeakThreadCount();
+            heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+            long intervalNanos = TimeUnit.SECONDS.toNanos(1) / REQUEST_RATE;
+            long start = System.nanoTime();
+            List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(REQUEST_COUNT);
+            for (int userId = 1; userId <= REQUEST_COUNT; userId++) {
+                long scheduledAt = start + (userId - 1) * intervalNanos;
+                while (System.nanoTime() < scheduledAt) {
+                    LockSupport.parkNanos(scheduledAt - System.nanoTime());
+                }
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/points/" + userId + "/charge"))
+                        .timeout(Duration.ofMinutes(5))
+                        .header("Content-Type", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"amount\":100}"))
+                        .build();
+                responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+            }
+            CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            long okCount = responses.stream().map(CompletableFuture::join).filter(r -> r.statusCode() == 200).count();
+            long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+            return new LoadResult(okCount, elapsedMillis, counter.peak.get(), threads.getPeakThreadCount(), peakHeap);
+        }
+    }
+
+    private record LoadResult(long okCount, long elapsedMillis, int peakInFlight, int peakThreads, long peakHeapBytes) {
+        @Override
+        public String toString() {
+            return String.format("%,7d ms  %,8.0f req/s  peak in-flight=%,d  peak threads=%,d  peak heap=%,d MB",
+                    elapsedMillis, okCount * 1000.0 / Math.max(elapsedMillis, 1), peakInFlight, peakThreads,
+                    peakHeapBytes / (1024 * 1024));
+        }
+    }
+
+    @Configuration
+    static class InFlightConfig {
+        @Bean
+        InFlightCounter inFlightCounter() {
+            return new InFlightCounter();
+        }
+
+        @Bean
+        FilterRegistrationBean<Filter> inFlightFilter(InFlightCounter counter) {
+            return new FilterRegistrationBean<>((request, response, chain) -> {
+                counter.enter();
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    counter.exit();
+                }
+            });
+        }
+
+        @Bean
+        WebFilter inFlightWebFilter(InFlightCounter counter) {
+            return (exchange, chain) -> {
+                counter.enter();
+                return chain.filter(exchange).doFinally(signal -> counter.exit());
+            };
+        }
+    }
+
+    static class InFlightCounter {
+        private final AtomicInteger current = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+
+        void enter() {
+            peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+        }
+
+        void exit() {
+            current.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.fixture.PointHistoryFixture;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.PointHistoryPageRequest;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.PointRequest;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.reactive.ReactivePointProperties;
+import io.hhplus.tdd.reactive.ReactivePointRouter;
+import io.hhplus.tdd.reactive.ReactivePointService;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class ReactivePointRouterTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    PointService pointService = mock(PointService.class);
+
+    ReactivePointService reactivePointService =
+            new ReactivePointService(pointService, new ReactivePointProperties(true, 0, 4, 100, PAGE_SIZE));
+
+    WebTestClient webTestClient = WebTestClient
+            .bindToRouterFunction(new ReactivePointRouter(
+                    reactivePointService, PointMetrics.noop(), Validation.buildDefaultValidatorFactory().getValidator()).routes())
+            .build();
+
+    @AfterEach
+    void tearDown() {
+        reactivePointService.dispose();
+    }
+
+    @Nested
+    @DisplayName("PATCH /points/{userId}/use")
+    class UsePoint {
+        /**
+         * 직렬화가 잘 이루어지는지 검증
+         */
+        @Test
+        void 특정_유저의_포인트_차감에_성공한다() {
+            // given
+            long userId = 1L;
+            given(pointService.use(userId, 300L)).willReturn(new UserPoint(userId, 700L, 1L));
+
+            // when & then
+            webTestClient.patch().uri("/points/{userId}/use", userId)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(new PointRequest(300L))
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.id").isEqualTo(userId)
+                    .jsonPath("$.point").isEqualTo(700);
+        }
+
+        /**
+         * 음수 값을 요청하면, 서블릿 API 와 같은 메시지로 유효성 검증에 실패하는지 검증
+         */
+        @Test
+        void 특정_유저의_포인트_차감시_음수로하면_실패한다() {
+            webTestClient.patch().uri("/points/{userId}/use", 1L)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(new PointRequest(-1L))
+                    .exchange()
+                    .expectStatus().isBadRequest()
+                    .expectBody()
+                    .jsonPath("$.message").isEqualTo("포인트는 0을 포함한 양수이어야 합니다");
+        }
+
+        /**
+         * ErrorResponse 에 대하여 직렬화가 잘 이루어지는지 검증
+         */
+        @Test
+        void 특정_유저의_포인트_차감시_포인트가_부족하다면_실패한다() {
+            // given
+            given(pointService.use(1L, 5000L)).willThrow(new BusinessException(ErrorCode.INSUFFICIENT_POINT));
+
+            // when & then
+            webTestClient.patch().uri("/points/{userId}/use", 1L)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(new PointRequest(5000L))
+                    .exchange()
+                    .expectStatus().isBadRequest()
+                    .expectBody()
+                    .jsonPath("$.message").isEqualTo(ErrorCode.INSUFFICIENT_POINT.getMessage());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /points/{userId}/histories")
+    class GetPointHistory {
+        /**
+         * 여러 페이지에 걸친 내역을 NDJSON 으로 순서대로 스트리밍하는지 검증
+         */
+        @Test
+        void 특정_유저의_포인트_내역을_NDJSON_으로_스트리밍한다() {
+            // given
+            givenHistories(1L, 5);
+
+            // when & then
+            List<PointHistory> histories = webTestClient.get().uri("/points/{userId}/histories", 1L)
+                    .accept(MediaType.APPLICATION_NDJSON)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                    .returnResult(PointHistory.class)
+                    .getResponseBody()
+                    .collectList()
+                    .block();
+            assertThat(histories).extracting(PointHistory::id).containsExactly(1L, 2L, 3L, 4L, 5L);
+        }
+
+        /**
+         * [성능]
+         * 구독자가 일부만 요청하면 전체 페이지를 미리 읽지 않는지(back-pressure) 검증
+         */
+        @Test
+        void 구독자가_요청한_만큼만_페이지를_읽는다() {
+            // given
+            givenHistories(1L, 100);
+
+            // when
+            List<PointHistory> histories = reactivePointService.getHistory(1L).take(3).collectList().block();
+
+            // then
+            assertThat(histories).extracting(PointHistory::id).containsExactly(1L, 2L, 3L);
+            verify(pointService, atMost(3)).getHistoryPage(eq(1L), any());
+        }
+    }
+
+    /**
+     * id 가 1 부터 count 까지인 내역을 cursor 다음부터 PAGE_SIZE 개씩 돌려준다.
+     */
+    private void givenHistories(long userId, int count) {
+        given(pointService.getHistoryPage(eq(userId), any())).willAnswer(invocation -> {
+            PointHistoryPageRequest request = invocation.getArgument(1);
+            List<PointHistory> page = LongStream.rangeClosed(request.cursorOrZero() + 1, Math.min(count, request.cursorOrZero() + request.size()))
+                    .mapToObj(id -> PointHistoryFixture.withIdAndUserIdAndAmountAndTransactionType(id, userId, 100L, TransactionType.CHARGE))
+                    .toList();
+            Long nextCursor = page.isEmpty() || page.get(page.size() - 1).id() == count ? null : page.get(page.size() - 1).id();
+            return new PointHistoryPage(page, nextCursor);
+        });
+    }
+}
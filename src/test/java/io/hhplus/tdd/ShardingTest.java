@@ -0,0 +1,411 @@
+package io.hhplus.tdd;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.UserPointRepository;
+import io.hhplus.tdd.shard.ConsistentHashRing;
+import io.hhplus.tdd.shard.ShardNode;
+import io.hhplus.tdd.shard.ShardProperties;
+import io.hhplus.tdd.shard.ShardRebalanceResult;
+import io.hhplus.tdd.shard.ShardRouter;
+import io.hhplus.tdd.shard.ShardUserExport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 여러 애플리케이션 인스턴스를 localhost 의 서로 다른 포트로 띄워 샤딩을 검증한다.
+ */
+public class ShardingTest {
+
+    private static final int VIRTUAL_NODES = 128;
+    private static final String SECRET = "shard-test-secret";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final Map<String, ConfigurableApplicationContext> contexts = new HashMap<>();
+
+    @AfterEach
+    void tearDown() {
+        contexts.values().forEach(ConfigurableApplicationContext::close);
+        client.close();
+    }
+
+    /**
+     * [샤딩]
+     * 어느 노드로 요청해도 담당 노드에서 처리되어, 포인트는 담당 노드에만 저장되고 어느 노드에서든 같은 값으로 조회되는지 검증한다.
+     */
+    @Test
+    void 어느_노드로_요청해도_담당_노드에서_처리한다() throws Exception {
+        // given
+        List<ShardNode> nodes = List.of(node("a"), node("b"));
+        start(nodes.get(0), nodes, List.of());
+        start(nodes.get(1), nodes, List.of());
+        ConsistentHashRing ring = new ConsistentHashRing(nodes, VIRTUAL_NODES);
+
+        // when
+        for (long userId = 1; userId <= 16; userId++) {
+            charge(nodes.get((int) (userId % 2)), userId, userId * 100);
+        }
+
+        // then
+        for (long userId = 1; userId <= 16; userId++) {
+            String owner = ring.ownerOf(userId).id();
+            assertThat(getPoint(nodes.get((int) ((userId + 1) % 2)), userId).point()).isEqualTo(userId * 100);
+            for (ShardNode node : nodes) {
+                assertThat(repositoryOf(node).contains(userId)).isEqualTo(node.id().equals(owner));
+            }
+        }
+    }
+
+    /**
+     * [샤딩]
+     * 다른 노드가 담당하는 유저의 내역 내보내기도 전달한 노드를 거쳐 모든 줄이 그대로 돌아오는지 검증한다.
+     */
+    @Test
+    void 다른_노드가_담당하는_유저의_내역도_내보낸다() throws Exception {
+        // given
+        List<ShardNode> nodes = List.of(node("a"), node("b"));
+        start(nodes.get(0), nodes, List.of());
+        start(nodes.get(1), nodes, List.of());
+        ConsistentHashRing ring = new ConsistentHashRing(nodes, VIRTUAL_NODES);
+        long ownedByB = LongStream.rangeClosed(1, 1_000).filter(id -> ring.ownerOf(id).id().equals("b")).findFirst().orElseThrow();
+        for (long amount = 1; amount <= 5; amount++) {
+            charge(nodes.get(1), ownedByB, amount);
+        }
+
+        // when
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(URI.create(nodes.get(0).url() + "/points/" + ownedByB + "/histories/export")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(type -> assertThat(type).startsWith("application/x-ndjson"));
+        List<PointHistory> exported = new ArrayList<>();
+        for (String line : response.body().split("\n")) {
+            exported.add(objectMapper.readValue(line, PointHistory.class));
+        }
+        assertThat(exported).extracting(PointHistory::amount).containsExactly(1L, 2L, 3L, 4L, 5L);
+    }
+
+    /**
+     * [샤딩]
+     * 음수와 19자리 유저 id 도 담당 노드에서만 처리하고, long 범위를 넘는 유저 id 는 어느 노드에서도 처리하지 않는지 검증한다.
+     */
+    @Test
+    void 음수와_큰_유저_id_도_담당_노드에서_처리한다() throws Exception {
+        // given
+        List<ShardNode> nodes = List.of(node("a"), node("b"));
+        start(nodes.get(0), nodes, List.of());
+        start(nodes.get(1), nodes, List.of());
+        ConsistentHashRing ring = new ConsistentHashRing(nodes, VIRTUAL_NODES);
+        List<Long> userIds = List.of(-5L, -1_000_000_007L, Long.MAX_VALUE, 1_000_000_000_000_000_000L);
+
+        // when
+        for (long userId : userIds) {
+            charge(nodes.get(0), userId, 100L);
+            charge(nodes.get(1), userId, 100L);
+        }
+        HttpResponse<String> overflow = client.send(HttpRequest.newBuilder(URI.create(nodes.get(0).url() + "/points/9223372036854775808")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        // then
+        for (long userId : userIds) {
+            String owner = ring.ownerOf(userId).id();
+            for (ShardNode node : nodes) {
+                assertThat(getPoint(node, userId).point()).isEqualTo(200L);
+                assertThat(repositoryOf(node).contains(userId)).isEqualTo(node.id().equals(owner));
+            }
+        }
+        assertThat(overflow.statusCode()).isEqualTo(400);
+        assertThat(overflow.body()).contains(ErrorCode.INVALID_USER_ID.getMessage());
+    }
+
+    /**
+     * [샤딩]
+     * 노드를 추가하면 새 노드가 담당하게 된 유저의 포인트와 내역이 옮겨지고,
+     * 옮기는 동안 새 노드로 들어온 충전도 빠짐없이 반영되는지 검증한다.
+     */
+    @Test
+    void 노드를_추가하면_포인트와_내역을_옮기고_그동안의_요청도_반영한다() throws Exception {
+        // given
+        List<ShardNode> before = List.of(node("a"), node("b"));
+        start(before.get(0), before, List.of());
+        start(before.get(1), before, List.of());
+        List<Long> userIds = LongStream.rangeClosed(1, 24).boxed().toList();
+        for (long userId : userIds) {
+            charge(before.get(0), userId, 1000L);
+        }
+
+        List<ShardNode> after = new ArrayList<>(before);
+        after.add(node("c"));
+        ShardNode joining = after.get(2);
+        start(joining, after, before);
+
+        // when
+        List<CompletableFuture<UserPoint>> charges;
+        long movedUsers = 0;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            charges = userIds.stream()
+                    .map(userId -> CompletableFuture.supplyAsync(() -> charge(joining, userId, 10L), executor))
+                    .toList();
+            for (ShardNode node : before) {
+                movedUsers += post(node, "/shards/rebalance", Map.of("nodes", after), ShardRebalanceResult.class).movedUsers();
+            }
+            post(joining, "/shards/joined", Map.of(), Map.class);
+        }
+
+        // then
+        ConsistentHashRing ring = new ConsistentHashRing(after, VIRTUAL_NODES);
+        long ownedByJoining = userIds.stream().filter(userId -> ring.ownerOf(userId).id().equals("c")).count();
+        assertThat(ownedByJoining).isPositive();
+        assertThat(movedUsers).isEqualTo(ownedByJoining);
+        assertThat(charges).allSatisfy(charge -> assertThat(charge.join().point()).isEqualTo(1010L));
+        for (long userId : userIds) {
+            for (ShardNode node : after) {
+                assertThat(getPoint(node, userId).point()).isEqualTo(1010L);
+                assertThat(getHistories(node, userId)).extracting(PointHistory::amount).containsExactly(1000L, 10L);
+            }
+            if (ring.ownerOf(userId).id().equals("c")) {
+                assertThat(repositoryOf(joining).contains(userId)).isTrue();
+            }
+        }
+    }
+
+    /**
+     * [샤딩]
+     * 여러 노드의 유저가 섞일 수 있는 일괄 처리는 이 노드에서 처리하지 않고 거절하는지 검증한다.
+     */
+    @Test
+    void 샤딩_중에는_일괄_처리를_거절한다() throws Exception {
+        // given
+        List<ShardNode> nodes = List.of(node("a"));
+        start(nodes.get(0), nodes, List.of());
+        HttpRequest request = HttpRequest.newBuilder(URI.create(nodes.get(0).url() + "/points/bulk"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"operations\":[{\"userId\":1,\"amount\":100,\"type\":\"CHARGE\"}]}"))
+                .build();
+
+        // when
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(501);
+        assertThat(response.body()).contains(ErrorCode.SHARD_BULK_UNSUPPORTED.getMessage());
+        assertThat(repositoryOf(nodes.get(0)).contains(1L)).isFalse();
+    }
+
+    /**
+     * [샤딩]
+     * 이전 노드가 응답을 받지 못해 같은 유저를 다시 넘겨도 내역과 포인트를 한 번만 반영하고,
+     * 넘겨받은 뒤 이 노드에서 처리한 요청이 있어도 성공하며, 데이터가 갈라진 유저는 거절하는지 검증한다.
+     */
+    @Test
+    void 같은_유저를_다시_넘겨받아도_한_번만_반영한다() throws Exception {
+        // given
+        List<ShardNode> nodes = List.of(node("a"));
+        start(nodes.get(0), nodes, List.of());
+        ShardNode node = nodes.get(0);
+        ShardUserExport export = new ShardUserExport(1L, 700L, List.of(
+                new PointHistory(1L, 1L, 1000L, TransactionType.CHARGE, 1_000L),
+                new PointHistory(2L, 1L, -300L, TransactionType.USE, 2_000L)));
+
+        // when
+        int first = importUser(node, export);
+        int retried = importUser(node, export);
+        charge(node, 1L, 50L);
+        int retriedAfterCharge = importUser(node, export);
+        int diverged = importUser(node, new ShardUserExport(1L, 900L, export.histories()));
+
+        // then
+        assertThat(List.of(first, retried, retriedAfterCharge)).containsOnly(200);
+        assertThat(diverged).isEqualTo(409);
+        assertThat(getPoint(node, 1L).point()).isEqualTo(750L);
+        assertThat(getHistories(node, 1L)).extracting(PointHistory::amount).containsExactly(1000L, -300L, 50L);
+    }
+
+    /**
+     * [샤딩]
+     * 노드 사이의 비밀값이 없거나 다른 요청은 거절하고, 이 노드가 담당하지 않는 유저는 넘겨받지 않는지 검증한다.
+     */
+    @Test
+    void 비밀값이_맞고_이_노드가_담당하는_유저만_넘겨받는다() throws Exception {
+        // given
+        List<ShardNode> nodes = List.of(node("a"), node("b"));
+        start(nodes.get(0), nodes, List.of());
+        start(nodes.get(1), nodes, List.of());
+        ConsistentHashRing ring = new ConsistentHashRing(nodes, VIRTUAL_NODES);
+        long ownedByB = LongStream.rangeClosed(1, 1_000).filter(id -> ring.ownerOf(id).id().equals("b")).findFirst().orElseThrow();
+        long ownedByA = LongStream.rangeClosed(1, 1_000).filter(id -> ring.ownerOf(id).id().equals("a")).findFirst().orElseThrow();
+        List<PointHistory> histories = List.of(new PointHistory(1L, ownedByA, 1000L, TransactionType.CHARGE, 1_000L));
+
+        // when
+        int withoutSecret = importUser(nodes.get(0), new ShardUserExport(ownedByA, 1000L, histories), null);
+        int wrongSecret = importUser(nodes.get(0), new ShardUserExport(ownedByA, 1000L, histories), "wrong");
+        int notOwner = importUser(nodes.get(0), new ShardUserExport(ownedByB, 1000L, histories));
+        HttpResponse<String> status = client.send(
+                HttpRequest.newBuilder(URI.create(nodes.get(0).url() + "/shards")).build(), HttpResponse.BodyHandlers.ofString());
+
+        // then
+        assertThat(List.of(withoutSecret, wrongSecret, status.statusCode())).containsOnly(401);
+        assertThat(notOwner).isEqualTo(409);
+        assertThat(repositoryOf(nodes.get(0)).contains(ownedByA)).isFalse();
+        assertThat(repositoryOf(nodes.get(0)).contains(ownedByB)).isFalse();
+    }
+
+    /**
+     * [샤딩]
+     * 넘기다 실패한 유저는 새 노드가 이미 저장했을 수 있으므로, 다시 넘길 때까지 이전 노드에서 처리하지 않는지 검증한다.
+     */
+    @Test
+    void 넘기다_실패한_유저는_다시_넘길_때까지_처리하지_않는다() {
+        // given
+        ShardNode a = new ShardNode("a", "http://localhost:1");
+        ShardNode b = new ShardNode("b", "http://localhost:2");
+        UserPointRepository userPointRepository = mock(UserPointRepository.class);
+        ConsistentHashRing next = new ConsistentHashRing(List.of(a, b), VIRTUAL_NODES);
+        long userId = LongStream.rangeClosed(1, 1_000).filter(id -> next.ownerOf(id).id().equals("b")).findFirst().orElseThrow();
+        willAnswer(invocation -> {
+            invocation.<LongConsumer>getArgument(0).accept(userId);
+            return null;
+        }).given(userPointRepository).forEachUserId(any());
+        ShardRouter router = new ShardRouter(
+                new ShardProperties(true, "a", List.of(a), List.of(), VIRTUAL_NODES, 3, Duration.ofSeconds(1), Duration.ofSeconds(1), SECRET),
+                userPointRepository);
+        router.beginRebalance(next);
+        ShardRouter.Action beforeHandOff = router.route(userId, 0, false).action();
+
+        // when
+        assertThatThrownBy(() -> router.handOff(userId, owner -> {
+            throw new IllegalStateException("응답을 받지 못했습니다.");
+        })).isInstanceOf(IllegalStateException.class);
+        ShardRouter.Action afterFailure = router.route(userId, 0, false).action();
+        router.handOff(userId, owner -> {
+        });
+        ShardRouter.Action afterRetry = router.route(userId, 0, false).action();
+
+        // then
+        assertThat(beforeHandOff).isEqualTo(ShardRouter.Action.LOCAL);
+        assertThat(afterFailure).isEqualTo(ShardRouter.Action.HANDOFF_PENDING);
+        assertThat(afterRetry).isEqualTo(ShardRouter.Action.FORWARD);
+    }
+
+    private int importUser(ShardNode node, ShardUserExport export) throws Exception {
+        return importUser(node, export, SECRET);
+    }
+
+    private int importUser(ShardNode node, ShardUserExport export, String secret) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(node.url() + "/shards/import"))
+                .header("Content-Type", "application/json");
+        if (secret != null) {
+            builder.header(ShardRouter.SECRET_HEADER, secret);
+        }
+        HttpRequest request = builder
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(export)))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private ShardNode node(String id) throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return new ShardNode(id, "http://localhost:" + socket.getLocalPort());
+        }
+    }
+
+    private void start(ShardNode self, List<ShardNode> nodes, List<ShardNode> previousNodes) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=" + URI.create(self.url()).getPort(),
+                "--point.shard.enabled=true",
+                "--point.shard.self-id=" + self.id(),
+                "--point.shard.virtual-nodes=" + VIRTUAL_NODES,
+                "--point.shard.secret=" + SECRET
+        ));
+        for (int i = 0; i < nodes.size(); i++) {
+            args.add("--point.shard.nodes[" + i + "].id=" + nodes.get(i).id());
+            args.add("--point.shard.nodes[" + i + "].url=" + nodes.get(i).url());
+        }
+        for (int i = 0; i < previousNodes.size(); i++) {
+            args.add("--point.shard.previous-nodes[" + i + "].id=" + previousNodes.get(i).id());
+            args.add("--point.shard.previous-nodes[" + i + "].url=" + previousNodes.get(i).url());
+        }
+        contexts.put(self.id(), new SpringApplicationBuilder(TddApplication.class).run(args.toArray(String[]::new)));
+    }
+
+    private UserPointRepository repositoryOf(ShardNode node) {
+        return contexts.get(node.id()).getBean(UserPointRepository.class);
+    }
+
+    private UserPoint charge(ShardNode node, long userId, long amount) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(node.url() + "/points/" + userId + "/charge"))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"amount\":" + amount + "}"))
+                .build();
+        return send(request, new TypeReference<>() {
+        });
+    }
+
+    private UserPoint getPoint(ShardNode node, long userId) {
+        return send(HttpRequest.newBuilder(URI.create(node.url() + "/points/" + userId)).build(), new TypeReference<>() {
+        });
+    }
+
+    private List<PointHistory> getHistories(ShardNode node, long userId) {
+        return send(HttpRequest.newBuilder(URI.create(node.url() + "/points/" + userId + "/histories")).build(), new TypeReference<>() {
+        });
+    }
+
+    private <T> T post(ShardNode node, String path, Object body, Class<T> type) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(node.url() + path))
+                .header("Content-Type", "application/json")
+                .header(ShardRouter.SECRET_HEADER, SECRET)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+        return send(request, objectMapper.getTypeFactory().constructType(type));
+    }
+
+    private <T> T send(HttpRequest request, TypeReference<T> type) {
+        return send(request, objectMapper.getTypeFactory().constructType(type));
+    }
+
+    private <T> T send(HttpRequest request, JavaType type) {
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            assertThat(response.statusCode()).as(response.body()).isEqualTo(200);
+            return objectMapper.readValue(response.body(), type);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
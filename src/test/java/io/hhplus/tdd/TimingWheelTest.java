@@ -0,0 +1,75 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.expiration.TimingWheel;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TimingWheelTest {
+
+    /**
+     * [스케줄링]
+     * 가까운 만기와 여러 단을 거쳐 옮겨지는 먼 만기 모두 정한 시각 이후 처음 돌아오는 칸에서 꺼내지는지 검증한다.
+     */
+    @Test
+    void 먼_만기도_아래_단으로_옮겨져_정한_칸에서_꺼내진다() {
+        // given
+        TimingWheel timingWheel = new TimingWheel(10, 4, 3, 0);
+        timingWheel.schedule(25, 1L);
+        timingWheel.schedule(1_234, 2L);
+        timingWheel.schedule(100_000, 3L);
+
+        // when
+        long[] early = timingWheel.advance(20);
+        long[] first = timingWheel.advance(30);
+        long[] beforeSecond = timingWheel.advance(1_229);
+        long[] second = timingWheel.advance(1_240);
+        long[] beforeThird = timingWheel.advance(99_999);
+        long[] third = timingWheel.advance(100_000);
+
+        // then
+        assertThat(early).isEmpty();
+        assertThat(first).containsExactly(1L);
+        assertThat(beforeSecond).isEmpty();
+        assertThat(second).containsExactly(2L);
+        assertThat(beforeThird).isEmpty();
+        assertThat(third).containsExactly(3L);
+        assertThat(timingWheel.size()).isZero();
+    }
+
+    /**
+     * [스케줄링]
+     * 무작위 만기로 등록한 항목이 모두 한 번씩, 만기 이후 한 칸 안에 꺼내지는지 검증한다.
+     */
+    @Test
+    void 등록한_항목은_모두_만기_이후_한_칸_안에_꺼내진다() {
+        // given
+        long tick = 10;
+        TimingWheel timingWheel = new TimingWheel(tick, 8, 4, 0);
+        Random random = new Random(42);
+        Map<Long, Long> deadlines = new HashMap<>();
+        for (long userId = 1; userId <= 100_000; userId++) {
+            long deadline = 1 + random.nextInt(500_000);
+            deadlines.put(userId, deadline);
+            timingWheel.schedule(deadline, userId);
+        }
+
+        // when
+        Map<Long, Long> firedAt = new HashMap<>();
+        for (long now = tick; now <= 500_000 + tick; now += tick) {
+            long fireTime = now;
+            Arrays.stream(timingWheel.advance(now)).forEach(userId -> firedAt.merge(userId, fireTime, (a, b) -> -1L));
+        }
+
+        // then
+        assertThat(firedAt).hasSize(deadlines.size());
+        deadlines.forEach((userId, deadline) ->
+                assertThat(firedAt.get(userId)).isBetween(deadline, deadline + tick - 1));
+        assertThat(timingWheel.size()).isZero();
+    }
+}
@@ -0,0 +1,363 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.UserLockManager;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.UserPointCacheProperties;
+import io.hhplus.tdd.point.UserPointCacheStats;
+import io.hhplus.tdd.point.UserPointRepository;
+import io.hhplus.tdd.wal.WriteAheadLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UserPointRepositoryTest {
+
+    UserPointTable userPointTable = new UserPointTable();
+
+    @Nested
+    @DisplayName("포인트 캐시")
+    class Cache {
+        /**
+         * [저장소 동작]
+         * 같은 유저를 두 번 조회하면 두 번째 조회는 캐시에서 반환되는지 검증한다.
+         */
+        @Test
+        void 두번째_조회는_캐시에서_반환된다() {
+            // given
+            UserPointRepository userPointRepository = repository(100, Duration.ofMinutes(1));
+            userPointTable.insertOrUpdate(1L, 1000L);
+
+            // when
+            userPointRepository.getBy(1L);
+            UserPoint userPoint = userPointRepository.getBy(1L);
+
+            // then
+            assertThat(userPoint.point()).isEqualTo(1000L);
+            UserPointCacheStats stats = userPointRepository.cacheStats();
+            assertThat(stats.missCount()).isEqualTo(1);
+            assertThat(stats.hitCount()).isEqualTo(1);
+        }
+
+        /**
+         * [저장소 동작]
+         * 저장한 직후의 조회는 캐시에 있던 이전 값이 아니라 저장한 값을 반환하는지 검증한다.
+         */
+        @Test
+        void 저장_이후의_조회는_저장한_값을_반환한다() {
+            // given
+            UserPointRepository userPointRepository = repository(100, Duration.ofMinutes(1));
+            userPointRepository.getBy(1L);
+
+            // when
+            userPointRepository.save(1L, 500L);
+
+            // then
+            assertThat(userPointRepository.getBy(1L).point()).isEqualTo(500L);
+            assertThat(userPointRepository.cacheStats().hitCount()).isEqualTo(1);
+        }
+
+        /**
+         * [저장소 동작]
+         * 최대 크기를 넘으면 가장 오래 사용하지 않은 유저가 제거되는지 검증한다.
+         */
+        @Test
+        void 최대_크기를_넘으면_가장_오래_사용하지_않은_유저가_제거된다() {
+            // given
+            UserPointRepository userPointRepository = repository(2, Duration.ofMinutes(1));
+            userPointRepository.save(1L, 100L);
+            userPointRepository.save(2L, 200L);
+            userPointRepository.getBy(1L);
+
+            // when
+            userPointRepository.save(3L, 300L);
+
+            // then
+            UserPointCacheStats before = userPointRepository.cacheStats();
+            assertThat(before.evictionCount()).isEqualTo(1);
+            assertThat(before.size()).isEqualTo(2);
+
+            userPointRepository.getBy(1L);
+            userPointRepository.getBy(2L);
+            UserPointCacheStats after = userPointRepository.cacheStats();
+            assertThat(after.hitCount() - before.hitCount()).isEqualTo(1);
+            assertThat(after.missCount() - before.missCount()).isEqualTo(1);
+        }
+
+        /**
+         * [저장소 동작]
+         * ttl 이 지난 값은 캐시에서 반환되지 않는지 검증한다.
+         */
+        @Test
+        void ttl_이_지나면_테이블에서_다시_조회한다() throws InterruptedException {
+            // given
+            UserPointRepository userPointRepository = repository(100, Duration.ofMillis(50));
+            userPointRepository.save(1L, 100L);
+
+            // when
+            TimeUnit.MILLISECONDS.sleep(100);
+            UserPoint userPoint = userPointRepository.getBy(1L);
+
+            // then
+            assertThat(userPoint.point()).isEqualTo(100L);
+            assertThat(userPointRepository.cacheStats().missCount()).isEqualTo(1);
+        }
+
+        /**
+         * [저장소 동작]
+         * 최대 크기가 0 이면 캐시를 사용하지 않는지 검증한다.
+         */
+        @Test
+        void 최대_크기가_0_이면_캐시를_사용하지_않는다() {
+            // given
+            UserPointRepository userPointRepository = repository(0, Duration.ofMinutes(1));
+            userPointRepository.save(1L, 100L);
+
+            // when
+            userPointRepository.getBy(1L);
+
+            // then
+            UserPointCacheStats stats = userPointRepository.cacheStats();
+            assertThat(stats.hitCount()).isZero();
+            assertThat(stats.size()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("동시 조회 합치기")
+    class SingleFlight {
+
+        BlockingUserPointTable blockingTable = new BlockingUserPointTable();
+
+        /**
+         * [저장소 동작]
+         * 같은 유저를 동시에 조회하면 테이블은 한 번만 호출되고 모두 같은 결과를 받는지 검증한다.
+         */
+        @Test
+        void 같은_유저를_동시에_조회하면_테이블을_한_번만_호출한다() throws Exception {
+            // given
+            UserPointRepository userPointRepository = repository(blockingTable, 0);
+            blockingTable.insertOrUpdate(1L, 1000L);
+            int readerCount = 10;
+            ExecutorService executor = Executors.newFixedThreadPool(readerCount);
+
+            // when
+            List<Future<UserPoint>> results = new ArrayList<>();
+            for (int i = 0; i < readerCount; i++) {
+                results.add(executor.submit(() -> userPointRepository.getBy(1L)));
+            }
+            TimeUnit.MILLISECONDS.sleep(200);
+            blockingTable.release();
+
+            // then
+            for (Future<UserPoint> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).point()).isEqualTo(1000L);
+            }
+            assertThat(blockingTable.selectCount.get()).isEqualTo(1);
+            executor.shutdown();
+        }
+
+        /**
+         * [저장소 동작]
+         * 저장 이전에 시작된 조회가 아직 진행 중이어도, 저장 이후에 시작된 조회는 그 조회에 합류하지 않고 저장한 값을 받는지 검증한다.
+         */
+        @Test
+        void 저장_이후에_시작된_조회는_진행_중인_이전_조회에_합류하지_않는다() throws Exception {
+            // given
+            UserPointRepository userPointRepository = repository(blockingTable, 0);
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            Future<UserPoint> before = executor.submit(() -> userPointRepository.getBy(1L));
+            blockingTable.awaitSelecting();
+
+            // when
+            userPointRepository.save(1L, 500L);
+            blockingTable.passThrough();
+            UserPoint after = userPointRepository.getBy(1L);
+
+            // then
+            assertThat(after.point()).isEqualTo(500L);
+            blockingTable.release();
+            assertThat(before.get(5, TimeUnit.SECONDS).point()).isZero();
+            executor.shutdown();
+        }
+
+        /**
+         * [저장소 동작]
+         * 저장 이전에 시작된 조회가 저장 이후에 끝나도, 그 결과(이전 값)로 캐시를 덮어쓰지 않는지 검증한다.
+         */
+        @Test
+        void 저장_이전에_시작된_조회의_결과는_캐시에_채우지_않는다() throws Exception {
+            // given
+            UserPointRepository userPointRepository = repository(blockingTable, 100);
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            Future<UserPoint> before = executor.submit(() -> userPointRepository.getBy(1L));
+            blockingTable.awaitSelecting();
+
+            // when
+            userPointRepository.save(1L, 500L);
+            blockingTable.release();
+            before.get(5, TimeUnit.SECONDS);
+
+            // then
+            assertThat(userPointRepository.getBy(1L).point()).isEqualTo(500L);
+            assertThat(blockingTable.selectCount.get()).isEqualTo(1);
+            executor.shutdown();
+        }
+
+        private UserPointRepository repository(UserPointTable table, int maxSize) {
+            return new UserPointRepository(
+                    table, new UserLockManager(PointMetrics.noop()), new UserPointCacheProperties(maxSize, Duration.ofMinutes(1), 10_000), PointMetrics.noop(), WriteAheadLog.noop());
+        }
+    }
+
+    @Nested
+    @DisplayName("버전 비교 저장")
+    class CompareAndSave {
+        /**
+         * [저장소 동작]
+         * 저장할 때마다 버전이 오르고, 읽은 뒤 다른 저장이 있었다면 읽어 둔 버전으로는 저장하지 못하는지 검증한다.
+         */
+        @Test
+        void 읽은_뒤_다른_저장이_있으면_저장하지_않는다() {
+            // given
+            UserPointRepository userPointRepository = repository(100, Duration.ofMinutes(1));
+            UserPoint read = userPointRepository.getBy(1L);
+            userPointRepository.save(1L, 500L);
+
+            // when
+            UserPoint stale = userPointRepository.compareAndSave(1L, read.version(), 100L);
+            UserPoint current = userPointRepository.compareAndSave(1L, read.version() + 1, 700L);
+
+            // then
+            assertThat(read.version()).isZero();
+            assertThat(stale).isNull();
+            assertThat(current.point()).isEqualTo(700L);
+            assertThat(current.version()).isEqualTo(2L);
+            assertThat(userPointRepository.getBy(1L)).isEqualTo(current);
+        }
+
+        /**
+         * [저장소 동작]
+         * 캐시를 쓰지 않아 테이블에서 읽어도 마지막으로 저장한 버전이 붙는지 검증한다.
+         */
+        @Test
+        void 테이블에서_읽어도_저장한_버전이_붙는다() {
+            // given
+            UserPointRepository userPointRepository = repository(0, Duration.ofMinutes(1));
+            userPointRepository.save(1L, 500L);
+            userPointRepository.save(1L, 600L);
+
+            // when
+            UserPoint userPoint = userPointRepository.getBy(1L);
+
+            // then
+            assertThat(userPoint.point()).isEqualTo(600L);
+            assertThat(userPoint.version()).isEqualTo(2L);
+        }
+
+        /**
+         * [저장소 동작]
+         * 기억해 둔 버전이 크기 제한으로 밀려나면
+         * - 그 전에 읽어 둔 버전으로는 저장하지 못하고
+         * - 다시 읽으면 이 노드가 발급한 어떤 버전보다 큰 버전을 받아 그 버전으로 저장할 수 있고
+         * - 유저 목록에는 그대로 남는지 검증한다.
+         */
+        @Test
+        void 버전이_밀려난_유저는_새_버전을_받는다() {
+            // given
+            UserPointRepository userPointRepository = new UserPointRepository(
+                    userPointTable, new UserLockManager(PointMetrics.noop()), new UserPointCacheProperties(100, Duration.ofMinutes(1), 16),
+                    PointMetrics.noop(), WriteAheadLog.noop());
+            UserPoint read = userPointRepository.save(1L, 500L);
+            long maxVersion = read.version();
+            for (long userId = 2; userId <= 100; userId++) {
+                userPointRepository.save(userId, 100L);
+                userPointRepository.save(userId, 200L);
+                maxVersion = Math.max(maxVersion, userPointRepository.getBy(userId).version());
+            }
+
+            // when
+            UserPoint stale = userPointRepository.compareAndSave(1L, read.version(), 100L);
+            UserPoint reread = userPointRepository.getBy(1L);
+            UserPoint saved = userPointRepository.compareAndSave(1L, reread.version(), 700L);
+
+            // then
+            assertThat(stale).isNull();
+            assertThat(reread.point()).isEqualTo(500L);
+            assertThat(reread.version()).isGreaterThan(maxVersion);
+            assertThat(saved.point()).isEqualTo(700L);
+            assertThat(saved.version()).isEqualTo(reread.version() + 1);
+            assertThat(userPointRepository.contains(1L)).isTrue();
+            LongAdder userCount = new LongAdder();
+            userPointRepository.forEachUserId(userId -> userCount.increment());
+            assertThat(userCount.sum()).isEqualTo(100);
+        }
+    }
+
+    /**
+     * release() 전까지 selectById 가 대기하는 테이블. 지연(throttle) 없이 동작한다.
+     * passThrough() 이후에 시작된 selectById 는 대기하지 않는다.
+     */
+    static class BlockingUserPointTable extends UserPointTable {
+        private final Map<Long, UserPoint> table = new ConcurrentHashMap<>();
+        private final CountDownLatch selecting = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+        private volatile boolean passThrough;
+        final AtomicInteger selectCount = new AtomicInteger();
+
+        @Override
+        public UserPoint selectById(Long id) {
+            selectCount.incrementAndGet();
+            UserPoint userPoint = table.getOrDefault(id, UserPoint.empty(id));
+            if (!passThrough) {
+                selecting.countDown();
+                try {
+                    released.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return userPoint;
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+            table.put(id, userPoint);
+            return userPoint;
+        }
+
+        void awaitSelecting() throws InterruptedException {
+            selecting.await(5, TimeUnit.SECONDS);
+        }
+
+        void passThrough() {
+            passThrough = true;
+        }
+
+        void release() {
+            released.countDown();
+        }
+    }
+
+    private UserPointRepository repository(int maxSize, Duration ttl) {
+        return new UserPointRepository(
+                userPointTable, new UserLockManager(PointMetrics.noop()), new UserPointCacheProperties(maxSize, ttl, 10_000), PointMetrics.noop(), WriteAheadLog.noop());
+    }
+}
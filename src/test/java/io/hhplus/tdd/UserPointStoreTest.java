@@ -0,0 +1,162 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.UserPointStore;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UserPointStoreTest {
+
+    /**
+     * [저장소 동작]
+     * 크기가 여러 번 늘어나고 절반을 제거한 뒤에도, 남은 유저는 모두 조회되고 제거한 유저는 조회되지 않는지 검증한다.
+     */
+    @Test
+    void 크기가_늘어나고_제거되어도_남은_유저를_모두_조회한다() {
+        // given
+        UserPointStore store = new UserPointStore();
+        for (long userId = 0; userId < 10_000; userId++) {
+            store.put(userId, userId * 10, userId + 1);
+        }
+
+        // when
+        for (long userId = 0; userId < 10_000; userId += 2) {
+            store.remove(userId);
+        }
+
+        // then
+        assertThat(store.size()).isEqualTo(5_000);
+        for (long userId = 0; userId < 10_000; userId++) {
+            UserPoint userPoint = store.get(userId);
+            if (userId % 2 == 0) {
+                assertThat(userPoint).isNull();
+            } else {
+                assertThat(userPoint).isEqualTo(new UserPoint(userId, userId * 10, userId + 1));
+            }
+        }
+        Map<Long, Long> visited = new HashMap<>();
+        store.forEach((userId, point, updateMillis) -> visited.put(userId, point));
+        assertThat(visited).hasSize(5_000).containsEntry(9_999L, 99_990L);
+    }
+
+    /**
+     * [저장소 동작]
+     * 값을 지정한 제거는 저장된 값이 같을 때만 제거하는지 검증한다.
+     */
+    @Test
+    void 값이_같을_때만_제거한다() {
+        // given
+        UserPointStore store = new UserPointStore();
+        store.put(1L, 100L, 1L);
+
+        // when
+        boolean stale = store.remove(1L, 50L, 1L);
+        boolean current = store.remove(1L, 100L, 1L);
+
+        // then
+        assertThat(stale).isFalse();
+        assertThat(current).isTrue();
+        assertThat(store.get(1L)).isNull();
+    }
+
+    /**
+     * [저장소 동작]
+     * 최대 크기를 넘으면 그동안 조회된 유저는 남기고 조회되지 않은 유저를 제거하는지 검증한다.
+     */
+    @Test
+    void 최대_크기를_넘으면_조회되지_않은_유저를_제거한다() {
+        // given
+        UserPointStore store = new UserPointStore(4, Duration.ZERO);
+        for (long userId = 1; userId <= 4; userId++) {
+            store.put(userId, userId, userId);
+        }
+        store.get(1L);
+        store.get(3L);
+
+        // when
+        store.put(5L, 5L, 5L);
+        store.get(1L);
+        store.get(3L);
+        store.get(5L);
+        store.put(6L, 6L, 6L);
+
+        // then
+        assertThat(store.size()).isEqualTo(4);
+        assertThat(store.evictionCount()).isEqualTo(2);
+        assertThat(store.get(1L)).isNotNull();
+        assertThat(store.get(3L)).isNotNull();
+        assertThat(store.get(2L)).isNull();
+        assertThat(store.get(4L)).isNull();
+    }
+
+    /**
+     * [저장소 동작]
+     * ttl 이 지난 유저는 조회되지 않는지 검증한다.
+     */
+    @Test
+    void ttl_이_지나면_조회되지_않는다() throws InterruptedException {
+        // given
+        UserPointStore store = new UserPointStore(100, Duration.ofMillis(50));
+        store.put(1L, 100L, 1L);
+
+        // when
+        TimeUnit.MILLISECONDS.sleep(100);
+
+        // then
+        assertThat(store.get(1L)).isNull();
+    }
+
+    /**
+     * [동시성 동작]
+     * 같은 구간의 유저를 쓰는 동안 락 없이 조회해도, 포인트와 수정 시각이 서로 다른 저장에서 섞인 값을 반환하지 않는지 검증한다.
+     */
+    @Test
+    void 쓰는_동안_조회해도_한_번의_저장에서_나온_값만_반환한다() throws Exception {
+        // given
+        UserPointStore store = new UserPointStore();
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        // when
+        Future<?> writer = executor.submit(() -> {
+            for (long version = 1; version <= 200_000; version++) {
+                long userId = version % 64;
+                store.put(userId, version, version);
+                if (version % 7 == 0) {
+                    store.remove(userId);
+                }
+            }
+            running.set(false);
+        });
+        Future<Boolean> reader1 = executor.submit(() -> readsConsistently(store, running));
+        Future<Boolean> reader2 = executor.submit(() -> readsConsistently(store, running));
+
+        // then
+        writer.get(30, TimeUnit.SECONDS);
+        assertThat(reader1.get(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(reader2.get(30, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+    }
+
+    private boolean readsConsistently(UserPointStore store, AtomicBoolean running) {
+        while (running.get()) {
+            for (long userId = 0; userId < 64; userId++) {
+                UserPoint userPoint = store.get(userId);
+                if (userPoint != null && (userPoint.point() != userPoint.updateMillis() || userPoint.point() % 64 != userId)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
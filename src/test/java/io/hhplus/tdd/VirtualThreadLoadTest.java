@@ -0,0 +1,164 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointService;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 플랫폼 스레드와 가상 스레드 모드에서 같은 부하를 주고, 서버에서 동시에 처리 중인 요청 수의 최댓값과 처리 시간을 비교한다.
+ * - 요청을 load.users 명의 유저에게 돌아가며 보내 같은 유저의 충전이 유저 락에서 경합하게 한다.
+ * - 응답을 기다리지 않고 일정한 속도(load.rate, 초당 요청 수)로 요청을 보낸다.
+ * - 부하가 끝나면 유저마다 포인트, 내역 수, 내역 합계가 보낸 충전과 맞는지 확인한다.
+ * - 동시 처리 수는 대략 load.rate x 평균 지연이다. 기본값(10,000건, 초당 2,000건)으로는 수천 건까지만 동시에 처리하며,
+ *   수만 건은 보여 주지 않는다. 더 늘리려면 ./gradlew benchmark -Dload.requests=200000 -Dload.rate=80000 처럼 늘리되,
+ *   요청 수의 2배 이상의 파일 디스크립터, 충분한 net.core.somaxconn, 그 속도로 요청을 보낼 수 있는 CPU 가 필요하다.
+ */
+@Tag("benchmark")
+public class VirtualThreadLoadTest {
+
+    private static final int REQUEST_COUNT = Integer.getInteger("load.requests", 10_000);
+    private static final int REQUEST_RATE = Integer.getInteger("load.rate", 2_000);
+    private static final int USER_COUNT = Integer.getInteger("load.users", Math.max(1, REQUEST_COUNT / 10));
+    private static final long CHARGE_AMOUNT = 100L;
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    /**
+     * [성능]
+     * 가상 스레드 모드에서는 Tomcat 스레드 풀 크기(200)를 넘어 요청을 동시에 처리하고,
+     * 두 모드 모두 유저 락으로 직렬화된 충전이 포인트와 내역에 빠짐없이 한 번씩 반영되는지 검증한다.
+     */
+    @Test
+    void 가상_스레드_모드는_스레드_풀_크기를_넘어_동시에_처리한다() throws Exception {
+        LoadResult platform = run(false);
+        LoadResult virtual = run(true);
+
+        System.out.printf("requests=%,d rate=%,d/s users=%,d%n", REQUEST_COUNT, REQUEST_RATE, USER_COUNT);
+        System.out.println("platform threads : " + platform);
+        System.out.println("virtual threads  : " + virtual);
+
+        assertThat(platform.okCount()).isEqualTo(REQUEST_COUNT);
+        assertThat(virtual.okCount()).isEqualTo(REQUEST_COUNT);
+        assertThat(platform.inconsistentUsers()).isZero();
+        assertThat(virtual.inconsistentUsers()).isZero();
+        assertThat(platform.peakInFlight()).isLessThanOrEqualTo(TOMCAT_MAX_THREADS);
+        assertThat(virtual.peakInFlight()).isGreaterThan(TOMCAT_MAX_THREADS);
+        assertThat(virtual.elapsedMillis()).isLessThan(platform.elapsedMillis());
+    }
+
+    private LoadResult run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TddApplication.class, InFlightConfig.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.tomcat.threads.max=" + TOMCAT_MAX_THREADS,
+                        "--server.tomcat.max-connections=" + (REQUEST_COUNT + 1_000),
+                        "--server.tomcat.accept-count=" + REQUEST_COUNT
+                );
+             ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(clientExecutor)
+                     .connectTimeout(Duration.ofSeconds(30))
+                     .build()) {
+
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            InFlightCounter counter = context.getBean(InFlightCounter.class);
+
+            long intervalNanos = TimeUnit.SECONDS.toNanos(1) / REQUEST_RATE;
+            long start = System.nanoTime();
+            List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(REQUEST_COUNT);
+            for (int i = 0; i < REQUEST_COUNT; i++) {
+                long scheduledAt = start + i * intervalNanos;
+                while (System.nanoTime() < scheduledAt) {
+                    LockSupport.parkNanos(scheduledAt - System.nanoTime());
+                }
+                long userId = i % USER_COUNT + 1;
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/points/" + userId + "/charge"))
+                        .timeout(Duration.ofMinutes(5))
+                        .header("Content-Type", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"amount\":" + CHARGE_AMOUNT + "}"))
+                        .build();
+                responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+            }
+            CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            long okCount = responses.stream().map(CompletableFuture::join).filter(r -> r.statusCode() == 200).count();
+            return new LoadResult(okCount, elapsedMillis, counter.peak.get(), countInconsistentUsers(context.getBean(PointService.class)));
+        }
+    }
+
+    /**
+     * 유저마다 포인트, 내역 수, 내역 합계가 그 유저에게 보낸 충전 수와 맞지 않는 유저 수를 센다.
+     */
+    private long countInconsistentUsers(PointService pointService) {
+        long inconsistent = 0;
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            long charges = REQUEST_COUNT / USER_COUNT + (userId <= REQUEST_COUNT % USER_COUNT ? 1 : 0);
+            long expected = charges * CHARGE_AMOUNT;
+            List<PointHistory> histories = pointService.getHistory(userId);
+            long historySum = histories.stream().mapToLong(PointHistory::amount).sum();
+            if (pointService.get(userId).point() != expected || histories.size() != charges || historySum != expected) {
+                inconsistent++;
+            }
+        }
+        return inconsistent;
+    }
+
+    private record LoadResult(long okCount, long elapsedMillis, int peakInFlight, long inconsistentUsers) {
+        @Override
+        public String toString() {
+            return String.format("%,7d ms  %,8.0f req/s  peak in-flight=%,d  inconsistent users=%,d",
+                    elapsedMillis, okCount * 1000.0 / Math.max(elapsedMillis, 1), peakInFlight, inconsistentUsers);
+        }
+    }
+
+    @Configuration
+    static class InFlightConfig {
+        @Bean
+        InFlightCounter inFlightCounter() {
+            return new InFlightCounter();
+        }
+
+        @Bean
+        FilterRegistrationBean<Filter> inFlightFilter(InFlightCounter counter) {
+            return new FilterRegistrationBean<>((request, response, chain) -> {
+                counter.peak.accumulateAndGet(counter.current.incrementAndGet(), Math::max);
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    counter.current.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    static class InFlightCounter {
+        private final AtomicInteger current = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+    }
+}
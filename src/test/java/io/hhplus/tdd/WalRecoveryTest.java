@@ -0,0 +1,130 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.*;
+import io.hhplus.tdd.wal.MappedWriteAheadLog;
+import io.hhplus.tdd.wal.WalProperties;
+import io.hhplus.tdd.wal.WalRecovery;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class WalRecoveryTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * [내구성]
+     * 테이블이 비어 있는 상태로 다시 시작해도 write-ahead log 로 포인트와 내역을 복구하고,
+     * 복구한 다음의 충전은 이어지는 내역 id 로 남는지 검증한다.
+     */
+    @Test
+    void 다시_시작하면_로그로_포인트와_내역을_복구한다() {
+        // given
+        Application before = new Application(directory);
+        before.pointService.charge(1L, 1000L);
+        before.pointService.use(1L, 300L);
+        before.pointService.charge(2L, 500L);
+        before.stop();
+
+        // when
+        Application after = new Application(directory);
+        UserPoint recovered = after.pointService.get(1L);
+        after.pointService.charge(2L, 100L);
+
+        // then
+        assertThat(recovered.point()).isEqualTo(700L);
+        assertThat(after.pointService.getHistory(1L))
+                .extracting(PointHistory::id, PointHistory::amount, PointHistory::type)
+                .containsExactly(
+                        tuple(1L, 1000L, TransactionType.CHARGE),
+                        tuple(2L, -300L, TransactionType.USE));
+        assertThat(after.pointService.getHistory(2L))
+                .extracting(PointHistory::id)
+                .containsExactly(3L, 4L);
+        assertThat(after.pointService.get(2L).point()).isEqualTo(600L);
+
+        after.pointHistoryRepository.flush();
+        assertThat(after.pointHistoryTable.selectAllByUserId(1L)).hasSize(2);
+        after.stop();
+    }
+
+    /**
+     * [내구성]
+     * 스냅샷을 만든 뒤 다시 시작하면 포인트는 스냅샷으로 복구하고,
+     * 스냅샷에 반영된 내역도 다시 읽어 내역과 집계가 다시 시작하기 전과 같고
+     * 새 내역은 이어지는 id 로 남으며, 테이블에는 스냅샷 이후의 내역만 다시 기록하는지 검증한다.
+     */
+    @Test
+    void 스냅샷을_만든_뒤_다시_시작해도_모든_내역과_집계를_복구한다() throws Exception {
+        // given
+        Application before = new Application(directory);
+        before.pointService.charge(1L, 1000L);
+        before.pointService.use(1L, 300L);
+        before.pointService.charge(2L, 500L);
+        before.writeAheadLog.snapshot();
+        before.pointService.charge(1L, 50L);
+        List<PointHistory> histories = before.pointService.getHistory(1L);
+        PointHistorySummary summary = before.pointService.getSummary(1L);
+        before.stop();
+
+        // when
+        Application after = new Application(directory);
+        after.pointHistoryRepository.awaitReloaded();
+
+        // then
+        assertThat(after.pointService.get(1L).point()).isEqualTo(750L);
+        assertThat(after.pointService.getHistory(1L)).isEqualTo(histories);
+        assertThat(after.pointService.getSummary(1L)).isEqualTo(summary);
+        assertThat(after.pointService.getHistory(2L)).extracting(PointHistory::id).containsExactly(3L);
+
+        after.pointService.charge(1L, 10L);
+        assertThat(after.pointService.getHistory(1L))
+                .extracting(PointHistory::id, PointHistory::amount)
+                .containsExactly(tuple(1L, 1000L), tuple(2L, -300L), tuple(4L, 50L), tuple(5L, 10L));
+        after.pointHistoryRepository.flush();
+        assertThat(after.pointHistoryTable.selectAllByUserId(1L)).extracting(PointHistory::amount).containsExactly(50L, 10L);
+        after.stop();
+    }
+
+    /**
+     * 빈 테이블 위에 write-ahead log 를 켜고 조립한 애플리케이션
+     */
+    private static class Application {
+        final PointHistoryTable pointHistoryTable = new PointHistoryTable();
+        final PointHistoryRepository pointHistoryRepository;
+        final PointService pointService;
+        final MappedWriteAheadLog writeAheadLog;
+        final WalRecovery walRecovery;
+
+        Application(Path directory) {
+            PointMetrics pointMetrics = PointMetrics.noop();
+            UserLockManager userLockManager = new UserLockManager(pointMetrics);
+            writeAheadLog = new MappedWriteAheadLog(
+                    new WalProperties(true, directory, DataSize.ofMegabytes(1), 4, Duration.ZERO));
+            UserPointRepository userPointRepository = new UserPointRepository(
+                    new UserPointTable(), userLockManager, new UserPointCacheProperties(100, Duration.ofMinutes(1), 10_000), pointMetrics, writeAheadLog);
+            pointHistoryRepository = new PointHistoryRepository(
+                    pointHistoryTable, new PointHistoryWriterProperties(100, 10, Duration.ofSeconds(30)), pointMetrics, writeAheadLog);
+            pointService = new PointService(
+                    userPointRepository, pointHistoryRepository, userLockManager, pointMetrics, writeAheadLog, PointConcurrencyProperties.pessimistic());
+            walRecovery = new WalRecovery(writeAheadLog, userPointRepository, pointHistoryRepository);
+            walRecovery.start();
+            pointHistoryRepository.start();
+        }
+
+        void stop() {
+            pointHistoryRepository.stop();
+            walRecovery.stop();
+        }
+    }
+}